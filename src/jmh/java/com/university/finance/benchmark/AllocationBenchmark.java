@@ -0,0 +1,115 @@
+package com.university.finance.benchmark;
+
+import com.university.finance.model.Transaction;
+import com.university.finance.model.TransactionClock;
+import com.university.finance.pattern.factory.AccountFactory;
+import com.university.finance.pattern.observer.AsyncObserverDispatcher;
+import com.university.finance.pattern.observer.SynchronousObserverDispatcher;
+import com.university.finance.pattern.observer.TransactionObserver;
+import com.university.finance.service.AccountLockManager;
+import com.university.finance.service.BankingService;
+import com.university.finance.service.ConcurrencyMode;
+import com.university.finance.service.TransactionService;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Allocations du chemin critique dépôt / retrait / transfert, selon l'horloge, le
+ * mode des événements et la diffusion à un observateur qui ne les conserve pas.
+ * À lancer avec {@code -prof gc} : la métrique à suivre est {@code gc.alloc.rate.norm}
+ * (octets alloués par opération).
+ *
+ * Avec l'horloge en cache et les événements réutilisés, seule reste allouée la
+ * croissance amortie des colonnes de l'historique : les transactions conservées
+ * par le compte, une quarantaine d'octets par jambe, plus la copie des colonnes
+ * lorsqu'elles doublent.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx2g", "-Dorg.slf4j.simpleLogger.defaultLogLevel=warn"})
+public class AllocationBenchmark {
+    
+    @Param({"system", "cached"})
+    private String clock;
+    
+    @Param({"allocated", "reused"})
+    private String events;
+    
+    @Param({"sync", "async"})
+    private String dispatcher;
+    
+    private AsyncObserverDispatcher asyncDispatcher;
+    private BankingService bankingService;
+    private String source;
+    private String target;
+    
+    @Setup(Level.Iteration)
+    public void setUp() {
+        AccountFactory.resetCounter();
+        boolean reuse = "reused".equals(events);
+        TransactionService transactionService;
+        if ("async".equals(dispatcher)) {
+            asyncDispatcher = new AsyncObserverDispatcher(64 * 1024, AsyncObserverDispatcher.WaitPolicy.BLOCK,
+                null, reuse);
+            transactionService = new TransactionService(null, asyncDispatcher);
+        } else {
+            asyncDispatcher = null;
+            transactionService = new TransactionService(null, new SynchronousObserverDispatcher());
+        }
+        transactionService.addObserver(new VolumeObserver());
+        bankingService = new BankingService(transactionService, new AccountLockManager(),
+            "cached".equals(clock) ? TransactionClock.cached() : TransactionClock.SYSTEM,
+            ConcurrencyMode.LOCKING, reuse);
+        source = bankingService.createUser("source", "password", 1_000_000_000.0).getAccountNumber();
+        target = bankingService.createUser("target", "password", 0.0).getAccountNumber();
+    }
+    
+    @TearDown(Level.Iteration)
+    public void tearDown() {
+        if (asyncDispatcher != null) {
+            asyncDispatcher.close();
+        }
+    }
+    
+    @Benchmark
+    public void deposit() {
+        bankingService.deposit(source, 1.0);
+    }
+    
+    @Benchmark
+    public void withdraw() {
+        bankingService.withdraw(source, 0.01);
+    }
+    
+    @Benchmark
+    public void transfer() {
+        bankingService.transfer(source, target, 0.01);
+    }
+    
+    /**
+     * Observateur qui cumule les montants sans conserver les transactions.
+     */
+    private static final class VolumeObserver implements TransactionObserver {
+        private long volume;
+        
+        @Override
+        public void onTransaction(Transaction transaction) {
+            volume += transaction.getAmountMinor();
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.university.finance.benchmark;
+
+import com.university.finance.pattern.factory.AccountFactory;
+import com.university.finance.service.BankingService;
+import com.university.finance.service.TransactionService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark de BankingService (recherche du compte, verrous, stratégie) en mono
+ * et multi-thread, sur des comptes tirés au hasard parmi {@code accountCount}.
+ * Avec peu de comptes, les threads se disputent les mêmes verrous.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx2g", "-Dorg.slf4j.simpleLogger.defaultLogLevel=warn"})
+public class BankingServiceBenchmark {
+    private static final int MULTI_THREADS = 4;
+    
+    @Param({"16", "10000"})
+    private int accountCount;
+    
+    private BankingService bankingService;
+    private String[] accountNumbers;
+    
+    @Setup(Level.Iteration)
+    public void setUp() {
+        AccountFactory.resetCounter();
+        bankingService = new BankingService(new TransactionService());
+        accountNumbers = new String[accountCount];
+        for (int i = 0; i < accountCount; i++) {
+            accountNumbers[i] = bankingService.createUser("user" + i, "password", 1_000_000.0)
+                .getAccountNumber();
+        }
+    }
+    
+    @Benchmark
+    @Threads(1)
+    public void depositSingleThread() {
+        bankingService.deposit(randomAccount(), 1.0);
+    }
+    
+    @Benchmark
+    @Threads(MULTI_THREADS)
+    public void depositMultiThread() {
+        bankingService.deposit(randomAccount(), 1.0);
+    }
+    
+    @Benchmark
+    @Threads(1)
+    public void transferSingleThread() {
+        transferBetweenRandomAccounts();
+    }
+    
+    @Benchmark
+    @Threads(MULTI_THREADS)
+    public void transferMultiThread() {
+        transferBetweenRandomAccounts();
+    }
+    
+    private void transferBetweenRandomAccounts() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int from = random.nextInt(accountCount);
+        int to = (from + 1 + random.nextInt(accountCount - 1)) % accountCount;
+        bankingService.transfer(accountNumbers[from], accountNumbers[to], 1.0);
+    }
+    
+    private String randomAccount() {
+        return accountNumbers[ThreadLocalRandom.current().nextInt(accountCount)];
+    }
+}
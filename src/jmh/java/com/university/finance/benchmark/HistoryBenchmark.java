@@ -0,0 +1,81 @@
+package com.university.finance.benchmark;
+
+import com.university.finance.controller.BankingController;
+import com.university.finance.model.Transaction;
+import com.university.finance.pattern.factory.AccountFactory;
+import com.university.finance.service.BankingService;
+import com.university.finance.service.TransactionService;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark des lectures du contrôleur en fonction de la taille de l'historique
+ * du compte et du nombre de comptes du service.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx2g", "-Dorg.slf4j.simpleLogger.defaultLogLevel=warn"})
+public class HistoryBenchmark {
+    
+    @Param({"100", "10000", "100000"})
+    private int historySize;
+    
+    @Param({"1000"})
+    private int accountCount;
+    
+    private BankingController controller;
+    
+    @Setup(Level.Trial)
+    public void setUp() {
+        AccountFactory.resetCounter();
+        BankingService bankingService = new BankingService(new TransactionService());
+        for (int i = 0; i < accountCount; i++) {
+            bankingService.createUser("user" + i, "password", 0.0);
+        }
+        String accountNumber = bankingService.getAccountByUsername("user0").get().getAccountNumber();
+        for (int i = 0; i < historySize; i++) {
+            bankingService.deposit(accountNumber, 10.0);
+            if (i % 2 == 0) {
+                bankingService.withdraw(accountNumber, 5.0);
+            }
+        }
+        controller = new BankingController(bankingService);
+        controller.login("user0", "password");
+    }
+    
+    @Benchmark
+    public double totalDeposits() {
+        return controller.getTotalDeposits();
+    }
+    
+    @Benchmark
+    public Double currentBalance() {
+        return controller.getCurrentBalance();
+    }
+    
+    @Benchmark
+    public List<Transaction> lastHistoryPage() {
+        int count = controller.getTotalTransactionCount();
+        return controller.getTransactionHistory(Math.max(0, count - 20), 20);
+    }
+    
+    @Benchmark
+    public boolean userExists() {
+        return controller.userExists("user" + (accountCount - 1));
+    }
+}
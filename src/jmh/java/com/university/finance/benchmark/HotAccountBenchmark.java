@@ -0,0 +1,76 @@
+package com.university.finance.benchmark;
+
+import com.university.finance.model.TransactionClock;
+import com.university.finance.pattern.factory.AccountFactory;
+import com.university.finance.service.AccountLockManager;
+import com.university.finance.service.BankingService;
+import com.university.finance.service.ConcurrencyMode;
+import com.university.finance.service.TransactionService;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Débit de mises à jour d'un compte unique très sollicité (compte d'encaissement),
+ * depuis plusieurs threads, avec verrou ou par compare-and-set, crédits répartis
+ * ou non. Le nombre de conflits de compare-and-set est affiché à la fin de chaque
+ * itération.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(4)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx2g", "-Dorg.slf4j.simpleLogger.defaultLogLevel=warn"})
+public class HotAccountBenchmark {
+    
+    @Param({"LOCKING", "OPTIMISTIC"})
+    private ConcurrencyMode mode;
+    
+    @Param({"false", "true"})
+    private boolean striped;
+    
+    private BankingService bankingService;
+    private String merchant;
+    
+    @Setup(Level.Iteration)
+    public void setUp() {
+        AccountFactory.resetCounter();
+        bankingService = new BankingService(new TransactionService(), new AccountLockManager(),
+            TransactionClock.cached(), mode);
+        merchant = bankingService.createUser("merchant", "password", 1_000_000_000.0).getAccountNumber();
+        if (striped) {
+            bankingService.enableStripedCredits(merchant);
+        }
+    }
+    
+    @TearDown(Level.Iteration)
+    public void reportContention() {
+        System.out.printf(" [conflits: %d mises à jour, %d tentatives]%n",
+            bankingService.getMetrics().getContendedUpdateCount(),
+            bankingService.getMetrics().getBalanceRetryCount());
+    }
+    
+    @Benchmark
+    public void deposit() {
+        bankingService.deposit(merchant, 1.0);
+    }
+    
+    @Benchmark
+    public void withdraw() {
+        bankingService.withdraw(merchant, 0.01);
+    }
+}
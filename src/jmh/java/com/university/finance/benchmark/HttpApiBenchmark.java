@@ -0,0 +1,123 @@
+package com.university.finance.benchmark;
+
+import com.university.finance.api.BankingHttpServer;
+import com.university.finance.controller.BankingController;
+import com.university.finance.pattern.factory.AccountFactory;
+import com.university.finance.service.BankingService;
+import com.university.finance.service.TransactionService;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Charge sur l'API HTTP par l'interface de bouclage : débit (requêtes/s) et
+ * distribution des latences (p99 en mode {@code SampleTime}) de clients
+ * concurrents, chacun avec sa propre session.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(32)
+@Fork(value = 1, jvmArgsAppend = {"-Dorg.slf4j.simpleLogger.defaultLogLevel=warn"})
+public class HttpApiBenchmark {
+    
+    private static final int USERS = 64;
+    
+    @State(Scope.Benchmark)
+    public static class Api {
+        BankingHttpServer server;
+        HttpClient client;
+        String baseUri;
+        final AtomicInteger nextUser = new AtomicInteger();
+        
+        @Setup(Level.Trial)
+        public void setUp() throws IOException {
+            AccountFactory.resetCounter();
+            BankingService bankingService = new BankingService(new TransactionService());
+            for (int i = 0; i < USERS; i++) {
+                bankingService.createUser("user" + i, "password", 1_000_000_000.0);
+            }
+            server = BankingHttpServer.start(new BankingController(bankingService),
+                new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+            client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+            baseUri = "http://127.0.0.1:" + server.getPort();
+        }
+        
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            server.close();
+        }
+    }
+    
+    @State(Scope.Thread)
+    public static class Client {
+        HttpRequest balance;
+        HttpRequest deposit;
+        HttpRequest transfer;
+        
+        @Setup(Level.Trial)
+        public void setUp(Api api) throws IOException, InterruptedException {
+            int user = api.nextUser.getAndIncrement() % USERS;
+            HttpResponse<String> login = api.client.send(HttpRequest.newBuilder(URI.create(api.baseUri + "/sessions"))
+                    .POST(HttpRequest.BodyPublishers.ofString(
+                        "{\"username\":\"user" + user + "\",\"password\":\"password\"}"))
+                    .build(),
+                HttpResponse.BodyHandlers.ofString());
+            String body = login.body();
+            String token = body.substring(body.indexOf(":\"") + 2, body.lastIndexOf('"'));
+            String authorization = "Bearer " + token;
+            balance = HttpRequest.newBuilder(URI.create(api.baseUri + "/balance"))
+                .header("Authorization", authorization).GET().build();
+            deposit = HttpRequest.newBuilder(URI.create(api.baseUri + "/deposit"))
+                .header("Authorization", authorization)
+                .POST(HttpRequest.BodyPublishers.ofString("{\"amount\":1}")).build();
+            transfer = HttpRequest.newBuilder(URI.create(api.baseUri + "/transfer"))
+                .header("Authorization", authorization)
+                .POST(HttpRequest.BodyPublishers.ofString(
+                    "{\"recipient\":\"user" + ((user + 1) % USERS) + "\",\"amount\":1}")).build();
+        }
+    }
+    
+    @Benchmark
+    public int getBalance(Api api, Client client) throws IOException, InterruptedException {
+        return send(api, client.balance);
+    }
+    
+    @Benchmark
+    public int deposit(Api api, Client client) throws IOException, InterruptedException {
+        return send(api, client.deposit);
+    }
+    
+    @Benchmark
+    public int transfer(Api api, Client client) throws IOException, InterruptedException {
+        return send(api, client.transfer);
+    }
+    
+    private static int send(Api api, HttpRequest request) throws IOException, InterruptedException {
+        int status = api.client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+        if (status != 200) {
+            throw new IllegalStateException("Réponse HTTP " + status + " pour " + request.uri());
+        }
+        return status;
+    }
+}
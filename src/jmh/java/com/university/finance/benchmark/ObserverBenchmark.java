@@ -0,0 +1,92 @@
+package com.university.finance.benchmark;
+
+import com.university.finance.model.Account;
+import com.university.finance.model.Money;
+import com.university.finance.model.Transaction;
+import com.university.finance.pattern.observer.AsyncObserverDispatcher;
+import com.university.finance.pattern.observer.AuditLogger;
+import com.university.finance.pattern.observer.NotificationService;
+import com.university.finance.pattern.observer.SynchronousObserverDispatcher;
+import com.university.finance.pattern.strategy.DepositStrategy;
+import com.university.finance.service.TransactionService;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark des observateurs : coût unitaire de AuditLogger et NotificationService,
+ * et latence d'un dépôt avec diffusion synchrone ou asynchrone.
+ * La sortie SLF4J est limitée aux avertissements pour mesurer le formatage et non
+ * l'écriture console.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx2g", "-Dorg.slf4j.simpleLogger.defaultLogLevel=warn"})
+public class ObserverBenchmark {
+    private static final long AMOUNT = Money.of(1.0);
+    
+    private final DepositStrategy depositStrategy = new DepositStrategy();
+    private AuditLogger auditLogger;
+    private NotificationService notificationService;
+    private Transaction transaction;
+    private Account account;
+    private TransactionService synchronousService;
+    private TransactionService asynchronousService;
+    private AsyncObserverDispatcher asyncDispatcher;
+    
+    @Setup(Level.Iteration)
+    public void setUp() {
+        auditLogger = new AuditLogger();
+        notificationService = new NotificationService();
+        transaction = Transaction.ofMinor("ACC-0001", "DEPOSIT", AMOUNT, 0, AMOUNT, LocalDateTime.now());
+        account = new Account("ACC-0001", "bench", 0.0);
+        
+        synchronousService = new TransactionService(null, new SynchronousObserverDispatcher());
+        synchronousService.addObserver(new AuditLogger());
+        synchronousService.addObserver(new NotificationService());
+        
+        asyncDispatcher = new AsyncObserverDispatcher(64 * 1024, AsyncObserverDispatcher.WaitPolicy.BLOCK);
+        asynchronousService = new TransactionService(null, asyncDispatcher);
+        asynchronousService.addObserver(new AuditLogger());
+        asynchronousService.addObserver(new NotificationService());
+    }
+    
+    @TearDown(Level.Iteration)
+    public void tearDown() {
+        asyncDispatcher.close();
+    }
+    
+    @Benchmark
+    public void auditLogger() {
+        auditLogger.onTransaction(transaction);
+    }
+    
+    @Benchmark
+    public void notificationService() {
+        notificationService.onTransaction(transaction);
+    }
+    
+    @Benchmark
+    public Transaction depositWithSynchronousObservers() {
+        return synchronousService.executeTransaction(depositStrategy, account, AMOUNT, null);
+    }
+    
+    @Benchmark
+    public Transaction depositWithAsynchronousObservers() {
+        return asynchronousService.executeTransaction(depositStrategy, account, AMOUNT, null);
+    }
+}
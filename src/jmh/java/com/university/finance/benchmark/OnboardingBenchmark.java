@@ -0,0 +1,109 @@
+package com.university.finance.benchmark;
+
+import com.university.finance.onboarding.OnboardingImporter;
+import com.university.finance.onboarding.OnboardingReport;
+import com.university.finance.pattern.factory.AccountFactory;
+import com.university.finance.persistence.TransactionJournal;
+import com.university.finance.service.BankingService;
+import com.university.finance.service.TransactionService;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Import de {@link #ROWS} utilisateurs depuis un CSV en mémoire dans un service
+ * vide, journalisé ou non : import en masse ({@link OnboardingImporter}) contre
+ * une boucle de {@code createUser} ligne par ligne. Le score est exprimé en
+ * comptes créés.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx2g", "-Dorg.slf4j.simpleLogger.defaultLogLevel=warn"})
+public class OnboardingBenchmark {
+    
+    private static final int ROWS = 20_000;
+    
+    @Param({"false", "true"})
+    private boolean journaled;
+    
+    private String csv;
+    private BankingService bankingService;
+    private Path directory;
+    private TransactionJournal journal;
+    
+    @Setup(Level.Trial)
+    public void generate() {
+        StringBuilder builder = new StringBuilder("username,password,initialDeposit\n");
+        for (int i = 0; i < ROWS; i++) {
+            builder.append("customer_").append(i).append(",secret").append(i).append(',')
+                .append(i % 1000).append(".50\n");
+        }
+        csv = builder.toString();
+    }
+    
+    @Setup(Level.Invocation)
+    public void emptyService() throws IOException {
+        AccountFactory.resetCounter();
+        if (journaled) {
+            directory = Files.createTempDirectory("onboarding-bench");
+            journal = TransactionJournal.open(directory);
+        }
+        bankingService = new BankingService(new TransactionService(journal));
+    }
+    
+    @TearDown(Level.Invocation)
+    public void closeJournal() throws IOException {
+        if (journal == null) {
+            return;
+        }
+        journal.close();
+        journal = null;
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+    
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public long bulkImport() throws IOException {
+        OnboardingReport report = new OnboardingImporter(bankingService).importCsv(new StringReader(csv));
+        return report.getCreatedCount();
+    }
+    
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public long createUserPerRow() throws IOException {
+        BufferedReader reader = new BufferedReader(new StringReader(csv));
+        reader.readLine();
+        long created = 0;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            String[] fields = line.split(",");
+            bankingService.createUser(fields[0], fields[1], Double.parseDouble(fields[2]));
+            created++;
+        }
+        return created;
+    }
+}
@@ -0,0 +1,86 @@
+package com.university.finance.benchmark;
+
+import com.university.finance.api.BankingProtocolClient;
+import com.university.finance.api.BankingProtocolServer;
+import com.university.finance.pattern.factory.AccountFactory;
+import com.university.finance.service.BankingService;
+import com.university.finance.service.TransactionService;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Dépôts par le protocole binaire sur une seule connexion de bouclage : rafales de
+ * {@link #BURST} requêtes, dont la fenêtre de pipeline ({@code window}) borne le
+ * nombre envoyé avant d'attendre les réponses. Le score est exprimé par dépôt.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx2g", "-Dorg.slf4j.simpleLogger.defaultLogLevel=warn"})
+public class ProtocolBenchmark {
+    
+    private static final int BURST = 1000;
+    
+    @Param({"1", "64", "1000"})
+    private int window;
+    
+    private BankingProtocolServer server;
+    private BankingProtocolClient client;
+    private String accountNumber;
+    
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        AccountFactory.resetCounter();
+        BankingService bankingService = new BankingService(new TransactionService());
+        accountNumber = bankingService.createUser("gateway", "password", 0.0).getAccountNumber();
+        server = BankingProtocolServer.start(bankingService,
+            new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+        client = BankingProtocolClient.connect(
+            new InetSocketAddress(InetAddress.getLoopbackAddress(), server.getPort()));
+        CompletableFuture<BankingProtocolClient.Reply> login = client.login("gateway", "password");
+        client.flush();
+        if (!login.get().isOk()) {
+            throw new IllegalStateException("Connexion refusée");
+        }
+    }
+    
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        client.close();
+        server.close();
+    }
+    
+    @Benchmark
+    @OperationsPerInvocation(BURST)
+    public long deposit() throws Exception {
+        CompletableFuture<BankingProtocolClient.Reply> last = null;
+        for (int i = 1; i <= BURST; i++) {
+            last = client.deposit(accountNumber, 1);
+            if (i % window == 0) {
+                client.flush();
+                last.get();
+            }
+        }
+        client.flush();
+        return last.get().getBalanceMinor();
+    }
+}
@@ -0,0 +1,75 @@
+package com.university.finance.benchmark;
+
+import com.university.finance.controller.BankingController;
+import com.university.finance.controller.SessionRegistry;
+import com.university.finance.pattern.factory.AccountFactory;
+import com.university.finance.service.BankingService;
+import com.university.finance.service.TransactionService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Opérations d'un contrôleur unique servant de nombreuses sessions : le coût
+ * d'une opération doit rester constant quel que soit le nombre de sessions.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx2g", "-Dorg.slf4j.simpleLogger.defaultLogLevel=warn"})
+public class SessionBenchmark {
+    
+    private static final int USERS = 1000;
+    
+    @Param({"1000", "100000", "500000"})
+    private int sessionCount;
+    
+    private BankingController controller;
+    private SessionRegistry registry;
+    private String[] tokens;
+    
+    @Setup(Level.Trial)
+    public void setUp() {
+        AccountFactory.resetCounter();
+        BankingService bankingService = new BankingService(new TransactionService());
+        for (int i = 0; i < USERS; i++) {
+            bankingService.createUser("user" + i, "password", 1_000_000.0);
+        }
+        registry = new SessionRegistry();
+        registry.start();
+        controller = new BankingController(bankingService, registry);
+        tokens = new String[sessionCount];
+        for (int i = 0; i < sessionCount; i++) {
+            tokens[i] = controller.openSession("user" + (i % USERS), "password");
+        }
+    }
+    
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        registry.close();
+    }
+    
+    @Benchmark
+    public Double getBalance() {
+        return controller.getBalance(tokens[ThreadLocalRandom.current().nextInt(tokens.length)]);
+    }
+    
+    @Benchmark
+    public boolean isSessionValid() {
+        return controller.isSessionValid(tokens[ThreadLocalRandom.current().nextInt(tokens.length)]);
+    }
+}
@@ -0,0 +1,66 @@
+package com.university.finance.benchmark;
+
+import com.university.finance.model.Account;
+import com.university.finance.model.Money;
+import com.university.finance.model.Transaction;
+import com.university.finance.pattern.strategy.DepositStrategy;
+import com.university.finance.pattern.strategy.TransferStrategy;
+import com.university.finance.pattern.strategy.WithdrawStrategy;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark des stratégies de transaction appelées directement, sans service
+ * ni verrou : coût brut de la validation, du calcul et de la création de la
+ * transaction. Chaque thread JMH travaille sur ses propres comptes.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx2g", "-Dorg.slf4j.simpleLogger.defaultLogLevel=warn"})
+public class StrategyBenchmark {
+    private static final long AMOUNT = Money.of(1.0);
+    
+    private final DepositStrategy depositStrategy = new DepositStrategy();
+    private final WithdrawStrategy withdrawStrategy = new WithdrawStrategy();
+    private final TransferStrategy transferStrategy = new TransferStrategy();
+    
+    private Account source;
+    private Account target;
+    
+    /**
+     * Comptes neufs à chaque itération pour que l'historique ne croisse pas sans fin.
+     */
+    @Setup(Level.Iteration)
+    public void setUp() {
+        source = new Account("ACC-0001", "bench1", 1_000_000_000.0);
+        target = new Account("ACC-0002", "bench2", 0.0);
+    }
+    
+    @Benchmark
+    public Transaction deposit() {
+        return depositStrategy.execute(source, AMOUNT, null);
+    }
+    
+    @Benchmark
+    public Transaction withdraw() {
+        return withdrawStrategy.execute(source, AMOUNT, null);
+    }
+    
+    @Benchmark
+    public Transaction transfer() {
+        return transferStrategy.execute(source, AMOUNT, target);
+    }
+}
@@ -1,38 +1,173 @@
 package com.university.finance;
 
+import com.university.finance.api.BankingHttpServer;
+import com.university.finance.api.BankingProtocolServer;
 import com.university.finance.controller.BankingController;
+import com.university.finance.metrics.TransactionMetrics;
 import com.university.finance.pattern.observer.AuditLogger;
 import com.university.finance.pattern.observer.NotificationService;
+import com.university.finance.persistence.FileTransactionArchive;
+import com.university.finance.persistence.LineFileSink;
+import com.university.finance.persistence.MappedAuditLog;
+import com.university.finance.persistence.RecoveryManager;
+import com.university.finance.persistence.SnapshotManager;
+import com.university.finance.persistence.TransactionJournal;
 import com.university.finance.service.BankingService;
 import com.university.finance.service.TransactionService;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.Scanner;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Application principale du système bancaire refactorisé.
  * Démontre l'utilisation des design patterns implémentés.
  * Utilise BankingController pour découpler la logique métier.
+ *
+ * Si la propriété système {@code finance.dataDir} est définie, les opérations sont
+ * journalisées dans ce répertoire, un snapshot est pris périodiquement et l'état
+ * est reconstruit au démarrage. L'historique en mémoire de chaque compte est alors
+ * limité à {@code finance.historyWindow} transactions, les plus anciennes étant
+ * archivées sur disque. L'audit et les notifications ne gardent en mémoire que
+ * leurs entrées récentes : l'historique complet de l'audit est écrit dans le
+ * fichier d'audit indexé du sous-répertoire {@code audit}, celui des notifications
+ * dans {@code notifications.log}.
+ *
+ * Si la propriété {@code finance.httpPort} est définie, l'API HTTP/JSON
+ * ({@link BankingHttpServer}) est servie sur ce port pendant la session console ;
+ * de même pour le protocole binaire ({@link BankingProtocolServer}) avec
+ * {@code finance.protocolPort}.
  */
 public class MainApp {
+    private static final String DATA_DIR_PROPERTY = "finance.dataDir";
+    private static final String HISTORY_WINDOW_PROPERTY = "finance.historyWindow";
+    private static final int DEFAULT_HISTORY_WINDOW = 1000;
+    private static final int HISTORY_PAGE_SIZE = 20;
+    private static final long SNAPSHOT_PERIOD_MINUTES = 5;
+    private static final String AUDIT_DIRECTORY = "audit";
+    private static final String NOTIFICATION_FILE = "notifications.log";
+    private static final String METRICS_PERIOD_PROPERTY = "finance.metricsPeriodSeconds";
+    private static final String HTTP_PORT_PROPERTY = "finance.httpPort";
+    private static final String PROTOCOL_PORT_PROPERTY = "finance.protocolPort";
+    
     private final BankingController controller;
     private final AuditLogger auditLogger;
     private final Scanner scanner;
+    private final TransactionJournal journal;
+    private final TransactionMetrics metrics;
+    private FileTransactionArchive historyArchive;
+    private MappedAuditLog auditSink;
+    private LineFileSink<String> notificationSink;
+    private SnapshotManager snapshotManager;
+    private BankingHttpServer httpServer;
+    private BankingProtocolServer protocolServer;
     
     public MainApp() {
         // Initialisation des services avec injection de dépendances
-        TransactionService transactionService = new TransactionService();
+        this.journal = openJournal();
+        TransactionService transactionService = new TransactionService(journal);
+        this.metrics = transactionService.getMetrics();
+        long metricsPeriod = Long.getLong(METRICS_PERIOD_PROPERTY, 0);
+        if (metricsPeriod > 0) {
+            metrics.startPeriodicDump(metricsPeriod, TimeUnit.SECONDS);
+        }
         
         // Configuration des observateurs (Observer Pattern)
-        this.auditLogger = new AuditLogger();
-        NotificationService notificationService = new NotificationService();
+        if (journal != null) {
+            openObserverSinks();
+        }
+        this.auditLogger = new AuditLogger(AuditLogger.DEFAULT_RECENT_CAPACITY, auditSink);
+        NotificationService notificationService =
+            new NotificationService(NotificationService.DEFAULT_RECENT_CAPACITY, notificationSink);
         transactionService.addObserver(auditLogger);
         transactionService.addObserver(notificationService);
         
         BankingService bankingService = new BankingService(transactionService);
+        if (journal != null) {
+            historyArchive = openHistoryArchive();
+            bankingService.configureHistory(historyArchive,
+                Integer.getInteger(HISTORY_WINDOW_PROPERTY, DEFAULT_HISTORY_WINDOW));
+        }
         this.controller = new BankingController(bankingService);
         this.scanner = new Scanner(System.in);
         
-        // Initialisation des données de test
-        initializeTestData(bankingService);
+        // Reprise depuis le journal, ou initialisation des données de test
+        if (journal == null || !recover(bankingService)) {
+            initializeTestData(bankingService);
+        }
+        if (journal != null) {
+            snapshotManager = new SnapshotManager(bankingService, journal);
+            snapshotManager.start(SNAPSHOT_PERIOD_MINUTES, TimeUnit.MINUTES);
+        }
+        Integer httpPort = Integer.getInteger(HTTP_PORT_PROPERTY);
+        if (httpPort != null) {
+            httpServer = startHttpServer(httpPort);
+        }
+        Integer protocolPort = Integer.getInteger(PROTOCOL_PORT_PROPERTY);
+        if (protocolPort != null) {
+            protocolServer = startProtocolServer(bankingService, protocolPort);
+        }
+    }
+    
+    private BankingHttpServer startHttpServer(int port) {
+        try {
+            return BankingHttpServer.start(controller, new InetSocketAddress(port));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Impossible de démarrer l'API HTTP sur le port " + port, e);
+        }
+    }
+    
+    private BankingProtocolServer startProtocolServer(BankingService bankingService, int port) {
+        try {
+            return BankingProtocolServer.start(bankingService, new InetSocketAddress(port));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Impossible de démarrer le protocole binaire sur le port " + port, e);
+        }
+    }
+    
+    private TransactionJournal openJournal() {
+        String dataDir = System.getProperty(DATA_DIR_PROPERTY);
+        if (dataDir == null) {
+            return null;
+        }
+        Path directory = Paths.get(dataDir);
+        try {
+            return TransactionJournal.open(directory);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Impossible d'ouvrir le journal dans " + directory, e);
+        }
+    }
+    
+    private FileTransactionArchive openHistoryArchive() {
+        try {
+            return FileTransactionArchive.open(journal.getDirectory());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Impossible d'ouvrir l'archive d'historique", e);
+        }
+    }
+    
+    private void openObserverSinks() {
+        Path directory = journal.getDirectory();
+        try {
+            auditSink = MappedAuditLog.open(directory.resolve(AUDIT_DIRECTORY));
+            notificationSink = LineFileSink.open(directory.resolve(NOTIFICATION_FILE), String::valueOf);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Impossible d'ouvrir les fichiers d'audit", e);
+        }
+    }
+    
+    /**
+     * @return true si des données ont été restaurées depuis le journal
+     */
+    private boolean recover(BankingService bankingService) {
+        try {
+            return new RecoveryManager(journal, bankingService).recover().hasRestoredState();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Échec de la reprise depuis le journal", e);
+        }
     }
     
     private void initializeTestData(BankingService bankingService) {
@@ -98,6 +233,29 @@ public class MainApp {
         }
         
         scanner.close();
+        if (httpServer != null) {
+            httpServer.close();
+        }
+        if (protocolServer != null) {
+            protocolServer.close();
+        }
+        metrics.close();
+        closeJournal();
+    }
+    
+    private void closeJournal() {
+        if (journal == null) {
+            return;
+        }
+        snapshotManager.close();
+        try {
+            historyArchive.close();
+            auditSink.close();
+            notificationSink.close();
+            journal.close();
+        } catch (IOException e) {
+            System.out.println("Erreur lors de la fermeture du journal: " + e.getMessage());
+        }
     }
     
     private void displayMenu() {
@@ -115,7 +273,7 @@ public class MainApp {
             System.out.println("8. Statistiques");
             System.out.println("9. Se déconnecter");
         }
-        System.out.println("10. Voir l'audit complet");
+        System.out.println("10. Voir l'audit récent");
         System.out.println("0. Quitter");
         System.out.print("Votre choix: ");
     }
@@ -233,12 +391,16 @@ public class MainApp {
             return;
         }
         
-        var transactions = controller.getTransactionHistory();
-        if (transactions == null || transactions.isEmpty()) {
+        int count = controller.getTotalTransactionCount();
+        if (count == 0) {
             System.out.println("Aucune transaction.");
         } else {
             System.out.println("\n=== Historique des transactions ===");
-            transactions.forEach(System.out::println);
+            int offset = Math.max(0, count - HISTORY_PAGE_SIZE);
+            if (offset > 0) {
+                System.out.printf("(%d dernières transactions sur %d)%n", HISTORY_PAGE_SIZE, count);
+            }
+            controller.getTransactionHistory(offset, HISTORY_PAGE_SIZE).forEach(System.out::println);
         }
     }
     
@@ -253,10 +415,11 @@ public class MainApp {
         System.out.printf("Total dépôts: %.2f€%n", controller.getTotalDeposits());
         System.out.printf("Total retraits: %.2f€%n", controller.getTotalWithdrawals());
         System.out.printf("Total transferts: %.2f€%n", controller.getTotalTransfers());
+        controller.getStatistics().values().forEach(statistics -> System.out.println("  " + statistics));
     }
     
     private void handleViewAuditLog() {
-        System.out.println("\n=== Log d'Audit Complet ===");
+        System.out.println("\n=== Log d'Audit (entrées récentes) ===");
         auditLogger.getAuditLog().forEach(System.out::println);
     }
     
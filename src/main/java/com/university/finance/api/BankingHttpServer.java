@@ -0,0 +1,360 @@
+package com.university.finance.api;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import com.university.finance.controller.BankingController;
+import com.university.finance.model.Transaction;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * API HTTP/JSON devant {@link BankingController}, sur le serveur HTTP du JDK.
+ * Chaque requête s'exécute sur son propre thread virtuel : une requête qui attend
+ * (verrou de compte, persistance du journal) ne bloque aucun thread système.
+ *
+ * Routes (corps JSON, réponses JSON) :
+ * <pre>
+ * POST   /accounts   {"username", "password", "initialDeposit"}  → 201 {"accountNumber"}
+ * POST   /sessions   {"username", "password"}                    → 201 {"token"}
+ * DELETE /sessions                                               → 204
+ * GET    /balance                                                → 200 {"balance"}
+ * POST   /deposit    {"amount"}                                  → 200 {"balance"}
+ * POST   /withdraw   {"amount"}                                  → 200 {"balance"}
+ * POST   /transfer   {"recipient", "amount"}                     → 200 {"balance"}
+ * GET    /history?offset=0&amp;limit=20                              → 200 {"total", "transactions"}
+ * </pre>
+ * Hors création de compte et connexion, les requêtes portent le jeton de session
+ * dans l'en-tête {@code Authorization: Bearer <jeton>}. Erreurs : 400 requête
+ * invalide, 401 session invalide, 404 route inconnue, 405 méthode non prise en
+ * charge, 409 utilisateur existant, 413 corps de plus de 64 Kio, 422 opération
+ * refusée.
+ *
+ * Le serveur du JDK n'active TCP_NODELAY que si {@code sun.net.httpserver.nodelay}
+ * est vrai : sans cela, l'en-tête et le corps d'une réponse partent en deux segments
+ * et l'algorithme de Nagle, combiné à l'acquittement retardé du client, ajoute
+ * environ 40 ms à chaque requête. {@link #start} active donc la propriété si elle
+ * n'est pas définie, juste avant de créer le serveur ; elle n'est lue qu'à la
+ * création du premier serveur HTTP de la JVM.
+ */
+public final class BankingHttpServer implements Closeable {
+    private static final Logger logger = LoggerFactory.getLogger(BankingHttpServer.class);
+    private static final String JSON = "application/json; charset=utf-8";
+    private static final String BEARER = "Bearer ";
+    private static final int DEFAULT_HISTORY_LIMIT = 20;
+    private static final int MAX_HISTORY_LIMIT = 1000;
+    // Les corps attendus font quelques dizaines d'octets
+    private static final int MAX_BODY_LENGTH = 64 * 1024;
+    private static final String NODELAY_PROPERTY = "sun.net.httpserver.nodelay";
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final BankingController controller;
+
+    private BankingHttpServer(HttpServer server, ExecutorService executor, BankingController controller) {
+        this.server = server;
+        this.executor = executor;
+        this.controller = controller;
+    }
+
+    /**
+     * Démarre le serveur.
+     *
+     * @param address Adresse d'écoute (port 0 : port libre choisi par le système)
+     */
+    public static BankingHttpServer start(BankingController controller, InetSocketAddress address)
+            throws IOException {
+        if (System.getProperty(NODELAY_PROPERTY) == null) {
+            System.setProperty(NODELAY_PROPERTY, "true");
+        }
+        HttpServer server = HttpServer.create(address, 0);
+        ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        server.setExecutor(executor);
+        BankingHttpServer api = new BankingHttpServer(server, executor, controller);
+        server.createContext("/accounts", exchange -> api.handle(exchange, "POST", api::createAccount));
+        server.createContext("/sessions", api::sessions);
+        server.createContext("/balance", exchange -> api.handle(exchange, "GET", api::balance));
+        server.createContext("/deposit", exchange -> api.handle(exchange, "POST", api::deposit));
+        server.createContext("/withdraw", exchange -> api.handle(exchange, "POST", api::withdraw));
+        server.createContext("/transfer", exchange -> api.handle(exchange, "POST", api::transfer));
+        server.createContext("/history", exchange -> api.handle(exchange, "GET", api::history));
+        server.start();
+        logger.info("API HTTP à l'écoute sur le port {}", api.getPort());
+        return api;
+    }
+
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    /**
+     * Arrête le serveur : plus aucune connexion n'est acceptée, les requêtes en
+     * cours se terminent.
+     */
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.close();
+    }
+
+    // ========== Routes ==========
+
+    private Response createAccount(HttpExchange exchange) throws IOException {
+        Map<String, Object> body = readBody(exchange);
+        String username = requireString(body, "username");
+        String accountNumber = controller.createAccount(username, requireString(body, "password"),
+            requireAmount(body, "initialDeposit"));
+        if (accountNumber == null) {
+            throw new ApiException(409, "Création du compte refusée: " + username);
+        }
+        return new Response(201, Json.object().field("accountNumber", accountNumber).toString());
+    }
+
+    private void sessions(HttpExchange exchange) throws IOException {
+        if ("DELETE".equals(exchange.getRequestMethod())) {
+            handle(exchange, "DELETE", this::logout);
+        } else {
+            handle(exchange, "POST", this::login);
+        }
+    }
+
+    private Response login(HttpExchange exchange) throws IOException {
+        Map<String, Object> body = readBody(exchange);
+        String token = controller.openSession(requireString(body, "username"), requireString(body, "password"));
+        if (token == null) {
+            throw new ApiException(401, "Identifiants invalides");
+        }
+        return new Response(201, Json.object().field("token", token).toString());
+    }
+
+    private Response logout(HttpExchange exchange) {
+        if (!controller.closeSession(token(exchange))) {
+            throw new ApiException(401, "Session invalide ou expirée");
+        }
+        return new Response(204, null);
+    }
+
+    private Response balance(HttpExchange exchange) {
+        return balanceOf(requireSession(exchange));
+    }
+
+    private Response deposit(HttpExchange exchange) throws IOException {
+        String token = requireSession(exchange);
+        double amount = requireAmount(readBody(exchange), "amount");
+        if (!controller.deposit(token, amount)) {
+            throw new ApiException(422, "Dépôt refusé");
+        }
+        return balanceOf(token);
+    }
+
+    private Response withdraw(HttpExchange exchange) throws IOException {
+        String token = requireSession(exchange);
+        double amount = requireAmount(readBody(exchange), "amount");
+        if (!controller.withdraw(token, amount)) {
+            throw new ApiException(422, "Retrait refusé");
+        }
+        return balanceOf(token);
+    }
+
+    private Response transfer(HttpExchange exchange) throws IOException {
+        String token = requireSession(exchange);
+        Map<String, Object> body = readBody(exchange);
+        String recipient = requireString(body, "recipient");
+        if (!controller.transfer(token, recipient, requireAmount(body, "amount"))) {
+            throw new ApiException(422, "Transfert refusé");
+        }
+        return balanceOf(token);
+    }
+
+    private Response history(HttpExchange exchange) {
+        String token = requireSession(exchange);
+        Map<String, String> parameters = queryParameters(exchange.getRequestURI());
+        int offset = intParameter(parameters, "offset", 0);
+        int limit = Math.min(intParameter(parameters, "limit", DEFAULT_HISTORY_LIMIT), MAX_HISTORY_LIMIT);
+        List<Transaction> transactions = controller.getTransactionHistory(token, offset, limit);
+        if (transactions == null) {
+            throw new ApiException(401, "Session invalide ou expirée");
+        }
+        StringBuilder array = new StringBuilder("[");
+        for (Transaction transaction : transactions) {
+            if (array.length() > 1) {
+                array.append(',');
+            }
+            array.append(Json.object()
+                .field("type", transaction.getType())
+                .field("amount", transaction.getAmount())
+                .field("balanceBefore", transaction.getBalanceBefore())
+                .field("balanceAfter", transaction.getBalanceAfter())
+                .field("timestamp", transaction.getTimestamp().toString())
+                .field("description", transaction.getDescription()));
+        }
+        array.append(']');
+        return new Response(200, Json.object()
+            .field("total", controller.getTotalTransactionCount(token))
+            .raw("transactions", array.toString())
+            .toString());
+    }
+
+    private Response balanceOf(String token) {
+        Double balance = controller.getBalance(token);
+        if (balance == null) {
+            throw new ApiException(401, "Session invalide ou expirée");
+        }
+        return new Response(200, Json.object().field("balance", balance).toString());
+    }
+
+    // ========== Protocole ==========
+
+    private void handle(HttpExchange exchange, String method, Route route) throws IOException {
+        Response response;
+        try {
+            if (!exchange.getRequestURI().getPath().equals(exchange.getHttpContext().getPath())) {
+                throw new ApiException(404, "Route inconnue: " + exchange.getRequestURI().getPath());
+            }
+            if (!method.equals(exchange.getRequestMethod())) {
+                exchange.getResponseHeaders().set("Allow", method);
+                throw new ApiException(405, "Méthode non prise en charge: " + exchange.getRequestMethod());
+            }
+            response = route.handle(exchange);
+        } catch (ApiException e) {
+            response = new Response(e.status, Json.object().field("error", e.getMessage()).toString());
+        } catch (IllegalArgumentException e) {
+            response = new Response(400, Json.object().field("error", e.getMessage()).toString());
+        } catch (RuntimeException e) {
+            logger.error("Erreur de traitement de {} {}", exchange.getRequestMethod(), exchange.getRequestURI(), e);
+            response = new Response(500, Json.object().field("error", "Erreur interne").toString());
+        }
+        send(exchange, response);
+    }
+
+    private static void send(HttpExchange exchange, Response response) throws IOException {
+        try (exchange) {
+            if (response.body == null) {
+                exchange.sendResponseHeaders(response.status, -1);
+                return;
+            }
+            byte[] bytes = response.body.getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", JSON);
+            exchange.sendResponseHeaders(response.status, bytes.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(bytes);
+            }
+        }
+    }
+
+    /**
+     * Lit le corps JSON de la requête, sans jamais en garder plus de
+     * {@code MAX_BODY_LENGTH} octets en mémoire.
+     */
+    private static Map<String, Object> readBody(HttpExchange exchange) throws IOException {
+        try (InputStream in = exchange.getRequestBody()) {
+            byte[] body = in.readNBytes(MAX_BODY_LENGTH + 1);
+            if (body.length > MAX_BODY_LENGTH) {
+                throw new ApiException(413, "Corps de requête trop long (maximum " + MAX_BODY_LENGTH + " octets)");
+            }
+            return Json.parseObject(new String(body, StandardCharsets.UTF_8));
+        }
+    }
+
+    private String requireSession(HttpExchange exchange) {
+        String token = token(exchange);
+        if (!controller.isSessionValid(token)) {
+            throw new ApiException(401, "Session invalide ou expirée");
+        }
+        return token;
+    }
+
+    private static String token(HttpExchange exchange) {
+        String authorization = exchange.getRequestHeaders().getFirst("Authorization");
+        if (authorization == null || !authorization.startsWith(BEARER)) {
+            throw new ApiException(401, "Jeton de session manquant");
+        }
+        return authorization.substring(BEARER.length()).trim();
+    }
+
+    private static String requireString(Map<String, Object> body, String name) {
+        Object value = body.get(name);
+        if (!(value instanceof String)) {
+            throw new IllegalArgumentException("Champ texte requis: " + name);
+        }
+        return (String) value;
+    }
+
+    private static double requireAmount(Map<String, Object> body, String name) {
+        Object value = body.get(name);
+        if (!(value instanceof BigDecimal)) {
+            throw new IllegalArgumentException("Montant requis: " + name);
+        }
+        return ((BigDecimal) value).doubleValue();
+    }
+
+    private static Map<String, String> queryParameters(URI uri) {
+        Map<String, String> parameters = new HashMap<>();
+        String query = uri.getQuery();
+        if (query == null) {
+            return parameters;
+        }
+        for (String pair : query.split("&")) {
+            int separator = pair.indexOf('=');
+            if (separator > 0) {
+                parameters.put(pair.substring(0, separator), pair.substring(separator + 1));
+            }
+        }
+        return parameters;
+    }
+
+    private static int intParameter(Map<String, String> parameters, String name, int defaultValue) {
+        String value = parameters.get(name);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            int parsed = Integer.parseInt(value);
+            if (parsed < 0) {
+                throw new IllegalArgumentException("Paramètre négatif: " + name);
+            }
+            return parsed;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Paramètre entier invalide: " + name);
+        }
+    }
+
+    @FunctionalInterface
+    private interface Route {
+        Response handle(HttpExchange exchange) throws IOException;
+    }
+
+    private static final class Response {
+        private final int status;
+        private final String body;
+
+        Response(int status, String body) {
+            this.status = status;
+            this.body = body;
+        }
+    }
+
+    /**
+     * Erreur signalée au client avec un code HTTP.
+     */
+    private static final class ApiException extends RuntimeException {
+        private final int status;
+
+        ApiException(int status, String message) {
+            super(message);
+            this.status = status;
+        }
+    }
+}
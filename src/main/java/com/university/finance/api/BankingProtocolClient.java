@@ -0,0 +1,257 @@
+package com.university.finance.api;
+
+import com.university.finance.api.BinaryProtocol.Status;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Client du protocole binaire ({@link BinaryProtocol}) sur une seule connexion.
+ *
+ * Les requêtes sont accumulées dans un tampon et envoyées ensemble quand il est
+ * plein ou à l'appel de {@link #flush()} : un client qui enchaîne de nombreuses
+ * opérations avant d'attendre leurs réponses les pipeline sans un appel système
+ * par opération. Chaque requête reçoit un identifiant de corrélation et retourne
+ * un {@link CompletableFuture}, complété par le thread de lecture du client.
+ *
+ * Les méthodes d'envoi peuvent être appelées depuis plusieurs threads.
+ */
+public final class BankingProtocolClient implements Closeable {
+    private static final int READ_BUFFER_SIZE = 64 * 1024;
+
+    private final SocketChannel channel;
+    private final ByteBuffer out =
+        ByteBuffer.allocateDirect(BinaryProtocol.LENGTH_PREFIX + BinaryProtocol.MAX_REQUEST_LENGTH);
+    private final Map<Long, CompletableFuture<Reply>> pending = new ConcurrentHashMap<>();
+    private final Thread reader;
+    private long nextCorrelationId;
+    private volatile IOException failure;
+
+    private BankingProtocolClient(SocketChannel channel) {
+        this.channel = channel;
+        this.reader = new Thread(this::readResponses, "protocol-client-reader");
+        this.reader.setDaemon(true);
+    }
+
+    /**
+     * Ouvre une connexion au serveur.
+     */
+    public static BankingProtocolClient connect(InetSocketAddress address) throws IOException {
+        SocketChannel channel = SocketChannel.open(address);
+        channel.socket().setTcpNoDelay(true);
+        BankingProtocolClient client = new BankingProtocolClient(channel);
+        client.reader.start();
+        return client;
+    }
+
+    /**
+     * Authentifie la connexion ; les opérations suivantes portent sur les comptes
+     * de cet utilisateur.
+     */
+    public CompletableFuture<Reply> login(String username, String password) {
+        byte[] user = username.getBytes(StandardCharsets.UTF_8);
+        byte[] secret = password.getBytes(StandardCharsets.UTF_8);
+        return send(BinaryProtocol.LOGIN, 2 + user.length + 2 + secret.length, buffer -> {
+            BinaryProtocol.putString(buffer, user);
+            BinaryProtocol.putString(buffer, secret);
+        });
+    }
+
+    public CompletableFuture<Reply> balance(String accountNumber) {
+        byte[] account = accountNumber.getBytes(StandardCharsets.UTF_8);
+        return send(BinaryProtocol.BALANCE, 1 + account.length,
+            buffer -> BinaryProtocol.putShortString(buffer, account));
+    }
+
+    /**
+     * @param amountMinor Montant en unités mineures
+     */
+    public CompletableFuture<Reply> deposit(String accountNumber, long amountMinor) {
+        return sendAmount(BinaryProtocol.DEPOSIT, accountNumber, amountMinor);
+    }
+
+    /**
+     * @param amountMinor Montant en unités mineures
+     */
+    public CompletableFuture<Reply> withdraw(String accountNumber, long amountMinor) {
+        return sendAmount(BinaryProtocol.WITHDRAW, accountNumber, amountMinor);
+    }
+
+    /**
+     * @param amountMinor Montant en unités mineures
+     */
+    public CompletableFuture<Reply> transfer(String fromAccountNumber, String toAccountNumber, long amountMinor) {
+        byte[] from = fromAccountNumber.getBytes(StandardCharsets.UTF_8);
+        byte[] to = toAccountNumber.getBytes(StandardCharsets.UTF_8);
+        return send(BinaryProtocol.TRANSFER, 1 + from.length + 1 + to.length + Long.BYTES, buffer -> {
+            BinaryProtocol.putShortString(buffer, from);
+            BinaryProtocol.putShortString(buffer, to);
+            buffer.putLong(amountMinor);
+        });
+    }
+
+    private CompletableFuture<Reply> sendAmount(byte operation, String accountNumber, long amountMinor) {
+        byte[] account = accountNumber.getBytes(StandardCharsets.UTF_8);
+        return send(operation, 1 + account.length + Long.BYTES, buffer -> {
+            BinaryProtocol.putShortString(buffer, account);
+            buffer.putLong(amountMinor);
+        });
+    }
+
+    /**
+     * Envoie les requêtes accumulées.
+     *
+     * @throws UncheckedIOException Si la connexion est perdue
+     */
+    public synchronized void flush() {
+        out.flip();
+        try {
+            while (out.hasRemaining()) {
+                channel.write(out);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Échec d'envoi au serveur", e);
+        } finally {
+            out.clear();
+        }
+    }
+
+    /**
+     * Nombre de requêtes envoyées ou accumulées qui attendent leur réponse.
+     */
+    public int getPendingCount() {
+        return pending.size();
+    }
+
+    /**
+     * Ferme la connexion ; les requêtes sans réponse échouent.
+     */
+    @Override
+    public void close() throws IOException {
+        channel.close();
+        try {
+            reader.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private synchronized CompletableFuture<Reply> send(byte operation, int payloadLength, Encoder payload) {
+        int length = BinaryProtocol.HEADER_LENGTH + payloadLength;
+        if (length > BinaryProtocol.MAX_REQUEST_LENGTH) {
+            throw new IllegalArgumentException("Requête trop longue: " + length + " octets");
+        }
+        CompletableFuture<Reply> reply = new CompletableFuture<>();
+        if (failure != null) {
+            reply.completeExceptionally(failure);
+            return reply;
+        }
+        if (out.remaining() < BinaryProtocol.LENGTH_PREFIX + length) {
+            flush();
+        }
+        long correlationId = ++nextCorrelationId;
+        pending.put(correlationId, reply);
+        if (failure != null && pending.remove(correlationId) != null) {
+            // Le thread de lecture a échoué entre-temps sans voir cette requête
+            reply.completeExceptionally(failure);
+            return reply;
+        }
+        int start = out.position();
+        try {
+            out.putInt(length).putLong(correlationId).put(operation);
+            payload.encode(out);
+        } catch (IllegalArgumentException e) {
+            out.position(start);
+            pending.remove(correlationId);
+            throw e;
+        }
+        return reply;
+    }
+
+    private void readResponses() {
+        ByteBuffer in = ByteBuffer.allocateDirect(READ_BUFFER_SIZE);
+        try {
+            while (channel.read(in) >= 0) {
+                in.flip();
+                while (in.remaining() >= BinaryProtocol.RESPONSE_FRAME) {
+                    int length = in.getInt();
+                    if (length != BinaryProtocol.RESPONSE_LENGTH) {
+                        throw new IOException("Réponse de longueur invalide: " + length);
+                    }
+                    long correlationId = in.getLong();
+                    Status status = Status.fromCode(in.get());
+                    long balance = in.getLong();
+                    CompletableFuture<Reply> reply = pending.remove(correlationId);
+                    if (reply != null) {
+                        reply.complete(new Reply(correlationId, status, balance));
+                    }
+                }
+                in.compact();
+            }
+            fail(new IOException("Connexion fermée par le serveur"));
+        } catch (IOException | IllegalArgumentException e) {
+            fail(e instanceof IOException ? (IOException) e : new IOException(e.getMessage(), e));
+        }
+    }
+
+    private void fail(IOException cause) {
+        failure = cause;
+        for (Long correlationId : pending.keySet()) {
+            CompletableFuture<Reply> reply = pending.remove(correlationId);
+            if (reply != null) {
+                reply.completeExceptionally(cause);
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface Encoder {
+        void encode(ByteBuffer buffer);
+    }
+
+    /**
+     * Réponse du serveur à une requête.
+     */
+    public static final class Reply {
+        private final long correlationId;
+        private final Status status;
+        private final long balanceMinor;
+
+        Reply(long correlationId, Status status, long balanceMinor) {
+            this.correlationId = correlationId;
+            this.status = status;
+            this.balanceMinor = balanceMinor;
+        }
+
+        public long getCorrelationId() {
+            return correlationId;
+        }
+
+        public Status getStatus() {
+            return status;
+        }
+
+        public boolean isOk() {
+            return status == Status.OK;
+        }
+
+        /**
+         * Solde du compte après l'opération, en unités mineures (0 en cas d'échec).
+         */
+        public long getBalanceMinor() {
+            return balanceMinor;
+        }
+
+        @Override
+        public String toString() {
+            return "Reply{" + correlationId + ", " + status + ", " + balanceMinor + "}";
+        }
+    }
+}
@@ -0,0 +1,372 @@
+package com.university.finance.api;
+
+import com.university.finance.api.BinaryProtocol.Status;
+import com.university.finance.model.Account;
+import com.university.finance.service.BankingService;
+import com.university.finance.service.BatchOperation;
+import com.university.finance.service.BatchResult;
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Serveur du protocole binaire ({@link BinaryProtocol}) pour les clients à fort
+ * débit : une boucle NIO unique lit les requêtes, les décode directement depuis le
+ * tampon de réception et appelle {@link BankingService}.
+ *
+ * Les requêtes pipelinées reçues ensemble sont exécutées comme un seul lot
+ * ({@link BankingService#executeBatch}) : une seule attente de persistance du
+ * journal et une seule notification groupée pour tout le lot. Une lecture de
+ * solde ou une connexion termine le lot en cours, ce qui conserve l'ordre des
+ * requêtes d'une connexion. Les réponses sont accumulées puis envoyées en une
+ * écriture ; tant qu'elles ne sont pas parties, la connexion n'est plus lue.
+ *
+ * Une connexion s'authentifie par LOGIN, puis n'opère que sur les comptes de son
+ * utilisateur, relevés à la connexion ; la cible d'un transfert est libre. Les
+ * opérations s'exécutant sur la boucle, une attente de verrou ou de disque
+ * retarde toutes les connexions.
+ */
+public final class BankingProtocolServer implements Closeable {
+    private static final Logger logger = LoggerFactory.getLogger(BankingProtocolServer.class);
+    private static final int MAX_PIPELINE = 1024;
+
+    private final BankingService bankingService;
+    private final ServerSocketChannel serverChannel;
+    private final Selector selector;
+    private final Thread loop;
+    private volatile boolean running = true;
+
+    private BankingProtocolServer(BankingService bankingService, ServerSocketChannel serverChannel,
+                                  Selector selector) {
+        this.bankingService = bankingService;
+        this.serverChannel = serverChannel;
+        this.selector = selector;
+        this.loop = new Thread(this::run, "protocol-server");
+        this.loop.setDaemon(true);
+    }
+
+    /**
+     * Démarre le serveur.
+     *
+     * @param address Adresse d'écoute (port 0 : port libre choisi par le système)
+     */
+    public static BankingProtocolServer start(BankingService bankingService, InetSocketAddress address)
+            throws IOException {
+        Selector selector = Selector.open();
+        ServerSocketChannel serverChannel = ServerSocketChannel.open();
+        try {
+            serverChannel.bind(address);
+            serverChannel.configureBlocking(false);
+            serverChannel.register(selector, SelectionKey.OP_ACCEPT);
+        } catch (IOException e) {
+            serverChannel.close();
+            selector.close();
+            throw e;
+        }
+        BankingProtocolServer server = new BankingProtocolServer(bankingService, serverChannel, selector);
+        server.loop.start();
+        logger.info("Protocole binaire à l'écoute sur le port {}", server.getPort());
+        return server;
+    }
+
+    public int getPort() {
+        return serverChannel.socket().getLocalPort();
+    }
+
+    /**
+     * Arrête la boucle et ferme toutes les connexions.
+     */
+    @Override
+    public void close() {
+        running = false;
+        selector.wakeup();
+        try {
+            loop.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void run() {
+        try {
+            while (running) {
+                selector.select();
+                Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                while (keys.hasNext()) {
+                    SelectionKey key = keys.next();
+                    keys.remove();
+                    if (key.isAcceptable()) {
+                        accept();
+                    } else {
+                        service(key);
+                    }
+                }
+            }
+        } catch (IOException e) {
+            logger.error("Arrêt de la boucle du protocole binaire", e);
+        } finally {
+            for (SelectionKey key : selector.keys()) {
+                closeQuietly(key);
+            }
+            try {
+                selector.close();
+            } catch (IOException e) {
+                logger.warn("Fermeture du sélecteur: {}", e.getMessage());
+            }
+        }
+    }
+
+    private void accept() throws IOException {
+        SocketChannel channel = serverChannel.accept();
+        if (channel == null) {
+            return;
+        }
+        channel.configureBlocking(false);
+        channel.socket().setTcpNoDelay(true);
+        channel.register(selector, SelectionKey.OP_READ, new Connection());
+    }
+
+    private void service(SelectionKey key) {
+        Connection connection = (Connection) key.attachment();
+        SocketChannel channel = (SocketChannel) key.channel();
+        try {
+            if (key.isWritable() && !connection.write(channel)) {
+                return;
+            }
+            if (key.isReadable() && channel.read(connection.in) < 0) {
+                closeQuietly(key);
+                return;
+            }
+            boolean drained;
+            do {
+                if (!connection.process()) {
+                    logger.warn("Requête hors limites, connexion fermée: {}", channel.getRemoteAddress());
+                    closeQuietly(key);
+                    return;
+                }
+                drained = connection.write(channel);
+            } while (drained && connection.hasCompleteRequest());
+            key.interestOps(drained ? SelectionKey.OP_READ : SelectionKey.OP_WRITE);
+        } catch (IOException e) {
+            closeQuietly(key);
+        } catch (RuntimeException e) {
+            logger.error("Erreur de traitement, connexion fermée", e);
+            closeQuietly(key);
+        }
+    }
+
+    private static void closeQuietly(SelectionKey key) {
+        key.cancel();
+        try {
+            key.channel().close();
+        } catch (IOException e) {
+            logger.debug("Fermeture de connexion: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * État d'une connexion : tampons, utilisateur authentifié et requêtes en attente
+     * du lot courant.
+     */
+    private final class Connection {
+        private final ByteBuffer in =
+            ByteBuffer.allocateDirect(BinaryProtocol.LENGTH_PREFIX + BinaryProtocol.MAX_REQUEST_LENGTH);
+        private final ByteBuffer out =
+            ByteBuffer.allocateDirect((MAX_PIPELINE + 1) * BinaryProtocol.RESPONSE_FRAME);
+        private final long[] pendingIds = new long[MAX_PIPELINE];
+        /** Statut déjà connu d'une requête en attente, ou null si elle fait partie du lot. */
+        private final Status[] pendingStatus = new Status[MAX_PIPELINE];
+        private final List<BatchOperation> batch = new ArrayList<>();
+        private int pendingCount;
+        private Set<String> ownedAccounts;
+
+        /**
+         * Traite les requêtes complètes du tampon de réception, dans la limite de la
+         * place disponible pour leurs réponses.
+         *
+         * @return false si une requête annonce une longueur hors limites
+         */
+        boolean process() {
+            in.flip();
+            try {
+                while (in.remaining() >= BinaryProtocol.LENGTH_PREFIX) {
+                    int length = in.getInt(in.position());
+                    if (length < BinaryProtocol.HEADER_LENGTH || length > BinaryProtocol.MAX_REQUEST_LENGTH) {
+                        return false;
+                    }
+                    if (in.remaining() < BinaryProtocol.LENGTH_PREFIX + length) {
+                        break;
+                    }
+                    if (pendingCount == MAX_PIPELINE || !hasRoomFor(pendingCount + 1)) {
+                        flush();
+                        if (!hasRoomFor(1)) {
+                            break;
+                        }
+                    }
+                    int end = in.position() + BinaryProtocol.LENGTH_PREFIX + length;
+                    int limit = in.limit();
+                    in.position(in.position() + BinaryProtocol.LENGTH_PREFIX).limit(end);
+                    handle();
+                    in.limit(limit).position(end);
+                }
+                flush();
+                return true;
+            } finally {
+                in.compact();
+            }
+        }
+
+        /**
+         * Indique si le tampon de réception contient encore une requête complète,
+         * laissée de côté faute de place pour sa réponse.
+         */
+        boolean hasCompleteRequest() {
+            return in.position() >= BinaryProtocol.LENGTH_PREFIX
+                && in.position() >= BinaryProtocol.LENGTH_PREFIX + in.getInt(0);
+        }
+
+        private boolean hasRoomFor(int responses) {
+            return out.remaining() >= responses * BinaryProtocol.RESPONSE_FRAME;
+        }
+
+        private void handle() {
+            long correlationId = in.getLong();
+            byte operation = in.get();
+            try {
+                switch (operation) {
+                    case BinaryProtocol.LOGIN:
+                        login(correlationId, BinaryProtocol.getString(in), BinaryProtocol.getString(in));
+                        break;
+                    case BinaryProtocol.BALANCE:
+                        balance(correlationId, BinaryProtocol.getShortString(in));
+                        break;
+                    case BinaryProtocol.DEPOSIT:
+                        enqueue(correlationId, BinaryProtocol.getShortString(in), null, operation, in.getLong());
+                        break;
+                    case BinaryProtocol.WITHDRAW:
+                        enqueue(correlationId, BinaryProtocol.getShortString(in), null, operation, in.getLong());
+                        break;
+                    case BinaryProtocol.TRANSFER:
+                        enqueue(correlationId, BinaryProtocol.getShortString(in),
+                            BinaryProtocol.getShortString(in), operation, in.getLong());
+                        break;
+                    default:
+                        answer(correlationId, Status.MALFORMED);
+                }
+            } catch (BufferUnderflowException e) {
+                answer(correlationId, Status.MALFORMED);
+            }
+        }
+
+        private void login(long correlationId, String username, String password) {
+            flush();
+            if (bankingService.authenticate(username, password)) {
+                ownedAccounts = new HashSet<>();
+                for (Account account : bankingService.getAccountsByUsername(username)) {
+                    ownedAccounts.add(account.getAccountNumber());
+                }
+                BinaryProtocol.putResponse(out, correlationId, Status.OK, 0);
+            } else {
+                ownedAccounts = null;
+                BinaryProtocol.putResponse(out, correlationId, Status.UNAUTHORIZED, 0);
+            }
+        }
+
+        private void balance(long correlationId, String accountNumber) {
+            flush();
+            Status status = Status.UNAUTHORIZED;
+            long balance = 0;
+            if (owns(accountNumber)) {
+                Optional<Account> account = bankingService.getAccount(accountNumber);
+                status = account.isPresent() ? Status.OK : Status.ACCOUNT_NOT_FOUND;
+                balance = account.map(Account::getBalanceMinor).orElse(0L);
+            }
+            BinaryProtocol.putResponse(out, correlationId, status, balance);
+        }
+
+        private void enqueue(long correlationId, String accountNumber, String targetAccountNumber,
+                             byte operation, long amountMinor) {
+            if (!owns(accountNumber)) {
+                answer(correlationId, Status.UNAUTHORIZED);
+                return;
+            }
+            if (operation == BinaryProtocol.DEPOSIT) {
+                batch.add(BatchOperation.depositMinor(accountNumber, amountMinor));
+            } else if (operation == BinaryProtocol.WITHDRAW) {
+                batch.add(BatchOperation.withdrawMinor(accountNumber, amountMinor));
+            } else {
+                batch.add(BatchOperation.transferMinor(accountNumber, targetAccountNumber, amountMinor));
+            }
+            pendingIds[pendingCount] = correlationId;
+            pendingStatus[pendingCount++] = null;
+        }
+
+        /**
+         * Met en attente une réponse déjà connue, pour la renvoyer à sa place dans
+         * l'ordre des requêtes.
+         */
+        private void answer(long correlationId, Status status) {
+            pendingIds[pendingCount] = correlationId;
+            pendingStatus[pendingCount++] = status;
+        }
+
+        private boolean owns(String accountNumber) {
+            return ownedAccounts != null && ownedAccounts.contains(accountNumber);
+        }
+
+        /**
+         * Exécute le lot en cours et écrit les réponses en attente dans l'ordre.
+         */
+        private void flush() {
+            if (pendingCount == 0) {
+                return;
+            }
+            BatchResult result = batch.isEmpty() ? null : bankingService.executeBatch(batch);
+            int index = 0;
+            for (int i = 0; i < pendingCount; i++) {
+                Status status = pendingStatus[i];
+                long balance = 0;
+                if (status == null) {
+                    status = Status.of(result.getCode(index));
+                    if (status == Status.OK) {
+                        balance = result.getTransaction(index).getBalanceAfterMinor();
+                    }
+                    index++;
+                }
+                BinaryProtocol.putResponse(out, pendingIds[i], status, balance);
+                pendingStatus[i] = null;
+            }
+            batch.clear();
+            pendingCount = 0;
+        }
+
+        /**
+         * Envoie les réponses accumulées.
+         *
+         * @return true si tout a été envoyé
+         */
+        boolean write(SocketChannel channel) throws IOException {
+            out.flip();
+            try {
+                channel.write(out);
+                return !out.hasRemaining();
+            } finally {
+                out.compact();
+            }
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package com.university.finance.api;
+
+import com.university.finance.service.BatchResult;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Protocole binaire de {@link BankingProtocolServer} et {@link BankingProtocolClient}.
+ * Entiers en big-endian, montants en unités mineures.
+ *
+ * Requête : {@code int longueur} (octets qui suivent), {@code long corrélation},
+ * {@code byte opération}, puis selon l'opération :
+ * <pre>
+ * LOGIN     short+octets utilisateur, short+octets mot de passe
+ * BALANCE   byte+octets compte
+ * DEPOSIT   byte+octets compte, long montant
+ * WITHDRAW  byte+octets compte, long montant
+ * TRANSFER  byte+octets compte source, byte+octets compte cible, long montant
+ * </pre>
+ * Réponse, de taille fixe : {@code int longueur} (17), {@code long corrélation},
+ * {@code byte statut} ({@link Status}), {@code long solde} (solde du compte après
+ * l'opération, 0 en cas d'échec).
+ *
+ * Les requêtes d'une connexion sont traitées et répondues dans leur ordre d'envoi ;
+ * la corrélation permet au client de ne pas en dépendre.
+ */
+public final class BinaryProtocol {
+
+    public static final byte LOGIN = 1;
+    public static final byte BALANCE = 2;
+    public static final byte DEPOSIT = 3;
+    public static final byte WITHDRAW = 4;
+    public static final byte TRANSFER = 5;
+
+    /** Taille maximale d'une requête, préfixe de longueur exclu. */
+    public static final int MAX_REQUEST_LENGTH = 64 * 1024;
+
+    static final int LENGTH_PREFIX = Integer.BYTES;
+    static final int HEADER_LENGTH = Long.BYTES + 1;
+    static final int RESPONSE_LENGTH = Long.BYTES + 1 + Long.BYTES;
+    static final int RESPONSE_FRAME = LENGTH_PREFIX + RESPONSE_LENGTH;
+
+    /**
+     * Statut d'une réponse ; le code transmis est l'ordinal.
+     */
+    public enum Status {
+        OK,
+        ACCOUNT_NOT_FOUND,
+        TARGET_ACCOUNT_NOT_FOUND,
+        INVALID_AMOUNT,
+        INSUFFICIENT_FUNDS,
+        /** Connexion non authentifiée, identifiants refusés ou compte d'un autre utilisateur. */
+        UNAUTHORIZED,
+        /** Opération inconnue ou requête tronquée. */
+        MALFORMED;
+
+        private static final Status[] VALUES = values();
+
+        static Status of(BatchResult.Code code) {
+            switch (code) {
+                case OK:
+                    return OK;
+                case ACCOUNT_NOT_FOUND:
+                    return ACCOUNT_NOT_FOUND;
+                case TARGET_ACCOUNT_NOT_FOUND:
+                    return TARGET_ACCOUNT_NOT_FOUND;
+                case INVALID_AMOUNT:
+                    return INVALID_AMOUNT;
+                default:
+                    return INSUFFICIENT_FUNDS;
+            }
+        }
+
+        static Status fromCode(byte code) {
+            if (code < 0 || code >= VALUES.length) {
+                throw new IllegalArgumentException("Statut inconnu: " + code);
+            }
+            return VALUES[code];
+        }
+    }
+
+    private BinaryProtocol() {
+    }
+
+    static void putResponse(ByteBuffer out, long correlationId, Status status, long balanceMinor) {
+        out.putInt(RESPONSE_LENGTH).putLong(correlationId).put((byte) status.ordinal()).putLong(balanceMinor);
+    }
+
+    /**
+     * Écrit une chaîne précédée de sa longueur sur un octet (numéros de compte).
+     */
+    static void putShortString(ByteBuffer out, byte[] value) {
+        if (value.length > 0xFF) {
+            throw new IllegalArgumentException("Numéro de compte trop long");
+        }
+        out.put((byte) value.length).put(value);
+    }
+
+    /**
+     * Écrit une chaîne précédée de sa longueur sur deux octets.
+     */
+    static void putString(ByteBuffer out, byte[] value) {
+        if (value.length > 0xFFFF) {
+            throw new IllegalArgumentException("Chaîne trop longue");
+        }
+        out.putShort((short) value.length).put(value);
+    }
+
+    /**
+     * Lit une chaîne précédée de sa longueur sur un octet, directement depuis le tampon.
+     *
+     * @throws BufferUnderflowException Si la requête est tronquée
+     */
+    static String getShortString(ByteBuffer in) {
+        return getString(in, in.get() & 0xFF);
+    }
+
+    /**
+     * Lit une chaîne précédée de sa longueur sur deux octets.
+     *
+     * @throws BufferUnderflowException Si la requête est tronquée
+     */
+    static String getString(ByteBuffer in) {
+        return getString(in, in.getShort() & 0xFFFF);
+    }
+
+    private static String getString(ByteBuffer in, int length) {
+        if (in.remaining() < length) {
+            throw new BufferUnderflowException();
+        }
+        String value;
+        if (in.hasArray()) {
+            value = new String(in.array(), in.arrayOffset() + in.position(), length, StandardCharsets.UTF_8);
+        } else {
+            byte[] bytes = new byte[length];
+            in.get(in.position(), bytes);
+            value = new String(bytes, StandardCharsets.UTF_8);
+        }
+        in.position(in.position() + length);
+        return value;
+    }
+}
@@ -0,0 +1,280 @@
+package com.university.finance.api;
+
+import java.math.BigDecimal;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Lecture et écriture JSON minimales pour l'API : objets plats dont les valeurs
+ * sont des chaînes, des nombres, des booléens ou null. Les objets et tableaux
+ * imbriqués ne sont acceptés qu'en écriture ({@link Writer#raw(String, String)}).
+ */
+final class Json {
+
+    private Json() {
+    }
+
+    /**
+     * Lit un objet plat.
+     *
+     * @return Les champs dans l'ordre du texte : {@link String}, {@link BigDecimal},
+     *         {@link Boolean} ou null
+     * @throws IllegalArgumentException Si le texte n'est pas un objet plat valide
+     */
+    static Map<String, Object> parseObject(String text) {
+        Parser parser = new Parser(text);
+        Map<String, Object> fields = parser.object();
+        parser.skipWhitespace();
+        if (!parser.atEnd()) {
+            throw parser.error("fin de texte attendue");
+        }
+        return fields;
+    }
+
+    /**
+     * Écrit une chaîne JSON, guillemets compris.
+     */
+    static void quote(StringBuilder out, String value) {
+        out.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"':
+                    out.append("\\\"");
+                    break;
+                case '\\':
+                    out.append("\\\\");
+                    break;
+                case '\n':
+                    out.append("\\n");
+                    break;
+                case '\r':
+                    out.append("\\r");
+                    break;
+                case '\t':
+                    out.append("\\t");
+                    break;
+                default:
+                    if (c < 0x20) {
+                        out.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        out.append(c);
+                    }
+            }
+        }
+        out.append('"');
+    }
+
+    static Writer object() {
+        return new Writer();
+    }
+
+    /**
+     * Construction d'un objet JSON champ par champ.
+     */
+    static final class Writer {
+        private final StringBuilder out = new StringBuilder("{");
+
+        Writer field(String name, String value) {
+            name(name);
+            if (value == null) {
+                out.append("null");
+            } else {
+                quote(out, value);
+            }
+            return this;
+        }
+
+        Writer field(String name, long value) {
+            name(name).append(value);
+            return this;
+        }
+
+        Writer field(String name, double value) {
+            name(name).append(value);
+            return this;
+        }
+
+        Writer field(String name, boolean value) {
+            name(name).append(value);
+            return this;
+        }
+
+        /**
+         * Ajoute une valeur déjà écrite en JSON (objet ou tableau).
+         */
+        Writer raw(String name, String json) {
+            name(name).append(json);
+            return this;
+        }
+
+        private StringBuilder name(String name) {
+            if (out.length() > 1) {
+                out.append(',');
+            }
+            quote(out, name);
+            return out.append(':');
+        }
+
+        @Override
+        public String toString() {
+            return out + "}";
+        }
+    }
+
+    private static final class Parser {
+        private final String text;
+        private int position;
+
+        Parser(String text) {
+            this.text = text;
+        }
+
+        Map<String, Object> object() {
+            skipWhitespace();
+            expect('{');
+            Map<String, Object> fields = new LinkedHashMap<>();
+            skipWhitespace();
+            if (peek() == '}') {
+                position++;
+                return fields;
+            }
+            while (true) {
+                skipWhitespace();
+                String name = string();
+                skipWhitespace();
+                expect(':');
+                skipWhitespace();
+                fields.put(name, value());
+                skipWhitespace();
+                char c = next();
+                if (c == '}') {
+                    return fields;
+                }
+                if (c != ',') {
+                    throw error("',' ou '}' attendu");
+                }
+            }
+        }
+
+        private Object value() {
+            char c = peek();
+            if (c == '"') {
+                return string();
+            }
+            if (c == '-' || (c >= '0' && c <= '9')) {
+                return number();
+            }
+            if (text.startsWith("true", position)) {
+                position += 4;
+                return Boolean.TRUE;
+            }
+            if (text.startsWith("false", position)) {
+                position += 5;
+                return Boolean.FALSE;
+            }
+            if (text.startsWith("null", position)) {
+                position += 4;
+                return null;
+            }
+            throw error("valeur attendue");
+        }
+
+        private BigDecimal number() {
+            int start = position;
+            while (!atEnd() && "+-0123456789.eE".indexOf(text.charAt(position)) >= 0) {
+                position++;
+            }
+            try {
+                return new BigDecimal(text.substring(start, position));
+            } catch (NumberFormatException e) {
+                throw error("nombre invalide");
+            }
+        }
+
+        private String string() {
+            expect('"');
+            StringBuilder value = new StringBuilder();
+            while (true) {
+                char c = next();
+                if (c == '"') {
+                    return value.toString();
+                }
+                if (c != '\\') {
+                    value.append(c);
+                    continue;
+                }
+                char escaped = next();
+                switch (escaped) {
+                    case '"':
+                    case '\\':
+                    case '/':
+                        value.append(escaped);
+                        break;
+                    case 'n':
+                        value.append('\n');
+                        break;
+                    case 'r':
+                        value.append('\r');
+                        break;
+                    case 't':
+                        value.append('\t');
+                        break;
+                    case 'b':
+                        value.append('\b');
+                        break;
+                    case 'f':
+                        value.append('\f');
+                        break;
+                    case 'u':
+                        if (position + 4 > text.length()) {
+                            throw error("séquence \\u incomplète");
+                        }
+                        try {
+                            value.append((char) Integer.parseInt(text.substring(position, position + 4), 16));
+                        } catch (NumberFormatException e) {
+                            throw error("séquence \\u invalide");
+                        }
+                        position += 4;
+                        break;
+                    default:
+                        throw error("échappement invalide");
+                }
+            }
+        }
+
+        void skipWhitespace() {
+            while (!atEnd() && Character.isWhitespace(text.charAt(position))) {
+                position++;
+            }
+        }
+
+        boolean atEnd() {
+            return position >= text.length();
+        }
+
+        private char peek() {
+            if (atEnd()) {
+                throw error("fin de texte inattendue");
+            }
+            return text.charAt(position);
+        }
+
+        private char next() {
+            char c = peek();
+            position++;
+            return c;
+        }
+
+        private void expect(char expected) {
+            if (next() != expected) {
+                position--;
+                throw error("'" + expected + "' attendu");
+            }
+        }
+
+        IllegalArgumentException error(String message) {
+            return new IllegalArgumentException("JSON invalide à la position " + position + ": " + message);
+        }
+    }
+}
@@ -1,24 +1,43 @@
 package com.university.finance.controller;
 
 import com.university.finance.model.Account;
+import com.university.finance.model.HistoryPage;
+import com.university.finance.model.HistoryQuery;
 import com.university.finance.model.Transaction;
+import com.university.finance.model.TransactionStatistics;
 import com.university.finance.service.BankingService;
 
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 /**
  * Contrôleur bancaire qui découple la logique métier de l'interface utilisateur.
  * Ce contrôleur sert d'intermédiaire entre MainApp et les services.
  * Il est conçu pour être facilement testable et réutilisable.
+ *
+ * Une même instance sert autant d'utilisateurs que nécessaire : chaque connexion
+ * ({@link #openSession(String, String)}) délivre un jeton opaque, que reçoivent
+ * ensuite toutes les opérations. Les méthodes sans jeton portent sur l'unique
+ * utilisateur connecté par {@link #login(String, String)}, pour l'interface console.
  */
 public class BankingController {
     
     private final BankingService bankingService;
+    private final SessionRegistry sessions;
     private String currentUsername;
     
     public BankingController(BankingService bankingService) {
+        this(bankingService, new SessionRegistry());
+    }
+    
+    /**
+     * @param sessions Registre des sessions ouvertes par {@link #openSession(String, String)}
+     */
+    public BankingController(BankingService bankingService, SessionRegistry sessions) {
         this.bankingService = bankingService;
+        this.sessions = sessions;
         this.currentUsername = null;
     }
     
@@ -35,6 +54,145 @@ public class BankingController {
         }
     }
     
+    // ========== Sessions ==========
+    
+    /**
+     * Authentifie un utilisateur et lui ouvre une session
+     * @return Le jeton de la session, ou null si l'authentification échoue
+     */
+    public String openSession(String username, String password) {
+        if (!bankingService.authenticate(username, password)) {
+            return null;
+        }
+        return sessions.open(username).getToken();
+    }
+    
+    /**
+     * Ferme une session
+     * @return false si le jeton était inconnu ou déjà expiré
+     */
+    public boolean closeSession(String token) {
+        return sessions.close(token);
+    }
+    
+    /**
+     * Vérifie qu'un jeton désigne une session ouverte et non expirée
+     */
+    public boolean isSessionValid(String token) {
+        return sessions.get(token) != null;
+    }
+    
+    /**
+     * Récupère le nom d'utilisateur d'une session
+     * @return Le nom, ou null si la session est invalide
+     */
+    public String getUsername(String token) {
+        Session session = sessions.get(token);
+        return session != null ? session.getUsername() : null;
+    }
+    
+    /**
+     * Récupère le compte de l'utilisateur d'une session, résolu à la première
+     * utilisation puis conservé avec la session
+     * @return Le compte, ou null si la session est invalide
+     */
+    public Account getAccount(String token) {
+        Session session = sessions.get(token);
+        if (session == null) {
+            return null;
+        }
+        Account account = session.getAccount();
+        if (account == null) {
+            account = bankingService.getAccountByUsername(session.getUsername()).orElse(null);
+            session.setAccount(account);
+        }
+        return account;
+    }
+    
+    /**
+     * Récupère le solde de l'utilisateur d'une session
+     * @return Le solde, ou null si la session est invalide
+     */
+    public Double getBalance(String token) {
+        return balanceOf(getAccount(token));
+    }
+    
+    /**
+     * Effectue un dépôt pour l'utilisateur d'une session
+     * @return true si le dépôt réussit
+     */
+    public boolean deposit(String token, double amount) {
+        return deposit(getAccount(token), amount);
+    }
+    
+    /**
+     * Effectue un retrait pour l'utilisateur d'une session
+     * @return true si le retrait réussit
+     */
+    public boolean withdraw(String token, double amount) {
+        return withdraw(getAccount(token), amount);
+    }
+    
+    /**
+     * Effectue un transfert depuis l'utilisateur d'une session vers un autre utilisateur
+     * @return true si le transfert réussit
+     */
+    public boolean transfer(String token, String recipientUsername, double amount) {
+        return transfer(getAccount(token), recipientUsername, amount);
+    }
+    
+    /**
+     * Récupère l'historique des transactions de l'utilisateur d'une session
+     */
+    public List<Transaction> getTransactionHistory(String token) {
+        Account account = getAccount(token);
+        return account != null ? account.getTransactions() : null;
+    }
+    
+    /**
+     * Récupère une page de l'historique de l'utilisateur d'une session
+     * @param offset Indice de la première transaction (0 = la plus ancienne)
+     * @param limit Nombre maximal de transactions
+     */
+    public List<Transaction> getTransactionHistory(String token, int offset, int limit) {
+        Account account = getAccount(token);
+        return account != null ? account.getTransactions(offset, limit) : null;
+    }
+    
+    /**
+     * Recherche dans l'historique de l'utilisateur d'une session
+     * @return La page de résultats, ou null si la session est invalide
+     */
+    public HistoryPage getTransactionHistory(String token, HistoryQuery query) {
+        Account account = getAccount(token);
+        return account != null ? account.queryTransactions(query) : null;
+    }
+    
+    /**
+     * Calcule le nombre total de transactions de l'utilisateur d'une session
+     */
+    public int getTotalTransactionCount(String token) {
+        Account account = getAccount(token);
+        return account != null ? account.getTransactionCount() : 0;
+    }
+    
+    /**
+     * Récupère les statistiques par type de transaction de l'utilisateur d'une session
+     * @return Les statistiques triées par type, vides si la session est invalide
+     */
+    public Map<String, TransactionStatistics> getStatistics(String token) {
+        return statisticsOf(getAccount(token));
+    }
+    
+    /**
+     * Registre des sessions de ce contrôleur
+     */
+    public SessionRegistry getSessionRegistry() {
+        return sessions;
+    }
+    
+    // ========== Utilisateur courant (interface console) ==========
+    
     /**
      * Authentifie un utilisateur
      * @return true si l'authentification réussit
@@ -82,8 +240,7 @@ public class BankingController {
      * Récupère le solde de l'utilisateur courant
      */
     public Double getCurrentBalance() {
-        Account account = getCurrentAccount();
-        return account != null ? account.getBalance() : null;
+        return balanceOf(getCurrentAccount());
     }
     
     /**
@@ -94,18 +251,7 @@ public class BankingController {
         if (!isLoggedIn()) {
             return false;
         }
-        
-        Account account = getCurrentAccount();
-        if (account == null) {
-            return false;
-        }
-        
-        try {
-            bankingService.deposit(account.getAccountNumber(), amount);
-            return true;
-        } catch (Exception e) {
-            return false;
-        }
+        return deposit(getCurrentAccount(), amount);
     }
     
     /**
@@ -116,18 +262,7 @@ public class BankingController {
         if (!isLoggedIn()) {
             return false;
         }
-        
-        Account account = getCurrentAccount();
-        if (account == null) {
-            return false;
-        }
-        
-        try {
-            bankingService.withdraw(account.getAccountNumber(), amount);
-            return true;
-        } catch (Exception e) {
-            return false;
-        }
+        return withdraw(getCurrentAccount(), amount);
     }
     
     /**
@@ -138,24 +273,7 @@ public class BankingController {
         if (!isLoggedIn()) {
             return false;
         }
-        
-        Account fromAccount = getCurrentAccount();
-        if (fromAccount == null) {
-            return false;
-        }
-        
-        Optional<Account> toAccountOpt = bankingService.getAccountByUsername(recipientUsername);
-        if (!toAccountOpt.isPresent()) {
-            return false;
-        }
-        
-        try {
-            bankingService.transfer(fromAccount.getAccountNumber(), 
-                                   toAccountOpt.get().getAccountNumber(), amount);
-            return true;
-        } catch (Exception e) {
-            return false;
-        }
+        return transfer(getCurrentAccount(), recipientUsername, amount);
     }
     
     /**
@@ -166,57 +284,65 @@ public class BankingController {
         return account != null ? account.getTransactions() : null;
     }
     
+    /**
+     * Récupère une page de l'historique de l'utilisateur courant
+     * @param offset Indice de la première transaction (0 = la plus ancienne)
+     * @param limit Nombre maximal de transactions
+     */
+    public List<Transaction> getTransactionHistory(int offset, int limit) {
+        Account account = getCurrentAccount();
+        return account != null ? account.getTransactions(offset, limit) : null;
+    }
+    
+    /**
+     * Recherche dans l'historique de l'utilisateur courant par intervalle de dates,
+     * types et curseur (relevés mensuels, filtres)
+     * @return La page de résultats, ou null si personne n'est connecté
+     */
+    public HistoryPage getTransactionHistory(HistoryQuery query) {
+        Account account = getCurrentAccount();
+        return account != null ? account.queryTransactions(query) : null;
+    }
+    
     /**
      * Calcule le nombre total de transactions de l'utilisateur courant
      */
     public int getTotalTransactionCount() {
-        List<Transaction> transactions = getTransactionHistory();
-        return transactions != null ? transactions.size() : 0;
+        Account account = getCurrentAccount();
+        return account != null ? account.getTransactionCount() : 0;
     }
     
     /**
      * Calcule le total des dépôts de l'utilisateur courant
      */
     public double getTotalDeposits() {
-        List<Transaction> transactions = getTransactionHistory();
-        if (transactions == null) {
-            return 0.0;
-        }
-        
-        return transactions.stream()
-            .filter(t -> t.getType().equals("DEPOSIT"))
-            .mapToDouble(Transaction::getAmount)
-            .sum();
+        Account account = getCurrentAccount();
+        return account != null ? account.getStatistics("DEPOSIT").getTotal() : 0.0;
     }
     
     /**
      * Calcule le total des retraits de l'utilisateur courant
      */
     public double getTotalWithdrawals() {
-        List<Transaction> transactions = getTransactionHistory();
-        if (transactions == null) {
-            return 0.0;
-        }
-        
-        return transactions.stream()
-            .filter(t -> t.getType().equals("WITHDRAW"))
-            .mapToDouble(Transaction::getAmount)
-            .sum();
+        Account account = getCurrentAccount();
+        return account != null ? account.getStatistics("WITHDRAW").getTotal() : 0.0;
     }
     
     /**
      * Calcule le total des transferts de l'utilisateur courant
      */
     public double getTotalTransfers() {
-        List<Transaction> transactions = getTransactionHistory();
-        if (transactions == null) {
-            return 0.0;
-        }
-        
-        return transactions.stream()
-            .filter(t -> t.getType().equals("TRANSFER"))
-            .mapToDouble(Transaction::getAmount)
-            .sum();
+        Account account = getCurrentAccount();
+        return account != null ? account.getStatistics("TRANSFER").getTotal() : 0.0;
+    }
+    
+    /**
+     * Récupère les statistiques par type de transaction de l'utilisateur courant,
+     * en temps constant quelle que soit la taille de l'historique
+     * @return Les statistiques triées par type, vides si personne n'est connecté
+     */
+    public Map<String, TransactionStatistics> getStatistics() {
+        return statisticsOf(getCurrentAccount());
     }
     
     /**
@@ -225,4 +351,59 @@ public class BankingController {
     public boolean userExists(String username) {
         return bankingService.getAccountByUsername(username).isPresent();
     }
+    
+    // ========== Opérations communes ==========
+    
+    private static Double balanceOf(Account account) {
+        return account != null ? account.getBalance() : null;
+    }
+    
+    private static Map<String, TransactionStatistics> statisticsOf(Account account) {
+        return account != null ? account.getStatistics() : Collections.emptyMap();
+    }
+    
+    private boolean deposit(Account account, double amount) {
+        if (account == null) {
+            return false;
+        }
+        
+        try {
+            bankingService.deposit(account.getAccountNumber(), amount);
+            return true;
+        } catch (Exception e) {
+            return false;
+        }
+    }
+    
+    private boolean withdraw(Account account, double amount) {
+        if (account == null) {
+            return false;
+        }
+        
+        try {
+            bankingService.withdraw(account.getAccountNumber(), amount);
+            return true;
+        } catch (Exception e) {
+            return false;
+        }
+    }
+    
+    private boolean transfer(Account fromAccount, String recipientUsername, double amount) {
+        if (fromAccount == null) {
+            return false;
+        }
+        
+        Optional<Account> toAccountOpt = bankingService.getAccountByUsername(recipientUsername);
+        if (!toAccountOpt.isPresent()) {
+            return false;
+        }
+        
+        try {
+            bankingService.transfer(fromAccount.getAccountNumber(), 
+                                   toAccountOpt.get().getAccountNumber(), amount);
+            return true;
+        } catch (Exception e) {
+            return false;
+        }
+    }
 }
@@ -0,0 +1,59 @@
+package com.university.finance.controller;
+
+import com.university.finance.model.Account;
+
+/**
+ * Session d'un utilisateur connecté, identifiée par un jeton opaque délivré par
+ * {@link SessionRegistry}. Le compte de l'utilisateur est résolu une seule fois
+ * puis conservé avec la session.
+ */
+public final class Session {
+    private final String token;
+    private final String username;
+    private volatile Account account;
+    private volatile long lastAccess;
+    private volatile boolean closed;
+    // Tic de la roue où la session est rangée ; lu et écrit par le thread de la roue
+    long wheelTick;
+    
+    Session(String token, String username, long now) {
+        this.token = token;
+        this.username = username;
+        this.lastAccess = now;
+    }
+    
+    public String getToken() {
+        return token;
+    }
+    
+    public String getUsername() {
+        return username;
+    }
+    
+    /**
+     * Date du dernier accès, en millisecondes.
+     */
+    public long getLastAccess() {
+        return lastAccess;
+    }
+    
+    public boolean isClosed() {
+        return closed;
+    }
+    
+    Account getAccount() {
+        return account;
+    }
+    
+    void setAccount(Account account) {
+        this.account = account;
+    }
+    
+    void touch(long now) {
+        lastAccess = now;
+    }
+    
+    void close() {
+        closed = true;
+    }
+}
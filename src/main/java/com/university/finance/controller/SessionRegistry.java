@@ -0,0 +1,238 @@
+package com.university.finance.controller;
+
+import java.io.Closeable;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Registre des sessions : jetons opaques de 128 bits aléatoires, recherche en
+ * temps constant, expiration après une durée d'inactivité.
+ *
+ * Un accès ne fait que dater la session ; l'expiration est portée par une roue
+ * temporelle hachée : chaque session est rangée dans la case du tic où elle
+ * expirera. À chaque tic, seule la case courante est parcourue ; une session
+ * utilisée depuis son rangement est simplement déplacée vers la case de sa
+ * nouvelle échéance. Une recherche contrôle aussi l'inactivité, si bien qu'une
+ * session échue n'est jamais rendue, même entre deux tics.
+ */
+public class SessionRegistry implements Closeable {
+    public static final long DEFAULT_IDLE_TIMEOUT_MILLIS = TimeUnit.MINUTES.toMillis(30);
+    static final long DEFAULT_TICK_MILLIS = 1000;
+    static final int DEFAULT_WHEEL_SIZE = 512;
+    private static final int TOKEN_BYTES = 16;
+
+    private final Map<String, Session> sessions = new ConcurrentHashMap<>();
+    private final SecureRandom random = new SecureRandom();
+    private final Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+    private final long idleTimeout;
+    private final long tickMillis;
+    private final List<Queue<Session>> wheel;
+    private final int mask;
+    private final LongSupplier clock;
+    private final long origin;
+    private final AtomicLong expired = new AtomicLong();
+    // Dernier tic traité par la roue
+    private volatile long processedTick;
+    private ScheduledExecutorService scheduler;
+
+    public SessionRegistry() {
+        this(DEFAULT_IDLE_TIMEOUT_MILLIS);
+    }
+
+    /**
+     * @param idleTimeoutMillis Durée d'inactivité au-delà de laquelle une session expire
+     */
+    public SessionRegistry(long idleTimeoutMillis) {
+        this(idleTimeoutMillis, DEFAULT_TICK_MILLIS, DEFAULT_WHEEL_SIZE, System::currentTimeMillis);
+    }
+
+    /**
+     * @param idleTimeoutMillis Durée d'inactivité au-delà de laquelle une session expire
+     * @param tickMillis Durée d'un tic de la roue (précision de l'expiration)
+     * @param wheelSize Nombre de cases de la roue (arrondi à la puissance de 2 supérieure)
+     * @param clock Horloge en millisecondes
+     */
+    SessionRegistry(long idleTimeoutMillis, long tickMillis, int wheelSize, LongSupplier clock) {
+        if (tickMillis <= 0 || wheelSize <= 0) {
+            throw new IllegalArgumentException("La roue doit avoir des tics et des cases positifs");
+        }
+        if (idleTimeoutMillis < 2 * tickMillis) {
+            throw new IllegalArgumentException("La durée d'inactivité doit couvrir au moins deux tics");
+        }
+        int size = Integer.highestOneBit(wheelSize);
+        if (size < wheelSize) {
+            size <<= 1;
+        }
+        this.idleTimeout = idleTimeoutMillis;
+        this.tickMillis = tickMillis;
+        this.wheel = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            wheel.add(new ConcurrentLinkedQueue<>());
+        }
+        this.mask = size - 1;
+        this.clock = clock;
+        this.origin = clock.getAsLong();
+    }
+
+    /**
+     * Ouvre une session pour un utilisateur déjà authentifié.
+     */
+    public Session open(String username) {
+        long now = clock.getAsLong();
+        Session session;
+        do {
+            session = new Session(newToken(), username, now);
+        } while (sessions.putIfAbsent(session.getToken(), session) != null);
+        // Une case déjà parcourue ne le serait qu'au tour suivant : au plus tôt le prochain tic
+        schedule(session, now + idleTimeout, processedTick);
+        return session;
+    }
+
+    /**
+     * Retourne la session du jeton et la marque comme utilisée.
+     *
+     * @return La session, ou null si le jeton est inconnu, fermé ou expiré
+     */
+    public Session get(String token) {
+        if (token == null) {
+            return null;
+        }
+        Session session = sessions.get(token);
+        if (session == null) {
+            return null;
+        }
+        long now = clock.getAsLong();
+        if (now - session.getLastAccess() >= idleTimeout) {
+            expire(session);
+            return null;
+        }
+        // L'expiration n'est précise qu'au tic près : inutile de réécrire la date plus souvent
+        if (now - session.getLastAccess() >= tickMillis) {
+            session.touch(now);
+        }
+        return session;
+    }
+
+    /**
+     * Ferme la session du jeton (déconnexion).
+     *
+     * @return false si le jeton était inconnu
+     */
+    public boolean close(String token) {
+        Session session = token != null ? sessions.remove(token) : null;
+        if (session == null) {
+            return false;
+        }
+        session.close();
+        return true;
+    }
+
+    /**
+     * Nombre de sessions ouvertes (y compris celles échues que la roue n'a pas
+     * encore atteintes).
+     */
+    public int size() {
+        return sessions.size();
+    }
+
+    /**
+     * Nombre de sessions expirées depuis la création du registre.
+     */
+    public long getExpiredCount() {
+        return expired.get();
+    }
+
+    /**
+     * Fait avancer la roue jusqu'à l'instant présent et expire les sessions
+     * inactives des cases parcourues. Appelé périodiquement par {@link #start()}.
+     */
+    public synchronized void advance() {
+        long now = clock.getAsLong();
+        long currentTick = tickOf(now);
+        List<Session> due = new ArrayList<>();
+        for (long tick = processedTick + 1; tick <= currentTick; tick++) {
+            Queue<Session> bucket = wheel.get((int) (tick & mask));
+            for (Session session = bucket.poll(); session != null; session = bucket.poll()) {
+                due.add(session);
+            }
+            for (Session session : due) {
+                if (session.isClosed()) {
+                    continue;
+                }
+                if (session.wheelTick > tick) {
+                    // Échéance à un tour ultérieur de la roue
+                    bucket.add(session);
+                } else if (now - session.getLastAccess() >= idleTimeout) {
+                    expire(session);
+                } else {
+                    schedule(session, session.getLastAccess() + idleTimeout, tick);
+                }
+            }
+            due.clear();
+            processedTick = tick;
+        }
+    }
+
+    /**
+     * Démarre l'avancement périodique de la roue, sur un thread démon.
+     */
+    public synchronized void start() {
+        if (scheduler != null) {
+            throw new IllegalStateException("Le registre des sessions est déjà démarré");
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "session-wheel");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleAtFixedRate(this::advance, tickMillis, tickMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Arrête l'avancement périodique ; les sessions restent valides.
+     */
+    @Override
+    public synchronized void close() {
+        if (scheduler != null) {
+            scheduler.shutdown();
+            scheduler = null;
+        }
+    }
+
+    /**
+     * Range la session dans la case de son échéance, postérieure au tic donné.
+     */
+    private void schedule(Session session, long deadline, long afterTick) {
+        long tick = Math.max(tickOf(deadline), afterTick + 1);
+        session.wheelTick = tick;
+        wheel.get((int) (tick & mask)).add(session);
+    }
+
+    private void expire(Session session) {
+        if (sessions.remove(session.getToken(), session)) {
+            session.close();
+            expired.incrementAndGet();
+        }
+    }
+
+    private long tickOf(long time) {
+        return Math.floorDiv(time - origin, tickMillis);
+    }
+
+    private String newToken() {
+        byte[] bytes = new byte[TOKEN_BYTES];
+        random.nextBytes(bytes);
+        return encoder.encodeToString(bytes);
+    }
+}
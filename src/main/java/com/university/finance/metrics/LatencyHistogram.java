@@ -0,0 +1,125 @@
+package com.university.finance.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Histogramme de latences à précision relative constante, à la manière de
+ * HdrHistogram : chaque puissance de 2 est découpée en {@value #SUB_BUCKETS}
+ * intervalles, soit une erreur relative d'au plus 1/{@value #SUB_BUCKETS}
+ * (valeurs exactes en dessous de 64).
+ *
+ * L'enregistrement se limite à un incrément atomique, sans verrou ni allocation ;
+ * les lectures agrègent les compteurs et peuvent ignorer les enregistrements
+ * concurrents.
+ */
+public final class LatencyHistogram {
+    static final int SUB_BUCKET_BITS = 5;
+    static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    // Groupe 0 : valeurs 0..31 ; groupe g >= 1 : [2^(g+4), 2^(g+5)[ (valeurs positives sur 63 bits)
+    private static final int GROUPS = Long.SIZE - SUB_BUCKET_BITS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(GROUPS * SUB_BUCKETS);
+    private final AtomicLong max = new AtomicLong();
+
+    /**
+     * Enregistre une valeur (les valeurs négatives comptent pour 0).
+     */
+    public void record(long value) {
+        long clamped = Math.max(value, 0);
+        counts.incrementAndGet(index(clamped));
+        long currentMax = max.get();
+        while (clamped > currentMax && !max.compareAndSet(currentMax, clamped)) {
+            currentMax = max.get();
+        }
+    }
+
+    static int index(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int shift = Long.SIZE - SUB_BUCKET_BITS - 1 - Long.numberOfLeadingZeros(value);
+        // Les SUB_BUCKET_BITS + 1 bits de poids fort : SUB_BUCKETS..2*SUB_BUCKETS-1
+        return (shift + 1) * SUB_BUCKETS + (int) (value >>> shift) - SUB_BUCKETS;
+    }
+
+    /**
+     * Plus grande valeur de l'intervalle {@code index}.
+     */
+    static long highestValue(int index) {
+        int group = index / SUB_BUCKETS;
+        long sub = index % SUB_BUCKETS;
+        if (group == 0) {
+            return sub;
+        }
+        return ((SUB_BUCKETS + sub + 1) << (group - 1)) - 1;
+    }
+
+    public long getCount() {
+        long count = 0;
+        for (int i = 0; i < counts.length(); i++) {
+            count += counts.get(i);
+        }
+        return count;
+    }
+
+    public long getMax() {
+        return max.get();
+    }
+
+    /**
+     * Moyenne approchée, calculée sur les bornes des intervalles.
+     */
+    public double getMean() {
+        long count = 0;
+        double total = 0;
+        for (int i = 0; i < counts.length(); i++) {
+            long bucketCount = counts.get(i);
+            if (bucketCount > 0) {
+                count += bucketCount;
+                total += (double) bucketCount * highestValue(i);
+            }
+        }
+        return count == 0 ? 0 : total / count;
+    }
+
+    /**
+     * Valeur sous laquelle se trouvent {@code percentile} % des enregistrements
+     * (borne haute de l'intervalle, plafonnée au maximum observé).
+     *
+     * @param percentile Entre 0 et 100
+     */
+    public long getValueAtPercentile(double percentile) {
+        if (percentile < 0 || percentile > 100) {
+            throw new IllegalArgumentException("Percentile invalide: " + percentile);
+        }
+        long[] snapshot = new long[counts.length()];
+        long count = 0;
+        for (int i = 0; i < snapshot.length; i++) {
+            snapshot[i] = counts.get(i);
+            count += snapshot[i];
+        }
+        if (count == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100.0 * count));
+        long seen = 0;
+        for (int i = 0; i < snapshot.length; i++) {
+            seen += snapshot[i];
+            if (seen >= rank) {
+                return Math.min(highestValue(i), getMax());
+            }
+        }
+        return getMax();
+    }
+
+    /**
+     * Remet l'histogramme à zéro (les enregistrements concurrents peuvent être perdus).
+     */
+    public void reset() {
+        for (int i = 0; i < counts.length(); i++) {
+            counts.set(i, 0);
+        }
+        max.set(0);
+    }
+}
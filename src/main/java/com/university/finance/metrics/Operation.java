@@ -0,0 +1,12 @@
+package com.university.finance.metrics;
+
+/**
+ * Opérations bancaires instrumentées.
+ */
+public enum Operation {
+    DEPOSIT,
+    WITHDRAW,
+    TRANSFER,
+    MULTI_LEG_TRANSFER,
+    BATCH
+}
@@ -0,0 +1,12 @@
+package com.university.finance.metrics;
+
+/**
+ * Motifs de refus d'une opération.
+ */
+public enum RejectionReason {
+    ACCOUNT_NOT_FOUND,
+    INVALID_AMOUNT,
+    INSUFFICIENT_FUNDS,
+    /** Transfert multiple non équilibré ou entraînant un solde négatif */
+    INVALID_TRANSFER
+}
@@ -0,0 +1,173 @@
+package com.university.finance.metrics;
+
+import java.io.Closeable;
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Métriques des transactions : latence et nombre d'opérations réussies par type,
+ * refus par motif, durée des appels à chaque observateur, conflits des mises à
+ * jour de solde par compare-and-set. Toutes les durées sont en nanosecondes.
+ *
+ * Les histogrammes des opérations et les compteurs de refus sont indexés par
+ * ordinal : un enregistrement ne coûte ni recherche ni allocation.
+ */
+public class TransactionMetrics implements Closeable {
+    private static final Logger logger = LoggerFactory.getLogger(TransactionMetrics.class);
+
+    private final LatencyHistogram[] operations;
+    private final LongAdder[] rejections;
+    private final Map<String, LatencyHistogram> observers = new ConcurrentHashMap<>();
+    private final LongAdder contendedUpdates = new LongAdder();
+    private final LongAdder balanceRetries = new LongAdder();
+    private ScheduledExecutorService scheduler;
+
+    public TransactionMetrics() {
+        this.operations = new LatencyHistogram[Operation.values().length];
+        for (int i = 0; i < operations.length; i++) {
+            operations[i] = new LatencyHistogram();
+        }
+        this.rejections = new LongAdder[RejectionReason.values().length];
+        for (int i = 0; i < rejections.length; i++) {
+            rejections[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * Enregistre une opération réussie et sa durée.
+     */
+    public void recordOperation(Operation operation, long nanos) {
+        operations[operation.ordinal()].record(nanos);
+    }
+
+    public void recordRejection(RejectionReason reason) {
+        rejections[reason.ordinal()].increment();
+    }
+
+    /**
+     * Enregistre une mise à jour de solde qui a dû être retentée : {@code retries}
+     * compare-and-set ont échoué face à des écritures concurrentes sur le compte.
+     * Les mises à jour réussies du premier coup ne sont pas enregistrées.
+     */
+    public void recordBalanceContention(int retries) {
+        contendedUpdates.increment();
+        balanceRetries.add(retries);
+    }
+
+    /**
+     * Nombre de mises à jour de solde retentées au moins une fois.
+     */
+    public long getContendedUpdateCount() {
+        return contendedUpdates.sum();
+    }
+
+    /**
+     * Nombre total de compare-and-set de solde ayant échoué.
+     */
+    public long getBalanceRetryCount() {
+        return balanceRetries.sum();
+    }
+
+    /**
+     * Histogramme des appels à un observateur, créé au premier besoin. Les
+     * diffuseurs le résolvent une fois à l'ajout de l'observateur.
+     */
+    public LatencyHistogram observerLatency(String observerName) {
+        return observers.computeIfAbsent(observerName, name -> new LatencyHistogram());
+    }
+
+    /**
+     * Latences des opérations réussies d'un type ; leur nombre est
+     * {@link LatencyHistogram#getCount()}.
+     */
+    public LatencyHistogram getLatency(Operation operation) {
+        return operations[operation.ordinal()];
+    }
+
+    public long getOperationCount(Operation operation) {
+        return operations[operation.ordinal()].getCount();
+    }
+
+    public long getRejectionCount(RejectionReason reason) {
+        return rejections[reason.ordinal()].sum();
+    }
+
+    /**
+     * Durées d'appel par observateur, triées par nom.
+     */
+    public Map<String, LatencyHistogram> getObserverLatencies() {
+        return Collections.unmodifiableMap(new TreeMap<>(observers));
+    }
+
+    /**
+     * Texte de toutes les métriques non nulles, une ligne par série.
+     */
+    public String dump() {
+        StringBuilder text = new StringBuilder("Métriques des transactions");
+        for (Operation operation : Operation.values()) {
+            LatencyHistogram histogram = getLatency(operation);
+            if (histogram.getCount() > 0) {
+                appendLine(text, operation.name(), histogram);
+            }
+        }
+        for (RejectionReason reason : RejectionReason.values()) {
+            long count = getRejectionCount(reason);
+            if (count > 0) {
+                text.append(System.lineSeparator()).append("  refus ").append(reason).append(": ").append(count);
+            }
+        }
+        long contended = getContendedUpdateCount();
+        if (contended > 0) {
+            text.append(System.lineSeparator()).append("  conflits de solde: ").append(contended)
+                .append(" mise(s) à jour, ").append(getBalanceRetryCount()).append(" nouvelle(s) tentative(s)");
+        }
+        for (Map.Entry<String, LatencyHistogram> entry : getObserverLatencies().entrySet()) {
+            appendLine(text, "observateur " + entry.getKey(), entry.getValue());
+        }
+        return text.toString();
+    }
+
+    private static void appendLine(StringBuilder text, String name, LatencyHistogram histogram) {
+        text.append(System.lineSeparator()).append(String.format(
+            "  %s: %d, p50 %.1f µs, p99 %.1f µs, p99.9 %.1f µs, max %.1f µs",
+            name, histogram.getCount(),
+            histogram.getValueAtPercentile(50) / 1000.0,
+            histogram.getValueAtPercentile(99) / 1000.0,
+            histogram.getValueAtPercentile(99.9) / 1000.0,
+            histogram.getMax() / 1000.0));
+    }
+
+    /**
+     * Démarre l'écriture périodique des métriques dans le log.
+     */
+    public synchronized void startPeriodicDump(long period, TimeUnit unit) {
+        if (scheduler != null) {
+            throw new IllegalStateException("L'écriture périodique des métriques est déjà démarrée");
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "metrics-dump");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleAtFixedRate(() -> logger.info("{}", dump()), period, period, unit);
+    }
+
+    /**
+     * Arrête l'écriture périodique.
+     */
+    @Override
+    public synchronized void close() {
+        if (scheduler != null) {
+            scheduler.shutdown();
+            scheduler = null;
+        }
+    }
+}
@@ -1,27 +1,58 @@
 package com.university.finance.model;
 
-import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * Classe représentant un compte bancaire.
  * Encapsule les données et comportements d'un compte.
+ *
+ * Le solde est conservé en unités mineures (voir {@link Money}).
+ * Les mutations (solde, historique) sont effectuées sous le verrou du compte, ou
+ * sans verrou par {@link #compareAndSetBalanceMinor(long, long)} ; le solde est
+ * volatile afin que les lectures sans verrou voient la dernière valeur publiée.
+ *
+ * L'historique ne garde en mémoire qu'une fenêtre récente lorsqu'une archive est
+ * configurée (voir {@link TransactionHistory}).
+ *
+ * Un compte très sollicité en crédit peut répartir ses crédits dans des cellules
+ * (voir {@link #enableStripedCredits()}) : le solde est alors la somme du solde
+ * réglé et des crédits en attente, reportés dans le solde réglé avant tout débit.
  */
 public class Account {
+    private static final AtomicLongFieldUpdater<Account> BALANCE =
+        AtomicLongFieldUpdater.newUpdater(Account.class, "balance");
+    
     private final String accountNumber;
     private final String ownerUsername;
-    private double balance;
-    private final List<Transaction> transactions;
+    private volatile long balance;
+    // Crédits en attente, répartis par thread (null : crédits directs dans balance)
+    private volatile LongAdder pendingCredits;
+    private final TransactionHistory history;
+    private final AccountStatistics statistics;
     
     public Account(String accountNumber, String ownerUsername, double initialBalance) {
+        this(accountNumber, ownerUsername, Money.of(initialBalance));
+    }
+    
+    private Account(String accountNumber, String ownerUsername, long initialBalance) {
         if (initialBalance < 0) {
             throw new IllegalArgumentException("Le solde initial ne peut pas être négatif");
         }
         this.accountNumber = accountNumber;
         this.ownerUsername = ownerUsername;
         this.balance = initialBalance;
-        this.transactions = new ArrayList<>();
+        this.history = new TransactionHistory();
+        this.statistics = new AccountStatistics();
+    }
+    
+    /**
+     * Crée un compte dont le solde initial est exprimé en unités mineures.
+     */
+    public static Account ofMinor(String accountNumber, String ownerUsername, long initialBalance) {
+        return new Account(accountNumber, ownerUsername, initialBalance);
     }
     
     public String getAccountNumber() {
@@ -33,27 +64,197 @@ public class Account {
     }
     
     public double getBalance() {
+        return Money.toDouble(getBalanceMinor());
+    }
+    
+    /**
+     * Retourne le solde en unités mineures, crédits en attente compris. Avec des
+     * crédits répartis, la somme n'est pas instantanée : comme
+     * {@link LongAdder#sum()}, elle peut ignorer des crédits concurrents.
+     */
+    public long getBalanceMinor() {
+        LongAdder pending = pendingCredits;
+        return pending == null ? balance : balance + pending.sum();
+    }
+    
+    /**
+     * Retourne le solde réglé, hors crédits en attente : la valeur sur laquelle
+     * porte {@link #compareAndSetBalanceMinor(long, long)}.
+     */
+    public long getSettledBalanceMinor() {
         return balance;
     }
     
     public void setBalance(double balance) {
+        setBalanceMinor(Money.of(balance));
+    }
+    
+    /**
+     * Modifie le solde, exprimé en unités mineures ; les crédits en attente sont
+     * abandonnés.
+     */
+    public void setBalanceMinor(long balance) {
+        LongAdder pending = pendingCredits;
+        if (pending != null) {
+            pending.reset();
+        }
         this.balance = balance;
     }
     
+    /**
+     * Remplace atomiquement le solde réglé s'il vaut encore {@code expected}, en
+     * unités mineures. Base des mises à jour optimistes, sans verrou.
+     *
+     * @return false si le solde a été modifié entre-temps
+     */
+    public boolean compareAndSetBalanceMinor(long expected, long balance) {
+        return BALANCE.compareAndSet(this, expected, balance);
+    }
+    
+    /**
+     * Répartit désormais les crédits du compte dans des cellules alignées sur les
+     * lignes de cache : des dépôts concurrents sans verrou ne se disputent plus un
+     * même champ. Réservé aux comptes essentiellement crédités (encaissement,
+     * commissions), chaque débit devant d'abord régler les crédits en attente.
+     */
+    public synchronized void enableStripedCredits() {
+        if (pendingCredits == null) {
+            pendingCredits = new LongAdder();
+        }
+    }
+    
+    public boolean hasStripedCredits() {
+        return pendingCredits != null;
+    }
+    
+    /**
+     * Ajoute un crédit aux cellules, sans toucher au solde réglé.
+     *
+     * @return false si le compte ne répartit pas ses crédits
+     */
+    public boolean addStripedCredit(long amount) {
+        LongAdder pending = pendingCredits;
+        if (pending == null) {
+            return false;
+        }
+        pending.add(amount);
+        return true;
+    }
+    
+    /**
+     * Reporte les crédits en attente dans le solde réglé. Les règlements sont
+     * sérialisés : un débit qui suit un règlement concurrent voit les crédits que
+     * celui-ci a reportés.
+     */
+    public void settleCredits() {
+        LongAdder pending = pendingCredits;
+        if (pending == null) {
+            return;
+        }
+        synchronized (this) {
+            long credits = pending.sumThenReset();
+            if (credits != 0) {
+                BALANCE.getAndAdd(this, credits);
+            }
+        }
+    }
+    
+    /**
+     * Capture le solde, la longueur de l'historique et les statistiques du compte,
+     * sous le verrou du compte, avant une opération qui pourrait devoir être annulée.
+     */
+    public Checkpoint checkpoint() {
+        return new Checkpoint(getBalanceMinor(), history.size(), statistics.copy());
+    }
+    
+    /**
+     * Remet le compte dans l'état capturé par {@link #checkpoint()} : les
+     * transactions ajoutées depuis sont retirées de l'historique et des statistiques.
+     */
+    public void rollback(Checkpoint checkpoint) {
+        history.truncate(checkpoint.transactionCount);
+        statistics.restore(checkpoint.statistics);
+        setBalanceMinor(checkpoint.balance);
+    }
+    
     public void addTransaction(Transaction transaction) {
-        this.transactions.add(transaction);
+        history.add(transaction);
+        statistics.record(transaction);
     }
     
     /**
-     * Retourne une copie non modifiable de l'historique des transactions.
+     * Retourne une vue non modifiable de l'historique des transactions.
+     * Les transactions archivées sont relues à la demande : pour un historique
+     * volumineux, préférer {@link #getTransactions(int, int)}.
      */
     public List<Transaction> getTransactions() {
-        return Collections.unmodifiableList(transactions);
+        return history.asList();
+    }
+    
+    /**
+     * Retourne une page de l'historique, de la plus ancienne à la plus récente.
+     * 
+     * @param offset Indice de la première transaction (0 = la plus ancienne)
+     * @param limit Nombre maximal de transactions
+     */
+    public List<Transaction> getTransactions(int offset, int limit) {
+        return history.page(offset, limit);
+    }
+    
+    /**
+     * Recherche dans l'historique par intervalle de dates, types et curseur
+     * (voir {@link TransactionHistory#query(HistoryQuery)}).
+     */
+    public HistoryPage queryTransactions(HistoryQuery query) {
+        return history.query(query);
+    }
+    
+    /**
+     * Nombre total de transactions, archivées comprises.
+     */
+    public int getTransactionCount() {
+        return history.size();
+    }
+    
+    /**
+     * Statistiques d'un type de transaction, en temps constant.
+     */
+    public TransactionStatistics getStatistics(String type) {
+        return statistics.get(type);
+    }
+    
+    /**
+     * Statistiques de tous les types de transaction du compte, en temps constant.
+     */
+    public Map<String, TransactionStatistics> getStatistics() {
+        return statistics.getAll();
+    }
+    
+    /**
+     * Configure l'archivage de l'historique (voir {@link TransactionHistory#configure}).
+     */
+    public void configureHistory(TransactionArchive archive, int recentWindow) {
+        history.configure(archive, recentWindow);
+    }
+    
+    /**
+     * État d'un compte capturé par {@link #checkpoint()}.
+     */
+    public static final class Checkpoint {
+        private final long balance;
+        private final int transactionCount;
+        private final AccountStatistics statistics;
+        
+        private Checkpoint(long balance, int transactionCount, AccountStatistics statistics) {
+            this.balance = balance;
+            this.transactionCount = transactionCount;
+            this.statistics = statistics;
+        }
     }
     
     @Override
     public String toString() {
-        return String.format("Compte[%s] Propriétaire: %s, Solde: %.2f€", 
-            accountNumber, ownerUsername, balance);
+        return String.format("Compte[%s] Propriétaire: %s, Solde: %s", 
+            accountNumber, ownerUsername, Money.format(getBalanceMinor()));
     }
 }
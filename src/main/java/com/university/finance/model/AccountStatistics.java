@@ -0,0 +1,99 @@
+package com.university.finance.model;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Agrégats courants des transactions d'un compte, par type : mis à jour en O(1) à
+ * chaque transaction ajoutée, ils donnent des statistiques en temps constant quelle
+ * que soit la longueur de l'historique (transactions archivées comprises).
+ */
+public class AccountStatistics {
+    private final Map<String, Accumulator> accumulators;
+    
+    public AccountStatistics() {
+        this.accumulators = new HashMap<>();
+    }
+    
+    /**
+     * Prend en compte une nouvelle transaction.
+     */
+    public synchronized void record(Transaction transaction) {
+        Accumulator accumulator = accumulators.get(transaction.getType());
+        if (accumulator == null) {
+            accumulator = new Accumulator();
+            accumulators.put(transaction.getType(), accumulator);
+        }
+        accumulator.record(transaction.getAmountMinor(), transaction.getTimestamp());
+    }
+    
+    /**
+     * Copie indépendante des agrégats, à passer à {@link #restore}.
+     */
+    public synchronized AccountStatistics copy() {
+        AccountStatistics copy = new AccountStatistics();
+        accumulators.forEach((type, accumulator) -> copy.accumulators.put(type, accumulator.copy()));
+        return copy;
+    }
+    
+    /**
+     * Remplace les agrégats par ceux d'une copie antérieure.
+     */
+    public synchronized void restore(AccountStatistics saved) {
+        accumulators.clear();
+        synchronized (saved) {
+            saved.accumulators.forEach((type, accumulator) -> accumulators.put(type, accumulator.copy()));
+        }
+    }
+    
+    /**
+     * Statistiques d'un type de transaction.
+     */
+    public synchronized TransactionStatistics get(String type) {
+        Accumulator accumulator = accumulators.get(type);
+        return accumulator != null ? accumulator.toStatistics(type) : TransactionStatistics.empty(type);
+    }
+    
+    /**
+     * Statistiques de tous les types rencontrés, triées par type.
+     */
+    public synchronized Map<String, TransactionStatistics> getAll() {
+        Map<String, TransactionStatistics> all = new TreeMap<>();
+        accumulators.forEach((type, accumulator) -> all.put(type, accumulator.toStatistics(type)));
+        return all;
+    }
+    
+    private static final class Accumulator {
+        private long count;
+        private long total;
+        private long min = Long.MAX_VALUE;
+        private long max = Long.MIN_VALUE;
+        private LocalDateTime lastActivity;
+        
+        void record(long amount, LocalDateTime timestamp) {
+            count++;
+            total += amount;
+            min = Math.min(min, amount);
+            max = Math.max(max, amount);
+            if (lastActivity == null || timestamp.isAfter(lastActivity)) {
+                lastActivity = timestamp;
+            }
+        }
+        
+        Accumulator copy() {
+            Accumulator copy = new Accumulator();
+            copy.count = count;
+            copy.total = total;
+            copy.min = min;
+            copy.max = max;
+            copy.lastActivity = lastActivity;
+            return copy;
+        }
+        
+        TransactionStatistics toStatistics(String type) {
+            return new TransactionStatistics(type, count, total, min, max, lastActivity);
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.university.finance.model;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Horloge à la milliseconde : l'horodatage n'est recalculé qu'au changement de
+ * milliseconde, et seulement vers l'avant. Voir {@link TransactionClock#cached()}.
+ */
+final class CachedTransactionClock implements TransactionClock {
+    private final ZoneId zone = ZoneId.systemDefault();
+    private final AtomicReference<Tick> tick = new AtomicReference<>(new Tick(Long.MIN_VALUE, null));
+    
+    @Override
+    public LocalDateTime now() {
+        long millis = System.currentTimeMillis();
+        Tick current = tick.get();
+        if (millis > current.millis) {
+            Tick next = new Tick(millis, LocalDateTime.ofInstant(Instant.ofEpochMilli(millis), zone));
+            // En cas de course, l'horodatage publié par l'autre thread est au moins aussi récent
+            current = tick.compareAndSet(current, next) ? next : tick.get();
+        }
+        return current.time;
+    }
+    
+    private static final class Tick {
+        private final long millis;
+        private final LocalDateTime time;
+        
+        Tick(long millis, LocalDateTime time) {
+            this.millis = millis;
+            this.time = time;
+        }
+    }
+}
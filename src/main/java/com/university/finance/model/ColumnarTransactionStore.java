@@ -0,0 +1,184 @@
+package com.university.finance.model;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Stockage en colonnes de transactions : une colonne primitive par champ au lieu
+ * d'un objet {@link Transaction} par entrée. Le type est codé sur un octet, le
+ * numéro de compte et la description sont internés en identifiants entiers et
+ * l'horodatage est conservé en nanosecondes epoch UTC, soit une quarantaine
+ * d'octets par transaction. Les objets {@link Transaction} ne sont recréés qu'à la
+ * lecture.
+ *
+ * Chaque magasin a sa propre table de chaînes : elle ne contient que les libellés
+ * de son compte et disparaît avec lui, au lieu de croître pour tout le processus.
+ *
+ * Classe non synchronisée : l'appelant ({@link TransactionHistory}) assure l'exclusion.
+ */
+final class ColumnarTransactionStore {
+    private static final int INITIAL_CAPACITY = 8;
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+    
+    // Table des types partagée (255 entrées au plus) ; le code -1 est réservé à null
+    private static final SymbolTable TYPES = new SymbolTable(255);
+    
+    private final SymbolTable strings = new SymbolTable(Integer.MAX_VALUE - 8);
+    private byte[] types;
+    private int[] accountNumbers;
+    private int[] descriptions;
+    private long[] amounts;
+    private long[] balancesBefore;
+    private long[] balancesAfter;
+    private long[] timestamps;
+    private int size;
+    
+    ColumnarTransactionStore() {
+        allocate(INITIAL_CAPACITY);
+    }
+    
+    int size() {
+        return size;
+    }
+    
+    void add(Transaction transaction) {
+        if (size == types.length) {
+            grow(size * 2);
+        }
+        types[size] = (byte) TYPES.intern(transaction.getType());
+        accountNumbers[size] = strings.intern(transaction.getAccountNumber());
+        descriptions[size] = strings.intern(transaction.getDescription());
+        amounts[size] = transaction.getAmountMinor();
+        balancesBefore[size] = transaction.getBalanceBeforeMinor();
+        balancesAfter[size] = transaction.getBalanceAfterMinor();
+        timestamps[size] = toEpochNanos(transaction.getTimestamp());
+        size++;
+    }
+    
+    /**
+     * Recrée la transaction d'indice donné.
+     */
+    Transaction get(int index) {
+        return Transaction.ofMinor(
+            strings.lookup(accountNumbers[index]),
+            TYPES.lookup(typeCode(index)),
+            amounts[index],
+            balancesBefore[index],
+            balancesAfter[index],
+            fromEpochNanos(timestamps[index]),
+            strings.lookup(descriptions[index])
+        );
+    }
+    
+    /**
+     * Horodatage de la transaction d'indice donné, en nanosecondes epoch UTC.
+     */
+    long timestampNanos(int index) {
+        return timestamps[index];
+    }
+    
+    /**
+     * Type de la transaction d'indice donné, sans recréer la transaction.
+     */
+    String type(int index) {
+        return TYPES.lookup(typeCode(index));
+    }
+    
+    /**
+     * Premier indice dont l'horodatage est supérieur ou égal à {@code epochNanos}
+     * ({@link #size()} s'il n'y en a pas), par recherche dichotomique : les
+     * horodatages doivent être croissants.
+     */
+    int lowerBound(long epochNanos) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (timestamps[middle] < epochNanos) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+    
+    /**
+     * Recrée les {@code count} transactions les plus anciennes.
+     */
+    List<Transaction> first(int count) {
+        List<Transaction> transactions = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            transactions.add(get(i));
+        }
+        return transactions;
+    }
+    
+    /**
+     * Retire les {@code count} transactions les plus anciennes.
+     */
+    void removeFirst(int count) {
+        int remaining = size - count;
+        System.arraycopy(types, count, types, 0, remaining);
+        System.arraycopy(accountNumbers, count, accountNumbers, 0, remaining);
+        System.arraycopy(descriptions, count, descriptions, 0, remaining);
+        System.arraycopy(amounts, count, amounts, 0, remaining);
+        System.arraycopy(balancesBefore, count, balancesBefore, 0, remaining);
+        System.arraycopy(balancesAfter, count, balancesAfter, 0, remaining);
+        System.arraycopy(timestamps, count, timestamps, 0, remaining);
+        size = remaining;
+    }
+    
+    /**
+     * Ne conserve que les {@code count} transactions les plus anciennes.
+     */
+    void truncate(int count) {
+        size = count;
+    }
+    
+    private int typeCode(int index) {
+        int code = types[index];
+        return code == SymbolTable.NULL_ID ? code : code & 0xFF;
+    }
+    
+    private void allocate(int capacity) {
+        types = new byte[capacity];
+        accountNumbers = new int[capacity];
+        descriptions = new int[capacity];
+        amounts = new long[capacity];
+        balancesBefore = new long[capacity];
+        balancesAfter = new long[capacity];
+        timestamps = new long[capacity];
+    }
+    
+    private void grow(int capacity) {
+        types = Arrays.copyOf(types, capacity);
+        accountNumbers = Arrays.copyOf(accountNumbers, capacity);
+        descriptions = Arrays.copyOf(descriptions, capacity);
+        amounts = Arrays.copyOf(amounts, capacity);
+        balancesBefore = Arrays.copyOf(balancesBefore, capacity);
+        balancesAfter = Arrays.copyOf(balancesAfter, capacity);
+        timestamps = Arrays.copyOf(timestamps, capacity);
+    }
+    
+    /**
+     * Nanosecondes depuis l'époque, saturées hors des années 1677 à 2262 : une borne
+     * lointaine (ex. {@link LocalDateTime#MAX}) reste une borne ouverte.
+     */
+    static long toEpochNanos(LocalDateTime timestamp) {
+        long seconds = timestamp.toEpochSecond(ZoneOffset.UTC);
+        try {
+            return Math.addExact(Math.multiplyExact(seconds, NANOS_PER_SECOND), timestamp.getNano());
+        } catch (ArithmeticException e) {
+            return seconds < 0 ? Long.MIN_VALUE : Long.MAX_VALUE;
+        }
+    }
+    
+    static LocalDateTime fromEpochNanos(long epochNanos) {
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(epochNanos, NANOS_PER_SECOND),
+            (int) Math.floorMod(epochNanos, NANOS_PER_SECOND), ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,37 @@
+package com.university.finance.model;
+
+import java.util.List;
+
+/**
+ * Page de résultats d'une {@link HistoryQuery}, avec le curseur de la page suivante.
+ * Le curseur est un indice dans l'historique du compte : il reste valable quand de
+ * nouvelles transactions sont ajoutées ou archivées.
+ */
+public final class HistoryPage {
+    private final List<Transaction> transactions;
+    private final int nextCursor;
+    
+    HistoryPage(List<Transaction> transactions, int nextCursor) {
+        this.transactions = transactions;
+        this.nextCursor = nextCursor;
+    }
+    
+    /**
+     * Transactions de la page, de la plus ancienne à la plus récente.
+     */
+    public List<Transaction> getTransactions() {
+        return transactions;
+    }
+    
+    /**
+     * Curseur à passer à {@link HistoryQuery#withCursor(int)}, ou -1 s'il n'y a pas
+     * de page suivante.
+     */
+    public int getNextCursor() {
+        return nextCursor;
+    }
+    
+    public boolean hasMore() {
+        return nextCursor >= 0;
+    }
+}
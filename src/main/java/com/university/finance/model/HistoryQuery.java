@@ -0,0 +1,127 @@
+package com.university.finance.model;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Requête sur l'historique d'un compte : intervalle de dates, filtre par type et
+ * pagination par curseur. Valeur immuable ; chaque méthode {@code with...} retourne
+ * une nouvelle requête.
+ */
+public final class HistoryQuery {
+    public static final int DEFAULT_LIMIT = 100;
+    
+    private final LocalDateTime from;
+    private final LocalDateTime to;
+    private final Set<String> types;
+    private final int cursor;
+    private final int endCursor;
+    private final int limit;
+    
+    private HistoryQuery(LocalDateTime from, LocalDateTime to, Set<String> types,
+                         int cursor, int endCursor, int limit) {
+        this.from = from;
+        this.to = to;
+        this.types = types;
+        this.cursor = cursor;
+        this.endCursor = endCursor;
+        this.limit = limit;
+    }
+    
+    /**
+     * Toutes les transactions, sans filtre.
+     */
+    public static HistoryQuery all() {
+        return new HistoryQuery(null, null, Collections.emptySet(), 0, Integer.MAX_VALUE, DEFAULT_LIMIT);
+    }
+    
+    /**
+     * Transactions horodatées dans l'intervalle [from, to[.
+     * 
+     * @param from Début inclus (null : depuis l'origine)
+     * @param to Fin exclue (null : jusqu'à la dernière transaction)
+     */
+    public static HistoryQuery between(LocalDateTime from, LocalDateTime to) {
+        if (from != null && to != null && to.isBefore(from)) {
+            throw new IllegalArgumentException("Intervalle invalide: " + from + " > " + to);
+        }
+        return new HistoryQuery(from, to, Collections.emptySet(), 0, Integer.MAX_VALUE, DEFAULT_LIMIT);
+    }
+    
+    /**
+     * Restreint la requête aux types donnés.
+     */
+    public HistoryQuery withTypes(String... types) {
+        return new HistoryQuery(from, to, Collections.unmodifiableSet(new HashSet<>(Arrays.asList(types))),
+            cursor, endCursor, limit);
+    }
+    
+    /**
+     * Reprend la requête au curseur retourné par la page précédente.
+     */
+    public HistoryQuery withCursor(int cursor) {
+        if (cursor < 0) {
+            throw new IllegalArgumentException("Curseur invalide: " + cursor);
+        }
+        return new HistoryQuery(from, to, types, cursor, endCursor, limit);
+    }
+    
+    /**
+     * Limite la requête aux transactions d'indice inférieur à {@code endCursor} :
+     * avec le nombre de transactions relevé à un instant donné, la requête voit
+     * l'historique tel qu'il était à cet instant.
+     */
+    public HistoryQuery withEndCursor(int endCursor) {
+        if (endCursor < 0) {
+            throw new IllegalArgumentException("Curseur de fin invalide: " + endCursor);
+        }
+        return new HistoryQuery(from, to, types, cursor, endCursor, limit);
+    }
+    
+    /**
+     * Nombre maximal de transactions par page.
+     */
+    public HistoryQuery withLimit(int limit) {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("La taille de page doit être positive");
+        }
+        return new HistoryQuery(from, to, types, cursor, endCursor, limit);
+    }
+    
+    public LocalDateTime getFrom() {
+        return from;
+    }
+    
+    public LocalDateTime getTo() {
+        return to;
+    }
+    
+    /**
+     * Types retenus (vide : tous les types).
+     */
+    public Set<String> getTypes() {
+        return types;
+    }
+    
+    public int getCursor() {
+        return cursor;
+    }
+    
+    /**
+     * Indice de fin exclu (Integer.MAX_VALUE : pas de limite).
+     */
+    public int getEndCursor() {
+        return endCursor;
+    }
+    
+    public int getLimit() {
+        return limit;
+    }
+    
+    boolean matchesType(String type) {
+        return types.isEmpty() || types.contains(type);
+    }
+}
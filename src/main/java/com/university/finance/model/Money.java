@@ -0,0 +1,96 @@
+package com.university.finance.model;
+
+import java.math.BigDecimal;
+import java.util.Currency;
+
+/**
+ * Représentation monétaire en virgule fixe.
+ * Les montants sont manipulés comme des {@code long} exprimés en unités mineures
+ * (centimes) de la devise de référence : l'arithmétique est exacte et ne crée aucun
+ * objet, contrairement à {@code double} (dérive) ou {@link BigDecimal} (allocations).
+ *
+ * Les conversions depuis/vers {@code double} ne sont faites qu'aux frontières
+ * (saisie utilisateur, affichage).
+ */
+public final class Money {
+    /** Devise de référence de l'application. */
+    public static final Currency CURRENCY = Currency.getInstance("EUR");
+    /** Nombre de décimales de la devise (2 pour l'euro). */
+    public static final int SCALE = CURRENCY.getDefaultFractionDigits();
+
+    private static final long FACTOR = pow10(SCALE);
+    private static final double MAX_MAJOR = (double) Long.MAX_VALUE / FACTOR;
+
+    private Money() {
+        // Classe utilitaire
+    }
+
+    /**
+     * Convertit un montant en unités majeures (ex: 12.34€) en unités mineures (1234),
+     * arrondi à l'unité mineure la plus proche.
+     *
+     * @throws IllegalArgumentException Si le montant n'est pas représentable
+     */
+    public static long of(double amount) {
+        if (Double.isNaN(amount) || Math.abs(amount) >= MAX_MAJOR) {
+            throw new IllegalArgumentException("Montant non représentable: " + amount);
+        }
+        return Math.round(amount * FACTOR);
+    }
+
+    /**
+     * Convertit un montant décimal exact en unités mineures.
+     *
+     * @throws ArithmeticException Si le montant a plus de décimales que la devise
+     */
+    public static long of(BigDecimal amount) {
+        return amount.movePointRight(SCALE).longValueExact();
+    }
+
+    /**
+     * Convertit des unités mineures en unités majeures, pour l'affichage.
+     */
+    public static double toDouble(long minorUnits) {
+        return (double) minorUnits / FACTOR;
+    }
+
+    /**
+     * Convertit des unités mineures en montant décimal exact.
+     */
+    public static BigDecimal toBigDecimal(long minorUnits) {
+        return BigDecimal.valueOf(minorUnits, SCALE);
+    }
+
+    /**
+     * Addition exacte.
+     *
+     * @throws ArithmeticException En cas de dépassement de capacité
+     */
+    public static long add(long a, long b) {
+        return Math.addExact(a, b);
+    }
+
+    /**
+     * Soustraction exacte.
+     *
+     * @throws ArithmeticException En cas de dépassement de capacité
+     */
+    public static long subtract(long a, long b) {
+        return Math.subtractExact(a, b);
+    }
+
+    /**
+     * Formate un montant au format "1234.56€".
+     */
+    public static String format(long minorUnits) {
+        return toBigDecimal(minorUnits).toPlainString() + "€";
+    }
+
+    private static long pow10(int exponent) {
+        long result = 1;
+        for (int i = 0; i < exponent; i++) {
+            result *= 10;
+        }
+        return result;
+    }
+}
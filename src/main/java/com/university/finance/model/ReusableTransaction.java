@@ -0,0 +1,107 @@
+package com.university.finance.model;
+
+import java.time.LocalDateTime;
+
+/**
+ * Transaction réutilisable, pour notifier les observateurs sans allouer d'objet
+ * par opération : son contenu est remplacé à chaque réemploi. Elle n'est donc
+ * valable que pendant la notification qui la transmet ; un observateur qui la
+ * conserve en garde une copie ({@link #toImmutable()}).
+ *
+ * Classe non synchronisée : son propriétaire (thread émetteur ou case d'une file
+ * de notification) en assure l'exclusion.
+ */
+public final class ReusableTransaction extends Transaction {
+    private String accountNumber;
+    private String type;
+    private long amount;
+    private long balanceBefore;
+    private long balanceAfter;
+    private LocalDateTime timestamp;
+    private String description = "";
+
+    /**
+     * Remplace le contenu de la transaction ; montants en unités mineures.
+     *
+     * @return Cette transaction
+     */
+    public ReusableTransaction set(String accountNumber, String type, long amount,
+                                   long balanceBefore, long balanceAfter,
+                                   LocalDateTime timestamp, String description) {
+        this.accountNumber = accountNumber;
+        this.type = type;
+        this.amount = amount;
+        this.balanceBefore = balanceBefore;
+        this.balanceAfter = balanceAfter;
+        this.timestamp = timestamp;
+        this.description = description != null ? description : "";
+        return this;
+    }
+
+    /**
+     * Recopie le contenu d'une autre transaction.
+     *
+     * @return Cette transaction
+     */
+    public ReusableTransaction copyFrom(Transaction transaction) {
+        return set(transaction.getAccountNumber(), transaction.getType(), transaction.getAmountMinor(),
+            transaction.getBalanceBeforeMinor(), transaction.getBalanceAfterMinor(),
+            transaction.getTimestamp(), transaction.getDescription());
+    }
+
+    @Override
+    public String getAccountNumber() {
+        return accountNumber;
+    }
+
+    @Override
+    public String getType() {
+        return type;
+    }
+
+    @Override
+    public double getAmount() {
+        return Money.toDouble(amount);
+    }
+
+    @Override
+    public long getAmountMinor() {
+        return amount;
+    }
+
+    @Override
+    public double getBalanceBefore() {
+        return Money.toDouble(balanceBefore);
+    }
+
+    @Override
+    public long getBalanceBeforeMinor() {
+        return balanceBefore;
+    }
+
+    @Override
+    public double getBalanceAfter() {
+        return Money.toDouble(balanceAfter);
+    }
+
+    @Override
+    public long getBalanceAfterMinor() {
+        return balanceAfter;
+    }
+
+    @Override
+    public LocalDateTime getTimestamp() {
+        return timestamp;
+    }
+
+    @Override
+    public String getDescription() {
+        return description;
+    }
+
+    @Override
+    public Transaction toImmutable() {
+        return Transaction.ofMinor(accountNumber, type, amount, balanceBefore, balanceAfter,
+            timestamp, description);
+    }
+}
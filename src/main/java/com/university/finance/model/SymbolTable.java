@@ -0,0 +1,74 @@
+package com.university.finance.model;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Table de chaînes internées : chaque chaîne distincte reçoit un identifiant entier
+ * stable, ce qui permet de la stocker dans une colonne primitive.
+ * Les lectures sont sans verrou ; seule l'insertion d'une nouvelle chaîne est
+ * synchronisée.
+ */
+final class SymbolTable {
+    static final int NULL_ID = -1;
+    
+    private final int maxSize;
+    private final Map<String, Integer> ids;
+    private volatile String[] symbols;
+    private int size;
+    
+    /**
+     * @param maxSize Nombre maximal de chaînes distinctes
+     */
+    SymbolTable(int maxSize) {
+        this.maxSize = maxSize;
+        this.ids = new ConcurrentHashMap<>();
+        this.symbols = new String[16];
+    }
+    
+    /**
+     * Retourne l'identifiant de la chaîne, en l'ajoutant si nécessaire (-1 pour null).
+     */
+    int intern(String value) {
+        if (value == null) {
+            return NULL_ID;
+        }
+        Integer id = ids.get(value);
+        return id != null ? id : add(value);
+    }
+    
+    /**
+     * Retourne l'identifiant de la chaîne, ou -1 si elle n'a jamais été internée.
+     */
+    int find(String value) {
+        Integer id = value != null ? ids.get(value) : null;
+        return id != null ? id : NULL_ID;
+    }
+    
+    /**
+     * Retourne la chaîne d'identifiant donné.
+     */
+    String lookup(int id) {
+        return id == NULL_ID ? null : symbols[id];
+    }
+    
+    private synchronized int add(String value) {
+        Integer existing = ids.get(value);
+        if (existing != null) {
+            return existing;
+        }
+        if (size == maxSize) {
+            throw new IllegalStateException("Table de symboles pleine (" + maxSize + " entrées)");
+        }
+        String[] current = symbols;
+        if (size == current.length) {
+            current = Arrays.copyOf(current, Math.min(maxSize, size * 2));
+        }
+        current[size] = value;
+        // Publication du tableau avant l'identifiant : lookup voit toujours la chaîne
+        symbols = current;
+        ids.put(value, size);
+        return size++;
+    }
+}
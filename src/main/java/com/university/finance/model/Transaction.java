@@ -5,13 +5,14 @@ import java.time.LocalDateTime;
 /**
  * Classe représentant une transaction bancaire.
  * Suit le principe SRP (Single Responsibility Principle).
+ * Les montants sont conservés en unités mineures (voir {@link Money}).
  */
 public class Transaction {
     private final String accountNumber;
     private final String type;
-    private final double amount;
-    private final double balanceBefore;
-    private final double balanceAfter;
+    private final long amount;
+    private final long balanceBefore;
+    private final long balanceAfter;
     private final LocalDateTime timestamp;
     private final String description;
     
@@ -22,6 +23,19 @@ public class Transaction {
     
     public Transaction(String accountNumber, String type, double amount, 
                       double balanceBefore, double balanceAfter, LocalDateTime timestamp, String description) {
+        this(accountNumber, type, Money.of(amount), Money.of(balanceBefore), Money.of(balanceAfter),
+            timestamp, description);
+    }
+    
+    /**
+     * Transaction vide, pour {@link ReusableTransaction}.
+     */
+    Transaction() {
+        this(null, null, 0L, 0L, 0L, null, "");
+    }
+    
+    private Transaction(String accountNumber, String type, long amount, 
+                        long balanceBefore, long balanceAfter, LocalDateTime timestamp, String description) {
         this.accountNumber = accountNumber;
         this.type = type;
         this.amount = amount;
@@ -31,6 +45,24 @@ public class Transaction {
         this.description = description != null ? description : "";
     }
     
+    /**
+     * Crée une transaction dont les montants sont exprimés en unités mineures.
+     */
+    public static Transaction ofMinor(String accountNumber, String type, long amount,
+                                      long balanceBefore, long balanceAfter, LocalDateTime timestamp) {
+        return ofMinor(accountNumber, type, amount, balanceBefore, balanceAfter, timestamp, "");
+    }
+    
+    /**
+     * Crée une transaction décrite dont les montants sont exprimés en unités mineures.
+     */
+    public static Transaction ofMinor(String accountNumber, String type, long amount,
+                                      long balanceBefore, long balanceAfter,
+                                      LocalDateTime timestamp, String description) {
+        return new Transaction(accountNumber, type, amount, balanceBefore, balanceAfter,
+            timestamp, description);
+    }
+    
     public String getAccountNumber() {
         return accountNumber;
     }
@@ -40,14 +72,26 @@ public class Transaction {
     }
     
     public double getAmount() {
+        return Money.toDouble(amount);
+    }
+    
+    public long getAmountMinor() {
         return amount;
     }
     
     public double getBalanceBefore() {
+        return Money.toDouble(balanceBefore);
+    }
+    
+    public long getBalanceBeforeMinor() {
         return balanceBefore;
     }
     
     public double getBalanceAfter() {
+        return Money.toDouble(balanceAfter);
+    }
+    
+    public long getBalanceAfterMinor() {
         return balanceAfter;
     }
     
@@ -59,10 +103,20 @@ public class Transaction {
         return description;
     }
     
+    /**
+     * Transaction immuable de même contenu, à utiliser pour conserver une
+     * transaction reçue en notification : la transaction elle-même, ou une copie
+     * pour une {@link ReusableTransaction}.
+     */
+    public Transaction toImmutable() {
+        return this;
+    }
+    
     @Override
     public String toString() {
-        return String.format("[%s] %s: %.2f€ (Solde: %.2f€ → %.2f€) %s",
-            timestamp.toString(), type, amount, balanceBefore, balanceAfter,
-            description.isEmpty() ? "" : "- " + description);
+        return String.format("[%s] %s: %s (Solde: %s → %s) %s",
+            getTimestamp().toString(), getType(), Money.format(getAmountMinor()),
+            Money.format(getBalanceBeforeMinor()), Money.format(getBalanceAfterMinor()),
+            getDescription().isEmpty() ? "" : "- " + getDescription());
     }
 }
@@ -0,0 +1,28 @@
+package com.university.finance.model;
+
+import java.util.List;
+
+/**
+ * Stockage des transactions anciennes sorties de la fenêtre récente d'un
+ * {@link TransactionHistory}. Les transactions sont écrites par blocs ; chaque
+ * bloc est identifié par la référence retournée à l'écriture.
+ */
+public interface TransactionArchive {
+    /**
+     * Archive un bloc de transactions.
+     * 
+     * @param transactions Les transactions, dans l'ordre chronologique
+     * @return La référence du bloc, à passer à {@link #read(long)}
+     * @throws java.io.UncheckedIOException Si l'écriture échoue
+     */
+    long write(List<Transaction> transactions);
+    
+    /**
+     * Relit un bloc archivé.
+     * 
+     * @param reference La référence retournée par {@link #write(List)}
+     * @return Les transactions du bloc, dans l'ordre chronologique
+     * @throws java.io.UncheckedIOException Si la lecture échoue
+     */
+    List<Transaction> read(long reference);
+}
@@ -0,0 +1,27 @@
+package com.university.finance.model;
+
+import java.time.LocalDateTime;
+
+/**
+ * Source de l'horodatage des transactions.
+ * Toutes les stratégies d'un même service doivent partager la même horloge, pour
+ * que l'historique de chaque compte reste trié par date.
+ */
+@FunctionalInterface
+public interface TransactionClock {
+    /**
+     * Horloge système : un nouvel horodatage, à la précision du système, par appel.
+     */
+    TransactionClock SYSTEM = LocalDateTime::now;
+    
+    LocalDateTime now();
+    
+    /**
+     * Horloge à la milliseconde qui réutilise le même horodatage pour toutes les
+     * transactions d'une même milliseconde : aucune allocation sur le chemin
+     * critique en régime établi. Les horodatages ne décroissent jamais.
+     */
+    static TransactionClock cached() {
+        return new CachedTransactionClock();
+    }
+}
@@ -0,0 +1,281 @@
+package com.university.finance.model;
+
+import java.io.UncheckedIOException;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.RandomAccess;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Historique des transactions d'un compte, à deux niveaux : une fenêtre récente
+ * en mémoire, stockée en colonnes (voir {@link ColumnarTransactionStore}), et, si une archive est configurée, les transactions plus anciennes
+ * écrites par blocs dans cette archive. La mémoire occupée par un compte reste
+ * ainsi bornée par la taille de la fenêtre.
+ *
+ * Les transactions sont indexées de la plus ancienne (0) à la plus récente ;
+ * l'historique n'étant qu'ajouté, un indice désigne toujours la même transaction,
+ * qu'elle soit en mémoire ou archivée.
+ */
+public class TransactionHistory {
+    private static final Logger logger = LoggerFactory.getLogger(TransactionHistory.class);
+    
+    private final ColumnarTransactionStore recent;
+    private TransactionArchive archive;
+    private int recentWindow;
+    // Références des blocs archivés, indice de leur première transaction et
+    // horodatage de leur dernière transaction (index temporel creux de l'archive)
+    private long[] chunkReferences;
+    private int[] chunkStarts;
+    private long[] chunkLastTimestamps;
+    private int chunkCount;
+    private int archivedCount;
+    // Horodatages croissants depuis l'origine : condition des recherches dichotomiques
+    private boolean ordered;
+    private long lastTimestamp;
+    // Dernier bloc relu, pour les parcours séquentiels de l'archive
+    private int cachedChunk;
+    private List<Transaction> cachedTransactions;
+    
+    public TransactionHistory() {
+        this.recent = new ColumnarTransactionStore();
+        this.recentWindow = Integer.MAX_VALUE;
+        this.chunkReferences = new long[8];
+        this.chunkStarts = new int[8];
+        this.chunkLastTimestamps = new long[8];
+        this.cachedChunk = -1;
+        this.ordered = true;
+        this.lastTimestamp = Long.MIN_VALUE;
+    }
+    
+    /**
+     * Configure l'archivage : au-delà de {@code recentWindow} transactions en mémoire,
+     * les plus anciennes sont archivées par blocs d'un quart de fenêtre.
+     * 
+     * @param archive L'archive (null pour tout conserver en mémoire)
+     * @param recentWindow Nombre maximal de transactions conservées en mémoire
+     */
+    public synchronized void configure(TransactionArchive archive, int recentWindow) {
+        if (recentWindow <= 0) {
+            throw new IllegalArgumentException("La fenêtre d'historique doit être positive");
+        }
+        if (archivedCount > 0 && archive != this.archive) {
+            throw new IllegalStateException("Des transactions sont déjà archivées dans une autre archive");
+        }
+        this.archive = archive;
+        this.recentWindow = archive != null ? recentWindow : Integer.MAX_VALUE;
+        evictIfNeeded();
+    }
+    
+    /**
+     * Ajoute une transaction à la fin de l'historique.
+     */
+    public synchronized void add(Transaction transaction) {
+        recent.add(transaction);
+        long timestamp = recent.timestampNanos(recent.size() - 1);
+        if (timestamp < lastTimestamp) {
+            ordered = false;
+        } else {
+            lastTimestamp = timestamp;
+        }
+        evictIfNeeded();
+    }
+    
+    /**
+     * Retire les transactions ajoutées au-delà des {@code size} premières, pour
+     * annuler une opération qui n'a pas pu être journalisée. Seules les transactions
+     * encore en mémoire peuvent être retirées.
+     *
+     * @throws IllegalStateException Si une transaction à retirer est déjà archivée
+     */
+    public synchronized void truncate(int size) {
+        if (size < archivedCount || size > size()) {
+            throw new IllegalStateException("Impossible de ramener l'historique à " + size + " transactions");
+        }
+        recent.truncate(size - archivedCount);
+        if (recent.size() > 0) {
+            lastTimestamp = recent.timestampNanos(recent.size() - 1);
+        } else {
+            lastTimestamp = chunkCount > 0 ? chunkLastTimestamps[chunkCount - 1] : Long.MIN_VALUE;
+        }
+    }
+    
+    /**
+     * Nombre total de transactions, archivées comprises.
+     */
+    public synchronized int size() {
+        return archivedCount + recent.size();
+    }
+    
+    /**
+     * Nombre de transactions conservées en mémoire.
+     */
+    public synchronized int getRecentCount() {
+        return recent.size();
+    }
+    
+    /**
+     * Retourne la transaction d'indice donné (0 = la plus ancienne).
+     */
+    public synchronized Transaction get(int index) {
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException("Indice: " + index + ", taille: " + size());
+        }
+        if (index >= archivedCount) {
+            return recent.get(index - archivedCount);
+        }
+        int chunk = chunkOf(index);
+        return loadChunk(chunk).get(index - chunkStarts[chunk]);
+    }
+    
+    /**
+     * Retourne une page de l'historique, de la plus ancienne à la plus récente.
+     * 
+     * @param offset Indice de la première transaction
+     * @param limit Nombre maximal de transactions
+     */
+    public synchronized List<Transaction> page(int offset, int limit) {
+        if (offset < 0 || limit < 0) {
+            throw new IllegalArgumentException("Pagination invalide: " + offset + ", " + limit);
+        }
+        int end = (int) Math.min(size(), (long) offset + limit);
+        List<Transaction> page = new ArrayList<>(Math.max(0, end - offset));
+        for (int i = offset; i < end; i++) {
+            page.add(get(i));
+        }
+        return page;
+    }
+    
+    /**
+     * Exécute une requête par intervalle de dates, types et curseur.
+     * Tant que les horodatages sont croissants (cas normal d'un historique alimenté
+     * dans l'ordre), le début de l'intervalle est trouvé par dichotomie sur l'index
+     * des blocs archivés puis sur la colonne des horodatages, et le parcours
+     * s'arrête à la fin de l'intervalle : seules les transactions de l'intervalle
+     * sont lues. Sinon, l'historique est parcouru en entier.
+     */
+    public synchronized HistoryPage query(HistoryQuery query) {
+        long from = query.getFrom() != null
+            ? ColumnarTransactionStore.toEpochNanos(query.getFrom()) : Long.MIN_VALUE;
+        long to = query.getTo() != null
+            ? ColumnarTransactionStore.toEpochNanos(query.getTo()) : Long.MAX_VALUE;
+        int size = Math.min(size(), query.getEndCursor());
+        int index = Math.max(query.getCursor(), ordered ? lowerBound(from) : 0);
+        List<Transaction> matches = new ArrayList<>(Math.min(query.getLimit(), 64));
+        
+        while (index < size && matches.size() < query.getLimit()) {
+            long timestamp = timestampAt(index);
+            if (timestamp >= to && ordered) {
+                index = size;
+                break;
+            }
+            if (timestamp >= from && timestamp < to && query.matchesType(typeAt(index))) {
+                matches.add(get(index));
+            }
+            index++;
+        }
+        boolean more = index < size && !(ordered && timestampAt(index) >= to);
+        return new HistoryPage(Collections.unmodifiableList(matches), more ? index : -1);
+    }
+    
+    /**
+     * Vue en lecture seule de l'historique complet. Les transactions archivées sont
+     * relues à la demande ; la taille de la vue suit les ajouts.
+     */
+    public List<Transaction> asList() {
+        return new HistoryView();
+    }
+    
+    private void evictIfNeeded() {
+        if (archive == null || recent.size() <= recentWindow) {
+            return;
+        }
+        int count = Math.max(1, Math.min(recent.size() - recentWindow + recentWindow / 4, recent.size()));
+        long reference;
+        try {
+            reference = archive.write(recent.first(count));
+        } catch (UncheckedIOException e) {
+            // Les transactions restent en mémoire ; nouvel essai au prochain ajout
+            logger.warn("Échec de l'archivage de l'historique, conservé en mémoire", e);
+            return;
+        }
+        if (chunkCount == chunkReferences.length) {
+            chunkReferences = Arrays.copyOf(chunkReferences, chunkCount * 2);
+            chunkStarts = Arrays.copyOf(chunkStarts, chunkCount * 2);
+            chunkLastTimestamps = Arrays.copyOf(chunkLastTimestamps, chunkCount * 2);
+        }
+        chunkReferences[chunkCount] = reference;
+        chunkStarts[chunkCount] = archivedCount;
+        chunkLastTimestamps[chunkCount] = recent.timestampNanos(count - 1);
+        chunkCount++;
+        archivedCount += count;
+        recent.removeFirst(count);
+    }
+    
+    /**
+     * Premier indice dont l'horodatage est supérieur ou égal à {@code timestamp}.
+     */
+    private int lowerBound(long timestamp) {
+        if (timestamp == Long.MIN_VALUE) {
+            return 0;
+        }
+        int low = 0;
+        int high = chunkCount;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (chunkLastTimestamps[middle] < timestamp) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        if (low == chunkCount) {
+            return archivedCount + recent.lowerBound(timestamp);
+        }
+        List<Transaction> chunk = loadChunk(low);
+        int position = 0;
+        while (ColumnarTransactionStore.toEpochNanos(chunk.get(position).getTimestamp()) < timestamp) {
+            position++;
+        }
+        return chunkStarts[low] + position;
+    }
+    
+    private long timestampAt(int index) {
+        if (index >= archivedCount) {
+            return recent.timestampNanos(index - archivedCount);
+        }
+        return ColumnarTransactionStore.toEpochNanos(get(index).getTimestamp());
+    }
+    
+    private String typeAt(int index) {
+        return index >= archivedCount ? recent.type(index - archivedCount) : get(index).getType();
+    }
+    
+    private int chunkOf(int index) {
+        int found = Arrays.binarySearch(chunkStarts, 0, chunkCount, index);
+        return found >= 0 ? found : -found - 2;
+    }
+    
+    private List<Transaction> loadChunk(int chunk) {
+        if (chunk != cachedChunk) {
+            cachedTransactions = archive.read(chunkReferences[chunk]);
+            cachedChunk = chunk;
+        }
+        return cachedTransactions;
+    }
+    
+    private final class HistoryView extends AbstractList<Transaction> implements RandomAccess {
+        @Override
+        public Transaction get(int index) {
+            return TransactionHistory.this.get(index);
+        }
+        
+        @Override
+        public int size() {
+            return TransactionHistory.this.size();
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.university.finance.model;
+
+import java.time.LocalDateTime;
+
+/**
+ * Statistiques d'un type de transaction sur un compte : nombre, somme, minimum et
+ * maximum des montants (signés : négatifs pour les débits), date de la dernière
+ * transaction. Valeur immuable, copie des agrégats tenus à jour par
+ * {@link AccountStatistics}.
+ */
+public final class TransactionStatistics {
+    private final String type;
+    private final long count;
+    private final long total;
+    private final long min;
+    private final long max;
+    private final LocalDateTime lastActivity;
+    
+    TransactionStatistics(String type, long count, long total, long min, long max, LocalDateTime lastActivity) {
+        this.type = type;
+        this.count = count;
+        this.total = total;
+        this.min = min;
+        this.max = max;
+        this.lastActivity = lastActivity;
+    }
+    
+    /**
+     * Statistiques d'un type sans aucune transaction.
+     */
+    static TransactionStatistics empty(String type) {
+        return new TransactionStatistics(type, 0, 0, 0, 0, null);
+    }
+    
+    public String getType() {
+        return type;
+    }
+    
+    public long getCount() {
+        return count;
+    }
+    
+    public double getTotal() {
+        return Money.toDouble(total);
+    }
+    
+    public long getTotalMinor() {
+        return total;
+    }
+    
+    /**
+     * Plus petit montant (0 si aucune transaction).
+     */
+    public long getMinMinor() {
+        return min;
+    }
+    
+    /**
+     * Plus grand montant (0 si aucune transaction).
+     */
+    public long getMaxMinor() {
+        return max;
+    }
+    
+    /**
+     * Date de la dernière transaction, ou null si aucune.
+     */
+    public LocalDateTime getLastActivity() {
+        return lastActivity;
+    }
+    
+    @Override
+    public String toString() {
+        return String.format("%s: %d transaction(s), total %s, min %s, max %s",
+            type, count, Money.format(total), Money.format(min), Money.format(max));
+    }
+}
@@ -1,36 +1,65 @@
 package com.university.finance.model;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
 import java.time.LocalDateTime;
+import java.util.Base64;
 
 /**
  * Classe représentant un utilisateur du système bancaire.
  * Suit le principe d'encapsulation et de responsabilité unique.
+ *
+ * Le mot de passe n'est jamais conservé en clair : seule une empreinte salée
+ * ({@code sha256$<sel>$<empreinte>}, en Base64) est gardée, et c'est elle que le
+ * journal et les snapshots persistent.
  */
 public class User {
+    private static final String HASH_PREFIX = "sha256$";
+    private static final int SALT_LENGTH = 16;
+    private static final SecureRandom RANDOM = new SecureRandom();
+    
     private final String username;
-    private String password;
+    private volatile String passwordHash;
     private final LocalDateTime createdAt;
-    private LocalDateTime lastLogin;
+    private volatile LocalDateTime lastLogin;
     
     public User(String username, String password) {
+        this(username, hash(validatePassword(password)), LocalDateTime.now());
+    }
+    
+    private User(String username, String passwordHash, LocalDateTime createdAt) {
         if (username == null || username.trim().isEmpty()) {
             throw new IllegalArgumentException("Le nom d'utilisateur ne peut pas être vide");
         }
-        if (password == null || password.length() < 4) {
-            throw new IllegalArgumentException("Le mot de passe doit contenir au moins 4 caractères");
-        }
         this.username = username;
-        this.password = password;
-        this.createdAt = LocalDateTime.now();
+        this.passwordHash = passwordHash;
+        this.createdAt = createdAt;
         this.lastLogin = null;
     }
     
+    /**
+     * Reconstruit un utilisateur persisté à partir de son empreinte de mot de passe.
+     * Une valeur qui n'est pas une empreinte (journal ou snapshot antérieur au
+     * hachage) est traitée comme un mot de passe en clair et hachée à la volée.
+     */
+    public static User restore(String username, String passwordHash) {
+        if (passwordHash != null && decode(passwordHash) != null) {
+            return new User(username, passwordHash, LocalDateTime.now());
+        }
+        return new User(username, passwordHash);
+    }
+    
     public String getUsername() {
         return username;
     }
     
-    public String getPassword() {
-        return password;
+    /**
+     * Empreinte salée du mot de passe, seule forme persistée.
+     */
+    public String getPasswordHash() {
+        return passwordHash;
     }
     
     public LocalDateTime getCreatedAt() {
@@ -42,14 +71,15 @@ public class User {
     }
     
     public boolean verifyPassword(String password) {
-        return this.password.equals(password);
+        if (password == null) {
+            return false;
+        }
+        byte[][] stored = decode(passwordHash);
+        return MessageDigest.isEqual(stored[1], digest(stored[0], password));
     }
     
     public void updatePassword(String newPassword) {
-        if (newPassword == null || newPassword.length() < 4) {
-            throw new IllegalArgumentException("Le mot de passe doit contenir au moins 4 caractères");
-        }
-        this.password = newPassword;
+        this.passwordHash = hash(validatePassword(newPassword));
     }
     
     public void updateLastLogin() {
@@ -60,5 +90,51 @@ public class User {
     public String toString() {
         return String.format("User[%s] Créé le: %s", username, createdAt);
     }
+    
+    private static String validatePassword(String password) {
+        if (password == null || password.length() < 4) {
+            throw new IllegalArgumentException("Le mot de passe doit contenir au moins 4 caractères");
+        }
+        return password;
+    }
+    
+    private static String hash(String password) {
+        byte[] salt = new byte[SALT_LENGTH];
+        RANDOM.nextBytes(salt);
+        Base64.Encoder encoder = Base64.getEncoder();
+        return HASH_PREFIX + encoder.encodeToString(salt) + "$"
+            + encoder.encodeToString(digest(salt, password));
+    }
+    
+    /**
+     * Sel et empreinte d'une valeur {@code sha256$<sel>$<empreinte>}, ou null si
+     * la valeur n'a pas ce format.
+     */
+    private static byte[][] decode(String passwordHash) {
+        if (!passwordHash.startsWith(HASH_PREFIX)) {
+            return null;
+        }
+        int separator = passwordHash.indexOf('$', HASH_PREFIX.length());
+        if (separator < 0) {
+            return null;
+        }
+        try {
+            Base64.Decoder decoder = Base64.getDecoder();
+            byte[] salt = decoder.decode(passwordHash.substring(HASH_PREFIX.length(), separator));
+            byte[] hash = decoder.decode(passwordHash.substring(separator + 1));
+            return salt.length == SALT_LENGTH && hash.length == 32 ? new byte[][] {salt, hash} : null;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+    
+    private static byte[] digest(byte[] salt, String password) {
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            sha256.update(salt);
+            return sha256.digest(password.getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 indisponible", e);
+        }
+    }
 }
-
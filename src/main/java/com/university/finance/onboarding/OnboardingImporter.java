@@ -0,0 +1,232 @@
+package com.university.finance.onboarding;
+
+import com.university.finance.model.Account;
+import com.university.finance.model.Money;
+import com.university.finance.model.User;
+import com.university.finance.pattern.factory.UserFactory;
+import com.university.finance.service.BankingService;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Import en masse d'utilisateurs depuis un CSV {@code username,password,initialDeposit}
+ * (migrations de clientèle), en flux : le fichier est lu par lots de lignes, chaque
+ * lot est validé sur un pool de threads pendant que les lots précédents sont
+ * insérés, puis inséré d'un bloc par {@link BankingService#createUsers}, dans
+ * l'ordre du fichier. Seuls quelques lots sont en mémoire à la fois.
+ *
+ * Le mot de passe est le texte entre la première et la dernière virgule : il peut
+ * donc contenir des virgules. Une ligne d'en-tête commençant par {@code username,}
+ * et les lignes vides sont ignorées. Une ligne refusée (format, validation, nom
+ * déjà pris) n'interrompt pas l'import et figure dans le compte rendu.
+ */
+public class OnboardingImporter {
+
+    public static final int DEFAULT_BATCH_SIZE = 10_000;
+    private static final String HEADER_PREFIX = "username,";
+
+    private final BankingService bankingService;
+    private final int parallelism;
+    private final int batchSize;
+
+    public OnboardingImporter(BankingService bankingService) {
+        this(bankingService, Runtime.getRuntime().availableProcessors(), DEFAULT_BATCH_SIZE);
+    }
+
+    /**
+     * @param parallelism Nombre de threads de validation
+     * @param batchSize Nombre de lignes par lot de validation et d'insertion
+     */
+    public OnboardingImporter(BankingService bankingService, int parallelism, int batchSize) {
+        if (parallelism < 1 || batchSize < 1) {
+            throw new IllegalArgumentException("Parallélisme et taille de lot doivent être positifs");
+        }
+        this.bankingService = bankingService;
+        this.parallelism = parallelism;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Importe un fichier CSV encodé en UTF-8.
+     */
+    public OnboardingReport importCsv(Path file) throws IOException {
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            return importCsv(reader);
+        }
+    }
+
+    /**
+     * Importe un CSV lu en flux ; le lecteur n'est pas fermé.
+     */
+    public OnboardingReport importCsv(Reader source) throws IOException {
+        long start = System.nanoTime();
+        BufferedReader reader = source instanceof BufferedReader
+            ? (BufferedReader) source : new BufferedReader(source);
+        OnboardingReport report = new OnboardingReport();
+        AtomicInteger threadCount = new AtomicInteger();
+        ExecutorService validators = Executors.newFixedThreadPool(parallelism, runnable -> {
+            Thread thread = new Thread(runnable, "onboarding-validator-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            Deque<Future<Batch>> inFlight = new ArrayDeque<>();
+            long lineNumber = 0;
+            Batch batch = new Batch(batchSize);
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isEmpty() || (lineNumber == 1 && line.startsWith(HEADER_PREFIX))) {
+                    continue;
+                }
+                batch.add(lineNumber, line);
+                if (batch.size() == batchSize) {
+                    inFlight.add(submit(validators, batch));
+                    batch = new Batch(batchSize);
+                    // Lots validés d'avance bornés : la mémoire reste indépendante du fichier
+                    while (inFlight.size() > parallelism) {
+                        insert(await(inFlight.poll()), report);
+                    }
+                }
+            }
+            if (batch.size() > 0) {
+                inFlight.add(submit(validators, batch));
+            }
+            while (!inFlight.isEmpty()) {
+                insert(await(inFlight.poll()), report);
+            }
+        } finally {
+            validators.shutdownNow();
+        }
+        report.finished(System.nanoTime() - start);
+        return report;
+    }
+
+    private static Future<Batch> submit(ExecutorService validators, Batch batch) {
+        return validators.submit(() -> {
+            batch.validate();
+            return batch;
+        });
+    }
+
+    private static Batch await(Future<Batch> validated) throws IOException {
+        try {
+            return validated.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Import interrompu");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException("Échec de validation", e.getCause());
+        }
+    }
+
+    /**
+     * Insère les lignes valides d'un lot et reporte les refus dans l'ordre des lignes.
+     */
+    private void insert(Batch batch, OnboardingReport report) {
+        List<User> users = new ArrayList<>(batch.size());
+        double[] balances = new double[batch.size()];
+        for (int i = 0; i < batch.size(); i++) {
+            if (batch.errors[i] == null) {
+                balances[users.size()] = batch.balances[i];
+                users.add(batch.users[i]);
+            }
+        }
+        List<Account> created = bankingService.createUsers(users, Arrays.copyOf(balances, users.size()));
+        int createdCount = 0;
+        int index = 0;
+        for (int i = 0; i < batch.size(); i++) {
+            report.rowRead();
+            if (batch.errors[i] != null) {
+                report.rejected(batch.lineNumbers[i], batch.usernames[i], batch.errors[i]);
+            } else if (created.get(index++) == null) {
+                report.rejected(batch.lineNumbers[i], batch.usernames[i], "L'utilisateur existe déjà");
+            } else {
+                createdCount++;
+            }
+        }
+        report.created(createdCount);
+    }
+
+    /**
+     * Lot de lignes : texte brut à la lecture, puis utilisateurs, soldes et refus
+     * après validation.
+     */
+    private static final class Batch {
+        private final long[] lineNumbers;
+        private final String[] lines;
+        private final String[] usernames;
+        private final User[] users;
+        private final double[] balances;
+        private final String[] errors;
+        private int size;
+
+        Batch(int capacity) {
+            this.lineNumbers = new long[capacity];
+            this.lines = new String[capacity];
+            this.usernames = new String[capacity];
+            this.users = new User[capacity];
+            this.balances = new double[capacity];
+            this.errors = new String[capacity];
+        }
+
+        void add(long lineNumber, String line) {
+            lineNumbers[size] = lineNumber;
+            lines[size++] = line;
+        }
+
+        int size() {
+            return size;
+        }
+
+        void validate() {
+            for (int i = 0; i < size; i++) {
+                validate(i, lines[i]);
+                lines[i] = null;
+            }
+        }
+
+        private void validate(int i, String line) {
+            int first = line.indexOf(',');
+            int last = line.lastIndexOf(',');
+            if (first < 0 || first == last) {
+                errors[i] = "Format attendu: username,password,initialDeposit";
+                return;
+            }
+            usernames[i] = line.substring(0, first).trim();
+            String amount = line.substring(last + 1).trim();
+            try {
+                double balance = Double.parseDouble(amount);
+                if (!(balance >= 0)) {
+                    errors[i] = "Le dépôt initial ne peut pas être négatif";
+                    return;
+                }
+                Money.of(balance);
+                balances[i] = balance;
+                users[i] = UserFactory.createUser(usernames[i], line.substring(first + 1, last));
+            } catch (NumberFormatException e) {
+                errors[i] = "Dépôt initial invalide: " + amount;
+            } catch (IllegalArgumentException e) {
+                errors[i] = e.getMessage();
+            }
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.university.finance.onboarding;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Compte rendu d'un import en masse : nombre de lignes lues et de comptes créés,
+ * et une erreur par ligne refusée, dans l'ordre du fichier.
+ */
+public final class OnboardingReport {
+
+    /**
+     * Ligne refusée par l'import.
+     */
+    public static final class RowError {
+        private final long line;
+        private final String username;
+        private final String reason;
+
+        RowError(long line, String username, String reason) {
+            this.line = line;
+            this.username = username;
+            this.reason = reason;
+        }
+
+        /**
+         * Numéro de la ligne dans le fichier, à partir de 1.
+         */
+        public long getLine() {
+            return line;
+        }
+
+        /**
+         * Nom d'utilisateur de la ligne, ou null s'il n'a pu être lu.
+         */
+        public String getUsername() {
+            return username;
+        }
+
+        public String getReason() {
+            return reason;
+        }
+
+        @Override
+        public String toString() {
+            return "ligne " + line + (username != null ? " (" + username + ")" : "") + ": " + reason;
+        }
+    }
+
+    private final List<RowError> errors = new ArrayList<>();
+    private long rowCount;
+    private long createdCount;
+    private long elapsedNanos;
+
+    OnboardingReport() {
+    }
+
+    void rowRead() {
+        rowCount++;
+    }
+
+    void created(int count) {
+        createdCount += count;
+    }
+
+    void rejected(long line, String username, String reason) {
+        errors.add(new RowError(line, username, reason));
+    }
+
+    void finished(long elapsedNanos) {
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    /**
+     * Nombre de lignes de données lues (en-tête et lignes vides exclus).
+     */
+    public long getRowCount() {
+        return rowCount;
+    }
+
+    public long getCreatedCount() {
+        return createdCount;
+    }
+
+    public int getErrorCount() {
+        return errors.size();
+    }
+
+    public List<RowError> getErrors() {
+        return Collections.unmodifiableList(errors);
+    }
+
+    public long getElapsedMillis() {
+        return elapsedNanos / 1_000_000;
+    }
+
+    /**
+     * Écrit les erreurs au format CSV {@code line,username,reason}, motif entre guillemets.
+     */
+    public void writeErrors(Writer writer) throws IOException {
+        writer.write("line,username,reason\n");
+        for (RowError error : errors) {
+            writer.write(Long.toString(error.getLine()));
+            writer.write(',');
+            writer.write(error.getUsername() != null ? error.getUsername() : "");
+            writer.write(',');
+            writer.write('"');
+            writer.write(error.getReason().replace("\"", "\"\"").replace('\n', ' '));
+            writer.write("\"\n");
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "Import: " + rowCount + " lignes, " + createdCount + " comptes créés, "
+            + errors.size() + " refusées, " + getElapsedMillis() + " ms";
+    }
+}
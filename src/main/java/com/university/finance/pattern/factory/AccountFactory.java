@@ -8,6 +8,7 @@ import java.util.concurrent.atomic.AtomicLong;
  * Centralise la logique de création et génère des numéros de compte uniques.
  */
 public class AccountFactory {
+    private static final String ACCOUNT_PREFIX = "ACC-";
     private static final AtomicLong accountCounter = new AtomicLong(1000);
     private AccountFactory() {
         // Constructeur privé pour empêcher l'instanciation
@@ -43,8 +44,64 @@ public class AccountFactory {
      * Génère un numéro de compte unique au format ACC-XXXX.
      */
     private static String generateAccountNumber() {
-        long number = accountCounter.getAndIncrement();
-        return String.format("ACC-%04d", number);
+        return formatAccountNumber(accountCounter.getAndIncrement());
+    }
+    
+    /**
+     * Réserve d'un coup une plage de numéros consécutifs, pour les créations en masse.
+     * 
+     * @param count Nombre de numéros réservés
+     * @return Le premier numéro de la plage, à formater par {@link #formatAccountNumber(long)}
+     */
+    public static long reserveAccountNumbers(int count) {
+        if (count < 0) {
+            throw new IllegalArgumentException("Nombre de numéros négatif: " + count);
+        }
+        return accountCounter.getAndAdd(count);
+    }
+    
+    /**
+     * Formate un numéro de compte (ACC- suivi d'au moins 4 chiffres) ; pour un
+     * numéro positif, équivaut à {@code String.format("ACC-%04d", number)} sans
+     * analyser de format.
+     */
+    public static String formatAccountNumber(long number) {
+        String digits = Long.toString(number);
+        if (number < 0 || digits.length() >= 4) {
+            return ACCOUNT_PREFIX + digits;
+        }
+        return ACCOUNT_PREFIX + "000".substring(digits.length() - 1) + digits;
+    }
+    
+    /**
+     * Garantit que les prochains numéros générés seront supérieurs à celui
+     * du compte donné (utilisé lors de la restauration de comptes existants).
+     * Les numéros qui ne suivent pas le format ACC-XXXX sont ignorés.
+     */
+    public static void advanceCounterPast(String accountNumber) {
+        if (accountNumber == null || !accountNumber.startsWith(ACCOUNT_PREFIX)) {
+            return;
+        }
+        try {
+            long number = Long.parseLong(accountNumber.substring(ACCOUNT_PREFIX.length()));
+            ensureNextNumberAtLeast(number + 1);
+        } catch (NumberFormatException e) {
+            // Numéro hors format généré : n'influe pas sur le compteur
+        }
+    }
+    
+    /**
+     * Retourne le prochain numéro qui sera attribué (sans le consommer).
+     */
+    public static long peekNextNumber() {
+        return accountCounter.get();
+    }
+    
+    /**
+     * Garantit que le prochain numéro attribué sera au moins égal à la valeur donnée.
+     */
+    public static void ensureNextNumberAtLeast(long nextNumber) {
+        accountCounter.accumulateAndGet(nextNumber, Math::max);
     }
     
     /**
@@ -47,13 +47,28 @@ public class UserFactory {
                 "Le nom d'utilisateur doit contenir au moins 3 caractères"
             );
         }
-        if (!username.matches("^[\\w]+$")) {
+        if (!isWord(username)) {
             throw new IllegalArgumentException(
                 "Le nom d'utilisateur ne peut contenir que des lettres, chiffres et underscores"
             );
         }
     }
     
+    /**
+     * Équivalent de {@code username.matches("^[\\w]+$")}, sans compiler
+     * l'expression à chaque appel : lettres ASCII, chiffres et underscores.
+     */
+    private static boolean isWord(String username) {
+        for (int i = 0; i < username.length(); i++) {
+            char c = username.charAt(i);
+            boolean word = (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9') || c == '_';
+            if (!word) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
     /**
      * Valide le format du mot de passe.
      */
@@ -0,0 +1,298 @@
+package com.university.finance.pattern.observer;
+
+import com.university.finance.metrics.LatencyHistogram;
+import com.university.finance.metrics.TransactionMetrics;
+import com.university.finance.model.ReusableTransaction;
+import com.university.finance.model.Transaction;
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.BiConsumer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Observer Pattern - Diffusion asynchrone des transactions.
+ * Chaque observateur dispose de sa propre file circulaire bornée et de son propre
+ * thread consommateur : le thread de la transaction se contente de publier
+ * l'événement, le formatage et la journalisation des observateurs sortent du
+ * chemin critique.
+ *
+ * L'ordre des événements d'un même compte est conservé : ils sont publiés sous le
+ * verrou du compte, et chaque file est consommée dans l'ordre par un seul thread.
+ * Seuls les lots de {@code BankingService#executeBatch}, publiés après la libération
+ * des verrous, peuvent s'intercaler avec des opérations concurrentes.
+ * Le consommateur vide sa file par paquets : lorsque plusieurs événements sont en
+ * attente, ils sont remis ensemble via {@link TransactionObserver#onTransactions}.
+ * Avec des métriques, la durée de chaque appel (événement seul ou paquet) est
+ * enregistrée par observateur.
+ *
+ * Chaque file recopie l'événement publié : une transaction réutilisable (voir
+ * {@link TransactionObserver}) l'est dans une copie immuable, ou, en mode
+ * réutilisable, dans la transaction préallouée de sa case. La case n'est alors
+ * rendue aux producteurs qu'une fois l'observateur revenu de l'appel qui la lui a
+ * remise : la publication n'alloue rien.
+ *
+ * Après {@link #close()}, les événements publiés ne sont plus remis : ils sont
+ * comptés dans {@link #getDroppedCount()}, une fois par observateur.
+ */
+public class AsyncObserverDispatcher implements ObserverDispatcher, Closeable {
+    private static final Logger logger = LoggerFactory.getLogger(AsyncObserverDispatcher.class);
+    private static final long PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+    // Nombre maximal d'événements remis en un seul appel à un observateur
+    private static final int MAX_DRAIN = 256;
+    // Recopie d'un événement dans la transaction préallouée d'une case
+    private static final BiConsumer<Transaction, Transaction> COPY =
+        (slot, transaction) -> ((ReusableTransaction) slot).copyFrom(transaction);
+
+    /**
+     * Comportement lorsqu'une file est pleine (producteur) ou vide (consommateur).
+     */
+    public enum WaitPolicy {
+        /** Le producteur attend une place libre ; les threads en attente se mettent en veille. */
+        BLOCK,
+        /** Le producteur attend une place libre ; les threads en attente cèdent le processeur (latence minimale). */
+        YIELD,
+        /** Le producteur n'attend jamais : l'événement est abandonné et comptabilisé. */
+        DROP
+    }
+
+    private final int capacity;
+    private final WaitPolicy waitPolicy;
+    private final TransactionMetrics metrics;
+    private final boolean reuseEvents;
+    private final CopyOnWriteArrayList<ObserverChannel> channels;
+    private final AtomicLong dropped;
+    private volatile boolean closed;
+
+    /**
+     * @param capacity Capacité de la file de chaque observateur
+     * @param waitPolicy Politique d'attente et de contre-pression
+     */
+    public AsyncObserverDispatcher(int capacity, WaitPolicy waitPolicy) {
+        this(capacity, waitPolicy, null);
+    }
+
+    /**
+     * @param capacity Capacité de la file de chaque observateur
+     * @param waitPolicy Politique d'attente et de contre-pression
+     * @param metrics Métriques recevant la durée des appels (null : aucune mesure)
+     */
+    public AsyncObserverDispatcher(int capacity, WaitPolicy waitPolicy, TransactionMetrics metrics) {
+        this(capacity, waitPolicy, metrics, false);
+    }
+
+    /**
+     * @param capacity Capacité de la file de chaque observateur
+     * @param waitPolicy Politique d'attente et de contre-pression
+     * @param metrics Métriques recevant la durée des appels (null : aucune mesure)
+     * @param reuseEvents true pour recopier les événements dans des transactions
+     *        préallouées, réutilisées une fois traitées, au lieu de copies immuables
+     */
+    public AsyncObserverDispatcher(int capacity, WaitPolicy waitPolicy, TransactionMetrics metrics,
+                                   boolean reuseEvents) {
+        this.capacity = capacity;
+        this.waitPolicy = waitPolicy;
+        this.metrics = metrics;
+        this.reuseEvents = reuseEvents;
+        this.channels = new CopyOnWriteArrayList<>();
+        this.dropped = new AtomicLong();
+    }
+
+    @Override
+    public synchronized void addObserver(TransactionObserver observer) {
+        if (closed) {
+            throw new IllegalStateException("Le diffuseur est fermé");
+        }
+        for (ObserverChannel channel : channels) {
+            if (channel.observer.equals(observer)) {
+                return;
+            }
+        }
+        ObserverChannel channel = new ObserverChannel(observer,
+            new RingBuffer<Transaction>(capacity, reuseEvents ? ReusableTransaction::new : null));
+        channels.add(channel);
+        channel.thread.start();
+    }
+
+    @Override
+    public synchronized void removeObserver(TransactionObserver observer) {
+        for (ObserverChannel channel : channels) {
+            if (channel.observer.equals(observer)) {
+                channels.remove(channel);
+                channel.stop();
+                return;
+            }
+        }
+    }
+
+    @Override
+    public void dispatch(Transaction transaction) {
+        for (ObserverChannel channel : channels) {
+            channel.publish(transaction);
+        }
+    }
+
+    @Override
+    public void dispatchAll(List<Transaction> transactions) {
+        for (ObserverChannel channel : channels) {
+            for (Transaction transaction : transactions) {
+                channel.publish(transaction);
+            }
+        }
+    }
+
+    /**
+     * Nombre d'événements abandonnés (politique {@link WaitPolicy#DROP}, ou
+     * publication après l'arrêt de l'observateur), comptés par observateur.
+     */
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+
+    /**
+     * Attend que tous les événements publiés aient été traités.
+     *
+     * @return false si le délai a expiré avant
+     */
+    public boolean awaitQuiescence(long timeout, TimeUnit unit) {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        for (ObserverChannel channel : channels) {
+            while (!channel.isIdle()) {
+                if (System.nanoTime() >= deadline) {
+                    return false;
+                }
+                LockSupport.parkNanos(PARK_NANOS);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Traite les événements en attente puis arrête les threads consommateurs.
+     * Les observateurs restent enregistrés pour comptabiliser les événements
+     * publiés ensuite comme abandonnés.
+     */
+    @Override
+    public synchronized void close() {
+        closed = true;
+        for (ObserverChannel channel : channels) {
+            channel.stop();
+        }
+    }
+
+    private void idle() {
+        if (waitPolicy == WaitPolicy.YIELD) {
+            Thread.yield();
+        } else {
+            LockSupport.parkNanos(PARK_NANOS);
+        }
+    }
+
+    /**
+     * File et thread consommateur dédiés à un observateur.
+     */
+    private final class ObserverChannel implements Runnable {
+        private final TransactionObserver observer;
+        private final RingBuffer<Transaction> buffer;
+        private final Thread thread;
+        private final LatencyHistogram latency;
+        private final AtomicLong published = new AtomicLong();
+        // Producteurs entre la lecture de running et la fin de leur offer
+        private final AtomicInteger publishing = new AtomicInteger();
+        private volatile long processed;
+        private volatile boolean running = true;
+        // Plus aucun producteur ne peut déposer : le consommateur peut s'arrêter
+        private volatile boolean sealed;
+
+        ObserverChannel(TransactionObserver observer, RingBuffer<Transaction> buffer) {
+            this.observer = observer;
+            this.buffer = buffer;
+            this.thread = new Thread(this, "observer-" + observer.getClass().getSimpleName());
+            this.thread.setDaemon(true);
+            this.latency = metrics != null ? metrics.observerLatency(observer.getClass().getSimpleName()) : null;
+        }
+
+        void publish(Transaction transaction) {
+            publishing.incrementAndGet();
+            try {
+                while (running) {
+                    if (reuseEvents ? buffer.offer(COPY, transaction) : buffer.offer(transaction.toImmutable())) {
+                        published.incrementAndGet();
+                        return;
+                    }
+                    if (waitPolicy == WaitPolicy.DROP) {
+                        break;
+                    }
+                    idle();
+                }
+                dropped.incrementAndGet();
+            } finally {
+                publishing.decrementAndGet();
+            }
+        }
+
+        boolean isIdle() {
+            return processed == published.get();
+        }
+
+        /**
+         * Refuse les nouvelles publications, attend les producteurs déjà engagés,
+         * puis laisse le consommateur vider la file avant de s'arrêter.
+         */
+        void stop() {
+            running = false;
+            while (publishing.get() != 0) {
+                Thread.onSpinWait();
+            }
+            sealed = true;
+            try {
+                thread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        @Override
+        public void run() {
+            List<Transaction> batch = new ArrayList<>(MAX_DRAIN);
+            List<Transaction> view = Collections.unmodifiableList(batch);
+            while (true) {
+                Transaction transaction;
+                while (batch.size() < MAX_DRAIN && (transaction = buffer.take()) != null) {
+                    batch.add(transaction);
+                }
+                if (batch.isEmpty()) {
+                    if (sealed && buffer.size() == 0) {
+                        return;
+                    }
+                    idle();
+                    continue;
+                }
+                long start = latency != null ? System.nanoTime() : 0;
+                try {
+                    if (batch.size() == 1) {
+                        observer.onTransaction(batch.get(0));
+                    } else {
+                        observer.onTransactions(view);
+                    }
+                } catch (RuntimeException e) {
+                    logger.error("Erreur de l'observateur {}", observer.getClass().getSimpleName(), e);
+                }
+                if (latency != null) {
+                    latency.record(System.nanoTime() - start);
+                }
+                // Les cases ne sont rendues aux producteurs qu'après l'appel
+                buffer.release();
+                processed += batch.size();
+                batch.clear();
+            }
+        }
+    }
+}
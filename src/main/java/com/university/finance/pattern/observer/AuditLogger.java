@@ -2,37 +2,89 @@ package com.university.finance.pattern.observer;
 
 import com.university.finance.model.Transaction;
 import java.time.format.DateTimeFormatter;
-import java.util.ArrayList;
+import java.util.AbstractList;
 import java.util.Collections;
 import java.util.List;
+import java.util.RandomAccess;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 /**
  * Observer Pattern - Observateur qui enregistre un audit de toutes les transactions.
  * Suit le principe SRP en se concentrant uniquement sur l'audit.
+ *
+ * L'audit conserve les transactions elles-mêmes, immuables (copie des transactions
+ * réutilisables) : le texte n'est produit
+ * qu'à la lecture ({@link #getAuditLog()}, {@link #getRecentAuditLog(int)}) ou
+ * lorsque le niveau INFO du logger est actif, jamais sur le chemin d'écriture.
+ *
+ * Seules les dernières transactions restent en mémoire, dans une fenêtre
+ * circulaire de taille fixe ; l'historique complet est écrit dans le sink durable
+ * s'il y en a un.
  */
 public class AuditLogger implements TransactionObserver {
+    public static final int DEFAULT_RECENT_CAPACITY = 1024;
+    
     private static final Logger logger = LoggerFactory.getLogger(AuditLogger.class);
-    private final List<String> auditLog;
+    private final RecentWindow<Transaction> auditLog;
+    private final ObserverSink<Transaction> sink;
     private static final DateTimeFormatter FORMATTER = 
         DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
     
     public AuditLogger() {
-        this.auditLog = new ArrayList<>();
+        this(DEFAULT_RECENT_CAPACITY, null);
+    }
+    
+    /**
+     * @param recentCapacity Nombre de transactions gardées en mémoire
+     * @param sink Destination de l'historique complet (null : aucune)
+     */
+    public AuditLogger(int recentCapacity, ObserverSink<Transaction> sink) {
+        this.auditLog = new RecentWindow<>(recentCapacity);
+        this.sink = sink;
     }
     
     @Override
     public void onTransaction(Transaction transaction) {
-        String logEntry = formatLogEntry(transaction);
-        auditLog.add(logEntry);
+        auditLog.add(transaction.toImmutable());
+        if (sink != null) {
+            try {
+                sink.write(transaction);
+            } catch (RuntimeException e) {
+                logger.error("Échec d'écriture de l'audit", e);
+            }
+        }
         // En production, on écrirait dans un fichier ou une base de données
-        logger.info("[AUDIT] {}", logEntry);
+        if (logger.isInfoEnabled()) {
+            logger.info("[AUDIT] {}", formatLogEntry(transaction));
+        }
+    }
+    
+    /**
+     * Traite un lot : les entrées sont écrites en une seule fois dans le sink.
+     */
+    @Override
+    public void onTransactions(List<Transaction> transactions) {
+        for (Transaction transaction : transactions) {
+            auditLog.add(transaction.toImmutable());
+        }
+        if (sink != null) {
+            try {
+                sink.writeAll(transactions);
+            } catch (RuntimeException e) {
+                logger.error("Échec d'écriture de l'audit", e);
+            }
+        }
+        if (logger.isInfoEnabled()) {
+            for (Transaction transaction : transactions) {
+                logger.info("[AUDIT] {}", formatLogEntry(transaction));
+            }
+        }
     }
     
     /**
      * Formate une entrée de log pour l'audit.
      */
-    private String formatLogEntry(Transaction transaction) {
+    public static String formatLogEntry(Transaction transaction) {
         return String.format("[%s] Compte: %s | Type: %s | Montant: %.2f€ | Solde: %.2f€ → %.2f€",
             transaction.getTimestamp().format(FORMATTER),
             transaction.getAccountNumber(),
@@ -44,25 +96,52 @@ public class AuditLogger implements TransactionObserver {
     }
     
     /**
-     * Récupère l'historique complet de l'audit.
+     * Récupère les entrées d'audit gardées en mémoire, de la plus ancienne à la plus
+     * récente. Copie non modifiable : chaque entrée est formatée à la lecture.
      */
     public List<String> getAuditLog() {
-        return Collections.unmodifiableList(auditLog);
+        return new FormattedView(auditLog.latest(auditLog.capacity()));
     }
     
     /**
      * Récupère les N dernières entrées d'audit.
      */
     public List<String> getRecentAuditLog(int count) {
-        int size = auditLog.size();
-        int fromIndex = Math.max(0, size - count);
-        return Collections.unmodifiableList(auditLog.subList(fromIndex, size));
+        return new FormattedView(auditLog.latest(count));
+    }
+    
+    /**
+     * Transactions auditées gardées en mémoire, sans formatage.
+     */
+    public List<Transaction> getAuditRecords() {
+        return Collections.unmodifiableList(auditLog.latest(auditLog.capacity()));
     }
     
     /**
-     * Efface l'historique d'audit (utile pour les tests).
+     * Efface l'historique d'audit en mémoire (utile pour les tests).
      */
     public void clearLog() {
         auditLog.clear();
     }
+    
+    /**
+     * Vue textuelle de transactions, formatée entrée par entrée à la lecture.
+     */
+    private static final class FormattedView extends AbstractList<String> implements RandomAccess {
+        private final List<Transaction> records;
+        
+        FormattedView(List<Transaction> records) {
+            this.records = records;
+        }
+        
+        @Override
+        public String get(int index) {
+            return formatLogEntry(records.get(index));
+        }
+        
+        @Override
+        public int size() {
+            return records.size();
+        }
+    }
 }
@@ -10,23 +10,67 @@ import org.slf4j.LoggerFactory;
 /**
  * Observer Pattern - Service de notification pour les transactions.
  * Envoie des notifications aux utilisateurs concernés.
+ *
+ * Seules les dernières notifications restent en mémoire, dans une fenêtre
+ * circulaire de taille fixe ; l'historique complet est écrit dans le sink durable
+ * s'il y en a un.
  */
 public class NotificationService implements TransactionObserver {
+    public static final int DEFAULT_RECENT_CAPACITY = 1024;
+    
     private static final Logger logger = LoggerFactory.getLogger(NotificationService.class);
-    private final List<String> notifications;
+    private final RecentWindow<String> notifications;
+    private final ObserverSink<String> sink;
     
     public NotificationService() {
-        this.notifications = new ArrayList<>();
+        this(DEFAULT_RECENT_CAPACITY, null);
+    }
+    
+    /**
+     * @param recentCapacity Nombre de notifications gardées en mémoire
+     * @param sink Destination de l'historique complet (null : aucune)
+     */
+    public NotificationService(int recentCapacity, ObserverSink<String> sink) {
+        this.notifications = new RecentWindow<>(recentCapacity);
+        this.sink = sink;
     }
     
     @Override
     public void onTransaction(Transaction transaction) {
         String notification = createNotification(transaction);
         notifications.add(notification);
+        if (sink != null) {
+            try {
+                sink.write(notification);
+            } catch (RuntimeException e) {
+                logger.error("Échec d'écriture de la notification", e);
+            }
+        }
         // En production, on enverrait un email, SMS ou notification push
         logger.info("[NOTIFICATION] {}", notification);
     }
     
+    /**
+     * Traite un lot : les entrées sont écrites en une seule fois dans le sink.
+     */
+    @Override
+    public void onTransactions(List<Transaction> transactions) {
+        List<String> entries = new ArrayList<>(transactions.size());
+        for (Transaction transaction : transactions) {
+            String entry = createNotification(transaction);
+            entries.add(entry);
+            notifications.add(entry);
+            logger.info("[NOTIFICATION] {}", entry);
+        }
+        if (sink != null) {
+            try {
+                sink.writeAll(entries);
+            } catch (RuntimeException e) {
+                logger.error("Échec d'écriture des notifications", e);
+            }
+        }
+    }
+    
     /**
      * Crée un message de notification personnalisé selon le type de transaction.
      */
@@ -55,23 +99,21 @@ public class NotificationService implements TransactionObserver {
     }
     
     /**
-     * Récupère toutes les notifications.
+     * Récupère les notifications gardées en mémoire, de la plus ancienne à la plus récente.
      */
     public List<String> getNotifications() {
-        return Collections.unmodifiableList(notifications);
+        return Collections.unmodifiableList(notifications.latest(notifications.capacity()));
     }
     
     /**
      * Récupère les N dernières notifications.
      */
     public List<String> getRecentNotifications(int count) {
-        int size = notifications.size();
-        int fromIndex = Math.max(0, size - count);
-        return Collections.unmodifiableList(notifications.subList(fromIndex, size));
+        return Collections.unmodifiableList(notifications.latest(count));
     }
     
     /**
-     * Efface les notifications (utile pour les tests).
+     * Efface les notifications en mémoire (utile pour les tests).
      */
     public void clearNotifications() {
         notifications.clear();
@@ -0,0 +1,36 @@
+package com.university.finance.pattern.observer;
+
+import com.university.finance.model.Transaction;
+import java.util.List;
+
+/**
+ * Observer Pattern - Politique de diffusion des transactions aux observateurs.
+ * Permet de choisir entre une notification synchrone et une notification asynchrone
+ * sans modifier le service émetteur.
+ */
+public interface ObserverDispatcher {
+    /**
+     * Ajoute un observateur (sans effet s'il est déjà enregistré).
+     */
+    void addObserver(TransactionObserver observer);
+    
+    /**
+     * Retire un observateur.
+     */
+    void removeObserver(TransactionObserver observer);
+    
+    /**
+     * Diffuse une transaction à tous les observateurs enregistrés.
+     * 
+     * @param transaction La transaction effectuée
+     */
+    void dispatch(Transaction transaction);
+    
+    /**
+     * Diffuse un lot de transactions ; les observateurs le reçoivent via
+     * {@link TransactionObserver#onTransactions(List)}.
+     * 
+     * @param transactions Les transactions effectuées, dans l'ordre d'exécution
+     */
+    void dispatchAll(List<Transaction> transactions);
+}
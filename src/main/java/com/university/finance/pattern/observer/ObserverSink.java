@@ -0,0 +1,25 @@
+package com.university.finance.pattern.observer;
+
+import java.util.List;
+
+/**
+ * Destination durable des entrées d'un observateur : l'observateur ne garde en
+ * mémoire que ses entrées récentes, l'historique complet part dans le sink.
+ *
+ * @param <T> Type des entrées
+ */
+public interface ObserverSink<T> {
+    /**
+     * Écrit une entrée.
+     */
+    void write(T entry);
+    
+    /**
+     * Écrit un lot d'entrées, dans l'ordre.
+     */
+    default void writeAll(List<? extends T> entries) {
+        for (T entry : entries) {
+            write(entry);
+        }
+    }
+}
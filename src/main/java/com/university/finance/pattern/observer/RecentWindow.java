@@ -0,0 +1,105 @@
+package com.university.finance.pattern.observer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Fenêtre circulaire des N derniers éléments, sans verrou : chaque ajout écrase le
+ * plus ancien. Les écritures concurrentes n'attendent jamais, et une lecture ne
+ * retourne que des éléments complètement publiés.
+ *
+ * Chaque case contient un nœud immuable portant le numéro de séquence de son
+ * élément : un lecteur écarte les cases déjà réécrites par un tour suivant.
+ *
+ * @param <E> Type des éléments
+ */
+final class RecentWindow<E> {
+    private final AtomicReferenceArray<Node<E>> slots;
+    private final int mask;
+    private final AtomicLong next = new AtomicLong();
+    // Séquence du premier élément visible, avancée par clear()
+    private volatile long floor;
+
+    /**
+     * @param capacity Nombre d'éléments conservés (arrondi à la puissance de 2 supérieure)
+     */
+    RecentWindow(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("La capacité doit être positive");
+        }
+        int size = Integer.highestOneBit(capacity);
+        if (size < capacity) {
+            size <<= 1;
+        }
+        this.slots = new AtomicReferenceArray<>(size);
+        this.mask = size - 1;
+    }
+
+    int capacity() {
+        return slots.length();
+    }
+
+    /**
+     * Ajoute un élément, en écrasant le plus ancien si la fenêtre est pleine.
+     */
+    void add(E element) {
+        long sequence = next.getAndIncrement();
+        int index = (int) (sequence & mask);
+        Node<E> node = new Node<>(sequence, element);
+        while (true) {
+            Node<E> current = slots.get(index);
+            // Un écrivain plus récent a déjà occupé la case : notre élément est déjà sorti de la fenêtre
+            if (current != null && current.sequence > sequence) {
+                return;
+            }
+            if (slots.compareAndSet(index, current, node)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Retourne au plus {@code count} éléments parmi les plus récents, du plus ancien
+     * au plus récent.
+     */
+    List<E> latest(int count) {
+        long end = next.get();
+        long start = Math.max(Math.max(end - capacity(), end - Math.max(count, 0)), floor);
+        List<E> elements = new ArrayList<>((int) Math.max(end - start, 0));
+        for (long sequence = start; sequence < end; sequence++) {
+            Node<E> node = slots.get((int) (sequence & mask));
+            // Case pas encore publiée ou déjà réécrite
+            if (node != null && node.sequence == sequence) {
+                elements.add(node.element);
+            }
+        }
+        return elements;
+    }
+
+    /**
+     * Nombre d'éléments visibles.
+     */
+    int size() {
+        long end = next.get();
+        return (int) Math.min(end - floor, capacity());
+    }
+
+    /**
+     * Masque tous les éléments ajoutés jusqu'ici.
+     */
+    void clear() {
+        floor = next.get();
+    }
+
+    private static final class Node<E> {
+        private final long sequence;
+        private final E element;
+
+        Node(long sequence, E element) {
+            this.sequence = sequence;
+            this.element = element;
+        }
+    }
+}
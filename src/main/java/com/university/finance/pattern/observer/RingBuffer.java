@@ -0,0 +1,183 @@
+package com.university.finance.pattern.observer;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
+
+/**
+ * File circulaire bornée, sans verrou, multi-producteurs / consommateur unique.
+ * Chaque case porte un numéro de séquence qui indique si elle est libre pour le
+ * producteur du tour courant ou prête pour le consommateur.
+ *
+ * Les cases peuvent aussi contenir des éléments préalloués, réutilisés d'un tour à
+ * l'autre : le producteur y recopie sa valeur ({@link #offer(BiConsumer, Object)})
+ * et le consommateur ne libère la case qu'après l'avoir traitée
+ * ({@link #take()} puis {@link #release()}).
+ *
+ * @param <E> Type des éléments
+ */
+final class RingBuffer<E> {
+    private final Object[] elements;
+    private final AtomicLongArray sequences;
+    private final int mask;
+    private final boolean preallocated;
+    private final AtomicLong tail = new AtomicLong();
+    private volatile long head;
+    // Position suivant le dernier élément pris et non libéré (consommateur seul)
+    private long taken;
+
+    /**
+     * @param capacity Capacité souhaitée (arrondie à la puissance de 2 supérieure)
+     */
+    RingBuffer(int capacity) {
+        this(capacity, null);
+    }
+
+    /**
+     * @param capacity Capacité souhaitée (arrondie à la puissance de 2 supérieure)
+     * @param factory Créateur des éléments préalloués de chaque case (null : aucun)
+     */
+    RingBuffer(int capacity, Supplier<? extends E> factory) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("La capacité doit être positive");
+        }
+        int size = Integer.highestOneBit(capacity);
+        if (size < capacity) {
+            size <<= 1;
+        }
+        this.elements = new Object[size];
+        this.sequences = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            sequences.set(i, i);
+            if (factory != null) {
+                elements[i] = factory.get();
+            }
+        }
+        this.mask = size - 1;
+        this.preallocated = factory != null;
+    }
+
+    int capacity() {
+        return elements.length;
+    }
+
+    /**
+     * Ajoute un élément si une case est libre (appelable par plusieurs threads).
+     *
+     * @return false si la file est pleine
+     */
+    boolean offer(E element) {
+        long position = reserve();
+        if (position < 0) {
+            return false;
+        }
+        int index = (int) (position & mask);
+        elements[index] = element;
+        sequences.set(index, position + 1);
+        return true;
+    }
+
+    /**
+     * Recopie une valeur dans l'élément préalloué d'une case libre (appelable par
+     * plusieurs threads).
+     *
+     * @param writer Recopie de la valeur dans l'élément
+     * @return false si la file est pleine
+     */
+    @SuppressWarnings("unchecked")
+    <T> boolean offer(BiConsumer<? super E, ? super T> writer, T value) {
+        long position = reserve();
+        if (position < 0) {
+            return false;
+        }
+        int index = (int) (position & mask);
+        writer.accept((E) elements[index], value);
+        sequences.set(index, position + 1);
+        return true;
+    }
+
+    /**
+     * Réserve la case suivante pour un producteur.
+     *
+     * @return Sa position, ou -1 si la file est pleine
+     */
+    private long reserve() {
+        long position = tail.get();
+        while (true) {
+            int index = (int) (position & mask);
+            long difference = sequences.get(index) - position;
+            if (difference == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    return position;
+                }
+                position = tail.get();
+            } else if (difference < 0) {
+                return -1;
+            } else {
+                position = tail.get();
+            }
+        }
+    }
+
+    /**
+     * Retire l'élément le plus ancien (consommateur unique).
+     *
+     * @return null si la file est vide
+     */
+    @SuppressWarnings("unchecked")
+    E poll() {
+        long position = head;
+        int index = (int) (position & mask);
+        if (sequences.get(index) != position + 1) {
+            return null;
+        }
+        E element = (E) elements[index];
+        if (!preallocated) {
+            elements[index] = null;
+        }
+        sequences.set(index, position + mask + 1);
+        head = position + 1;
+        taken = head;
+        return element;
+    }
+
+    /**
+     * Prend l'élément suivant sans libérer sa case (consommateur unique) : les
+     * producteurs ne la réutilisent qu'après {@link #release()}.
+     *
+     * @return null si aucun élément n'est prêt
+     */
+    @SuppressWarnings("unchecked")
+    E take() {
+        long position = taken;
+        int index = (int) (position & mask);
+        if (sequences.get(index) != position + 1) {
+            return null;
+        }
+        taken = position + 1;
+        return (E) elements[index];
+    }
+
+    /**
+     * Libère les cases des éléments pris depuis le dernier appel ; les éléments
+     * préalloués y restent pour être réutilisés.
+     */
+    void release() {
+        for (long position = head; position < taken; position++) {
+            int index = (int) (position & mask);
+            if (!preallocated) {
+                elements[index] = null;
+            }
+            sequences.set(index, position + mask + 1);
+        }
+        head = taken;
+    }
+
+    /**
+     * Nombre approximatif d'éléments en attente.
+     */
+    int size() {
+        return (int) Math.max(0, tail.get() - head);
+    }
+}
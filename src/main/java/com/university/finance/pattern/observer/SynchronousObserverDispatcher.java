@@ -0,0 +1,99 @@
+package com.university.finance.pattern.observer;
+
+import com.university.finance.metrics.LatencyHistogram;
+import com.university.finance.metrics.TransactionMetrics;
+import com.university.finance.model.Transaction;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Observer Pattern - Diffusion synchrone : chaque observateur est appelé sur le
+ * thread de la transaction, avant que celle-ci ne soit retournée à l'appelant.
+ * La liste des observateurs est copy-on-write et peut être modifiée à tout moment ;
+ * elle est parcourue comme un simple tableau, sans itérateur à allouer.
+ * Avec des métriques, la durée de chaque appel est enregistrée par observateur.
+ */
+public class SynchronousObserverDispatcher implements ObserverDispatcher {
+    private final TransactionMetrics metrics;
+    private volatile Registration[] registrations = new Registration[0];
+    
+    public SynchronousObserverDispatcher() {
+        this(null);
+    }
+    
+    /**
+     * @param metrics Métriques recevant la durée des appels (null : aucune mesure)
+     */
+    public SynchronousObserverDispatcher(TransactionMetrics metrics) {
+        this.metrics = metrics;
+    }
+    
+    @Override
+    public synchronized void addObserver(TransactionObserver observer) {
+        if (indexOf(observer) < 0) {
+            Registration[] updated = Arrays.copyOf(registrations, registrations.length + 1);
+            updated[updated.length - 1] = new Registration(observer,
+                metrics != null ? metrics.observerLatency(observer.getClass().getSimpleName()) : null);
+            registrations = updated;
+        }
+    }
+    
+    @Override
+    public synchronized void removeObserver(TransactionObserver observer) {
+        int index = indexOf(observer);
+        if (index >= 0) {
+            Registration[] updated = new Registration[registrations.length - 1];
+            System.arraycopy(registrations, 0, updated, 0, index);
+            System.arraycopy(registrations, index + 1, updated, index, updated.length - index);
+            registrations = updated;
+        }
+    }
+    
+    private int indexOf(TransactionObserver observer) {
+        for (int i = 0; i < registrations.length; i++) {
+            if (registrations[i].observer.equals(observer)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+    
+    @Override
+    public void dispatch(Transaction transaction) {
+        for (Registration registration : registrations) {
+            if (registration.latency == null) {
+                registration.observer.onTransaction(transaction);
+            } else {
+                long start = System.nanoTime();
+                registration.observer.onTransaction(transaction);
+                registration.latency.record(System.nanoTime() - start);
+            }
+        }
+    }
+    
+    @Override
+    public void dispatchAll(List<Transaction> transactions) {
+        for (Registration registration : registrations) {
+            if (registration.latency == null) {
+                registration.observer.onTransactions(transactions);
+            } else {
+                long start = System.nanoTime();
+                registration.observer.onTransactions(transactions);
+                registration.latency.record(System.nanoTime() - start);
+            }
+        }
+    }
+    
+    /**
+     * Observateur et histogramme de ses appels (null sans métriques).
+     */
+    private static final class Registration {
+        private final TransactionObserver observer;
+        private final LatencyHistogram latency;
+        
+        Registration(TransactionObserver observer, LatencyHistogram latency) {
+            this.observer = observer;
+            this.latency = latency;
+        }
+    }
+}
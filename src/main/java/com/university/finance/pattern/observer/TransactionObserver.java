@@ -1,16 +1,36 @@
 package com.university.finance.pattern.observer;
 
 import com.university.finance.model.Transaction;
+import java.util.List;
 
 /**
  * Observer Pattern - Interface pour les observateurs de transactions.
  * Permet de notifier plusieurs composants lors d'une transaction.
+ *
+ * Une transaction notifiée n'est valable que pendant l'appel : elle peut être une
+ * {@link com.university.finance.model.ReusableTransaction} dont le contenu est
+ * remplacé ensuite. Un observateur qui la conserve en garde une copie
+ * ({@link Transaction#toImmutable()}).
  */
 public interface TransactionObserver {
     /**
      * Méthode appelée lors d'une nouvelle transaction.
      * 
-     * @param transaction La transaction effectuée
+     * @param transaction La transaction effectuée, valable pendant l'appel seulement
      */
     void onTransaction(Transaction transaction);
+    
+    /**
+     * Méthode appelée pour un lot de transactions, dans l'ordre d'exécution.
+     * Par défaut, chaque transaction est transmise à {@link #onTransaction}.
+     * La liste et ses transactions ne sont valables que pendant l'appel et ne
+     * doivent pas être conservées.
+     * 
+     * @param transactions Les transactions effectuées
+     */
+    default void onTransactions(List<Transaction> transactions) {
+        for (Transaction transaction : transactions) {
+            onTransaction(transaction);
+        }
+    }
 }
@@ -0,0 +1,78 @@
+package com.university.finance.pattern.strategy;
+
+import com.university.finance.metrics.TransactionMetrics;
+import com.university.finance.model.Account;
+import com.university.finance.model.Money;
+
+/**
+ * Mises à jour de solde par compare-and-set, communes aux stratégies : le contrôle
+ * du solde porte sur la valeur même qui est remplacée, ce qui le rend atomique avec
+ * l'écriture sans verrou. Sous le verrou du compte, le premier essai réussit
+ * toujours ; sans verrou, chaque échec est une écriture concurrente, comptée dans
+ * les métriques.
+ *
+ * Sur un compte à crédits répartis ({@link Account#enableStripedCredits()}), un
+ * crédit va dans les cellules, sans compare-and-set ; un débit règle d'abord les
+ * crédits en attente puis porte sur le solde réglé.
+ */
+final class Balances {
+    /**
+     * Valeur retournée lorsque le solde ne couvre pas le débit.
+     */
+    static final long INSUFFICIENT = Long.MIN_VALUE;
+    
+    private Balances() {
+    }
+    
+    /**
+     * Ajoute {@code delta} au solde, sans condition.
+     *
+     * @return Le solde précédent ; pour un crédit réparti, le solde lu juste avant,
+     *         indicatif si d'autres crédits sont concurrents
+     */
+    static long add(Account account, long delta, TransactionMetrics metrics) {
+        if (delta >= 0 && account.hasStripedCredits()) {
+            long previous = account.getBalanceMinor();
+            account.addStripedCredit(delta);
+            return previous;
+        }
+        int retries = 0;
+        while (true) {
+            long previous = account.getSettledBalanceMinor();
+            if (account.compareAndSetBalanceMinor(previous, Money.add(previous, delta))) {
+                recordContention(metrics, retries);
+                return previous;
+            }
+            retries++;
+        }
+    }
+    
+    /**
+     * Ajoute {@code delta} au solde si celui-ci vaut au moins {@code minimum} au
+     * moment de l'écriture.
+     *
+     * @return Le solde précédent, ou {@link #INSUFFICIENT} sans modification
+     */
+    static long addIfAtLeast(Account account, long delta, long minimum, TransactionMetrics metrics) {
+        account.settleCredits();
+        int retries = 0;
+        while (true) {
+            long previous = account.getSettledBalanceMinor();
+            if (previous < minimum) {
+                recordContention(metrics, retries);
+                return INSUFFICIENT;
+            }
+            if (account.compareAndSetBalanceMinor(previous, Money.add(previous, delta))) {
+                recordContention(metrics, retries);
+                return previous;
+            }
+            retries++;
+        }
+    }
+    
+    private static void recordContention(TransactionMetrics metrics, int retries) {
+        if (retries > 0 && metrics != null) {
+            metrics.recordBalanceContention(retries);
+        }
+    }
+}
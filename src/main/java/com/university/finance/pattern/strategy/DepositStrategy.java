@@ -1,31 +1,71 @@
 package com.university.finance.pattern.strategy;
 
+import com.university.finance.metrics.TransactionMetrics;
 import com.university.finance.model.Account;
+import com.university.finance.model.Money;
 import com.university.finance.model.Transaction;
-import java.time.LocalDateTime;
+import com.university.finance.model.TransactionClock;
+import java.util.List;
 
 /**
  * Strategy Pattern - Implémentation pour les opérations de dépôt.
  * Gère la logique métier spécifique aux dépôts d'argent.
+ * Le solde est crédité par compare-and-set : le dépôt peut s'exécuter sans verrou.
  */
 public class DepositStrategy implements TransactionStrategy {
     
+    private final TransactionClock clock;
+    private final TransactionMetrics metrics;
+    private final TransactionEvents events;
+    
+    public DepositStrategy() {
+        this(TransactionClock.SYSTEM);
+    }
+    
+    /**
+     * @param clock Horloge d'horodatage des transactions
+     */
+    public DepositStrategy(TransactionClock clock) {
+        this(clock, null);
+    }
+    
+    /**
+     * @param clock Horloge d'horodatage des transactions
+     * @param metrics Métriques recevant les conflits de mise à jour du solde (null : aucune)
+     */
+    public DepositStrategy(TransactionClock clock, TransactionMetrics metrics) {
+        this(clock, metrics, false);
+    }
+    
+    /**
+     * @param clock Horloge d'horodatage des transactions
+     * @param metrics Métriques recevant les conflits de mise à jour du solde (null : aucune)
+     * @param reuseEvents true pour réutiliser les mêmes transactions par thread au lieu
+     *        d'en allouer à chaque opération (voir {@link com.university.finance.model.ReusableTransaction})
+     */
+    public DepositStrategy(TransactionClock clock, TransactionMetrics metrics, boolean reuseEvents) {
+        this.clock = clock;
+        this.metrics = metrics;
+        this.events = new TransactionEvents(reuseEvents);
+    }
+    
     @Override
-    public Transaction execute(Account account, double amount, Account targetAccount) {
+    public Transaction execute(Account account, long amount, Account targetAccount) {
         if (!validate(account, amount)) {
             throw new IllegalArgumentException("Dépôt invalide: montant doit être positif");
         }
         
-        double previousBalance = account.getBalance();
-        account.setBalance(previousBalance + amount);
+        long previousBalance = Balances.add(account, amount, metrics);
         
-        Transaction transaction = new Transaction(
+        Transaction transaction = events.create(
+            0,
             account.getAccountNumber(),
             "DEPOSIT",
             amount,
             previousBalance,
-            account.getBalance(),
-            LocalDateTime.now()
+            Money.add(previousBalance, amount),
+            clock.now(),
+            ""
         );
         
         account.addTransaction(transaction);
@@ -33,7 +73,12 @@ public class DepositStrategy implements TransactionStrategy {
     }
     
     @Override
-    public boolean validate(Account account, double amount) {
+    public List<Transaction> executeLegs(Account account, long amount, Account targetAccount) {
+        return events.of(execute(account, amount, targetAccount));
+    }
+    
+    @Override
+    public boolean validate(Account account, long amount) {
         return amount > 0;
     }
 }
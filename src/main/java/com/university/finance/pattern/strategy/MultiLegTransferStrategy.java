@@ -0,0 +1,159 @@
+package com.university.finance.pattern.strategy;
+
+import com.university.finance.metrics.TransactionMetrics;
+import com.university.finance.model.Account;
+import com.university.finance.model.Money;
+import com.university.finance.model.Transaction;
+import com.university.finance.model.TransactionClock;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Strategy Pattern - Implémentation pour les transferts multiples.
+ * Un transfert multiple est une suite de débits (montants négatifs) et de crédits
+ * (montants positifs) dont la somme est nulle. Il est validé entièrement avant
+ * toute modification, puis appliqué en une fois : tout ou rien.
+ *
+ * L'application se fait compte par compte, par compare-and-set, en deux phases :
+ * d'abord la part débitrice de chaque compte, solde contrôlé, puis le reste en
+ * crédit. Si un retrait concurrent sans verrou rend un débit impossible, les débits
+ * déjà appliqués sont recrédités, ce qui ne peut pas échouer.
+ */
+public class MultiLegTransferStrategy {
+    
+    private final TransactionClock clock;
+    private final TransactionMetrics metrics;
+    
+    public MultiLegTransferStrategy() {
+        this(TransactionClock.SYSTEM);
+    }
+    
+    /**
+     * @param clock Horloge d'horodatage des transactions
+     */
+    public MultiLegTransferStrategy(TransactionClock clock) {
+        this(clock, null);
+    }
+    
+    /**
+     * @param clock Horloge d'horodatage des transactions
+     * @param metrics Métriques recevant les conflits de mise à jour du solde (null : aucune)
+     */
+    public MultiLegTransferStrategy(TransactionClock clock, TransactionMetrics metrics) {
+        this.clock = clock;
+        this.metrics = metrics;
+    }
+    
+    /**
+     * Exécute le transfert multiple.
+     * 
+     * @param accounts Les comptes de chaque jambe (un compte peut apparaître plusieurs fois)
+     * @param amounts Les montants signés de chaque jambe, en unités mineures
+     * @return Les transactions créées, une par jambe, dans l'ordre des jambes
+     * @throws IllegalArgumentException Si le transfert n'est pas valide
+     */
+    public List<Transaction> execute(List<Account> accounts, long[] amounts) {
+        if (!validate(accounts, amounts)) {
+            throw new IllegalArgumentException(
+                "Transfert multiple invalide: jambes non équilibrées, montant nul ou solde insuffisant"
+            );
+        }
+        
+        Map<Account, long[]> balances = apply(accounts, amounts);
+        
+        LocalDateTime timestamp = clock.now();
+        String description = "Transfert multiple (" + amounts.length + " jambes)";
+        List<Transaction> transactions = new ArrayList<>(amounts.length);
+        for (int i = 0; i < amounts.length; i++) {
+            Account account = accounts.get(i);
+            long[] balance = balances.get(account);
+            long previousBalance = balance[0];
+            balance[0] = Money.add(previousBalance, amounts[i]);
+            
+            Transaction transaction = Transaction.ofMinor(
+                account.getAccountNumber(),
+                amounts[i] < 0 ? "TRANSFER_OUT" : "TRANSFER_IN",
+                amounts[i],
+                previousBalance,
+                balance[0],
+                timestamp,
+                description
+            );
+            account.addTransaction(transaction);
+            transactions.add(transaction);
+        }
+        return transactions;
+    }
+    
+    /**
+     * Applique les variations de solde de chaque compte.
+     *
+     * @return Le solde précédent de chaque compte, dans un tableau à un élément
+     */
+    private Map<Account, long[]> apply(List<Account> accounts, long[] amounts) {
+        // Par compte : plus bas cumul des jambes (<= 0) et variation nette
+        Map<Account, long[]> plans = new IdentityHashMap<>();
+        for (int i = 0; i < amounts.length; i++) {
+            long[] plan = plans.computeIfAbsent(accounts.get(i), account -> new long[2]);
+            plan[1] += amounts[i];
+            plan[0] = Math.min(plan[0], plan[1]);
+        }
+        
+        Map<Account, long[]> balances = new IdentityHashMap<>();
+        for (Map.Entry<Account, long[]> entry : plans.entrySet()) {
+            long lowest = entry.getValue()[0];
+            if (lowest < 0) {
+                long previous = Balances.addIfAtLeast(entry.getKey(), lowest, -lowest, metrics);
+                if (previous == Balances.INSUFFICIENT) {
+                    balances.forEach((account, balance) -> Balances.add(account, -plans.get(account)[0], metrics));
+                    throw new IllegalArgumentException("Transfert multiple invalide: solde insuffisant");
+                }
+                balances.put(entry.getKey(), new long[] {previous});
+            }
+        }
+        for (Map.Entry<Account, long[]> entry : plans.entrySet()) {
+            long lowest = entry.getValue()[0];
+            long previous = Balances.add(entry.getKey(), entry.getValue()[1] - lowest, metrics);
+            balances.putIfAbsent(entry.getKey(), new long[] {previous});
+        }
+        return balances;
+    }
+    
+    /**
+     * Valide le transfert multiple : au moins deux jambes, aucun montant nul,
+     * somme nulle, et aucun solde négatif à aucune étape.
+     * 
+     * @param accounts Les comptes de chaque jambe
+     * @param amounts Les montants signés de chaque jambe, en unités mineures
+     * @return true si le transfert est valide
+     */
+    public boolean validate(List<Account> accounts, long[] amounts) {
+        if (accounts.size() != amounts.length || amounts.length < 2) {
+            return false;
+        }
+        
+        long sum = 0;
+        Map<Account, Long> projected = new IdentityHashMap<>();
+        try {
+            for (int i = 0; i < amounts.length; i++) {
+                if (amounts[i] == 0) {
+                    return false;
+                }
+                sum = Math.addExact(sum, amounts[i]);
+                Account account = accounts.get(i);
+                long before = projected.getOrDefault(account, account.getBalanceMinor());
+                long after = Math.addExact(before, amounts[i]);
+                if (after < 0) {
+                    return false;
+                }
+                projected.put(account, after);
+            }
+        } catch (ArithmeticException e) {
+            return false;
+        }
+        return sum == 0;
+    }
+}
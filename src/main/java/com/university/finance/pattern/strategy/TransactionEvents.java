@@ -0,0 +1,74 @@
+package com.university.finance.pattern.strategy;
+
+import com.university.finance.model.ReusableTransaction;
+import com.university.finance.model.Transaction;
+import java.time.LocalDateTime;
+import java.util.AbstractList;
+import java.util.List;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+/**
+ * Transactions émises par une stratégie : un nouvel objet par jambe, ou, en mode
+ * réutilisable, les mêmes {@link ReusableTransaction} pour chaque thread. Une
+ * transaction réutilisée n'est alors valable que jusqu'à l'opération suivante du
+ * même thread sur la même stratégie.
+ */
+final class TransactionEvents {
+    // Jambes réutilisables de chaque thread (null : une allocation par transaction)
+    private final ThreadLocal<Legs> legs;
+
+    TransactionEvents(boolean reuse) {
+        this.legs = reuse ? ThreadLocal.withInitial(Legs::new) : null;
+    }
+
+    /**
+     * Transaction de la jambe donnée (0 : compte source, 1 : compte cible).
+     */
+    Transaction create(int leg, String accountNumber, String type, long amount,
+                       long balanceBefore, long balanceAfter, LocalDateTime timestamp, String description) {
+        if (legs == null) {
+            return Transaction.ofMinor(accountNumber, type, amount, balanceBefore, balanceAfter,
+                timestamp, description);
+        }
+        return legs.get().transactions[leg].set(accountNumber, type, amount, balanceBefore, balanceAfter,
+            timestamp, description);
+    }
+
+    /**
+     * Liste des transactions d'une opération à une jambe.
+     */
+    List<Transaction> of(Transaction transaction) {
+        return legs == null ? List.of(transaction) : legs.get().withSize(1);
+    }
+
+    /**
+     * Liste des transactions d'une opération à deux jambes.
+     */
+    List<Transaction> of(Transaction source, Transaction target) {
+        return legs == null ? List.of(source, target) : legs.get().withSize(2);
+    }
+
+    /**
+     * Jambes réutilisables d'un thread, vues comme une liste.
+     */
+    private static final class Legs extends AbstractList<Transaction> implements RandomAccess {
+        private final ReusableTransaction[] transactions = {new ReusableTransaction(), new ReusableTransaction()};
+        private int size;
+
+        Legs withSize(int size) {
+            this.size = size;
+            return this;
+        }
+
+        @Override
+        public Transaction get(int index) {
+            return transactions[Objects.checkIndex(index, size)];
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+}
@@ -2,6 +2,7 @@ package com.university.finance.pattern.strategy;
 
 import com.university.finance.model.Account;
 import com.university.finance.model.Transaction;
+import java.util.List;
 
 /**
  * Strategy Pattern - Interface définissant le contrat pour toutes les stratégies de transaction.
@@ -12,19 +13,27 @@ public interface TransactionStrategy {
      * Exécute une transaction selon la stratégie implémentée.
      * 
      * @param account Le compte source de la transaction
-     * @param amount Le montant de la transaction
+     * @param amount Le montant de la transaction, en unités mineures (voir {@link com.university.finance.model.Money})
      * @param targetAccount Le compte cible (peut être null pour dépôt/retrait)
      * @return L'objet Transaction créé
      * @throws IllegalArgumentException Si la transaction n'est pas valide
      */
-    Transaction execute(Account account, double amount, Account targetAccount);
+    Transaction execute(Account account, long amount, Account targetAccount);
+    
+    /**
+     * Exécute la transaction et retourne toutes les transactions créées : celle du
+     * compte source, puis celle du compte cible pour un transfert.
+     */
+    default List<Transaction> executeLegs(Account account, long amount, Account targetAccount) {
+        return List.of(execute(account, amount, targetAccount));
+    }
     
     /**
      * Valide si la transaction peut être exécutée.
      * 
      * @param account Le compte source
-     * @param amount Le montant
+     * @param amount Le montant, en unités mineures
      * @return true si la transaction est valide
      */
-    boolean validate(Account account, double amount);
+    boolean validate(Account account, long amount);
 }
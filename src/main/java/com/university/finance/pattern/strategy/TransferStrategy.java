@@ -1,17 +1,73 @@
 package com.university.finance.pattern.strategy;
 
+import com.university.finance.metrics.TransactionMetrics;
 import com.university.finance.model.Account;
+import com.university.finance.model.Money;
 import com.university.finance.model.Transaction;
+import com.university.finance.model.TransactionClock;
 import java.time.LocalDateTime;
+import java.util.List;
 
 /**
  * Strategy Pattern - Implémentation pour les opérations de transfert.
  * Gère les transferts entre deux comptes avec validation du solde.
+ * Le compte source est débité par compare-and-set, solde contrôlé, avant que le
+ * compte cible ne soit crédité : un retrait concurrent sans verrou ne peut pas
+ * rendre le transfert partiel.
  */
 public class TransferStrategy implements TransactionStrategy {
     
+    // Nombre d'entrées (puissance de deux) de chaque cache de libellés
+    private static final int DESCRIPTION_CACHE_SIZE = 1024;
+    
+    private final TransactionClock clock;
+    private final TransactionMetrics metrics;
+    private final TransactionEvents events;
+    // Libellés récents par numéro de compte : "Transfert vers X" et "Transfert depuis X"
+    private final String[] toDescriptions = new String[DESCRIPTION_CACHE_SIZE];
+    private final String[] fromDescriptions = new String[DESCRIPTION_CACHE_SIZE];
+    
+    public TransferStrategy() {
+        this(TransactionClock.SYSTEM);
+    }
+    
+    /**
+     * @param clock Horloge d'horodatage des transactions
+     */
+    public TransferStrategy(TransactionClock clock) {
+        this(clock, null);
+    }
+    
+    /**
+     * @param clock Horloge d'horodatage des transactions
+     * @param metrics Métriques recevant les conflits de mise à jour du solde (null : aucune)
+     */
+    public TransferStrategy(TransactionClock clock, TransactionMetrics metrics) {
+        this(clock, metrics, false);
+    }
+    
+    /**
+     * @param clock Horloge d'horodatage des transactions
+     * @param metrics Métriques recevant les conflits de mise à jour du solde (null : aucune)
+     * @param reuseEvents true pour réutiliser les mêmes transactions par thread au lieu
+     *        d'en allouer à chaque opération (voir {@link com.university.finance.model.ReusableTransaction})
+     */
+    public TransferStrategy(TransactionClock clock, TransactionMetrics metrics, boolean reuseEvents) {
+        this.clock = clock;
+        this.metrics = metrics;
+        this.events = new TransactionEvents(reuseEvents);
+    }
+    
+    @Override
+    public Transaction execute(Account account, long amount, Account targetAccount) {
+        return executeLegs(account, amount, targetAccount).get(0);
+    }
+    
+    /**
+     * @return La transaction du compte source puis celle du compte cible
+     */
     @Override
-    public Transaction execute(Account account, double amount, Account targetAccount) {
+    public List<Transaction> executeLegs(Account account, long amount, Account targetAccount) {
         if (targetAccount == null) {
             throw new IllegalArgumentException("Compte cible requis pour un transfert");
         }
@@ -22,45 +78,68 @@ public class TransferStrategy implements TransactionStrategy {
             );
         }
         
-        double previousBalance = account.getBalance();
-        double targetPreviousBalance = targetAccount.getBalance();
-        
         // Débiter le compte source
-        account.setBalance(previousBalance - amount);
+        long previousBalance = Balances.addIfAtLeast(account, -amount, amount, metrics);
+        if (previousBalance == Balances.INSUFFICIENT) {
+            throw new IllegalArgumentException(
+                "Transfert invalide: solde insuffisant ou montant négatif"
+            );
+        }
         
         // Créditer le compte cible
-        targetAccount.setBalance(targetPreviousBalance + amount);
+        long targetPreviousBalance = Balances.add(targetAccount, amount, metrics);
+        
+        LocalDateTime timestamp = clock.now();
         
         // Transaction pour le compte source
-        Transaction sourceTransaction = new Transaction(
+        Transaction sourceTransaction = events.create(
+            0,
             account.getAccountNumber(),
             "TRANSFER_OUT",
             -amount,
             previousBalance,
-            account.getBalance(),
-            LocalDateTime.now(),
-            "Transfert vers " + targetAccount.getAccountNumber()
+            Money.subtract(previousBalance, amount),
+            timestamp,
+            describe(toDescriptions, "Transfert vers ", targetAccount.getAccountNumber())
         );
         
         // Transaction pour le compte cible
-        Transaction targetTransaction = new Transaction(
+        Transaction targetTransaction = events.create(
+            1,
             targetAccount.getAccountNumber(),
             "TRANSFER_IN",
             amount,
             targetPreviousBalance,
-            targetAccount.getBalance(),
-            LocalDateTime.now(),
-            "Transfert depuis " + account.getAccountNumber()
+            Money.add(targetPreviousBalance, amount),
+            timestamp,
+            describe(fromDescriptions, "Transfert depuis ", account.getAccountNumber())
         );
         
         account.addTransaction(sourceTransaction);
         targetAccount.addTransaction(targetTransaction);
         
-        return sourceTransaction;
+        return events.of(sourceTransaction, targetTransaction);
+    }
+    
+    /**
+     * Libellé d'un compte, pris dans un cache à correspondance directe de taille
+     * fixe : les transferts répétés vers un même compte réutilisent la même chaîne,
+     * et un compte en collision remplace simplement l'entrée. Les courses entre
+     * threads sont bénignes (chaînes immuables, au pire reconstruites).
+     */
+    private static String describe(String[] descriptions, String prefix, String accountNumber) {
+        int slot = accountNumber.hashCode() & (descriptions.length - 1);
+        String description = descriptions[slot];
+        if (description == null || description.length() != prefix.length() + accountNumber.length()
+                || !description.endsWith(accountNumber)) {
+            description = prefix + accountNumber;
+            descriptions[slot] = description;
+        }
+        return description;
     }
     
     @Override
-    public boolean validate(Account account, double amount) {
-        return amount > 0 && account.getBalance() >= amount;
+    public boolean validate(Account account, long amount) {
+        return amount > 0 && account.getBalanceMinor() >= amount;
     }
 }
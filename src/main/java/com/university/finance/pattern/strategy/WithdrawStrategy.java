@@ -1,33 +1,80 @@
 package com.university.finance.pattern.strategy;
 
+import com.university.finance.metrics.TransactionMetrics;
 import com.university.finance.model.Account;
+import com.university.finance.model.Money;
 import com.university.finance.model.Transaction;
-import java.time.LocalDateTime;
+import com.university.finance.model.TransactionClock;
+import java.util.List;
 
 /**
  * Strategy Pattern - Implémentation pour les opérations de retrait.
  * Vérifie le solde disponible avant d'autoriser le retrait.
+ * Le contrôle de {@link #validate} est repris sur le solde même que remplace le
+ * compare-and-set du débit : le retrait peut s'exécuter sans verrou sans jamais
+ * rendre le solde négatif.
  */
 public class WithdrawStrategy implements TransactionStrategy {
     
+    private final TransactionClock clock;
+    private final TransactionMetrics metrics;
+    private final TransactionEvents events;
+    
+    public WithdrawStrategy() {
+        this(TransactionClock.SYSTEM);
+    }
+    
+    /**
+     * @param clock Horloge d'horodatage des transactions
+     */
+    public WithdrawStrategy(TransactionClock clock) {
+        this(clock, null);
+    }
+    
+    /**
+     * @param clock Horloge d'horodatage des transactions
+     * @param metrics Métriques recevant les conflits de mise à jour du solde (null : aucune)
+     */
+    public WithdrawStrategy(TransactionClock clock, TransactionMetrics metrics) {
+        this(clock, metrics, false);
+    }
+    
+    /**
+     * @param clock Horloge d'horodatage des transactions
+     * @param metrics Métriques recevant les conflits de mise à jour du solde (null : aucune)
+     * @param reuseEvents true pour réutiliser les mêmes transactions par thread au lieu
+     *        d'en allouer à chaque opération (voir {@link com.university.finance.model.ReusableTransaction})
+     */
+    public WithdrawStrategy(TransactionClock clock, TransactionMetrics metrics, boolean reuseEvents) {
+        this.clock = clock;
+        this.metrics = metrics;
+        this.events = new TransactionEvents(reuseEvents);
+    }
+    
     @Override
-    public Transaction execute(Account account, double amount, Account targetAccount) {
+    public Transaction execute(Account account, long amount, Account targetAccount) {
         if (!validate(account, amount)) {
             throw new IllegalArgumentException(
                 "Retrait invalide: solde insuffisant ou montant négatif"
             );
         }
         
-        double previousBalance = account.getBalance();
-        account.setBalance(previousBalance - amount);
+        long previousBalance = Balances.addIfAtLeast(account, -amount, amount, metrics);
+        if (previousBalance == Balances.INSUFFICIENT) {
+            throw new IllegalArgumentException(
+                "Retrait invalide: solde insuffisant ou montant négatif"
+            );
+        }
         
-        Transaction transaction = new Transaction(
+        Transaction transaction = events.create(
+            0,
             account.getAccountNumber(),
             "WITHDRAW",
             -amount,
             previousBalance,
-            account.getBalance(),
-            LocalDateTime.now()
+            Money.subtract(previousBalance, amount),
+            clock.now(),
+            ""
         );
         
         account.addTransaction(transaction);
@@ -35,7 +82,12 @@ public class WithdrawStrategy implements TransactionStrategy {
     }
     
     @Override
-    public boolean validate(Account account, double amount) {
-        return amount > 0 && account.getBalance() >= amount;
+    public List<Transaction> executeLegs(Account account, long amount, Account targetAccount) {
+        return events.of(execute(account, amount, targetAccount));
+    }
+    
+    @Override
+    public boolean validate(Account account, long amount) {
+        return amount > 0 && account.getBalanceMinor() >= amount;
     }
 }
@@ -0,0 +1,138 @@
+package com.university.finance.persistence;
+
+import com.university.finance.model.Transaction;
+import com.university.finance.model.TransactionArchive;
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * Archive d'historique sur disque : les blocs de transactions sont ajoutés à la
+ * suite dans un fichier unique, au format compact du journal ; la référence d'un
+ * bloc est sa position dans le fichier. Trame : [int longueur][int crc][contenu].
+ *
+ * L'index des blocs n'existe qu'en mémoire, dans l'historique de chaque compte :
+ * le fichier est un espace de débordement vidé à chaque ouverture. L'état durable
+ * reste porté par le journal et les snapshots.
+ */
+public final class FileTransactionArchive implements TransactionArchive, Closeable {
+    static final String FILE_NAME = "history.arc";
+    private static final int HEADER_SIZE = 8;
+
+    private final Path file;
+    private final FileChannel channel;
+    private long size;
+
+    private FileTransactionArchive(Path file, FileChannel channel) {
+        this.file = file;
+        this.channel = channel;
+    }
+
+    /**
+     * Ouvre (et vide) l'archive du répertoire donné.
+     */
+    public static FileTransactionArchive open(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        Path file = directory.resolve(FILE_NAME);
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+            StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        return new FileTransactionArchive(file, channel);
+    }
+
+    @Override
+    public long write(List<Transaction> transactions) {
+        int capacity = 4;
+        for (Transaction transaction : transactions) {
+            capacity += TransactionCodec.maxSize(transaction);
+        }
+        ByteBuffer payload = ByteBuffer.allocate(capacity);
+        payload.putInt(transactions.size());
+        for (Transaction transaction : transactions) {
+            TransactionCodec.encode(payload, transaction);
+        }
+        payload.flip();
+        CRC32 crc = new CRC32();
+        crc.update(payload.duplicate());
+
+        ByteBuffer frame = ByteBuffer.allocate(HEADER_SIZE + payload.remaining());
+        frame.putInt(payload.remaining());
+        frame.putInt((int) crc.getValue());
+        frame.put(payload);
+        frame.flip();
+
+        // Réservation de la place, puis écriture positionnelle hors verrou
+        long position;
+        synchronized (this) {
+            position = size;
+            size += frame.remaining();
+        }
+        try {
+            while (frame.hasRemaining()) {
+                channel.write(frame, position + frame.position());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Échec d'écriture de l'archive d'historique", e);
+        }
+        return position;
+    }
+
+    @Override
+    public List<Transaction> read(long reference) {
+        try {
+            ByteBuffer header = readFully(reference, HEADER_SIZE);
+            int length = header.getInt();
+            int expectedCrc = header.getInt();
+            ByteBuffer payload = readFully(reference + HEADER_SIZE, length);
+            CRC32 crc = new CRC32();
+            crc.update(payload.duplicate());
+            if ((int) crc.getValue() != expectedCrc) {
+                throw new IOException("Bloc d'archive corrompu à la position " + reference);
+            }
+            int count = payload.getInt();
+            List<Transaction> transactions = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                transactions.add(TransactionCodec.decode(payload));
+            }
+            return Collections.unmodifiableList(transactions);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Échec de lecture de l'archive d'historique", e);
+        }
+    }
+
+    private ByteBuffer readFully(long position, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new EOFException("Fin inattendue de l'archive à la position " + position);
+            }
+        }
+        buffer.flip();
+        return buffer;
+    }
+
+    /**
+     * Taille des données écrites, en octets.
+     */
+    public synchronized long getSize() {
+        return size;
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
@@ -0,0 +1,193 @@
+package com.university.finance.persistence;
+
+import com.university.finance.model.Transaction;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static com.university.finance.persistence.TransactionCodec.getString;
+import static com.university.finance.persistence.TransactionCodec.putString;
+import static com.university.finance.persistence.TransactionCodec.stringSize;
+
+/**
+ * Enregistrement du journal des transactions.
+ * Un enregistrement décrit soit la création d'un utilisateur, soit l'ouverture d'un
+ * compte, soit une transaction appliquée (une "jambe" par compte modifié).
+ *
+ * Les jambes portent le solde après opération : rejouer un enregistrement consiste
+ * à réappliquer ce solde, ce qui rend le rejeu idempotent.
+ */
+public final class JournalRecord {
+
+    /**
+     * Types d'enregistrements, avec leur code binaire.
+     */
+    public enum Type {
+        USER_CREATED((byte) 1),
+        ACCOUNT_OPENED((byte) 2),
+        TRANSACTION((byte) 3);
+
+        private final byte code;
+
+        Type(byte code) {
+            this.code = code;
+        }
+
+        byte code() {
+            return code;
+        }
+
+        static Type fromCode(byte code) {
+            for (Type type : values()) {
+                if (type.code == code) {
+                    return type;
+                }
+            }
+            throw new IllegalArgumentException("Type d'enregistrement inconnu: " + code);
+        }
+    }
+
+    private final Type type;
+    private final long lsn;
+    private final String username;
+    private final String passwordHash;
+    private final String accountNumber;
+    private final long initialBalance;
+    private final List<Transaction> legs;
+
+    private JournalRecord(Type type, long lsn, String username, String passwordHash,
+                          String accountNumber, long initialBalance, List<Transaction> legs) {
+        this.type = type;
+        this.lsn = lsn;
+        this.username = username;
+        this.passwordHash = passwordHash;
+        this.accountNumber = accountNumber;
+        this.initialBalance = initialBalance;
+        this.legs = legs;
+    }
+
+    /**
+     * Enregistrement de création d'un utilisateur, avec l'empreinte salée de son
+     * mot de passe (jamais le mot de passe en clair).
+     */
+    public static JournalRecord userCreated(String username, String passwordHash) {
+        return new JournalRecord(Type.USER_CREATED, 0, username, passwordHash, null, 0,
+            Collections.emptyList());
+    }
+
+    /**
+     * Enregistrement d'ouverture d'un compte, solde initial en unités mineures.
+     */
+    public static JournalRecord accountOpened(String accountNumber, String ownerUsername, long initialBalance) {
+        return new JournalRecord(Type.ACCOUNT_OPENED, 0, ownerUsername, null, accountNumber,
+            initialBalance, Collections.emptyList());
+    }
+
+    /**
+     * Enregistrement d'une transaction appliquée sur un ou plusieurs comptes.
+     */
+    public static JournalRecord transaction(List<Transaction> legs) {
+        if (legs.isEmpty()) {
+            throw new IllegalArgumentException("Une transaction journalisée doit avoir au moins une jambe");
+        }
+        return new JournalRecord(Type.TRANSACTION, 0, null, null, null, 0, List.copyOf(legs));
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    /**
+     * Numéro de séquence attribué par le journal (0 tant que non journalisé).
+     */
+    public long getLsn() {
+        return lsn;
+    }
+
+    /**
+     * Utilisateur créé, ou propriétaire du compte ouvert.
+     */
+    public String getUsername() {
+        return username;
+    }
+
+    public String getPasswordHash() {
+        return passwordHash;
+    }
+
+    public String getAccountNumber() {
+        return accountNumber;
+    }
+
+    public long getInitialBalance() {
+        return initialBalance;
+    }
+
+    public List<Transaction> getLegs() {
+        return legs;
+    }
+
+    /**
+     * Sérialise le contenu de l'enregistrement (sans en-tête de trame).
+     */
+    byte[] encodePayload() {
+        ByteBuffer buffer = ByteBuffer.allocate(estimateSize());
+        buffer.put(type.code());
+        switch (type) {
+            case USER_CREATED:
+                putString(buffer, username);
+                putString(buffer, passwordHash);
+                break;
+            case ACCOUNT_OPENED:
+                putString(buffer, accountNumber);
+                putString(buffer, username);
+                buffer.putLong(initialBalance);
+                break;
+            default:
+                buffer.putShort((short) legs.size());
+                for (Transaction leg : legs) {
+                    TransactionCodec.encode(buffer, leg);
+                }
+                break;
+        }
+        byte[] payload = new byte[buffer.position()];
+        buffer.flip();
+        buffer.get(payload);
+        return payload;
+    }
+
+    /**
+     * Reconstruit un enregistrement à partir de son contenu sérialisé.
+     */
+    static JournalRecord decode(long lsn, ByteBuffer payload) {
+        Type type = Type.fromCode(payload.get());
+        switch (type) {
+            case USER_CREATED:
+                return new JournalRecord(type, lsn, getString(payload), getString(payload), null, 0,
+                    Collections.emptyList());
+            case ACCOUNT_OPENED: {
+                String accountNumber = getString(payload);
+                String owner = getString(payload);
+                return new JournalRecord(type, lsn, owner, null, accountNumber, payload.getLong(),
+                    Collections.emptyList());
+            }
+            default: {
+                int count = payload.getShort();
+                List<Transaction> legs = new ArrayList<>(count);
+                for (int i = 0; i < count; i++) {
+                    legs.add(TransactionCodec.decode(payload));
+                }
+                return new JournalRecord(type, lsn, null, null, null, 0, Collections.unmodifiableList(legs));
+            }
+        }
+    }
+
+    private int estimateSize() {
+        int size = 1 + 8 + stringSize(username) + stringSize(passwordHash) + stringSize(accountNumber) + 2;
+        for (Transaction leg : legs) {
+            size += TransactionCodec.maxSize(leg);
+        }
+        return size;
+    }
+}
@@ -0,0 +1,83 @@
+package com.university.finance.persistence;
+
+import com.university.finance.pattern.observer.ObserverSink;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Sink texte : chaque entrée est formatée puis ajoutée en fin de fichier, une par
+ * ligne. Le fichier est complété d'une exécution à l'autre ; chaque écriture est
+ * vidée vers le système avant de rendre la main.
+ *
+ * @param <T> Type des entrées
+ */
+public final class LineFileSink<T> implements ObserverSink<T>, Closeable {
+    private final Path file;
+    private final Function<? super T, String> formatter;
+    private final BufferedWriter writer;
+
+    private LineFileSink(Path file, Function<? super T, String> formatter, BufferedWriter writer) {
+        this.file = file;
+        this.formatter = formatter;
+        this.writer = writer;
+    }
+
+    /**
+     * Ouvre le fichier en ajout, en le créant si besoin.
+     *
+     * @param formatter Texte d'une entrée, sans fin de ligne
+     */
+    public static <T> LineFileSink<T> open(Path file, Function<? super T, String> formatter) throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+            StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        return new LineFileSink<>(file, formatter, writer);
+    }
+
+    @Override
+    public synchronized void write(T entry) {
+        try {
+            writeLine(entry);
+            writer.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Écriture impossible dans " + file, e);
+        }
+    }
+
+    @Override
+    public synchronized void writeAll(List<? extends T> entries) {
+        try {
+            for (T entry : entries) {
+                writeLine(entry);
+            }
+            writer.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Écriture impossible dans " + file, e);
+        }
+    }
+
+    private void writeLine(T entry) throws IOException {
+        writer.write(formatter.apply(entry));
+        writer.newLine();
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        writer.close();
+    }
+}
@@ -0,0 +1,438 @@
+package com.university.finance.persistence;
+
+import com.university.finance.model.Transaction;
+import com.university.finance.pattern.observer.ObserverSink;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Fichier d'audit projeté en mémoire, découpé en segments de taille fixe.
+ *
+ * Chaque transaction auditée occupe un enregistrement binaire de {@value #RECORD_SIZE}
+ * octets, à une position calculable depuis son numéro de séquence :
+ * <pre>
+ *  0  long  horodatage (nanosecondes epoch UTC)
+ *  8  long  montant
+ * 16  long  solde avant
+ * 24  long  solde après
+ * 32  byte  type
+ * 33  byte  longueur du numéro de compte
+ * 34  29 o  numéro de compte (ASCII)
+ * 63  byte  1 une fois l'enregistrement complet
+ * </pre>
+ * L'octet final est écrit en dernier : après un arrêt brutal, le premier
+ * enregistrement incomplet marque la fin du fichier.
+ *
+ * Un index en mémoire, reconstruit à l'ouverture, associe à chaque compte la
+ * séquence de ses enregistrements ; chaque segment connaît l'intervalle de ses
+ * horodatages. Les recherches lisent l'horodatage ou le compte directement dans
+ * le fichier et ne décodent que les enregistrements retenus.
+ */
+public final class MappedAuditLog implements ObserverSink<Transaction>, Closeable {
+    static final int RECORD_SIZE = 64;
+    static final int DEFAULT_RECORDS_PER_SEGMENT = 1 << 20;
+    static final String SEGMENT_PREFIX = "audit-";
+    static final String SEGMENT_SUFFIX = ".seg";
+    private static final int MAX_ACCOUNT_LENGTH = 29;
+    private static final int TYPE_OFFSET = 32;
+    private static final int ACCOUNT_OFFSET = 33;
+    private static final int COMMIT_OFFSET = 63;
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+    // Code binaire d'un type = indice + 1
+    private static final List<String> TYPES = List.of("DEPOSIT", "WITHDRAW", "TRANSFER_OUT", "TRANSFER_IN");
+
+    private final Path directory;
+    private final int recordsPerSegment;
+    private final List<Segment> segments = new ArrayList<>();
+    private final Map<String, PositionList> accountIndex = new HashMap<>();
+    private long size;
+    private boolean closed;
+
+    private MappedAuditLog(Path directory, int recordsPerSegment) {
+        this.directory = directory;
+        this.recordsPerSegment = recordsPerSegment;
+    }
+
+    /**
+     * Ouvre le fichier d'audit du répertoire, en reconstruisant son index.
+     */
+    public static MappedAuditLog open(Path directory) throws IOException {
+        return open(directory, DEFAULT_RECORDS_PER_SEGMENT);
+    }
+
+    /**
+     * @param recordsPerSegment Nombre d'enregistrements des nouveaux segments
+     */
+    public static MappedAuditLog open(Path directory, int recordsPerSegment) throws IOException {
+        if (recordsPerSegment <= 0 || recordsPerSegment > Integer.MAX_VALUE / RECORD_SIZE) {
+            throw new IllegalArgumentException("La taille de segment doit être positive");
+        }
+        Files.createDirectories(directory);
+        MappedAuditLog log = new MappedAuditLog(directory, recordsPerSegment);
+        try {
+            for (Path file : listSegments(directory)) {
+                log.load(file);
+            }
+        } catch (IOException | RuntimeException e) {
+            log.close();
+            throw e;
+        }
+        return log;
+    }
+
+    @Override
+    public synchronized void write(Transaction transaction) {
+        append(transaction);
+    }
+
+    @Override
+    public synchronized void writeAll(List<? extends Transaction> transactions) {
+        for (Transaction transaction : transactions) {
+            append(transaction);
+        }
+    }
+
+    /**
+     * Transactions d'un compte horodatées dans [from, to[, par ordre d'écriture.
+     *
+     * @param from Début inclus (null : depuis l'origine)
+     * @param to Fin exclue (null : jusqu'au dernier enregistrement)
+     */
+    public synchronized List<Transaction> query(String accountNumber, LocalDateTime from, LocalDateTime to) {
+        PositionList positions = accountIndex.get(accountNumber);
+        if (positions == null) {
+            return Collections.emptyList();
+        }
+        long fromNanos = lowerNanos(from);
+        long toNanos = upperNanos(to);
+        int index = positions.ordered ? lowerBound(positions, fromNanos) : 0;
+        List<Transaction> matches = new ArrayList<>();
+        for (; index < positions.size; index++) {
+            long sequence = positions.values[index];
+            long timestamp = timestampAt(sequence);
+            if (timestamp >= toNanos && positions.ordered) {
+                break;
+            }
+            if (timestamp >= fromNanos && timestamp < toNanos) {
+                matches.add(read(sequence));
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * Transactions de tous les comptes horodatées dans [from, to[, par ordre
+     * d'écriture. Les segments hors de l'intervalle ne sont pas lus.
+     */
+    public synchronized List<Transaction> scan(LocalDateTime from, LocalDateTime to) {
+        long fromNanos = lowerNanos(from);
+        long toNanos = upperNanos(to);
+        List<Transaction> matches = new ArrayList<>();
+        for (Segment segment : segments) {
+            if (segment.count == 0 || segment.maxTimestamp < fromNanos || segment.minTimestamp >= toNanos) {
+                continue;
+            }
+            for (int record = 0; record < segment.count; record++) {
+                long timestamp = segment.buffer.getLong(record * RECORD_SIZE);
+                if (timestamp >= fromNanos && timestamp < toNanos) {
+                    matches.add(decode(segment.buffer, record * RECORD_SIZE));
+                }
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * Nombre total d'enregistrements.
+     */
+    public synchronized long size() {
+        return size;
+    }
+
+    public synchronized int getSegmentCount() {
+        return segments.size();
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    /**
+     * Force l'écriture sur disque du segment courant.
+     */
+    public synchronized void flush() {
+        if (!segments.isEmpty()) {
+            segments.get(segments.size() - 1).buffer.force();
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        flush();
+        IOException failure = null;
+        for (Segment segment : segments) {
+            try {
+                segment.channel.close();
+            } catch (IOException e) {
+                failure = e;
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    private void append(Transaction transaction) {
+        if (closed) {
+            throw new IllegalStateException("Le fichier d'audit est fermé");
+        }
+        byte[] account = transaction.getAccountNumber().getBytes(StandardCharsets.US_ASCII);
+        if (account.length > MAX_ACCOUNT_LENGTH) {
+            throw new IllegalArgumentException("Numéro de compte trop long: " + transaction.getAccountNumber());
+        }
+        int type = TYPES.indexOf(transaction.getType()) + 1;
+        if (type == 0) {
+            throw new IllegalArgumentException("Type de transaction inconnu: " + transaction.getType());
+        }
+
+        Segment segment = segments.isEmpty() ? null : segments.get(segments.size() - 1);
+        if (segment == null || segment.count == segment.capacity) {
+            if (segment != null) {
+                segment.buffer.force();
+            }
+            segment = createSegment(size);
+        }
+        int offset = segment.count * RECORD_SIZE;
+        long timestamp = toNanos(transaction.getTimestamp());
+        MappedByteBuffer buffer = segment.buffer;
+        buffer.putLong(offset, timestamp);
+        buffer.putLong(offset + 8, transaction.getAmountMinor());
+        buffer.putLong(offset + 16, transaction.getBalanceBeforeMinor());
+        buffer.putLong(offset + 24, transaction.getBalanceAfterMinor());
+        buffer.put(offset + TYPE_OFFSET, (byte) type);
+        buffer.put(offset + ACCOUNT_OFFSET, (byte) account.length);
+        for (int i = 0; i < account.length; i++) {
+            buffer.put(offset + ACCOUNT_OFFSET + 1 + i, account[i]);
+        }
+        buffer.put(offset + COMMIT_OFFSET, (byte) 1);
+
+        segment.record(timestamp);
+        index(transaction.getAccountNumber(), size, timestamp);
+        size++;
+    }
+
+    private Segment createSegment(long firstSequence) {
+        Path file = directory.resolve(String.format("%s%020d%s", SEGMENT_PREFIX, firstSequence, SEGMENT_SUFFIX));
+        try {
+            Segment segment = map(file, firstSequence, recordsPerSegment);
+            segments.add(segment);
+            return segment;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Impossible de créer le segment d'audit " + file, e);
+        }
+    }
+
+    /**
+     * Projette un segment existant et indexe ses enregistrements complets.
+     */
+    private void load(Path file) throws IOException {
+        long firstSequence = segmentSequence(file);
+        if (firstSequence != size) {
+            throw new IOException("Segment d'audit inattendu: " + file + " (séquence attendue " + size + ")");
+        }
+        int capacity = (int) (Files.size(file) / RECORD_SIZE);
+        Segment segment = map(file, firstSequence, capacity);
+        segments.add(segment);
+        MappedByteBuffer buffer = segment.buffer;
+        while (segment.count < capacity && buffer.get(segment.count * RECORD_SIZE + COMMIT_OFFSET) == 1) {
+            int offset = segment.count * RECORD_SIZE;
+            long timestamp = buffer.getLong(offset);
+            segment.record(timestamp);
+            index(accountAt(buffer, offset), size, timestamp);
+            size++;
+        }
+    }
+
+    private static Segment map(Path file, long firstSequence, int capacity) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+            StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, (long) capacity * RECORD_SIZE);
+            return new Segment(firstSequence, capacity, channel, buffer);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    private void index(String accountNumber, long sequence, long timestamp) {
+        accountIndex.computeIfAbsent(accountNumber, key -> new PositionList()).add(sequence, timestamp);
+    }
+
+    /**
+     * Premier indice de la liste dont l'horodatage est au moins {@code nanos}.
+     */
+    private int lowerBound(PositionList positions, long nanos) {
+        int low = 0;
+        int high = positions.size;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (timestampAt(positions.values[middle]) < nanos) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private Segment segmentOf(long sequence) {
+        int low = 0;
+        int high = segments.size() - 1;
+        while (low < high) {
+            int middle = (low + high + 1) >>> 1;
+            if (segments.get(middle).firstSequence <= sequence) {
+                low = middle;
+            } else {
+                high = middle - 1;
+            }
+        }
+        return segments.get(low);
+    }
+
+    private long timestampAt(long sequence) {
+        Segment segment = segmentOf(sequence);
+        return segment.buffer.getLong((int) (sequence - segment.firstSequence) * RECORD_SIZE);
+    }
+
+    private Transaction read(long sequence) {
+        Segment segment = segmentOf(sequence);
+        return decode(segment.buffer, (int) (sequence - segment.firstSequence) * RECORD_SIZE);
+    }
+
+    private static Transaction decode(MappedByteBuffer buffer, int offset) {
+        long timestamp = buffer.getLong(offset);
+        return Transaction.ofMinor(
+            accountAt(buffer, offset),
+            TYPES.get(buffer.get(offset + TYPE_OFFSET) - 1),
+            buffer.getLong(offset + 8),
+            buffer.getLong(offset + 16),
+            buffer.getLong(offset + 24),
+            LocalDateTime.ofEpochSecond(Math.floorDiv(timestamp, NANOS_PER_SECOND),
+                (int) Math.floorMod(timestamp, NANOS_PER_SECOND), ZoneOffset.UTC));
+    }
+
+    private static String accountAt(MappedByteBuffer buffer, int offset) {
+        byte[] account = new byte[buffer.get(offset + ACCOUNT_OFFSET)];
+        for (int i = 0; i < account.length; i++) {
+            account[i] = buffer.get(offset + ACCOUNT_OFFSET + 1 + i);
+        }
+        return new String(account, StandardCharsets.US_ASCII);
+    }
+
+    // Saturé hors des années 1677 à 2262 : une borne lointaine reste ouverte
+    private static long toNanos(LocalDateTime timestamp) {
+        long seconds = timestamp.toEpochSecond(ZoneOffset.UTC);
+        try {
+            return Math.addExact(Math.multiplyExact(seconds, NANOS_PER_SECOND), timestamp.getNano());
+        } catch (ArithmeticException e) {
+            return seconds < 0 ? Long.MIN_VALUE : Long.MAX_VALUE;
+        }
+    }
+
+    private static long lowerNanos(LocalDateTime from) {
+        return from != null ? toNanos(from) : Long.MIN_VALUE;
+    }
+
+    private static long upperNanos(LocalDateTime to) {
+        return to != null ? toNanos(to) : Long.MAX_VALUE;
+    }
+
+    static long segmentSequence(Path file) {
+        String name = file.getFileName().toString();
+        return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+    }
+
+    private static List<Path> listSegments(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            List<Path> segments = files
+                .filter(path -> {
+                    String name = path.getFileName().toString();
+                    return name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX);
+                })
+                .collect(Collectors.toCollection(ArrayList::new));
+            segments.sort((a, b) -> Long.compare(segmentSequence(a), segmentSequence(b)));
+            return segments;
+        }
+    }
+
+    /**
+     * Segment projeté : enregistrements [firstSequence, firstSequence + count[.
+     */
+    private static final class Segment {
+        private final long firstSequence;
+        private final int capacity;
+        private final FileChannel channel;
+        private final MappedByteBuffer buffer;
+        private int count;
+        private long minTimestamp = Long.MAX_VALUE;
+        private long maxTimestamp = Long.MIN_VALUE;
+
+        Segment(long firstSequence, int capacity, FileChannel channel, MappedByteBuffer buffer) {
+            this.firstSequence = firstSequence;
+            this.capacity = capacity;
+            this.channel = channel;
+            this.buffer = buffer;
+        }
+
+        void record(long timestamp) {
+            count++;
+            minTimestamp = Math.min(minTimestamp, timestamp);
+            maxTimestamp = Math.max(maxTimestamp, timestamp);
+        }
+    }
+
+    /**
+     * Séquences des enregistrements d'un compte, dans l'ordre d'écriture.
+     */
+    private static final class PositionList {
+        private long[] values = new long[8];
+        private int size;
+        private long lastTimestamp = Long.MIN_VALUE;
+        // Faux si un horodatage a reculé : la recherche dichotomique n'est plus possible
+        private boolean ordered = true;
+
+        void add(long sequence, long timestamp) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = sequence;
+            if (timestamp < lastTimestamp) {
+                ordered = false;
+            } else {
+                lastTimestamp = timestamp;
+            }
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.university.finance.persistence;
+
+import com.university.finance.model.Account;
+import com.university.finance.model.Transaction;
+import com.university.finance.model.User;
+import com.university.finance.pattern.factory.AccountFactory;
+import com.university.finance.service.BankingService;
+import java.io.IOException;
+import java.nio.file.Path;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Reconstruit l'état de {@link BankingService} au démarrage : chargement du dernier
+ * snapshot s'il existe, puis rejeu de la fin du journal.
+ * Le rejeu ne passe ni par les stratégies ni par les observateurs : les soldes
+ * journalisés sont réappliqués tels quels et l'historique des comptes est restauré
+ * pour les opérations postérieures au snapshot.
+ */
+public class RecoveryManager {
+    private static final Logger logger = LoggerFactory.getLogger(RecoveryManager.class);
+
+    private final TransactionJournal journal;
+    private final BankingService bankingService;
+    private Snapshot snapshot;
+
+    public RecoveryManager(TransactionJournal journal, BankingService bankingService) {
+        this.journal = journal;
+        this.bankingService = bankingService;
+    }
+
+    /**
+     * Charge le dernier snapshot puis rejoue la fin du journal.
+     *
+     * @return Le compte rendu de la reprise, durée de démarrage comprise
+     */
+    public RecoveryReport recover() throws IOException {
+        long start = System.nanoTime();
+        long fromLsn = 1;
+        int restoredAccounts = 0;
+
+        Path latest = SnapshotManager.findLatest(journal.getDirectory());
+        if (latest != null) {
+            snapshot = Snapshot.read(latest);
+            for (User user : snapshot.getUsers()) {
+                bankingService.restoreUser(user);
+            }
+            for (Account account : snapshot.getAccounts()) {
+                bankingService.restoreAccount(account);
+            }
+            AccountFactory.ensureNextNumberAtLeast(snapshot.getNextAccountNumber());
+            restoredAccounts = snapshot.getAccounts().size();
+            fromLsn = snapshot.getJournalLsn();
+        }
+
+        long replayed = journal.replay(fromLsn, this::apply);
+        RecoveryReport report = new RecoveryReport(snapshot != null ? snapshot.getJournalLsn() : 0,
+            restoredAccounts, replayed, (System.nanoTime() - start) / 1_000_000);
+        logger.info("Reprise terminée: {}", report);
+        return report;
+    }
+
+    /**
+     * Applique un enregistrement du journal au service bancaire.
+     */
+    void apply(JournalRecord record) {
+        switch (record.getType()) {
+            case USER_CREATED:
+                bankingService.restoreUser(User.restore(record.getUsername(), record.getPasswordHash()));
+                break;
+            case ACCOUNT_OPENED:
+                bankingService.restoreAccount(Account.ofMinor(
+                    record.getAccountNumber(), record.getUsername(), record.getInitialBalance()));
+                break;
+            default:
+                for (Transaction leg : record.getLegs()) {
+                    // Jambe déjà reflétée dans le solde du snapshot
+                    if (snapshot == null || !snapshot.covers(leg.getAccountNumber(), record.getLsn())) {
+                        applyLeg(leg);
+                    }
+                }
+                break;
+        }
+    }
+
+    private void applyLeg(Transaction leg) {
+        Account account = bankingService.getAccount(leg.getAccountNumber())
+            .orElseThrow(() -> new IllegalStateException(
+                "Journal incohérent: compte inconnu " + leg.getAccountNumber()));
+        account.setBalanceMinor(leg.getBalanceAfterMinor());
+        account.addTransaction(leg);
+    }
+}
@@ -0,0 +1,57 @@
+package com.university.finance.persistence;
+
+/**
+ * Compte rendu d'une reprise au démarrage : snapshot chargé, enregistrements du
+ * journal rejoués et durée totale.
+ */
+public final class RecoveryReport {
+    private final long snapshotLsn;
+    private final int restoredAccounts;
+    private final long replayedRecords;
+    private final long durationMillis;
+
+    RecoveryReport(long snapshotLsn, int restoredAccounts, long replayedRecords, long durationMillis) {
+        this.snapshotLsn = snapshotLsn;
+        this.restoredAccounts = restoredAccounts;
+        this.replayedRecords = replayedRecords;
+        this.durationMillis = durationMillis;
+    }
+
+    /**
+     * LSN du snapshot chargé (0 si la reprise s'est faite depuis le journal seul).
+     */
+    public long getSnapshotLsn() {
+        return snapshotLsn;
+    }
+
+    /**
+     * Nombre de comptes chargés depuis le snapshot.
+     */
+    public int getRestoredAccounts() {
+        return restoredAccounts;
+    }
+
+    /**
+     * Nombre d'enregistrements du journal rejoués après le snapshot.
+     */
+    public long getReplayedRecords() {
+        return replayedRecords;
+    }
+
+    public long getDurationMillis() {
+        return durationMillis;
+    }
+
+    /**
+     * Indique si un état a été restauré (snapshot ou journal non vide).
+     */
+    public boolean hasRestoredState() {
+        return restoredAccounts > 0 || replayedRecords > 0;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Reprise[snapshot LSN %d, %d comptes, %d enregistrements rejoués, %d ms]",
+            snapshotLsn, restoredAccounts, replayedRecords, durationMillis);
+    }
+}
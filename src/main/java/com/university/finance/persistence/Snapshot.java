@@ -0,0 +1,204 @@
+package com.university.finance.persistence;
+
+import com.university.finance.model.Account;
+import com.university.finance.model.User;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Snapshot de l'état du service bancaire : utilisateurs, comptes, soldes et
+ * compteur de numéros de compte, associé à une position du journal.
+ *
+ * Le snapshot est "flou" : chaque compte est lu sous son propre verrou avec le
+ * dernier LSN journalisé à cet instant (son filigrane). À la reprise, une jambe
+ * de transaction n'est rejouée que si son LSN dépasse le filigrane du compte.
+ */
+public final class Snapshot {
+    static final String FILE_PREFIX = "snapshot-";
+    static final String FILE_SUFFIX = ".snap";
+
+    private static final int MAGIC = 0x534E4150;
+    private static final int VERSION = 1;
+    private static final byte USER_ENTRY = 1;
+    private static final byte ACCOUNT_ENTRY = 2;
+    private static final byte END = 0;
+
+    private final long journalLsn;
+    private final long nextAccountNumber;
+    private final List<User> users;
+    private final List<Account> accounts;
+    private final Map<String, Long> watermarks;
+
+    private Snapshot(long journalLsn, long nextAccountNumber, List<User> users,
+                     List<Account> accounts, Map<String, Long> watermarks) {
+        this.journalLsn = journalLsn;
+        this.nextAccountNumber = nextAccountNumber;
+        this.users = users;
+        this.accounts = accounts;
+        this.watermarks = watermarks;
+    }
+
+    /**
+     * Premier LSN du journal non couvert par les segments antérieurs au snapshot :
+     * la reprise rejoue le journal à partir de ce LSN.
+     */
+    public long getJournalLsn() {
+        return journalLsn;
+    }
+
+    public long getNextAccountNumber() {
+        return nextAccountNumber;
+    }
+
+    public List<User> getUsers() {
+        return users;
+    }
+
+    public List<Account> getAccounts() {
+        return accounts;
+    }
+
+    /**
+     * Filigranes des comptes modifiés pendant la prise du snapshot.
+     * Les autres comptes ont un filigrane antérieur à {@link #getJournalLsn()}.
+     */
+    public Map<String, Long> getWatermarks() {
+        return watermarks;
+    }
+
+    /**
+     * Indique si une jambe journalisée au LSN donné est déjà reflétée dans le solde
+     * du compte enregistré par ce snapshot.
+     */
+    public boolean covers(String accountNumber, long lsn) {
+        Long watermark = watermarks.get(accountNumber);
+        return watermark != null ? lsn <= watermark : lsn < journalLsn;
+    }
+
+    static String fileName(long journalLsn) {
+        return String.format("%s%020d%s", FILE_PREFIX, journalLsn, FILE_SUFFIX);
+    }
+
+    static long fileLsn(Path file) {
+        String name = file.getFileName().toString();
+        return Long.parseLong(name.substring(FILE_PREFIX.length(), name.length() - FILE_SUFFIX.length()));
+    }
+
+    /**
+     * Lit un snapshot et vérifie son intégrité.
+     */
+    public static Snapshot read(Path file) throws IOException {
+        CRC32 crc = new CRC32();
+        try (DataInputStream raw = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)));
+             DataInputStream in = new DataInputStream(new CheckedInputStream(raw, crc))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                throw new IOException("Format de snapshot inconnu: " + file);
+            }
+            long journalLsn = in.readLong();
+            long nextAccountNumber = in.readLong();
+            List<User> users = new ArrayList<>();
+            List<Account> accounts = new ArrayList<>();
+            Map<String, Long> watermarks = new HashMap<>();
+
+            byte tag;
+            while ((tag = in.readByte()) != END) {
+                if (tag == USER_ENTRY) {
+                    users.add(User.restore(in.readUTF(), in.readUTF()));
+                } else if (tag == ACCOUNT_ENTRY) {
+                    String accountNumber = in.readUTF();
+                    String owner = in.readUTF();
+                    long balance = in.readLong();
+                    long watermark = in.readLong();
+                    accounts.add(Account.ofMinor(accountNumber, owner, balance));
+                    if (watermark >= journalLsn) {
+                        watermarks.put(accountNumber, watermark);
+                    }
+                } else {
+                    throw new IOException("Entrée de snapshot invalide: " + tag);
+                }
+            }
+            long expected = crc.getValue();
+            if (raw.readLong() != expected) {
+                throw new IOException("Somme de contrôle du snapshot invalide: " + file);
+            }
+            return new Snapshot(journalLsn, nextAccountNumber, Collections.unmodifiableList(users),
+                Collections.unmodifiableList(accounts), Collections.unmodifiableMap(watermarks));
+        }
+    }
+
+    /**
+     * Écriture en flux d'un snapshot dans un fichier temporaire, rendu visible
+     * atomiquement par {@link #commit(Path)}.
+     */
+    static final class Writer implements Closeable {
+        private final Path temporaryFile;
+        private final FileOutputStream file;
+        private final CRC32 crc = new CRC32();
+        private final DataOutputStream raw;
+        private final DataOutputStream out;
+        private boolean committed;
+
+        Writer(Path temporaryFile, long journalLsn, long nextAccountNumber) throws IOException {
+            this.temporaryFile = temporaryFile;
+            this.file = new FileOutputStream(temporaryFile.toFile());
+            this.raw = new DataOutputStream(new BufferedOutputStream(file, 64 * 1024));
+            this.out = new DataOutputStream(new CheckedOutputStream(raw, crc));
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeLong(journalLsn);
+            out.writeLong(nextAccountNumber);
+        }
+
+        void writeUser(User user) throws IOException {
+            out.writeByte(USER_ENTRY);
+            out.writeUTF(user.getUsername());
+            out.writeUTF(user.getPasswordHash());
+        }
+
+        void writeAccount(String accountNumber, String owner, long balance, long watermark) throws IOException {
+            out.writeByte(ACCOUNT_ENTRY);
+            out.writeUTF(accountNumber);
+            out.writeUTF(owner);
+            out.writeLong(balance);
+            out.writeLong(watermark);
+        }
+
+        /**
+         * Termine le snapshot, le persiste et le renomme atomiquement.
+         */
+        void commit(Path target) throws IOException {
+            out.writeByte(END);
+            out.flush();
+            raw.writeLong(crc.getValue());
+            raw.flush();
+            file.getChannel().force(true);
+            raw.close();
+            Files.move(temporaryFile, target, StandardCopyOption.ATOMIC_MOVE);
+            committed = true;
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (!committed) {
+                raw.close();
+                Files.deleteIfExists(temporaryFile);
+            }
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package com.university.finance.persistence;
+
+import com.university.finance.model.Account;
+import com.university.finance.model.User;
+import com.university.finance.pattern.factory.AccountFactory;
+import com.university.finance.service.AccountLockManager;
+import com.university.finance.service.BankingService;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Prend des snapshots cohérents de {@link BankingService} sans arrêter les écritures,
+ * puis tronque le journal des segments couverts par le snapshot.
+ *
+ * Déroulement : bascule du journal sur un nouveau segment, écriture en flux des
+ * utilisateurs puis des comptes (chaque compte lu sous son verrou avec son
+ * filigrane), attente de la persistance du journal jusqu'au plus grand filigrane,
+ * publication atomique du fichier, suppression de l'ancien snapshot et des segments
+ * de journal antérieurs.
+ */
+public class SnapshotManager implements Closeable {
+    private static final Logger logger = LoggerFactory.getLogger(SnapshotManager.class);
+
+    private final BankingService bankingService;
+    private final TransactionJournal journal;
+    private final Path directory;
+    private ScheduledExecutorService scheduler;
+
+    public SnapshotManager(BankingService bankingService, TransactionJournal journal) {
+        this.bankingService = bankingService;
+        this.journal = journal;
+        this.directory = journal.getDirectory();
+    }
+
+    /**
+     * Prend un snapshot et tronque le journal.
+     *
+     * @return Le fichier de snapshot créé
+     */
+    public synchronized Path takeSnapshot() throws IOException {
+        long start = System.nanoTime();
+        long journalLsn = journal.roll();
+        long nextAccountNumber = AccountFactory.peekNextNumber();
+        Path target = directory.resolve(Snapshot.fileName(journalLsn));
+        Path temporary = directory.resolve(Snapshot.fileName(journalLsn) + ".tmp");
+
+        int accountCount = 0;
+        long maxWatermark = 0;
+        try (Snapshot.Writer writer = new Snapshot.Writer(temporary, journalLsn, nextAccountNumber)) {
+            for (User user : bankingService.getUsers()) {
+                writer.writeUser(user);
+            }
+            AccountLockManager lockManager = bankingService.getLockManager();
+            for (Account account : bankingService.getAccounts()) {
+                String accountNumber = account.getAccountNumber();
+                long balance;
+                long watermark;
+                lockManager.lock(accountNumber);
+                try {
+                    balance = account.getBalanceMinor();
+                    watermark = journal.getLastAppendedLsn();
+                } finally {
+                    lockManager.unlock(accountNumber);
+                }
+                writer.writeAccount(accountNumber, account.getOwnerUsername(), balance, watermark);
+                maxWatermark = Math.max(maxWatermark, watermark);
+                accountCount++;
+            }
+            // Un lot journalisé sans attente a pu libérer ses verrous avant la persistance :
+            // un filigrane non persisté désignerait, après un crash, des LSN réattribués
+            journal.awaitDurable(maxWatermark);
+            writer.commit(target);
+        }
+
+        for (Path previous : listSnapshots(directory)) {
+            if (!previous.equals(target)) {
+                Files.deleteIfExists(previous);
+            }
+        }
+        int deletedSegments = journal.deleteSegmentsBefore(journalLsn);
+        logger.info("Snapshot {} écrit: {} comptes, {} segments de journal supprimés, {} ms",
+            target.getFileName(), accountCount, deletedSegments, (System.nanoTime() - start) / 1_000_000);
+        return target;
+    }
+
+    /**
+     * Démarre la prise périodique de snapshots.
+     */
+    public synchronized void start(long period, TimeUnit unit) {
+        if (scheduler != null) {
+            throw new IllegalStateException("Les snapshots périodiques sont déjà démarrés");
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "snapshot-scheduler");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::takeScheduledSnapshot, period, period, unit);
+    }
+
+    private void takeScheduledSnapshot() {
+        try {
+            takeSnapshot();
+        } catch (IOException | RuntimeException e) {
+            logger.error("Échec du snapshot périodique", e);
+        }
+    }
+
+    /**
+     * Arrête la prise périodique de snapshots.
+     */
+    @Override
+    public synchronized void close() {
+        if (scheduler != null) {
+            scheduler.shutdown();
+            scheduler = null;
+        }
+    }
+
+    /**
+     * Retourne le snapshot le plus récent du répertoire, ou null s'il n'y en a pas.
+     */
+    public static Path findLatest(Path directory) throws IOException {
+        List<Path> snapshots = listSnapshots(directory);
+        return snapshots.isEmpty() ? null : snapshots.get(snapshots.size() - 1);
+    }
+
+    private static List<Path> listSnapshots(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            List<Path> snapshots = files
+                .filter(path -> {
+                    String name = path.getFileName().toString();
+                    return name.startsWith(Snapshot.FILE_PREFIX) && name.endsWith(Snapshot.FILE_SUFFIX);
+                })
+                .collect(Collectors.toCollection(ArrayList::new));
+            snapshots.sort((a, b) -> Long.compare(Snapshot.fileLsn(a), Snapshot.fileLsn(b)));
+            return snapshots;
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.university.finance.persistence;
+
+import com.university.finance.model.Transaction;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Encodage binaire des transactions, partagé par le journal et l'archive
+ * d'historique. Les chaînes sont précédées de leur longueur UTF-8 sur 2 octets,
+ * l'horodatage est stocké en secondes epoch UTC et nanosecondes.
+ */
+final class TransactionCodec {
+
+    private TransactionCodec() {
+    }
+
+    /**
+     * Borne supérieure de la taille encodée d'une transaction.
+     */
+    static int maxSize(Transaction transaction) {
+        return stringSize(transaction.getAccountNumber()) + stringSize(transaction.getType())
+            + stringSize(transaction.getDescription()) + 8 * 4 + 4;
+    }
+
+    static void encode(ByteBuffer buffer, Transaction transaction) {
+        putString(buffer, transaction.getAccountNumber());
+        putString(buffer, transaction.getType());
+        buffer.putLong(transaction.getAmountMinor());
+        buffer.putLong(transaction.getBalanceBeforeMinor());
+        buffer.putLong(transaction.getBalanceAfterMinor());
+        buffer.putLong(transaction.getTimestamp().toEpochSecond(ZoneOffset.UTC));
+        buffer.putInt(transaction.getTimestamp().getNano());
+        putString(buffer, transaction.getDescription());
+    }
+
+    static Transaction decode(ByteBuffer buffer) {
+        String accountNumber = getString(buffer);
+        String type = getString(buffer);
+        long amount = buffer.getLong();
+        long before = buffer.getLong();
+        long after = buffer.getLong();
+        LocalDateTime timestamp = LocalDateTime.ofEpochSecond(buffer.getLong(), buffer.getInt(), ZoneOffset.UTC);
+        String description = getString(buffer);
+        return Transaction.ofMinor(accountNumber, type, amount, before, after, timestamp, description);
+    }
+
+    static int stringSize(String value) {
+        // Borne supérieure : 3 octets UTF-8 par caractère UTF-16 + longueur
+        return value == null ? 2 : 2 + value.length() * 3;
+    }
+
+    static void putString(ByteBuffer buffer, String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        buffer.putShort((short) bytes.length);
+        buffer.put(bytes);
+    }
+
+    static String getString(ByteBuffer buffer) {
+        int length = buffer.getShort() & 0xFFFF;
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,503 @@
+package com.university.finance.persistence;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Journal binaire append-only (write-ahead log) des opérations bancaires.
+ *
+ * Chaque enregistrement reçoit un numéro de séquence (LSN) croissant et est écrit
+ * dans une trame {@code [longueur][crc32][lsn][contenu]}. Les écritures sont faites
+ * par un thread dédié qui regroupe tous les enregistrements en attente en un seul
+ * {@code write} + {@code fsync} (group commit) : sous charge, le coût d'un fsync est
+ * partagé entre toutes les transactions du lot.
+ *
+ * Le journal est découpé en segments {@code journal-<premierLsn>.log}. Après un
+ * snapshot, {@link #roll()} ouvre un nouveau segment et les segments entièrement
+ * couverts par le snapshot peuvent être supprimés ({@link #deleteSegmentsBefore(long)}).
+ *
+ * Au démarrage, une éventuelle trame incomplète en fin de journal (crash pendant
+ * une écriture) est tronquée. Une erreur d'écriture est définitive : toutes les
+ * écritures suivantes échouent et l'application doit redémarrer sur le journal.
+ */
+public class TransactionJournal implements Closeable {
+    private static final Logger logger = LoggerFactory.getLogger(TransactionJournal.class);
+
+    static final String SEGMENT_PREFIX = "journal-";
+    static final String SEGMENT_SUFFIX = ".log";
+    private static final int HEADER_SIZE = 4 + 4 + 8;
+    private static final int MAX_PAYLOAD_SIZE = 16 * 1024 * 1024;
+    private static final int INITIAL_BUFFER_SIZE = 64 * 1024;
+
+    private final Path directory;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition hasPending = lock.newCondition();
+    private final Condition durable = lock.newCondition();
+    private final Thread flusher;
+
+    private FileChannel channel;
+    private long activeSegmentFirstLsn;
+    private ByteBuffer pending;
+    private long lastAppendedLsn;
+    private long durableLsn;
+    private long syncCount;
+    private long requestedRolls;
+    private long completedRolls;
+    private long lastRollLsn;
+    private IOException failure;
+    private boolean closed;
+
+    private TransactionJournal(Path directory, FileChannel channel, long activeSegmentFirstLsn, long lastLsn) {
+        this.directory = directory;
+        this.channel = channel;
+        this.activeSegmentFirstLsn = activeSegmentFirstLsn;
+        this.pending = ByteBuffer.allocate(INITIAL_BUFFER_SIZE);
+        this.lastAppendedLsn = lastLsn;
+        this.durableLsn = lastLsn;
+        this.flusher = new Thread(this::flushLoop, "journal-flusher");
+        this.flusher.setDaemon(true);
+    }
+
+    /**
+     * Ouvre (ou crée) le journal stocké dans le répertoire donné.
+     * Le journal existant est vérifié et sa fin éventuellement tronquée.
+     */
+    public static TransactionJournal open(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        List<Path> segments = listSegments(directory);
+
+        long lastLsn = 0;
+        Path active = null;
+        long validEnd = 0;
+        for (int i = 0; i < segments.size(); i++) {
+            Path segment = segments.get(i);
+            long firstLsn = segmentFirstLsn(segment);
+            if (lastLsn != 0 && firstLsn != lastLsn + 1) {
+                throw new IOException("Segment de journal non contigu: " + segment);
+            }
+            long[] lsnHolder = {firstLsn - 1};
+            validEnd = readSegment(segment, lsnHolder[0], record -> lsnHolder[0] = record.getLsn());
+            boolean last = i == segments.size() - 1;
+            if (!last && validEnd < Files.size(segment)) {
+                throw new IOException("Segment de journal corrompu: " + segment);
+            }
+            lastLsn = lsnHolder[0];
+            active = segment;
+        }
+
+        FileChannel channel;
+        if (active == null) {
+            active = directory.resolve(segmentName(1));
+            channel = FileChannel.open(active, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+        } else {
+            channel = FileChannel.open(active, StandardOpenOption.WRITE);
+            if (channel.size() > validEnd) {
+                logger.warn("Troncature de la fin du journal {} ({} octets invalides)",
+                    active.getFileName(), channel.size() - validEnd);
+                channel.truncate(validEnd);
+                channel.force(true);
+            }
+            channel.position(validEnd);
+        }
+
+        TransactionJournal journal = new TransactionJournal(directory, channel, segmentFirstLsn(active), lastLsn);
+        journal.flusher.start();
+        return journal;
+    }
+
+    /**
+     * Ajoute un enregistrement au journal sans attendre sa persistance.
+     *
+     * @return Le LSN attribué, à passer à {@link #awaitDurable(long)}
+     */
+    public long append(JournalRecord record) {
+        byte[] payload = record.encodePayload();
+        lock.lock();
+        try {
+            checkWritable();
+            long lsn = ++lastAppendedLsn;
+            ensurePendingCapacity(HEADER_SIZE + payload.length);
+            pending.putInt(payload.length);
+            pending.putInt(checksum(lsn, payload));
+            pending.putLong(lsn);
+            pending.put(payload);
+            hasPending.signal();
+            return lsn;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Vérifie que le journal accepte encore des écritures, avant une modification
+     * qu'il faudra journaliser.
+     *
+     * @throws UncheckedIOException Si l'écriture du journal a échoué
+     * @throws IllegalStateException Si le journal est fermé
+     */
+    public void ensureWritable() {
+        lock.lock();
+        try {
+            checkWritable();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Attend que tous les enregistrements jusqu'au LSN donné soient sur disque.
+     *
+     * @throws UncheckedIOException Si l'écriture du journal a échoué
+     */
+    public void awaitDurable(long lsn) {
+        lock.lock();
+        try {
+            while (durableLsn < lsn) {
+                if (failure != null) {
+                    throw new UncheckedIOException("Échec d'écriture du journal", failure);
+                }
+                durable.awaitUninterruptibly();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Ajoute un enregistrement et attend sa persistance.
+     *
+     * @return Le LSN attribué
+     */
+    public long appendAndSync(JournalRecord record) {
+        long lsn = append(record);
+        awaitDurable(lsn);
+        return lsn;
+    }
+
+    /**
+     * Rejoue tous les enregistrements valides du journal, dans l'ordre des LSN.
+     *
+     * @return Le nombre d'enregistrements rejoués
+     */
+    public long replay(Consumer<JournalRecord> consumer) throws IOException {
+        return replay(1, consumer);
+    }
+
+    /**
+     * Rejoue les enregistrements valides dont le LSN est supérieur ou égal à {@code fromLsn}.
+     * Les segments entièrement antérieurs ne sont pas lus.
+     *
+     * @return Le nombre d'enregistrements rejoués
+     */
+    public long replay(long fromLsn, Consumer<JournalRecord> consumer) throws IOException {
+        long[] count = {0};
+        List<Path> segments = listSegments(directory);
+        for (int i = 0; i < segments.size(); i++) {
+            if (i + 1 < segments.size() && segmentFirstLsn(segments.get(i + 1)) <= fromLsn) {
+                continue;
+            }
+            Path segment = segments.get(i);
+            readSegment(segment, segmentFirstLsn(segment) - 1, record -> {
+                if (record.getLsn() >= fromLsn) {
+                    consumer.accept(record);
+                    count[0]++;
+                }
+            });
+        }
+        return count[0];
+    }
+
+    /**
+     * Termine le segment courant et en ouvre un nouveau.
+     * Les écritures continuent pendant l'opération ; le basculement est effectué
+     * par le thread d'écriture entre deux lots.
+     *
+     * @return Le premier LSN du nouveau segment : tous les enregistrements
+     *         antérieurs se trouvent dans les segments précédents
+     */
+    public long roll() {
+        lock.lock();
+        try {
+            checkWritable();
+            long request = ++requestedRolls;
+            hasPending.signal();
+            while (completedRolls < request) {
+                if (failure != null) {
+                    throw new UncheckedIOException("Échec d'écriture du journal", failure);
+                }
+                durable.awaitUninterruptibly();
+            }
+            return lastRollLsn;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Supprime les segments dont tous les enregistrements ont un LSN strictement
+     * inférieur à celui donné. Le segment actif n'est jamais supprimé.
+     *
+     * @return Le nombre de segments supprimés
+     */
+    public int deleteSegmentsBefore(long lsn) throws IOException {
+        List<Path> segments = listSegments(directory);
+        int deleted = 0;
+        for (int i = 0; i + 1 < segments.size(); i++) {
+            if (segmentFirstLsn(segments.get(i + 1)) <= lsn) {
+                Files.delete(segments.get(i));
+                deleted++;
+            }
+        }
+        return deleted;
+    }
+
+    /**
+     * Dernier LSN attribué.
+     */
+    public long getLastAppendedLsn() {
+        lock.lock();
+        try {
+            return lastAppendedLsn;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Dernier LSN persisté sur disque.
+     */
+    public long getDurableLsn() {
+        lock.lock();
+        try {
+            return durableLsn;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Nombre de fsync effectués depuis l'ouverture.
+     */
+    public long getSyncCount() {
+        lock.lock();
+        try {
+            return syncCount;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    /**
+     * Persiste les enregistrements en attente puis ferme le journal.
+     */
+    @Override
+    public void close() throws IOException {
+        lock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            hasPending.signal();
+        } finally {
+            lock.unlock();
+        }
+        try {
+            flusher.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        channel.close();
+    }
+
+    private void flushLoop() {
+        ByteBuffer spare = ByteBuffer.allocate(INITIAL_BUFFER_SIZE);
+        while (true) {
+            ByteBuffer batch;
+            long batchLsn;
+            long rollTarget;
+            lock.lock();
+            try {
+                while (pending.position() == 0 && !closed && requestedRolls == completedRolls) {
+                    hasPending.awaitUninterruptibly();
+                }
+                if (pending.position() == 0 && requestedRolls == completedRolls) {
+                    return;
+                }
+                batch = pending;
+                pending = spare;
+                batchLsn = lastAppendedLsn;
+                rollTarget = requestedRolls;
+            } finally {
+                lock.unlock();
+            }
+
+            try {
+                if (batch.position() > 0) {
+                    batch.flip();
+                    while (batch.hasRemaining()) {
+                        channel.write(batch);
+                    }
+                    channel.force(false);
+                }
+                if (rollTarget > completedRolls) {
+                    rollSegment(batchLsn + 1, rollTarget);
+                }
+            } catch (IOException e) {
+                logger.error("Échec d'écriture du journal", e);
+                lock.lock();
+                try {
+                    failure = e;
+                    durable.signalAll();
+                } finally {
+                    lock.unlock();
+                }
+                return;
+            }
+
+            lock.lock();
+            try {
+                if (batch.position() > 0) {
+                    syncCount++;
+                }
+                durableLsn = batchLsn;
+                durable.signalAll();
+            } finally {
+                lock.unlock();
+            }
+            batch.clear();
+            spare = batch;
+        }
+    }
+
+    /**
+     * Bascule vers un nouveau segment commençant au LSN donné (thread d'écriture uniquement).
+     */
+    private void rollSegment(long firstLsn, long rollTarget) throws IOException {
+        if (firstLsn != activeSegmentFirstLsn) {
+            FileChannel next = FileChannel.open(directory.resolve(segmentName(firstLsn)),
+                StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+            channel.close();
+            channel = next;
+            activeSegmentFirstLsn = firstLsn;
+        }
+        lock.lock();
+        try {
+            lastRollLsn = firstLsn;
+            completedRolls = rollTarget;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void checkWritable() {
+        if (failure != null) {
+            throw new UncheckedIOException("Échec d'écriture du journal", failure);
+        }
+        if (closed) {
+            throw new IllegalStateException("Le journal est fermé");
+        }
+    }
+
+    private void ensurePendingCapacity(int additional) {
+        if (pending.remaining() < additional) {
+            int capacity = Math.max(pending.capacity() * 2, pending.position() + additional);
+            ByteBuffer larger = ByteBuffer.allocate(capacity);
+            pending.flip();
+            larger.put(pending);
+            pending = larger;
+        }
+    }
+
+    /**
+     * Lit les trames valides d'un segment.
+     *
+     * @return La position de fin de la dernière trame valide
+     */
+    private static long readSegment(Path segment, long previousLsn, Consumer<JournalRecord> consumer)
+            throws IOException {
+        long position = 0;
+        long expectedLsn = previousLsn + 1;
+        try (InputStream file = Files.newInputStream(segment);
+             DataInputStream in = new DataInputStream(new BufferedInputStream(file, INITIAL_BUFFER_SIZE))) {
+            while (true) {
+                int length;
+                int crc;
+                long lsn;
+                byte[] payload;
+                try {
+                    length = in.readInt();
+                    if (length <= 0 || length > MAX_PAYLOAD_SIZE) {
+                        return position;
+                    }
+                    crc = in.readInt();
+                    lsn = in.readLong();
+                    payload = new byte[length];
+                    in.readFully(payload);
+                } catch (EOFException e) {
+                    return position;
+                }
+                if (lsn != expectedLsn || checksum(lsn, payload) != crc) {
+                    return position;
+                }
+                consumer.accept(JournalRecord.decode(lsn, ByteBuffer.wrap(payload)));
+                position += HEADER_SIZE + length;
+                expectedLsn++;
+            }
+        }
+    }
+
+    private static int checksum(long lsn, byte[] payload) {
+        CRC32 crc = new CRC32();
+        ByteBuffer lsnBytes = ByteBuffer.allocate(8).putLong(0, lsn);
+        crc.update(lsnBytes);
+        crc.update(payload);
+        return (int) crc.getValue();
+    }
+
+    static List<Path> listSegments(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            List<Path> segments = files
+                .filter(path -> {
+                    String name = path.getFileName().toString();
+                    return name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX);
+                })
+                .collect(Collectors.toCollection(ArrayList::new));
+            segments.sort((a, b) -> Long.compare(segmentFirstLsn(a), segmentFirstLsn(b)));
+            return segments;
+        }
+    }
+
+    static String segmentName(long firstLsn) {
+        return String.format("%s%020d%s", SEGMENT_PREFIX, firstLsn, SEGMENT_SUFFIX);
+    }
+
+    static long segmentFirstLsn(Path segment) {
+        String name = segment.getFileName().toString();
+        return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+    }
+}
@@ -0,0 +1,146 @@
+package com.university.finance.reporting;
+
+import com.university.finance.model.Money;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+/**
+ * Rapport bancaire global, calculé par {@link ReportingEngine} sur une copie
+ * instantanée de tous les comptes. Valeur immuable ; montants en centimes.
+ */
+public final class BankReport {
+    private final LocalDateTime capturedAt;
+    private final long accountCount;
+    private final long totalBalance;
+    private final long minBalance;
+    private final long maxBalance;
+    private final long[] percentiles;
+    private final SortedMap<Long, Long> histogram;
+    private final SortedMap<LocalDate, Long> dailyVolume;
+    private final SortedMap<LocalDate, Long> dailyTransactionCount;
+    private final long durationMillis;
+    
+    BankReport(LocalDateTime capturedAt, ReportAggregate aggregate, long[] percentiles,
+               LocalDate firstDay, long durationMillis) {
+        this.capturedAt = capturedAt;
+        this.accountCount = aggregate.getCount();
+        this.totalBalance = aggregate.getTotal();
+        this.minBalance = aggregate.getMin();
+        this.maxBalance = aggregate.getMax();
+        this.percentiles = percentiles;
+        this.durationMillis = durationMillis;
+        
+        TreeMap<Long, Long> buckets = new TreeMap<>();
+        long[] counts = aggregate.copyHistogram();
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] > 0) {
+                buckets.put(ReportAggregate.bucketLowerBound(i), counts[i]);
+            }
+        }
+        this.histogram = Collections.unmodifiableSortedMap(buckets);
+        
+        TreeMap<LocalDate, Long> volume = new TreeMap<>();
+        TreeMap<LocalDate, Long> transactionCount = new TreeMap<>();
+        long[] dayVolumes = aggregate.copyDailyVolume();
+        long[] dayCounts = aggregate.copyDailyCount();
+        for (int i = 0; i < dayVolumes.length; i++) {
+            volume.put(firstDay.plusDays(i), dayVolumes[i]);
+            transactionCount.put(firstDay.plusDays(i), dayCounts[i]);
+        }
+        this.dailyVolume = Collections.unmodifiableSortedMap(volume);
+        this.dailyTransactionCount = Collections.unmodifiableSortedMap(transactionCount);
+    }
+    
+    /**
+     * Instant de la copie sur laquelle porte le rapport.
+     */
+    public LocalDateTime getCapturedAt() {
+        return capturedAt;
+    }
+    
+    public long getAccountCount() {
+        return accountCount;
+    }
+    
+    public double getTotalBalance() {
+        return Money.toDouble(totalBalance);
+    }
+    
+    public long getTotalBalanceMinor() {
+        return totalBalance;
+    }
+    
+    /**
+     * Plus petit solde (0 si aucun compte).
+     */
+    public long getMinBalanceMinor() {
+        return minBalance;
+    }
+    
+    /**
+     * Plus grand solde (0 si aucun compte).
+     */
+    public long getMaxBalanceMinor() {
+        return maxBalance;
+    }
+    
+    /**
+     * Solde moyen, arrondi au centime inférieur (0 si aucun compte).
+     */
+    public long getAverageBalanceMinor() {
+        return accountCount == 0 ? 0 : totalBalance / accountCount;
+    }
+    
+    /**
+     * Percentile exact des soldes (rang le plus proche).
+     *
+     * @param percent Entre 0 et 100
+     */
+    public long getPercentileMinor(int percent) {
+        if (percent < 0 || percent > 100) {
+            throw new IllegalArgumentException("Percentile invalide: " + percent);
+        }
+        return percentiles[percent];
+    }
+    
+    /**
+     * Histogramme logarithmique des soldes : borne inférieure de chaque intervalle
+     * non vide (Long.MIN_VALUE pour les soldes nuls ou négatifs) vers le nombre de
+     * comptes.
+     */
+    public SortedMap<Long, Long> getHistogram() {
+        return histogram;
+    }
+    
+    /**
+     * Volume quotidien : somme des montants absolus des transactions de chaque jour
+     * (chaque jambe d'un virement est comptée).
+     */
+    public SortedMap<LocalDate, Long> getDailyVolume() {
+        return dailyVolume;
+    }
+    
+    /**
+     * Nombre de transactions de chaque jour.
+     */
+    public SortedMap<LocalDate, Long> getDailyTransactionCount() {
+        return dailyTransactionCount;
+    }
+    
+    /**
+     * Durée de calcul du rapport, capture comprise.
+     */
+    public long getDurationMillis() {
+        return durationMillis;
+    }
+    
+    @Override
+    public String toString() {
+        return String.format("Rapport du %s: %d comptes, total %s, médiane %s, p99 %s (%d ms)",
+            capturedAt, accountCount, Money.format(totalBalance),
+            Money.format(percentiles[50]), Money.format(percentiles[99]), durationMillis);
+    }
+}
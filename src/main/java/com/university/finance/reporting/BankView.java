@@ -0,0 +1,61 @@
+package com.university.finance.reporting;
+
+import com.university.finance.model.Account;
+import com.university.finance.service.BankingService;
+import com.university.finance.service.ConsistentCut;
+import java.time.LocalDateTime;
+
+/**
+ * Copie instantanée et cohérente de la banque : solde et nombre de transactions de
+ * chaque compte, relevés par {@link BankingService#captureConsistentCut()} sans
+ * arrêter les transactions.
+ *
+ * Les calculs du rapport se font ensuite sans aucun verrou. L'historique n'étant
+ * jamais modifié qu'en fin de liste, le nombre de transactions relevé suffit à
+ * relire l'historique tel qu'il était à l'instant de la capture.
+ */
+final class BankView {
+    private final ConsistentCut cut;
+    
+    private BankView(ConsistentCut cut) {
+        this.cut = cut;
+    }
+    
+    /**
+     * Capture l'état de tous les comptes. Une transaction concurrente apparaît
+     * entièrement ou pas du tout.
+     */
+    static BankView capture(BankingService bankingService) {
+        return new BankView(bankingService.captureConsistentCut());
+    }
+    
+    int size() {
+        return cut.size();
+    }
+    
+    Account account(int index) {
+        return cut.getAccount(index);
+    }
+    
+    long balance(int index) {
+        return cut.getBalanceMinor(index);
+    }
+    
+    /**
+     * Nombre de transactions du compte à l'instant de la capture.
+     */
+    int transactionCount(int index) {
+        return cut.getTransactionCount(index);
+    }
+    
+    /**
+     * Copie des soldes, pour le calcul des percentiles.
+     */
+    long[] copyBalances() {
+        return cut.copyBalances();
+    }
+    
+    LocalDateTime getCapturedAt() {
+        return cut.getCapturedAt();
+    }
+}
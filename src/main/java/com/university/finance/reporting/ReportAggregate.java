@@ -0,0 +1,111 @@
+package com.university.finance.reporting;
+
+import java.util.Arrays;
+
+/**
+ * Agrégats d'une partie des comptes, fusionnables : le rapport s'obtient en
+ * fusionnant les agrégats calculés en parallèle sur des partitions disjointes.
+ *
+ * L'histogramme des soldes est logarithmique : l'intervalle 0 regroupe les soldes
+ * nuls ou négatifs, l'intervalle k (k &gt; 0) les soldes de [2^(k-1), 2^k[ centimes.
+ */
+final class ReportAggregate {
+    static final int BUCKETS = 64;
+    
+    private long count;
+    private long total;
+    private long min = Long.MAX_VALUE;
+    private long max = Long.MIN_VALUE;
+    private final long[] histogram = new long[BUCKETS];
+    private final long[] dailyVolume;
+    private final long[] dailyCount;
+    
+    /**
+     * @param days Nombre de jours couverts par le volume quotidien
+     */
+    ReportAggregate(int days) {
+        this.dailyVolume = new long[days];
+        this.dailyCount = new long[days];
+    }
+    
+    void addBalance(long balance) {
+        count++;
+        total += balance;
+        min = Math.min(min, balance);
+        max = Math.max(max, balance);
+        histogram[bucket(balance)]++;
+    }
+    
+    /**
+     * Ajoute une transaction au volume du jour : montant absolu de chaque jambe.
+     */
+    void addTransaction(int day, long amount) {
+        dailyVolume[day] += Math.abs(amount);
+        dailyCount[day]++;
+    }
+    
+    /**
+     * Fusionne les agrégats d'une autre partition dans celui-ci.
+     *
+     * @return this
+     */
+    ReportAggregate merge(ReportAggregate other) {
+        count += other.count;
+        total += other.total;
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+        for (int i = 0; i < BUCKETS; i++) {
+            histogram[i] += other.histogram[i];
+        }
+        for (int i = 0; i < dailyVolume.length; i++) {
+            dailyVolume[i] += other.dailyVolume[i];
+            dailyCount[i] += other.dailyCount[i];
+        }
+        return this;
+    }
+    
+    static int bucket(long balance) {
+        return balance <= 0 ? 0 : Long.SIZE - Long.numberOfLeadingZeros(balance);
+    }
+    
+    /**
+     * Borne inférieure (incluse) de l'intervalle {@code bucket} de l'histogramme.
+     */
+    static long bucketLowerBound(int bucket) {
+        return bucket == 0 ? Long.MIN_VALUE : 1L << (bucket - 1);
+    }
+    
+    long getCount() {
+        return count;
+    }
+    
+    long getTotal() {
+        return total;
+    }
+    
+    long getMin() {
+        return count == 0 ? 0 : min;
+    }
+    
+    long getMax() {
+        return count == 0 ? 0 : max;
+    }
+    
+    long[] copyHistogram() {
+        return histogram.clone();
+    }
+    
+    long[] copyDailyVolume() {
+        return dailyVolume.clone();
+    }
+    
+    long[] copyDailyCount() {
+        return dailyCount.clone();
+    }
+    
+    @Override
+    public String toString() {
+        return "ReportAggregate{count=" + count + ", total=" + total
+            + ", histogram=" + Arrays.toString(histogram) + "}";
+    }
+}
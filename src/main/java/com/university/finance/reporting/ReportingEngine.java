@@ -0,0 +1,166 @@
+package com.university.finance.reporting;
+
+import com.university.finance.model.Account;
+import com.university.finance.model.HistoryPage;
+import com.university.finance.model.HistoryQuery;
+import com.university.finance.model.Transaction;
+import com.university.finance.service.BankingService;
+import java.io.Closeable;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Calcule les rapports bancaires globaux en parallèle.
+ *
+ * Le rapport porte sur une copie instantanée de la banque ({@link BankView}) : la
+ * capture ne verrouille qu'un compte à la fois, et le rapport ne voit jamais un
+ * virement à moitié appliqué. Les comptes sont ensuite partitionnés
+ * sur un pool fork/join ; chaque partition calcule ses agrégats, fusionnés en
+ * remontant.
+ */
+public class ReportingEngine implements Closeable {
+    private static final Logger logger = LoggerFactory.getLogger(ReportingEngine.class);
+    // Nombre de comptes en deçà duquel une partition est traitée séquentiellement
+    static final int DEFAULT_THRESHOLD = 512;
+    // Étendue maximale du volume quotidien
+    static final int MAX_DAYS = 366;
+    private static final int PAGE_SIZE = 1024;
+    
+    private final BankingService bankingService;
+    private final ForkJoinPool pool;
+    private final int threshold;
+    
+    public ReportingEngine(BankingService bankingService) {
+        this(bankingService, Runtime.getRuntime().availableProcessors(), DEFAULT_THRESHOLD);
+    }
+    
+    /**
+     * @param parallelism Nombre de threads du pool
+     * @param threshold Taille des partitions traitées séquentiellement
+     */
+    public ReportingEngine(BankingService bankingService, int parallelism, int threshold) {
+        if (threshold <= 0) {
+            throw new IllegalArgumentException("Le seuil de partition doit être positif");
+        }
+        this.bankingService = bankingService;
+        this.pool = new ForkJoinPool(parallelism);
+        this.threshold = threshold;
+    }
+    
+    /**
+     * Rapport avec le volume du jour.
+     */
+    public BankReport generateReport() {
+        LocalDate today = LocalDate.now();
+        return generateReport(today, today);
+    }
+    
+    /**
+     * Rapport avec le volume quotidien des jours de {@code from} à {@code to} inclus.
+     */
+    public BankReport generateReport(LocalDate from, LocalDate to) {
+        long days = ChronoUnit.DAYS.between(from, to) + 1;
+        if (days <= 0 || days > MAX_DAYS) {
+            throw new IllegalArgumentException("Période invalide: " + from + " - " + to);
+        }
+        long start = System.nanoTime();
+        BankView view = BankView.capture(bankingService);
+        ReportAggregate aggregate = pool.invoke(
+            new PartitionTask(view, from, (int) days, 0, view.size()));
+        long[] percentiles = percentiles(view.copyBalances());
+        BankReport report = new BankReport(view.getCapturedAt(), aggregate, percentiles, from,
+            (System.nanoTime() - start) / 1_000_000);
+        logger.info("{}", report);
+        return report;
+    }
+    
+    /**
+     * Percentiles 0 à 100 par rang le plus proche.
+     */
+    static long[] percentiles(long[] balances) {
+        long[] percentiles = new long[101];
+        if (balances.length == 0) {
+            return percentiles;
+        }
+        Arrays.parallelSort(balances);
+        for (int p = 0; p <= 100; p++) {
+            int rank = (int) Math.ceil(p / 100.0 * balances.length);
+            percentiles[p] = balances[Math.max(rank - 1, 0)];
+        }
+        return percentiles;
+    }
+    
+    /**
+     * Arrête le pool de calcul.
+     */
+    @Override
+    public void close() {
+        pool.shutdown();
+    }
+    
+    /**
+     * Agrégats des comptes [start, end[ de la copie, divisés en deux tant que la
+     * partition dépasse le seuil.
+     */
+    private final class PartitionTask extends RecursiveTask<ReportAggregate> {
+        private final BankView view;
+        private final LocalDate firstDay;
+        private final int days;
+        private final int start;
+        private final int end;
+        
+        PartitionTask(BankView view, LocalDate firstDay, int days, int start, int end) {
+            this.view = view;
+            this.firstDay = firstDay;
+            this.days = days;
+            this.start = start;
+            this.end = end;
+        }
+        
+        @Override
+        protected ReportAggregate compute() {
+            if (end - start <= threshold) {
+                ReportAggregate aggregate = new ReportAggregate(days);
+                for (int i = start; i < end; i++) {
+                    aggregate.addBalance(view.balance(i));
+                    addVolume(aggregate, i);
+                }
+                return aggregate;
+            }
+            int middle = (start + end) >>> 1;
+            PartitionTask left = new PartitionTask(view, firstDay, days, start, middle);
+            left.fork();
+            ReportAggregate right = new PartitionTask(view, firstDay, days, middle, end).compute();
+            return left.join().merge(right);
+        }
+        
+        /**
+         * Ajoute les transactions de la période du compte, telles qu'à l'instant de la capture.
+         */
+        private void addVolume(ReportAggregate aggregate, int index) {
+            Account account = view.account(index);
+            HistoryQuery query = HistoryQuery
+                .between(firstDay.atStartOfDay(), firstDay.plusDays(days).atStartOfDay())
+                .withEndCursor(view.transactionCount(index))
+                .withLimit(PAGE_SIZE);
+            HistoryPage page;
+            do {
+                page = account.queryTransactions(query);
+                for (Transaction transaction : page.getTransactions()) {
+                    LocalDateTime timestamp = transaction.getTimestamp();
+                    int day = (int) ChronoUnit.DAYS.between(firstDay, timestamp.toLocalDate());
+                    aggregate.addTransaction(day, transaction.getAmountMinor());
+                }
+                if (page.hasMore()) {
+                    query = query.withCursor(page.getNextCursor());
+                }
+            } while (page.hasMore());
+        }
+    }
+}
@@ -0,0 +1,195 @@
+package com.university.finance.service;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Gestionnaire de verrous par compte (lock striping).
+ * Chaque numéro de compte est associé à un verrou parmi un nombre fixe de stripes :
+ * les opérations sur des comptes différents s'exécutent en parallèle, celles sur
+ * un même compte sont sérialisées.
+ *
+ * Pour les opérations portant sur plusieurs comptes (transferts), les verrous sont
+ * toujours acquis dans un ordre déterministe dérivé du numéro de compte (indice de
+ * stripe croissant), ce qui empêche tout interblocage entre transferts croisés,
+ * y compris pour les transferts multiples (voir {@link #lockAll(Collection)}).
+ *
+ * Les opérations qui se passent de verrou (mode optimiste) se déclarent dans une
+ * section sans verrou ({@link #enterLockFree}) : une capture cohérente peut ainsi
+ * les suspendre et attendre celles en cours ({@link #suspendLockFree()}).
+ */
+public class AccountLockManager {
+    private static final int DEFAULT_STRIPES = 256;
+    // Un compteur de sections sans verrou par ligne de cache (16 int de 4 octets)
+    private static final int COUNTER_SPACING = 16;
+
+    private final ReentrantLock[] stripes;
+    private final int mask;
+    private final AtomicIntegerArray lockFreeSections;
+    private final AtomicInteger lockFreeSuspensions = new AtomicInteger();
+
+    public AccountLockManager() {
+        this(DEFAULT_STRIPES);
+    }
+
+    /**
+     * @param stripeCount Nombre de verrous souhaité (arrondi à la puissance de 2 supérieure)
+     */
+    public AccountLockManager(int stripeCount) {
+        if (stripeCount <= 0) {
+            throw new IllegalArgumentException("Le nombre de verrous doit être positif");
+        }
+        int size = Integer.highestOneBit(stripeCount);
+        if (size < stripeCount) {
+            size <<= 1;
+        }
+        this.stripes = new ReentrantLock[size];
+        for (int i = 0; i < size; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+        this.mask = size - 1;
+        this.lockFreeSections = new AtomicIntegerArray(size * COUNTER_SPACING);
+    }
+
+    /**
+     * Retourne le nombre effectif de stripes.
+     */
+    public int getStripeCount() {
+        return stripes.length;
+    }
+
+    /**
+     * Calcule l'indice de stripe d'un numéro de compte.
+     */
+    int stripeIndex(String accountNumber) {
+        int h = accountNumber.hashCode();
+        return (h ^ (h >>> 16)) & mask;
+    }
+
+    /**
+     * Verrouille le compte donné.
+     */
+    public void lock(String accountNumber) {
+        stripes[stripeIndex(accountNumber)].lock();
+    }
+
+    /**
+     * Déverrouille le compte donné.
+     */
+    public void unlock(String accountNumber) {
+        stripes[stripeIndex(accountNumber)].unlock();
+    }
+
+    /**
+     * Verrouille deux comptes dans un ordre déterministe.
+     * Si les deux comptes partagent la même stripe, un seul verrou est pris.
+     */
+    public void lockPair(String firstAccountNumber, String secondAccountNumber) {
+        int first = stripeIndex(firstAccountNumber);
+        int second = stripeIndex(secondAccountNumber);
+        if (first == second) {
+            stripes[first].lock();
+        } else if (first < second) {
+            stripes[first].lock();
+            stripes[second].lock();
+        } else {
+            stripes[second].lock();
+            stripes[first].lock();
+        }
+    }
+
+    /**
+     * Déverrouille deux comptes verrouillés par {@link #lockPair(String, String)}.
+     */
+    public void unlockPair(String firstAccountNumber, String secondAccountNumber) {
+        int first = stripeIndex(firstAccountNumber);
+        int second = stripeIndex(secondAccountNumber);
+        stripes[first].unlock();
+        if (first != second) {
+            stripes[second].unlock();
+        }
+    }
+
+    /**
+     * Verrouille un ensemble de comptes, par indice de stripe croissant.
+     * Chaque stripe n'est prise qu'une fois, même si plusieurs comptes la partagent.
+     */
+    public void lockAll(Collection<String> accountNumbers) {
+        for (int stripe : distinctStripes(accountNumbers)) {
+            stripes[stripe].lock();
+        }
+    }
+
+    /**
+     * Déverrouille un ensemble de comptes verrouillés par {@link #lockAll(Collection)}.
+     */
+    public void unlockAll(Collection<String> accountNumbers) {
+        int[] distinct = distinctStripes(accountNumbers);
+        for (int i = distinct.length - 1; i >= 0; i--) {
+            stripes[distinct[i]].unlock();
+        }
+    }
+
+    /**
+     * Entre dans une section sans verrou sur un compte.
+     *
+     * @return false si les sections sans verrou sont suspendues : l'appelant doit
+     *         alors prendre le verrou du compte (et ne pas appeler {@link #exitLockFree})
+     */
+    public boolean enterLockFree(String accountNumber) {
+        int slot = stripeIndex(accountNumber) * COUNTER_SPACING;
+        lockFreeSections.incrementAndGet(slot);
+        if (lockFreeSuspensions.get() == 0) {
+            return true;
+        }
+        lockFreeSections.decrementAndGet(slot);
+        return false;
+    }
+
+    /**
+     * Sort d'une section ouverte par {@link #enterLockFree}.
+     */
+    public void exitLockFree(String accountNumber) {
+        lockFreeSections.decrementAndGet(stripeIndex(accountNumber) * COUNTER_SPACING);
+    }
+
+    /**
+     * Suspend les sections sans verrou et attend la fin de celles en cours : au
+     * retour, toute modification de compte se fait sous verrou, jusqu'à
+     * {@link #resumeLockFree()}.
+     */
+    public void suspendLockFree() {
+        lockFreeSuspensions.incrementAndGet();
+        for (int slot = 0; slot < lockFreeSections.length(); slot += COUNTER_SPACING) {
+            while (lockFreeSections.get(slot) != 0) {
+                Thread.onSpinWait();
+            }
+        }
+    }
+
+    /**
+     * Lève une suspension posée par {@link #suspendLockFree()}.
+     */
+    public void resumeLockFree() {
+        lockFreeSuspensions.decrementAndGet();
+    }
+
+    private int[] distinctStripes(Collection<String> accountNumbers) {
+        int[] indexes = new int[accountNumbers.size()];
+        int i = 0;
+        for (String accountNumber : accountNumbers) {
+            indexes[i++] = stripeIndex(accountNumber);
+        }
+        return Arrays.stream(indexes).sorted().distinct().toArray();
+    }
+
+    /**
+     * Indique si le thread courant détient le verrou du compte (utile pour les tests).
+     */
+    public boolean isHeldByCurrentThread(String accountNumber) {
+        return stripes[stripeIndex(accountNumber)].isHeldByCurrentThread();
+    }
+}
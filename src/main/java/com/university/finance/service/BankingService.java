@@ -1,39 +1,120 @@
 package com.university.finance.service;
 
+import com.university.finance.metrics.Operation;
+import com.university.finance.metrics.RejectionReason;
+import com.university.finance.metrics.TransactionMetrics;
 import com.university.finance.model.Account;
+import com.university.finance.model.Money;
+import com.university.finance.model.Transaction;
+import com.university.finance.model.TransactionArchive;
+import com.university.finance.model.TransactionClock;
 import com.university.finance.model.User;
 import com.university.finance.pattern.factory.AccountFactory;
 import com.university.finance.pattern.factory.UserFactory;
 import com.university.finance.pattern.strategy.DepositStrategy;
+import com.university.finance.pattern.strategy.MultiLegTransferStrategy;
+import com.university.finance.pattern.strategy.TransactionStrategy;
 import com.university.finance.pattern.strategy.TransferStrategy;
 import com.university.finance.pattern.strategy.WithdrawStrategy;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 
 /**
  * Service principal gérant les opérations bancaires.
  * Suit le principe de responsabilité unique en déléguant les transactions.
+ *
+ * Le service est thread-safe : les utilisateurs et comptes sont stockés dans des
+ * maps concurrentes et chaque opération s'exécute sous le verrou du ou des comptes
+ * concernés (voir {@link AccountLockManager}). En mode
+ * {@link ConcurrencyMode#OPTIMISTIC}, les dépôts et retraits se passent du verrou
+ * et mettent à jour le solde par compare-and-set, sauf pendant une capture
+ * cohérente ({@link #captureConsistentCut()}).
+ *
+ * Chaque opération réussie enregistre sa durée d'exécution (verrou détenu) et
+ * chaque refus son motif dans les métriques du {@link TransactionService}.
  */
 public class BankingService {
     private final Map<String, User> users;
     private final Map<String, Account> accounts;
+    // Index secondaire propriétaire -> comptes, maintenu par registerAccount
+    private final Map<String, List<Account>> accountsByOwner;
     private final TransactionService transactionService;
+    private final AccountLockManager lockManager;
+    private final TransactionMetrics metrics;
+    private final boolean optimistic;
+    private volatile TransactionArchive historyArchive;
+    private volatile int historyWindow;
     
     // Stratégies réutilisables
     private final DepositStrategy depositStrategy;
     private final WithdrawStrategy withdrawStrategy;
     private final TransferStrategy transferStrategy;
+    private final MultiLegTransferStrategy multiLegTransferStrategy;
     
     public BankingService(TransactionService transactionService) {
-        this.users = new HashMap<>();
-        this.accounts = new HashMap<>();
+        this(transactionService, new AccountLockManager());
+    }
+    
+    public BankingService(TransactionService transactionService, AccountLockManager lockManager) {
+        this(transactionService, lockManager, TransactionClock.SYSTEM);
+    }
+    
+    /**
+     * @param clock Horloge d'horodatage des transactions ; {@link TransactionClock#cached()}
+     *        supprime les allocations de l'horodatage sur le chemin critique
+     */
+    public BankingService(TransactionService transactionService, AccountLockManager lockManager,
+                          TransactionClock clock) {
+        this(transactionService, lockManager, clock, ConcurrencyMode.LOCKING);
+    }
+    
+    /**
+     * @param clock Horloge d'horodatage des transactions
+     * @param mode Contrôle de concurrence des dépôts et retraits
+     * @throws IllegalArgumentException En mode optimiste, si le service de
+     *         transactions écrit dans un journal
+     */
+    public BankingService(TransactionService transactionService, AccountLockManager lockManager,
+                          TransactionClock clock, ConcurrencyMode mode) {
+        this(transactionService, lockManager, clock, mode, false);
+    }
+    
+    /**
+     * @param clock Horloge d'horodatage des transactions
+     * @param mode Contrôle de concurrence des dépôts et retraits
+     * @param reuseEvents true pour que les dépôts, retraits et transferts notifient des
+     *        transactions réutilisées par thread au lieu d'en allouer : avec
+     *        {@link TransactionClock#cached()}, les événements ne coûtent plus aucune
+     *        allocation ; les observateurs ne doivent pas les conserver
+     *        (voir {@link com.university.finance.pattern.observer.TransactionObserver})
+     * @throws IllegalArgumentException En mode optimiste, si le service de
+     *         transactions écrit dans un journal
+     */
+    public BankingService(TransactionService transactionService, AccountLockManager lockManager,
+                          TransactionClock clock, ConcurrencyMode mode, boolean reuseEvents) {
+        if (mode == ConcurrencyMode.OPTIMISTIC && transactionService.getJournal() != null) {
+            throw new IllegalArgumentException("Le mode optimiste est incompatible avec un journal");
+        }
+        this.users = new ConcurrentHashMap<>();
+        this.accounts = new ConcurrentHashMap<>();
+        this.accountsByOwner = new ConcurrentHashMap<>();
         this.transactionService = transactionService;
+        this.lockManager = lockManager;
+        this.metrics = transactionService.getMetrics();
+        this.optimistic = mode == ConcurrencyMode.OPTIMISTIC;
         
-        this.depositStrategy = new DepositStrategy();
-        this.withdrawStrategy = new WithdrawStrategy();
-        this.transferStrategy = new TransferStrategy();
+        this.depositStrategy = new DepositStrategy(clock, metrics, reuseEvents);
+        this.withdrawStrategy = new WithdrawStrategy(clock, metrics, reuseEvents);
+        this.transferStrategy = new TransferStrategy(clock, metrics, reuseEvents);
+        this.multiLegTransferStrategy = new MultiLegTransferStrategy(clock, metrics);
     }
     
     /**
@@ -47,12 +128,223 @@ public class BankingService {
         User user = UserFactory.createUser(username, password);
         Account account = AccountFactory.createAccount(username, initialBalance);
         
-        users.put(username, user);
-        accounts.put(account.getAccountNumber(), account);
+        // putIfAbsent tranche les créations concurrentes d'un même utilisateur
+        if (users.putIfAbsent(username, user) != null) {
+            throw new IllegalArgumentException(Exceptions.USER_ALREADY_EXISTS.toString() + ": " + username);
+        }
+        try {
+            openAndRecord(user, account);
+        } catch (RuntimeException e) {
+            users.remove(username, user);
+            throw e;
+        }
+        
+        return account;
+    }
+    
+    /**
+     * Crée un lot d'utilisateurs déjà validés ({@link UserFactory#createUser}), chacun
+     * avec un compte initial. Les numéros de compte sont réservés en une seule plage
+     * et la persistance du journal n'est attendue qu'une fois pour tout le lot ; les
+     * comptes sont retournés une fois durables. Un nom déjà pris n'interrompt pas le
+     * lot et laisse un numéro inutilisé dans la plage.
+     *
+     * @param newUsers Les utilisateurs à créer
+     * @param initialBalances Le solde initial de chaque utilisateur, dans le même ordre
+     * @return Les comptes créés, dans l'ordre du lot ; null pour un nom déjà pris
+     * @throws IllegalArgumentException Si un solde initial est invalide ; aucun
+     *         utilisateur n'est alors créé
+     * @throws RuntimeException Si la journalisation échoue en cours de lot ; les
+     *         utilisateurs inscrits avant l'échec restent créés, et durables
+     */
+    public List<Account> createUsers(List<User> newUsers, double[] initialBalances) {
+        if (initialBalances.length != newUsers.size()) {
+            throw new IllegalArgumentException("Un solde initial est attendu par utilisateur");
+        }
+        // Comptes construits avant toute inscription : un solde invalide refuse tout le lot
+        long firstNumber = AccountFactory.reserveAccountNumbers(newUsers.size());
+        Account[] accountsToOpen = new Account[newUsers.size()];
+        for (int i = 0; i < accountsToOpen.length; i++) {
+            accountsToOpen[i] = AccountFactory.createAccountWithNumber(
+                AccountFactory.formatAccountNumber(firstNumber + i), newUsers.get(i).getUsername(), initialBalances[i]);
+        }
+        List<Account> created = new ArrayList<>(newUsers.size());
+        long lastLsn = 0;
+        try {
+            for (int i = 0; i < newUsers.size(); i++) {
+                User user = newUsers.get(i);
+                Account account = accountsToOpen[i];
+                if (users.putIfAbsent(user.getUsername(), user) != null) {
+                    created.add(null);
+                    continue;
+                }
+                String accountNumber = account.getAccountNumber();
+                lockManager.lock(accountNumber);
+                try {
+                    registerAccount(account);
+                    lastLsn = transactionService.appendAccountOpening(user, account);
+                } catch (RuntimeException e) {
+                    unregisterAccount(account);
+                    users.remove(user.getUsername(), user);
+                    throw e;
+                } finally {
+                    lockManager.unlock(accountNumber);
+                }
+                created.add(account);
+            }
+        } catch (RuntimeException e) {
+            // Les utilisateurs déjà inscrits sont visibles : leur ouverture doit être durable
+            try {
+                transactionService.awaitDurable(lastLsn);
+            } catch (RuntimeException durability) {
+                e.addSuppressed(durability);
+            }
+            throw e;
+        }
+        transactionService.awaitDurable(lastLsn);
+        return created;
+    }
+    
+    /**
+     * Ouvre un compte supplémentaire pour un utilisateur existant.
+     */
+    public Account openAccount(String username, double initialBalance) {
+        if (!users.containsKey(username)) {
+            throw new IllegalArgumentException(Exceptions.USER_NOT_FOUND.toString() + ": " + username);
+        }
+        
+        Account account = AccountFactory.createAccount(username, initialBalance);
+        openAndRecord(null, account);
         
         return account;
     }
     
+    /**
+     * Enregistre puis journalise un nouveau compte, sous le verrou du compte :
+     * aucune transaction sur ce compte ne peut être journalisée avant son ouverture,
+     * et un snapshot qui ne voit pas encore le compte trouvera son ouverture dans
+     * la partie conservée du journal.
+     */
+    private void openAndRecord(User user, Account account) {
+        String accountNumber = account.getAccountNumber();
+        lockManager.lock(accountNumber);
+        try {
+            registerAccount(account);
+            transactionService.recordAccountOpening(user, account);
+        } catch (RuntimeException e) {
+            unregisterAccount(account);
+            throw e;
+        } finally {
+            lockManager.unlock(accountNumber);
+        }
+    }
+    
+    /**
+     * Borne l'historique en mémoire de chaque compte, existant ou futur : au-delà de
+     * {@code recentWindow} transactions, les plus anciennes passent dans l'archive.
+     *
+     * @param archive L'archive des transactions anciennes (null pour tout garder en mémoire)
+     * @param recentWindow Nombre maximal de transactions gardées en mémoire par compte
+     */
+    public void configureHistory(TransactionArchive archive, int recentWindow) {
+        this.historyArchive = archive;
+        this.historyWindow = recentWindow;
+        for (Account account : accounts.values()) {
+            lockManager.lock(account.getAccountNumber());
+            try {
+                account.configureHistory(archive, recentWindow);
+            } finally {
+                lockManager.unlock(account.getAccountNumber());
+            }
+        }
+    }
+    
+    /**
+     * Restaure un utilisateur lors de la reprise après redémarrage.
+     * Sans effet si l'utilisateur existe déjà.
+     */
+    public void restoreUser(User user) {
+        users.putIfAbsent(user.getUsername(), user);
+    }
+    
+    /**
+     * Restaure un compte lors de la reprise après redémarrage, sans le journaliser.
+     * Sans effet si le compte existe déjà.
+     */
+    public void restoreAccount(Account account) {
+        if (accounts.containsKey(account.getAccountNumber())) {
+            return;
+        }
+        registerAccount(account);
+        AccountFactory.advanceCounterPast(account.getAccountNumber());
+    }
+    
+    /**
+     * Enregistre un compte dans la table principale et dans l'index par propriétaire.
+     * Toute création de compte doit passer par cette méthode.
+     */
+    private void registerAccount(Account account) {
+        accounts.put(account.getAccountNumber(), account);
+        accountsByOwner
+            .computeIfAbsent(account.getOwnerUsername(), owner -> new CopyOnWriteArrayList<>())
+            .add(account);
+        // Après l'insertion : un configureHistory concurrent voit le compte ou l'a déjà configuré
+        TransactionArchive archive = historyArchive;
+        if (archive != null) {
+            account.configureHistory(archive, historyWindow);
+        }
+    }
+    
+    private void unregisterAccount(Account account) {
+        accounts.remove(account.getAccountNumber(), account);
+        List<Account> owned = accountsByOwner.get(account.getOwnerUsername());
+        if (owned != null) {
+            owned.remove(account);
+        }
+    }
+    
+    /**
+     * Vue non modifiable de tous les utilisateurs (itération faiblement cohérente).
+     */
+    public Collection<User> getUsers() {
+        return Collections.unmodifiableCollection(users.values());
+    }
+    
+    /**
+     * Vue non modifiable de tous les comptes (itération faiblement cohérente).
+     */
+    public Collection<Account> getAccounts() {
+        return Collections.unmodifiableCollection(accounts.values());
+    }
+    
+    /**
+     * Gestionnaire des verrous de comptes, pour les lectures cohérentes d'un compte.
+     */
+    public AccountLockManager getLockManager() {
+        return lockManager;
+    }
+    
+    /**
+     * Capture cohérente de tous les comptes, sans verrou global : les transactions
+     * continuent pendant la capture, qui ne bloque qu'un compte à la fois (voir
+     * {@link ConsistentCut}). En mode optimiste, dépôts et retraits prennent le
+     * verrou du compte le temps de la capture. Les captures concurrentes sont
+     * sérialisées.
+     */
+    public synchronized ConsistentCut captureConsistentCut() {
+        // Plus aucune modification sans verrou avant que la capture ne commence
+        lockManager.suspendLockFree();
+        ConsistentCut cut = new ConsistentCut();
+        transactionService.beginCut(cut);
+        try {
+            cut.capture(accounts.values().toArray(new Account[0]), lockManager);
+        } finally {
+            transactionService.endCut();
+            lockManager.resumeLockFree();
+        }
+        return cut;
+    }
+    
     /**
      * Authentifie un utilisateur.
      */
@@ -73,53 +365,312 @@ public class BankingService {
     }
     
     /**
-     * Récupère un compte par le nom d'utilisateur.
+     * Récupère le compte principal (le premier ouvert) d'un utilisateur.
+     * Recherche en O(1) via l'index par propriétaire.
      */
     public Optional<Account> getAccountByUsername(String username) {
-        return accounts.values().stream()
-            .filter(account -> account.getOwnerUsername().equals(username))
-            .findFirst();
+        List<Account> owned = accountsByOwner.get(username);
+        if (owned == null || owned.isEmpty()) {
+            return Optional.empty();
+        }
+        return Optional.of(owned.get(0));
+    }
+    
+    /**
+     * Récupère tous les comptes d'un utilisateur, dans l'ordre d'ouverture.
+     */
+    public List<Account> getAccountsByUsername(String username) {
+        List<Account> owned = accountsByOwner.get(username);
+        return owned != null ? Collections.unmodifiableList(owned) : Collections.emptyList();
+    }
+    
+    /**
+     * Passe un compte très sollicité en crédits répartis (voir
+     * {@link Account#enableStripedCredits()}). Le gain n'apparaît qu'avec des dépôts
+     * concurrents sans verrou, en mode {@link ConcurrencyMode#OPTIMISTIC} ; sous
+     * verrou, les soldes des transactions restent exacts.
+     */
+    public void enableStripedCredits(String accountNumber) {
+        requireAccount(accountNumber, Exceptions.ACCOUNT_NOT_FOUND).enableStripedCredits();
     }
     
     /**
      * Effectue un dépôt sur un compte.
      */
     public void deposit(String accountNumber, double amount) {
-        Account account = getAccount(accountNumber)
-            .orElseThrow(() -> new IllegalArgumentException(Exceptions.ACCOUNT_NOT_FOUND.toString()));
+        Account account = requireAccount(accountNumber, Exceptions.ACCOUNT_NOT_FOUND);
         
-        transactionService.executeTransaction(depositStrategy, account, amount, null);
+        long minorAmount = toMinor(amount);
+        
+        if (optimistic && lockManager.enterLockFree(accountNumber)) {
+            try {
+                execute(Operation.DEPOSIT, depositStrategy, account, minorAmount, null);
+            } finally {
+                lockManager.exitLockFree(accountNumber);
+            }
+            return;
+        }
+        lockManager.lock(accountNumber);
+        try {
+            execute(Operation.DEPOSIT, depositStrategy, account, minorAmount, null);
+        } finally {
+            lockManager.unlock(accountNumber);
+        }
     }
     
     /**
      * Effectue un retrait sur un compte.
      */
     public void withdraw(String accountNumber, double amount) {
-        Account account = getAccount(accountNumber)
-            .orElseThrow(() -> new IllegalArgumentException(Exceptions.ACCOUNT_NOT_FOUND.toString()));
+        Account account = requireAccount(accountNumber, Exceptions.ACCOUNT_NOT_FOUND);
         
-        transactionService.executeTransaction(withdrawStrategy, account, amount, null);
+        long minorAmount = toMinor(amount);
+        
+        if (optimistic && lockManager.enterLockFree(accountNumber)) {
+            try {
+                execute(Operation.WITHDRAW, withdrawStrategy, account, minorAmount, null);
+            } finally {
+                lockManager.exitLockFree(accountNumber);
+            }
+            return;
+        }
+        lockManager.lock(accountNumber);
+        try {
+            execute(Operation.WITHDRAW, withdrawStrategy, account, minorAmount, null);
+        } finally {
+            lockManager.unlock(accountNumber);
+        }
     }
     
     /**
      * Effectue un transfert entre deux comptes.
+     * Les deux comptes sont verrouillés dans un ordre déterministe pour éviter
+     * tout interblocage entre transferts croisés.
      */
     public void transfer(String fromAccountNumber, String toAccountNumber, double amount) {
-        Account fromAccount = getAccount(fromAccountNumber)
-            .orElseThrow(() -> new IllegalArgumentException(Exceptions.SOURCE_ACCOUNT_NOT_FOUND.toString()));
-        Account toAccount = getAccount(toAccountNumber)
-            .orElseThrow(() -> new IllegalArgumentException(Exceptions.TARGET_ACCOUNT_NOT_FOUND.toString()));
+        Account fromAccount = requireAccount(fromAccountNumber, Exceptions.SOURCE_ACCOUNT_NOT_FOUND);
+        Account toAccount = requireAccount(toAccountNumber, Exceptions.TARGET_ACCOUNT_NOT_FOUND);
+        
+        long minorAmount = toMinor(amount);
+        
+        lockManager.lockPair(fromAccountNumber, toAccountNumber);
+        try {
+            execute(Operation.TRANSFER, transferStrategy, fromAccount, minorAmount, toAccount);
+        } finally {
+            lockManager.unlockPair(fromAccountNumber, toAccountNumber);
+        }
+    }
+    
+    /**
+     * Effectue un transfert multiple : N débits et crédits dont la somme est nulle,
+     * appliqués en tout ou rien. Tous les comptes sont verrouillés dans l'ordre
+     * déterministe du gestionnaire de verrous avant la validation.
+     *
+     * @param legs Les jambes du transfert, appliquées dans l'ordre de la liste
+     * @return Les transactions créées, une par jambe
+     * @throws IllegalArgumentException Si un compte est inconnu ou si le transfert
+     *         n'est pas valide ; aucun compte n'est alors modifié
+     */
+    public List<Transaction> transferMultiLeg(List<TransferLeg> legs) {
+        List<Account> legAccounts = new ArrayList<>(legs.size());
+        List<String> accountNumbers = new ArrayList<>(legs.size());
+        long[] amounts = new long[legs.size()];
+        for (int i = 0; i < legs.size(); i++) {
+            TransferLeg leg = legs.get(i);
+            Account account = accounts.get(leg.getAccountNumber());
+            if (account == null) {
+                metrics.recordRejection(RejectionReason.ACCOUNT_NOT_FOUND);
+                throw new IllegalArgumentException(
+                    Exceptions.ACCOUNT_NOT_FOUND.toString() + ": " + leg.getAccountNumber());
+            }
+            legAccounts.add(account);
+            accountNumbers.add(leg.getAccountNumber());
+            amounts[i] = leg.getAmountMinor();
+        }
+        
+        lockManager.lockAll(accountNumbers);
+        try {
+            long start = System.nanoTime();
+            List<Transaction> transactions;
+            try {
+                transactions = transactionService.executeMultiLegTransfer(multiLegTransferStrategy, legAccounts, amounts);
+            } catch (IllegalArgumentException e) {
+                metrics.recordRejection(RejectionReason.INVALID_TRANSFER);
+                throw e;
+            }
+            metrics.recordOperation(Operation.MULTI_LEG_TRANSFER, System.nanoTime() - start);
+            return transactions;
+        } finally {
+            lockManager.unlockAll(accountNumbers);
+        }
+    }
+    
+    /**
+     * Exécute un lot d'opérations dans l'ordre, avec un code de résultat par opération.
+     * Une opération refusée n'interrompt pas le lot. Chaque compte n'est résolu qu'une
+     * fois, chaque opération s'exécute sous le verrou de ses comptes, la persistance
+     * est attendue une seule fois pour tout le lot et les observateurs reçoivent les
+     * transactions en un seul appel groupé.
+     *
+     * Cet appel a lieu après la libération des verrous : l'ordre des notifications
+     * d'un compte n'est pas garanti entre le lot et les opérations concurrentes sur
+     * ses comptes, qui peuvent être notifiées avant des transactions du lot qui les
+     * précèdent. Les soldes avant et après de chaque transaction permettent aux
+     * observateurs de rétablir l'ordre.
+     *
+     * @param operations Les opérations, appliquées dans l'ordre de la liste
+     * @return Les codes de résultat, dans le même ordre
+     * @throws RuntimeException Si la journalisation échoue : l'opération en cours est
+     *         annulée, les précédentes restent appliquées et sont persistées si possible
+     */
+    public BatchResult executeBatch(List<BatchOperation> operations) {
+        long start = System.nanoTime();
+        BatchResult result = new BatchResult(operations.size());
+        Map<String, Account> resolved = new HashMap<>();
+        TransactionService.Batch batch = transactionService.beginBatch();
         
-        transactionService.executeTransaction(transferStrategy, fromAccount, amount, toAccount);
+        try {
+            executeBatchItems(operations, resolved, batch, result);
+        } catch (RuntimeException e) {
+            // Les opérations déjà appliquées restent visibles : persistance et notification
+            try {
+                batch.commit();
+            } catch (RuntimeException commit) {
+                e.addSuppressed(commit);
+            }
+            throw e;
+        }
+        batch.commit();
+        metrics.recordOperation(Operation.BATCH, System.nanoTime() - start);
+        return result;
+    }
+    
+    private void executeBatchItems(List<BatchOperation> operations, Map<String, Account> resolved,
+                                   TransactionService.Batch batch, BatchResult result) {
+        for (int i = 0; i < operations.size(); i++) {
+            BatchOperation operation = operations.get(i);
+            Account account = resolved.computeIfAbsent(operation.getAccountNumber(), accounts::get);
+            if (account == null) {
+                reject(result, i, BatchResult.Code.ACCOUNT_NOT_FOUND, RejectionReason.ACCOUNT_NOT_FOUND);
+                continue;
+            }
+            Account target = null;
+            if (operation.getType() == BatchOperation.Type.TRANSFER) {
+                target = resolved.computeIfAbsent(operation.getTargetAccountNumber(), accounts::get);
+                if (target == null) {
+                    reject(result, i, BatchResult.Code.TARGET_ACCOUNT_NOT_FOUND, RejectionReason.ACCOUNT_NOT_FOUND);
+                    continue;
+                }
+            }
+            long minorAmount = operation.getAmountMinor();
+            if (minorAmount <= 0) {
+                reject(result, i, BatchResult.Code.INVALID_AMOUNT, RejectionReason.INVALID_AMOUNT);
+                continue;
+            }
+            executeBatchItem(batch, result, i, operation.getType(), account, minorAmount, target);
+        }
+    }
+    
+    private void reject(BatchResult result, int index, BatchResult.Code code, RejectionReason reason) {
+        result.failed(index, code);
+        metrics.recordRejection(reason);
+    }
+    
+    private void executeBatchItem(TransactionService.Batch batch, BatchResult result, int index,
+                                  BatchOperation.Type type, Account account, long amount, Account target) {
+        TransactionStrategy strategy = strategyFor(type);
+        String accountNumber = account.getAccountNumber();
+        if (target == null) {
+            lockManager.lock(accountNumber);
+        } else {
+            lockManager.lockPair(accountNumber, target.getAccountNumber());
+        }
+        try {
+            if (strategy.validate(account, amount)) {
+                result.succeeded(index, batch.execute(strategy, account, amount, target));
+            } else {
+                reject(result, index, BatchResult.Code.INSUFFICIENT_FUNDS, RejectionReason.INSUFFICIENT_FUNDS);
+            }
+        } catch (IllegalArgumentException e) {
+            // En mode optimiste, un débit sans verrou a pu vider le compte depuis la validation
+            reject(result, index, BatchResult.Code.INSUFFICIENT_FUNDS, RejectionReason.INSUFFICIENT_FUNDS);
+        } catch (ArithmeticException e) {
+            reject(result, index, BatchResult.Code.INVALID_AMOUNT, RejectionReason.INVALID_AMOUNT);
+        } finally {
+            if (target == null) {
+                lockManager.unlock(accountNumber);
+            } else {
+                lockManager.unlockPair(accountNumber, target.getAccountNumber());
+            }
+        }
+    }
+    
+    private TransactionStrategy strategyFor(BatchOperation.Type type) {
+        switch (type) {
+            case DEPOSIT:
+                return depositStrategy;
+            case WITHDRAW:
+                return withdrawStrategy;
+            default:
+                return transferStrategy;
+        }
+    }
+    
+    /**
+     * Exécute une opération sous le verrou détenu par l'appelant (sans verrou en
+     * mode optimiste), en mesurant sa durée ; un refus de la stratégie est compté
+     * selon le montant.
+     */
+    private void execute(Operation operation, TransactionStrategy strategy, Account account,
+                         long amount, Account target) {
+        long start = System.nanoTime();
+        try {
+            transactionService.executeTransaction(strategy, account, amount, target);
+        } catch (IllegalArgumentException e) {
+            metrics.recordRejection(amount <= 0 ? RejectionReason.INVALID_AMOUNT : RejectionReason.INSUFFICIENT_FUNDS);
+            throw e;
+        }
+        metrics.recordOperation(operation, System.nanoTime() - start);
+    }
+    
+    private long toMinor(double amount) {
+        try {
+            return Money.of(amount);
+        } catch (IllegalArgumentException e) {
+            metrics.recordRejection(RejectionReason.INVALID_AMOUNT);
+            throw e;
+        }
     }
     
     /**
      * Récupère le solde d'un compte.
      */
     public double getBalance(String accountNumber) {
-        return getAccount(accountNumber)
-            .map(Account::getBalance)
-            .orElseThrow(() -> new IllegalArgumentException(Exceptions.ACCOUNT_NOT_FOUND.toString()));
+        Account account = accounts.get(accountNumber);
+        if (account == null) {
+            throw new IllegalArgumentException(Exceptions.ACCOUNT_NOT_FOUND.toString());
+        }
+        return account.getBalance();
+    }
+    
+    /**
+     * Métriques des opérations (partagées avec le {@link TransactionService}).
+     */
+    public TransactionMetrics getMetrics() {
+        return metrics;
+    }
+    
+    /**
+     * Recherche d'un compte sans {@link Optional}, pour le chemin critique des
+     * opérations ; un compte inconnu est compté comme refus.
+     */
+    private Account requireAccount(String accountNumber, Exceptions notFound) {
+        Account account = accounts.get(accountNumber);
+        if (account == null) {
+            metrics.recordRejection(RejectionReason.ACCOUNT_NOT_FOUND);
+            throw new IllegalArgumentException(notFound.toString());
+        }
+        return account;
     }
 
     private enum Exceptions {
@@ -127,6 +678,7 @@ public class BankingService {
         SOURCE_ACCOUNT_NOT_FOUND("Compte source non trouvé"),
         TARGET_ACCOUNT_NOT_FOUND("Compte cible non trouvé"),
         USER_ALREADY_EXISTS("L'utilisateur existe déjà"),
+        USER_NOT_FOUND("Utilisateur non trouvé"),
         INVALID_CREDENTIALS("Identifiants invalides");
         
         private final String message;
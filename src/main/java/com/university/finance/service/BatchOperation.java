@@ -0,0 +1,100 @@
+package com.university.finance.service;
+
+import com.university.finance.model.Money;
+
+/**
+ * Opération élémentaire d'un lot traité par {@link BankingService#executeBatch}.
+ * Les montants sont exprimés en euros, comme pour les opérations unitaires, ou
+ * directement en unités mineures (fabriques {@code *Minor}) pour les passerelles
+ * qui les reçoivent déjà sous cette forme.
+ *
+ * Un montant non représentable est conservé comme nul : l'opération est alors
+ * refusée à l'exécution avec {@link BatchResult.Code#INVALID_AMOUNT}.
+ */
+public final class BatchOperation {
+    
+    public enum Type {
+        DEPOSIT,
+        WITHDRAW,
+        TRANSFER
+    }
+    
+    private final Type type;
+    private final String accountNumber;
+    private final String targetAccountNumber;
+    private final long amount;
+    
+    private BatchOperation(Type type, String accountNumber, String targetAccountNumber, long amount) {
+        this.type = type;
+        this.accountNumber = accountNumber;
+        this.targetAccountNumber = targetAccountNumber;
+        this.amount = amount;
+    }
+    
+    public static BatchOperation deposit(String accountNumber, double amount) {
+        return depositMinor(accountNumber, toMinorOrZero(amount));
+    }
+    
+    public static BatchOperation withdraw(String accountNumber, double amount) {
+        return withdrawMinor(accountNumber, toMinorOrZero(amount));
+    }
+    
+    public static BatchOperation transfer(String fromAccountNumber, String toAccountNumber, double amount) {
+        return transferMinor(fromAccountNumber, toAccountNumber, toMinorOrZero(amount));
+    }
+    
+    public static BatchOperation depositMinor(String accountNumber, long amountMinor) {
+        return new BatchOperation(Type.DEPOSIT, accountNumber, null, amountMinor);
+    }
+    
+    public static BatchOperation withdrawMinor(String accountNumber, long amountMinor) {
+        return new BatchOperation(Type.WITHDRAW, accountNumber, null, amountMinor);
+    }
+    
+    public static BatchOperation transferMinor(String fromAccountNumber, String toAccountNumber, long amountMinor) {
+        return new BatchOperation(Type.TRANSFER, fromAccountNumber, toAccountNumber, amountMinor);
+    }
+    
+    private static long toMinorOrZero(double amount) {
+        try {
+            return Money.of(amount);
+        } catch (IllegalArgumentException e) {
+            return 0;
+        }
+    }
+    
+    public Type getType() {
+        return type;
+    }
+    
+    /**
+     * Compte concerné, ou compte source pour un transfert.
+     */
+    public String getAccountNumber() {
+        return accountNumber;
+    }
+    
+    /**
+     * Compte cible d'un transfert (null sinon).
+     */
+    public String getTargetAccountNumber() {
+        return targetAccountNumber;
+    }
+    
+    public double getAmount() {
+        return Money.toDouble(amount);
+    }
+    
+    /**
+     * Montant exact en unités mineures.
+     */
+    public long getAmountMinor() {
+        return amount;
+    }
+    
+    @Override
+    public String toString() {
+        return type + " " + accountNumber + (targetAccountNumber != null ? " -> " + targetAccountNumber : "")
+            + " " + Money.format(amount);
+    }
+}
@@ -0,0 +1,68 @@
+package com.university.finance.service;
+
+import com.university.finance.model.Transaction;
+
+/**
+ * Résultat d'un lot : un code par opération, dans l'ordre du lot, et la transaction
+ * créée pour chaque opération réussie.
+ */
+public final class BatchResult {
+    
+    public enum Code {
+        OK,
+        ACCOUNT_NOT_FOUND,
+        TARGET_ACCOUNT_NOT_FOUND,
+        INVALID_AMOUNT,
+        INSUFFICIENT_FUNDS
+    }
+    
+    private final Code[] codes;
+    private final Transaction[] transactions;
+    private int successCount;
+    
+    BatchResult(int size) {
+        this.codes = new Code[size];
+        this.transactions = new Transaction[size];
+    }
+    
+    void succeeded(int index, Transaction transaction) {
+        codes[index] = Code.OK;
+        transactions[index] = transaction;
+        successCount++;
+    }
+    
+    void failed(int index, Code code) {
+        codes[index] = code;
+    }
+    
+    /**
+     * Nombre d'opérations du lot.
+     */
+    public int size() {
+        return codes.length;
+    }
+    
+    public Code getCode(int index) {
+        return codes[index];
+    }
+    
+    public boolean isSuccess(int index) {
+        return codes[index] == Code.OK;
+    }
+    
+    /**
+     * Transaction créée par l'opération (transaction source pour un transfert),
+     * ou null si l'opération a échoué.
+     */
+    public Transaction getTransaction(int index) {
+        return transactions[index];
+    }
+    
+    public int getSuccessCount() {
+        return successCount;
+    }
+    
+    public int getFailureCount() {
+        return codes.length - successCount;
+    }
+}
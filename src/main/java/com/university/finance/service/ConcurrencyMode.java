@@ -0,0 +1,23 @@
+package com.university.finance.service;
+
+/**
+ * Contrôle de concurrence des dépôts et retraits de {@link BankingService}.
+ */
+public enum ConcurrencyMode {
+    /**
+     * Chaque opération s'exécute sous le verrou de ses comptes : les transactions
+     * d'un compte sont journalisées et notifiées dans l'ordre de leurs soldes.
+     */
+    LOCKING,
+    /**
+     * Les dépôts et retraits s'exécutent sans verrou, le solde étant mis à jour par
+     * compare-and-set ; les transferts restent verrouillés. Les comptes très
+     * sollicités (comptes d'encaissement) supportent bien plus de mises à jour
+     * qu'avec un verrou, mais l'ordre de l'historique et des notifications d'un
+     * compte peut différer de celui des soldes. Incompatible avec un journal, dont
+     * la reprise suppose cet ordre. Les dépôts d'un compte à crédits répartis
+     * (voir {@link BankingService#enableStripedCredits(String)}) ne se disputent
+     * alors plus aucun champ.
+     */
+    OPTIMISTIC
+}
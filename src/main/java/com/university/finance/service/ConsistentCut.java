@@ -0,0 +1,111 @@
+package com.university.finance.service;
+
+import com.university.finance.model.Account;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Copie cohérente des comptes à un instant donné, obtenue sans arrêter la banque
+ * (voir {@link BankingService#captureConsistentCut()}) : solde et nombre de
+ * transactions de chaque compte.
+ *
+ * Pendant la capture, une transaction fige l'état de chaque compte avant de le
+ * modifier pour la première fois (copie sur écriture, sous le verrou du compte) ;
+ * la capture relève ensuite les comptes un à un, chacun sous son seul verrou, en
+ * retenant l'état figé s'il existe. Une transaction est ainsi vue en entier ou pas
+ * du tout, et les comptes ouverts après le début de la capture en sont exclus.
+ */
+public final class ConsistentCut {
+    // État figé d'un compte ouvert après le début de la capture
+    private static final long[] ABSENT = new long[0];
+
+    private final Map<Account, long[]> frozen = new ConcurrentHashMap<>();
+    private final LocalDateTime capturedAt;
+    private Account[] accounts;
+    private long[] balances;
+    private int[] transactionCounts;
+    private int size;
+
+    ConsistentCut() {
+        this.capturedAt = LocalDateTime.now();
+    }
+
+    /**
+     * Fige l'état du compte avant sa première modification pendant la capture.
+     * L'appelant détient le verrou du compte.
+     */
+    void freeze(Account account) {
+        if (!frozen.containsKey(account)) {
+            frozen.putIfAbsent(account, new long[] {account.getBalanceMinor(), account.getTransactionCount()});
+        }
+    }
+
+    /**
+     * Exclut un compte ouvert pendant la capture. L'appelant détient son verrou.
+     */
+    void exclude(Account account) {
+        frozen.putIfAbsent(account, ABSENT);
+    }
+
+    /**
+     * Relève chaque compte sous son verrou, état figé en priorité.
+     */
+    void capture(Account[] candidates, AccountLockManager lockManager) {
+        accounts = new Account[candidates.length];
+        balances = new long[candidates.length];
+        transactionCounts = new int[candidates.length];
+        for (Account account : candidates) {
+            String accountNumber = account.getAccountNumber();
+            lockManager.lock(accountNumber);
+            try {
+                long[] state = frozen.get(account);
+                if (state == ABSENT) {
+                    continue;
+                }
+                accounts[size] = account;
+                balances[size] = state != null ? state[0] : account.getBalanceMinor();
+                transactionCounts[size] = state != null ? (int) state[1] : account.getTransactionCount();
+                size++;
+            } finally {
+                lockManager.unlock(accountNumber);
+            }
+        }
+        frozen.clear();
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public Account getAccount(int index) {
+        return accounts[index];
+    }
+
+    /**
+     * Solde du compte d'indice donné à l'instant de la capture, en unités mineures.
+     */
+    public long getBalanceMinor(int index) {
+        return balances[index];
+    }
+
+    /**
+     * Nombre de transactions du compte à l'instant de la capture : l'historique
+     * n'étant modifié qu'en fin de liste, il suffit à le relire tel qu'il était.
+     */
+    public int getTransactionCount(int index) {
+        return transactionCounts[index];
+    }
+
+    /**
+     * Copie des soldes capturés.
+     */
+    public long[] copyBalances() {
+        return Arrays.copyOf(balances, size);
+    }
+
+    public LocalDateTime getCapturedAt() {
+        return capturedAt;
+    }
+}
@@ -1,72 +1,342 @@
 package com.university.finance.service;
 
+import com.university.finance.metrics.TransactionMetrics;
 import com.university.finance.model.Account;
 import com.university.finance.model.Transaction;
+import com.university.finance.model.User;
+import com.university.finance.pattern.observer.ObserverDispatcher;
+import com.university.finance.pattern.observer.SynchronousObserverDispatcher;
 import com.university.finance.pattern.observer.TransactionObserver;
+import com.university.finance.pattern.strategy.MultiLegTransferStrategy;
 import com.university.finance.pattern.strategy.TransactionStrategy;
+import com.university.finance.persistence.JournalRecord;
+import com.university.finance.persistence.TransactionJournal;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 /**
  * Service gérant l'exécution des transactions.
  * Utilise le pattern Strategy pour les différents types de transactions
  * et notifie les observateurs après chaque transaction.
+ *
+ * La diffusion aux observateurs est déléguée à un {@link ObserverDispatcher} :
+ * synchrone par défaut, ou asynchrone pour sortir le coût des observateurs de la
+ * latence des transactions.
+ *
+ * Lorsqu'un journal est configuré, chaque transaction y est écrite et persistée
+ * avant d'être notifiée aux observateurs et retournée à l'appelant. Un journal
+ * fermé ou en échec est détecté avant toute modification ; si l'écriture échoue
+ * malgré tout, les comptes sont remis dans leur état antérieur (voir
+ * {@link Account#rollback}) : une opération non journalisée ne reste pas appliquée.
+ *
+ * Les transactions notifiées une à une peuvent être réutilisées par l'opération
+ * suivante (stratégies sans allocation, voir {@link TransactionObserver}) ; celles
+ * que le service conserve, dans un lot, sont copiées.
+ *
+ * Pendant une capture cohérente ({@link ConsistentCut}), chaque transaction fige
+ * l'état de ses comptes avant de les modifier.
+ *
+ * Les métriques du service ({@link #getMetrics()}) reçoivent la durée des appels
+ * aux observateurs du diffuseur par défaut, et les mesures de {@link BankingService}.
  */
 public class TransactionService {
-    private final List<TransactionObserver> observers;
+    private final ObserverDispatcher dispatcher;
+    private final TransactionJournal journal;
+    private final TransactionMetrics metrics;
+    private volatile ConsistentCut cut;
     
     public TransactionService() {
-        this.observers = new ArrayList<>();
+        this(null);
+    }
+    
+    /**
+     * @param journal Journal de persistance (null pour un fonctionnement en mémoire)
+     */
+    public TransactionService(TransactionJournal journal) {
+        this(journal, new TransactionMetrics());
+    }
+    
+    private TransactionService(TransactionJournal journal, TransactionMetrics metrics) {
+        this(journal, new SynchronousObserverDispatcher(metrics), metrics);
+    }
+    
+    /**
+     * @param journal Journal de persistance (null pour un fonctionnement en mémoire)
+     * @param dispatcher Politique de diffusion aux observateurs
+     */
+    public TransactionService(TransactionJournal journal, ObserverDispatcher dispatcher) {
+        this(journal, dispatcher, new TransactionMetrics());
+    }
+    
+    /**
+     * @param journal Journal de persistance (null pour un fonctionnement en mémoire)
+     * @param dispatcher Politique de diffusion aux observateurs
+     * @param metrics Métriques des transactions, à partager avec le diffuseur
+     */
+    public TransactionService(TransactionJournal journal, ObserverDispatcher dispatcher,
+                              TransactionMetrics metrics) {
+        this.dispatcher = dispatcher;
+        this.journal = journal;
+        this.metrics = metrics;
+    }
+    
+    /**
+     * Retourne le journal configuré, ou null si le service fonctionne en mémoire.
+     */
+    public TransactionJournal getJournal() {
+        return journal;
+    }
+    
+    /**
+     * Retourne les métriques des transactions.
+     */
+    public TransactionMetrics getMetrics() {
+        return metrics;
     }
     
     /**
      * Ajoute un observateur pour recevoir les notifications de transactions.
      */
     public void addObserver(TransactionObserver observer) {
-        if (!observers.contains(observer)) {
-            observers.add(observer);
-        }
+        dispatcher.addObserver(observer);
     }
     
     /**
      * Retire un observateur.
      */
     public void removeObserver(TransactionObserver observer) {
-        observers.remove(observer);
+        dispatcher.removeObserver(observer);
     }
     
     /**
      * Exécute une transaction en utilisant la stratégie fournie.
+     * L'appelant doit détenir le verrou des comptes concernés, sauf pour un dépôt
+     * ou un retrait, dont les stratégies mettent à jour le solde par compare-and-set.
      * 
      * @param strategy La stratégie de transaction à utiliser
      * @param account Le compte source
-     * @param amount Le montant
+     * @param amount Le montant, en unités mineures
      * @param targetAccount Le compte cible (peut être null)
-     * @return La transaction créée
+     * @return La transaction créée ; réutilisée par l'opération suivante du thread
+     *         si la stratégie réutilise ses transactions
      */
     public Transaction executeTransaction(TransactionStrategy strategy,
                                          Account account,
-                                         double amount,
+                                         long amount,
                                          Account targetAccount) {
-        Transaction transaction = strategy.execute(account, amount, targetAccount);
-        notifyObservers(transaction);
+        freeze(account, targetAccount);
+        List<Transaction> legs;
+        if (journal == null) {
+            legs = strategy.executeLegs(account, amount, targetAccount);
+        } else {
+            List<Account> accounts = targetAccount != null ? List.of(account, targetAccount) : List.of(account);
+            Account.Checkpoint[] checkpoints = checkpoint(accounts);
+            try {
+                legs = strategy.executeLegs(account, amount, targetAccount);
+                journal.appendAndSync(JournalRecord.transaction(legs));
+            } catch (RuntimeException e) {
+                rollback(accounts, checkpoints);
+                throw e;
+            }
+        }
+        
+        for (int i = 0; i < legs.size(); i++) {
+            notifyObservers(legs.get(i));
+        }
         
-        // Si c'est un transfert, notifier aussi pour le compte cible
-        if (targetAccount != null && !targetAccount.getTransactions().isEmpty()) {
-            List<Transaction> targetTransactions = targetAccount.getTransactions();
-            Transaction targetTransaction = targetTransactions.get(targetTransactions.size() - 1);
-            notifyObservers(targetTransaction);
+        return legs.get(0);
+    }
+    
+    /**
+     * Exécute un transfert multiple : toutes les jambes sont journalisées dans un
+     * même enregistrement et notifiées en un seul appel groupé.
+     * L'appelant doit détenir le verrou de tous les comptes concernés.
+     *
+     * @return Les transactions créées, une par jambe
+     */
+    public List<Transaction> executeMultiLegTransfer(MultiLegTransferStrategy strategy,
+                                                     List<Account> accounts,
+                                                     long[] amounts) {
+        ConsistentCut current = cut;
+        if (current != null) {
+            for (Account account : accounts) {
+                current.freeze(account);
+            }
+        }
+        List<Transaction> legs;
+        if (journal == null) {
+            legs = strategy.execute(accounts, amounts);
+        } else {
+            Account.Checkpoint[] checkpoints = checkpoint(accounts);
+            try {
+                legs = strategy.execute(accounts, amounts);
+                journal.appendAndSync(JournalRecord.transaction(legs));
+            } catch (RuntimeException e) {
+                rollback(accounts, checkpoints);
+                throw e;
+            }
         }
         
-        return transaction;
+        dispatcher.dispatchAll(Collections.unmodifiableList(legs));
+        return legs;
+    }
+    
+    /**
+     * Ouvre un lot de transactions : persistance et notification sont regroupées
+     * à la validation du lot.
+     */
+    Batch beginBatch() {
+        return new Batch();
+    }
+    
+    /**
+     * Journalise la création d'un utilisateur et/ou l'ouverture d'un compte.
+     * Sans effet si aucun journal n'est configuré.
+     *
+     * @param user L'utilisateur créé (null pour un compte supplémentaire)
+     * @param account Le compte ouvert
+     */
+    public void recordAccountOpening(User user, Account account) {
+        awaitDurable(appendAccountOpening(user, account));
+    }
+    
+    /**
+     * Journalise la création d'un utilisateur et/ou l'ouverture d'un compte sans
+     * attendre le disque, pour les créations en masse.
+     *
+     * @return Le LSN à passer à {@link #awaitDurable(long)}, 0 sans journal
+     */
+    long appendAccountOpening(User user, Account account) {
+        ConsistentCut current = cut;
+        if (current != null) {
+            current.exclude(account);
+        }
+        if (journal == null) {
+            return 0;
+        }
+        if (user != null) {
+            journal.append(JournalRecord.userCreated(user.getUsername(), user.getPasswordHash()));
+        }
+        return journal.append(JournalRecord.accountOpened(
+            account.getAccountNumber(), account.getOwnerUsername(), account.getBalanceMinor()));
+    }
+    
+    /**
+     * Attend la persistance du journal jusqu'au LSN donné (sans effet pour 0).
+     */
+    void awaitDurable(long lsn) {
+        if (journal != null && lsn > 0) {
+            journal.awaitDurable(lsn);
+        }
+    }
+    
+    /**
+     * Lot de transactions : chaque transaction est journalisée sans attendre le disque,
+     * puis {@link #commit()} attend une seule fois la persistance du lot et notifie
+     * les observateurs en un seul appel groupé. La validation est appelée une fois les
+     * verrous des comptes libérés (voir {@link BankingService#executeBatch}).
+     */
+    final class Batch {
+        private final List<Transaction> transactions = new ArrayList<>();
+        private long lastLsn;
+        
+        /**
+         * Exécute une transaction du lot.
+         * L'appelant doit détenir le verrou des comptes concernés.
+         *
+         * @return La transaction créée
+         */
+        Transaction execute(TransactionStrategy strategy, Account account, long amount, Account targetAccount) {
+            freeze(account, targetAccount);
+            List<Transaction> legs;
+            if (journal == null) {
+                legs = strategy.executeLegs(account, amount, targetAccount);
+            } else {
+                List<Account> accounts = targetAccount != null ? List.of(account, targetAccount) : List.of(account);
+                Account.Checkpoint[] checkpoints = checkpoint(accounts);
+                try {
+                    legs = strategy.executeLegs(account, amount, targetAccount);
+                    lastLsn = journal.append(JournalRecord.transaction(legs));
+                } catch (RuntimeException e) {
+                    rollback(accounts, checkpoints);
+                    throw e;
+                }
+            }
+            // Conservées jusqu'à la validation : copie des transactions réutilisables
+            Transaction first = legs.get(0).toImmutable();
+            transactions.add(first);
+            for (int i = 1; i < legs.size(); i++) {
+                transactions.add(legs.get(i).toImmutable());
+            }
+            return first;
+        }
+        
+        /**
+         * Attend la persistance des transactions du lot puis les notifie.
+         */
+        void commit() {
+            if (journal != null && lastLsn > 0) {
+                journal.awaitDurable(lastLsn);
+            }
+            if (!transactions.isEmpty()) {
+                dispatcher.dispatchAll(Collections.unmodifiableList(transactions));
+            }
+        }
+    }
+    
+    /**
+     * Démarre une capture cohérente : les transactions suivantes figent leurs
+     * comptes avant de les modifier, jusqu'à {@link #endCut()}.
+     */
+    void beginCut(ConsistentCut cut) {
+        this.cut = cut;
+    }
+    
+    void endCut() {
+        this.cut = null;
+    }
+    
+    /**
+     * Fige les comptes d'une transaction pour la capture en cours, s'il y en a une.
+     */
+    private void freeze(Account account, Account targetAccount) {
+        ConsistentCut current = cut;
+        if (current != null) {
+            current.freeze(account);
+            if (targetAccount != null) {
+                current.freeze(targetAccount);
+            }
+        }
+    }
+    
+    /**
+     * Vérifie que le journal est utilisable puis capture l'état des comptes, avant
+     * une opération à journaliser.
+     */
+    private Account.Checkpoint[] checkpoint(List<Account> accounts) {
+        journal.ensureWritable();
+        Account.Checkpoint[] checkpoints = new Account.Checkpoint[accounts.size()];
+        for (int i = 0; i < checkpoints.length; i++) {
+            checkpoints[i] = accounts.get(i).checkpoint();
+        }
+        return checkpoints;
+    }
+    
+    /**
+     * Annule une opération non journalisée ; l'ordre inverse rétablit l'état le plus
+     * ancien d'un compte présent plusieurs fois.
+     */
+    private static void rollback(List<Account> accounts, Account.Checkpoint[] checkpoints) {
+        for (int i = checkpoints.length - 1; i >= 0; i--) {
+            accounts.get(i).rollback(checkpoints[i]);
+        }
     }
     
     /**
      * Notifie tous les observateurs d'une nouvelle transaction.
      */
     private void notifyObservers(Transaction transaction) {
-        for (TransactionObserver observer : observers) {
-            observer.onTransaction(transaction);
-        }
+        dispatcher.dispatch(transaction);
     }
 }
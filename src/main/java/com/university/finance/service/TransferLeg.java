@@ -0,0 +1,55 @@
+package com.university.finance.service;
+
+import com.university.finance.model.Money;
+
+/**
+ * Jambe d'un transfert multiple (voir {@link BankingService#transferMultiLeg}) :
+ * un débit ou un crédit sur un compte. Les montants sont exprimés en euros.
+ */
+public final class TransferLeg {
+    private final String accountNumber;
+    private final long amount;
+    
+    private TransferLeg(String accountNumber, long amount) {
+        this.accountNumber = accountNumber;
+        this.amount = amount;
+    }
+    
+    /**
+     * Débit du compte donné.
+     */
+    public static TransferLeg debit(String accountNumber, double amount) {
+        return new TransferLeg(accountNumber, -positive(amount));
+    }
+    
+    /**
+     * Crédit du compte donné.
+     */
+    public static TransferLeg credit(String accountNumber, double amount) {
+        return new TransferLeg(accountNumber, positive(amount));
+    }
+    
+    private static long positive(double amount) {
+        long minor = Money.of(amount);
+        if (minor <= 0) {
+            throw new IllegalArgumentException("Montant de jambe invalide: " + amount);
+        }
+        return minor;
+    }
+    
+    public String getAccountNumber() {
+        return accountNumber;
+    }
+    
+    /**
+     * Montant signé en unités mineures : négatif pour un débit, positif pour un crédit.
+     */
+    public long getAmountMinor() {
+        return amount;
+    }
+    
+    @Override
+    public String toString() {
+        return accountNumber + " " + Money.format(amount);
+    }
+}
@@ -0,0 +1,226 @@
+package com.university.finance.api;
+
+import com.university.finance.controller.BankingController;
+import com.university.finance.pattern.factory.AccountFactory;
+import com.university.finance.service.BankingService;
+import com.university.finance.service.TransactionService;
+import java.math.BigDecimal;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Tests d'intégration pour BankingHttpServer, sur l'interface de bouclage.
+ */
+public class BankingHttpServerTest {
+    
+    private BankingService bankingService;
+    private BankingHttpServer server;
+    private HttpClient client;
+    private String baseUri;
+    
+    @Before
+    public void setUp() throws Exception {
+        AccountFactory.resetCounter();
+        bankingService = new BankingService(new TransactionService());
+        bankingService.createUser("john", "secret1", 1000.0);
+        bankingService.createUser("jane", "secret2", 500.0);
+        server = BankingHttpServer.start(new BankingController(bankingService),
+            new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+        client = HttpClient.newHttpClient();
+        baseUri = "http://127.0.0.1:" + server.getPort();
+    }
+    
+    @After
+    public void tearDown() {
+        server.close();
+    }
+    
+    @Test
+    public void testCreateAccountAndLogin() throws Exception {
+        HttpResponse<String> created = post("/accounts", null,
+            "{\"username\":\"alice\",\"password\":\"secret3\",\"initialDeposit\":250}");
+        assertEquals(201, created.statusCode());
+        String accountNumber = (String) Json.parseObject(created.body()).get("accountNumber");
+        assertEquals(accountNumber, bankingService.getAccountByUsername("alice").get().getAccountNumber());
+        
+        String token = login("alice", "secret3");
+        HttpResponse<String> balance = get("/balance", token);
+        assertEquals(200, balance.statusCode());
+        assertEquals(250.0, number(balance, "balance"), 0.001);
+    }
+    
+    @Test
+    public void testCreateExistingAccountConflict() throws Exception {
+        HttpResponse<String> response = post("/accounts", null,
+            "{\"username\":\"john\",\"password\":\"secret1\",\"initialDeposit\":10}");
+        
+        assertEquals(409, response.statusCode());
+        assertNotNull(Json.parseObject(response.body()).get("error"));
+    }
+    
+    @Test
+    public void testLoginWithBadPassword() throws Exception {
+        assertEquals(401, post("/sessions", null, "{\"username\":\"john\",\"password\":\"bad\"}").statusCode());
+    }
+    
+    @Test
+    public void testDepositWithdrawTransfer() throws Exception {
+        String token = login("john", "secret1");
+        
+        HttpResponse<String> deposit = post("/deposit", token, "{\"amount\":100.5}");
+        assertEquals(200, deposit.statusCode());
+        assertEquals(1100.5, number(deposit, "balance"), 0.001);
+        
+        HttpResponse<String> withdraw = post("/withdraw", token, "{\"amount\":0.5}");
+        assertEquals(1100.0, number(withdraw, "balance"), 0.001);
+        
+        HttpResponse<String> transfer = post("/transfer", token, "{\"recipient\":\"jane\",\"amount\":100}");
+        assertEquals(200, transfer.statusCode());
+        assertEquals(1000.0, number(transfer, "balance"), 0.001);
+        assertEquals(600.0, bankingService.getAccountByUsername("jane").get().getBalance(), 0.001);
+    }
+    
+    @Test
+    public void testRefusedOperations() throws Exception {
+        String token = login("john", "secret1");
+        
+        assertEquals(422, post("/withdraw", token, "{\"amount\":5000}").statusCode());
+        assertEquals(422, post("/deposit", token, "{\"amount\":-1}").statusCode());
+        assertEquals(422, post("/transfer", token, "{\"recipient\":\"nobody\",\"amount\":1}").statusCode());
+        assertEquals(1000.0, number(get("/balance", token), "balance"), 0.001);
+    }
+    
+    @Test
+    public void testOversizedBodyRejected() throws Exception {
+        String token = login("john", "secret1");
+        String padding = " ".repeat(128 * 1024);
+        
+        HttpResponse<String> response = post("/deposit", token, "{\"amount\":10" + padding + "}");
+        
+        assertEquals(413, response.statusCode());
+        assertEquals(1000.0, number(get("/balance", token), "balance"), 0.001);
+    }
+    
+    @Test
+    public void testHistoryPage() throws Exception {
+        String token = login("john", "secret1");
+        for (int i = 1; i <= 3; i++) {
+            post("/deposit", token, "{\"amount\":" + i + "}");
+        }
+        
+        HttpResponse<String> response = get("/history?offset=1&limit=1", token);
+        
+        assertEquals(200, response.statusCode());
+        assertTrue(response.body().startsWith("{\"total\":3,\"transactions\":[{\"type\":\"DEPOSIT\",\"amount\":2.0,"));
+        assertEquals(1, response.body().split("\"type\"").length - 1);
+        assertEquals(400, get("/history?limit=abc", token).statusCode());
+        assertEquals(400, get("/history?offset=-1", token).statusCode());
+    }
+    
+    @Test
+    public void testSessionRequired() throws Exception {
+        assertEquals(401, get("/balance", null).statusCode());
+        assertEquals(401, get("/balance", "unknown").statusCode());
+        assertEquals(401, post("/deposit", "unknown", "{\"amount\":1}").statusCode());
+    }
+    
+    @Test
+    public void testLogout() throws Exception {
+        String token = login("john", "secret1");
+        
+        assertEquals(204, send(HttpRequest.newBuilder(URI.create(baseUri + "/sessions")).DELETE()
+            .header("Authorization", "Bearer " + token)).statusCode());
+        assertEquals(401, get("/balance", token).statusCode());
+    }
+    
+    @Test
+    public void testProtocolErrors() throws Exception {
+        String token = login("john", "secret1");
+        
+        assertEquals(400, post("/deposit", token, "{\"amount\":").statusCode());
+        assertEquals(400, post("/deposit", token, "{\"amount\":\"10\"}").statusCode());
+        assertEquals(404, get("/balance/extra", token).statusCode());
+        HttpResponse<String> wrongMethod = post("/balance", token, "{}");
+        assertEquals(405, wrongMethod.statusCode());
+        assertEquals("GET", wrongMethod.headers().firstValue("Allow").orElse(null));
+    }
+    
+    @Test
+    public void testConcurrentClientsKeepBalancesConsistent() throws Exception {
+        int clients = 16;
+        int operations = 50;
+        List<String> tokens = new ArrayList<>();
+        for (int i = 0; i < clients; i++) {
+            bankingService.createUser("client" + i, "password" + i, 1000.0);
+            tokens.add(login("client" + i, "password" + i));
+        }
+        
+        ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        List<Future<Integer>> results = new ArrayList<>();
+        for (int i = 0; i < clients; i++) {
+            String token = tokens.get(i);
+            String recipient = "client" + ((i + 1) % clients);
+            results.add(executor.submit(() -> {
+                int errors = 0;
+                for (int n = 0; n < operations; n++) {
+                    errors += post("/deposit", token, "{\"amount\":2}").statusCode() == 200 ? 0 : 1;
+                    errors += post("/transfer", token,
+                        "{\"recipient\":\"" + recipient + "\",\"amount\":1}").statusCode() == 200 ? 0 : 1;
+                }
+                return errors;
+            }));
+        }
+        for (Future<Integer> result : results) {
+            assertEquals(Integer.valueOf(0), result.get());
+        }
+        executor.close();
+        
+        for (int i = 0; i < clients; i++) {
+            assertEquals(1000.0 + 2 * operations,
+                bankingService.getAccountByUsername("client" + i).get().getBalance(), 0.001);
+        }
+    }
+    
+    private String login(String username, String password) throws Exception {
+        HttpResponse<String> response = post("/sessions", null,
+            "{\"username\":\"" + username + "\",\"password\":\"" + password + "\"}");
+        assertEquals(201, response.statusCode());
+        return (String) Json.parseObject(response.body()).get("token");
+    }
+    
+    private HttpResponse<String> get(String path, String token) throws Exception {
+        return send(authorized(path, token).GET());
+    }
+    
+    private HttpResponse<String> post(String path, String token, String body) throws Exception {
+        return send(authorized(path, token).POST(HttpRequest.BodyPublishers.ofString(body)));
+    }
+    
+    private HttpRequest.Builder authorized(String path, String token) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUri + path));
+        return token != null ? builder.header("Authorization", "Bearer " + token) : builder;
+    }
+    
+    private HttpResponse<String> send(HttpRequest.Builder request) throws Exception {
+        return client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+    }
+    
+    private static double number(HttpResponse<String> response, String field) {
+        Map<String, Object> fields = Json.parseObject(response.body());
+        return ((BigDecimal) fields.get(field)).doubleValue();
+    }
+}
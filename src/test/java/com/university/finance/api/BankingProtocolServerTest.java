@@ -0,0 +1,241 @@
+package com.university.finance.api;
+
+import com.university.finance.api.BankingProtocolClient.Reply;
+import com.university.finance.api.BinaryProtocol.Status;
+import com.university.finance.pattern.factory.AccountFactory;
+import com.university.finance.service.BankingService;
+import com.university.finance.service.TransactionService;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Tests d'intégration pour BankingProtocolServer et BankingProtocolClient,
+ * sur l'interface de bouclage.
+ */
+public class BankingProtocolServerTest {
+    
+    private BankingService bankingService;
+    private BankingProtocolServer server;
+    private BankingProtocolClient client;
+    private String johnAccount;
+    private String janeAccount;
+    
+    @Before
+    public void setUp() throws IOException {
+        AccountFactory.resetCounter();
+        bankingService = new BankingService(new TransactionService());
+        johnAccount = bankingService.createUser("john", "secret1", 1000.0).getAccountNumber();
+        janeAccount = bankingService.createUser("jane", "secret2", 500.0).getAccountNumber();
+        server = BankingProtocolServer.start(bankingService,
+            new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+        client = BankingProtocolClient.connect(address());
+    }
+    
+    @After
+    public void tearDown() throws IOException {
+        client.close();
+        server.close();
+    }
+    
+    @Test
+    public void testLoginAndOperations() throws Exception {
+        assertEquals(Status.OK, await(client.login("john", "secret1")).getStatus());
+        
+        Reply deposit = await(client.deposit(johnAccount, 10_050));
+        assertTrue(deposit.isOk());
+        assertEquals(110_050, deposit.getBalanceMinor());
+        
+        assertEquals(100_050, await(client.withdraw(johnAccount, 10_000)).getBalanceMinor());
+        assertEquals(90_050, await(client.transfer(johnAccount, janeAccount, 10_000)).getBalanceMinor());
+        assertEquals(90_050, await(client.balance(johnAccount)).getBalanceMinor());
+        assertEquals(600.0, bankingService.getBalance(janeAccount), 0.001);
+    }
+    
+    @Test
+    public void testLargeAmountsRoundTripExactly() throws Exception {
+        await(client.login("john", "secret1"));
+        long amount = (1L << 53) + 1;
+        
+        assertEquals(100_000 + amount, await(client.deposit(johnAccount, amount)).getBalanceMinor());
+        assertEquals(100_000, await(client.withdraw(johnAccount, amount)).getBalanceMinor());
+        assertEquals(amount, bankingService.getAccount(johnAccount).get().getTransactions().get(0).getAmountMinor());
+    }
+    
+    @Test
+    public void testRejectedOperations() throws Exception {
+        await(client.login("john", "secret1"));
+        
+        assertEquals(Status.INSUFFICIENT_FUNDS, await(client.withdraw(johnAccount, 1_000_000)).getStatus());
+        assertEquals(Status.INVALID_AMOUNT, await(client.deposit(johnAccount, -5)).getStatus());
+        assertEquals(Status.TARGET_ACCOUNT_NOT_FOUND,
+            await(client.transfer(johnAccount, "ACC-UNKNOWN", 100)).getStatus());
+        assertEquals(0, await(client.withdraw(johnAccount, 1_000_000)).getBalanceMinor());
+        assertEquals(1000.0, bankingService.getBalance(johnAccount), 0.001);
+    }
+    
+    @Test
+    public void testOperationsRequireOwnedAccount() throws Exception {
+        assertEquals(Status.UNAUTHORIZED, await(client.deposit(johnAccount, 100)).getStatus());
+        assertEquals(Status.UNAUTHORIZED, await(client.login("john", "wrong")).getStatus());
+        assertEquals(Status.UNAUTHORIZED, await(client.balance(johnAccount)).getStatus());
+        
+        await(client.login("john", "secret1"));
+        assertEquals(Status.UNAUTHORIZED, await(client.withdraw(janeAccount, 100)).getStatus());
+        assertEquals(Status.UNAUTHORIZED, await(client.transfer(janeAccount, johnAccount, 100)).getStatus());
+        assertEquals(500.0, bankingService.getBalance(janeAccount), 0.001);
+    }
+    
+    @Test
+    public void testPipelinedRequestsAnsweredInOrder() throws Exception {
+        client.login("john", "secret1");
+        List<CompletableFuture<Reply>> replies = new ArrayList<>();
+        int operations = 5000;
+        for (int i = 0; i < operations; i++) {
+            replies.add(client.deposit(johnAccount, 1));
+            if (i % 1000 == 0) {
+                replies.add(client.withdraw(janeAccount, 1));
+                replies.add(client.balance(johnAccount));
+            }
+        }
+        client.flush();
+        
+        long expected = 100_000;
+        long previousId = 0;
+        for (CompletableFuture<Reply> future : replies) {
+            Reply reply = future.get(10, TimeUnit.SECONDS);
+            assertTrue(reply.getCorrelationId() > previousId);
+            previousId = reply.getCorrelationId();
+            if (reply.getStatus() == Status.UNAUTHORIZED) {
+                continue;
+            }
+            assertEquals(Status.OK, reply.getStatus());
+            if (reply.getBalanceMinor() != expected) {
+                expected++;
+            }
+            assertEquals(expected, reply.getBalanceMinor());
+        }
+        assertEquals(100_000 + operations, expected);
+        assertEquals(1000.0 + operations / 100.0, bankingService.getBalance(johnAccount), 0.001);
+        assertEquals(0, client.getPendingCount());
+    }
+    
+    @Test
+    public void testConcurrentConnections() throws Exception {
+        int connections = 8;
+        int operations = 2000;
+        List<BankingProtocolClient> clients = new ArrayList<>();
+        List<CompletableFuture<Reply>> last = new ArrayList<>();
+        for (int i = 0; i < connections; i++) {
+            BankingProtocolClient other = BankingProtocolClient.connect(address());
+            clients.add(other);
+            other.login("john", "secret1");
+        }
+        for (int n = 0; n < operations; n++) {
+            for (BankingProtocolClient other : clients) {
+                CompletableFuture<Reply> reply = other.transfer(johnAccount, janeAccount, 1);
+                if (n == operations - 1) {
+                    last.add(reply);
+                }
+            }
+        }
+        for (BankingProtocolClient other : clients) {
+            other.flush();
+        }
+        for (CompletableFuture<Reply> reply : last) {
+            assertTrue(reply.get(10, TimeUnit.SECONDS).isOk());
+        }
+        for (BankingProtocolClient other : clients) {
+            other.close();
+        }
+        
+        assertEquals(1000.0 - connections * operations / 100.0, bankingService.getBalance(johnAccount), 0.001);
+        assertEquals(500.0 + connections * operations / 100.0, bankingService.getBalance(janeAccount), 0.001);
+    }
+    
+    @Test
+    public void testUnknownOperationAndTruncatedRequest() throws Exception {
+        try (SocketChannel channel = SocketChannel.open(address())) {
+            ByteBuffer request = ByteBuffer.allocate(64);
+            request.putInt(9).putLong(7).put((byte) 42);
+            request.putInt(11).putLong(8).put(BinaryProtocol.BALANCE).put((byte) 30).put((byte) 'A');
+            request.flip();
+            channel.write(request);
+            
+            ByteBuffer response = read(channel, 2 * BinaryProtocol.RESPONSE_FRAME);
+            assertEquals(BinaryProtocol.RESPONSE_LENGTH, response.getInt());
+            assertEquals(7, response.getLong());
+            assertEquals(Status.MALFORMED.ordinal(), response.get());
+            response.getLong();
+            response.getInt();
+            assertEquals(8, response.getLong());
+            assertEquals(Status.MALFORMED.ordinal(), response.get());
+        }
+    }
+    
+    @Test
+    public void testOversizedRequestClosesConnection() throws Exception {
+        try (SocketChannel channel = SocketChannel.open(address())) {
+            ByteBuffer request = ByteBuffer.allocate(4).putInt(BinaryProtocol.MAX_REQUEST_LENGTH + 1);
+            request.flip();
+            channel.write(request);
+            
+            assertEquals(-1, channel.read(ByteBuffer.allocate(16)));
+        }
+    }
+    
+    @Test
+    public void testPendingRequestsFailWhenServerStops() throws Exception {
+        await(client.login("john", "secret1"));
+        server.close();
+        
+        CompletableFuture<Reply> reply = client.balance(johnAccount);
+        try {
+            client.flush();
+        } catch (RuntimeException e) {
+            // Connexion déjà fermée par le serveur
+        }
+        try {
+            reply.get(10, TimeUnit.SECONDS);
+            fail("La requête aurait dû échouer");
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof IOException);
+        }
+    }
+    
+    @Test(expected = IllegalArgumentException.class)
+    public void testAccountNumberTooLong() {
+        client.deposit(new String(new char[300]).replace('\0', 'A'), 100);
+    }
+    
+    private InetSocketAddress address() {
+        return new InetSocketAddress(InetAddress.getLoopbackAddress(), server.getPort());
+    }
+    
+    private Reply await(CompletableFuture<Reply> reply) throws Exception {
+        client.flush();
+        return reply.get(10, TimeUnit.SECONDS);
+    }
+    
+    private static ByteBuffer read(SocketChannel channel, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer) < 0) {
+                throw new IOException("Connexion fermée");
+            }
+        }
+        buffer.flip();
+        return buffer;
+    }
+}
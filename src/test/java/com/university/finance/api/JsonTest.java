@@ -0,0 +1,76 @@
+package com.university.finance.api;
+
+import java.math.BigDecimal;
+import java.util.Map;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Tests unitaires pour Json.
+ */
+public class JsonTest {
+    
+    @Test
+    public void testParseFlatObject() {
+        Map<String, Object> fields = Json.parseObject(
+            " { \"name\" : \"john\", \"amount\": 12.50, \"active\": true, \"note\": null, \"n\": -3e2 } ");
+        
+        assertEquals("john", fields.get("name"));
+        assertEquals(new BigDecimal("12.50"), fields.get("amount"));
+        assertEquals(Boolean.TRUE, fields.get("active"));
+        assertTrue(fields.containsKey("note"));
+        assertNull(fields.get("note"));
+        assertEquals(-300.0, ((BigDecimal) fields.get("n")).doubleValue(), 0.0);
+    }
+    
+    @Test
+    public void testParseEmptyObject() {
+        assertTrue(Json.parseObject("{}").isEmpty());
+    }
+    
+    @Test
+    public void testParseEscapes() {
+        Map<String, Object> fields = Json.parseObject("{\"s\":\"a\\\"b\\\\c\\n\\u00e9\\/\"}");
+        
+        assertEquals("a\"b\\c\né/", fields.get("s"));
+    }
+    
+    @Test
+    public void testParseRejectsInvalidText() {
+        String[] invalid = {"", "[]", "{\"a\":1", "{\"a\" 1}", "{\"a\":1}x", "{\"a\":tru}",
+            "{\"a\":1.2.3}", "{\"a\":\"\\x\"}", "{a:1}", "{\"a\":{\"b\":1}}"};
+        for (String text : invalid) {
+            try {
+                Json.parseObject(text);
+                fail("Texte accepté: " + text);
+            } catch (IllegalArgumentException e) {
+                assertTrue(e.getMessage().startsWith("JSON invalide"));
+            }
+        }
+    }
+    
+    @Test
+    public void testWriterRoundTrip() {
+        String json = Json.object()
+            .field("name", "jo\"hn\t")
+            .field("count", 3L)
+            .field("balance", 12.5)
+            .field("active", false)
+            .field("missing", (String) null)
+            .toString();
+        
+        Map<String, Object> fields = Json.parseObject(json);
+        assertEquals("jo\"hn\t", fields.get("name"));
+        assertEquals(new BigDecimal("3"), fields.get("count"));
+        assertEquals(new BigDecimal("12.5"), fields.get("balance"));
+        assertEquals(Boolean.FALSE, fields.get("active"));
+        assertNull(fields.get("missing"));
+    }
+    
+    @Test
+    public void testWriterRawValueAndControlCharacters() {
+        String json = Json.object().field("s", "\u0001").raw("items", "[1,2]").toString();
+        
+        assertEquals("{\"s\":\"\\u0001\",\"items\":[1,2]}", json);
+    }
+}
@@ -1,11 +1,15 @@
 package com.university.finance.controller;
 
 import com.university.finance.model.Account;
+import com.university.finance.model.HistoryPage;
+import com.university.finance.model.HistoryQuery;
+import com.university.finance.model.Transaction;
 import com.university.finance.model.User;
 import com.university.finance.service.BankingService;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.time.LocalDateTime;
 import java.util.Optional;
 
 import static org.junit.Assert.*;
@@ -301,6 +305,51 @@ public class BankingControllerTest {
         assertNull(history);
     }
     
+    @Test
+    public void testGetTransactionHistoryPage_LoggedIn() {
+        User user = new User("john", "pass123");
+        Account account = new Account("ACC001", user.getUsername(), 0.0);
+        for (long amount = 1; amount <= 30; amount++) {
+            account.addTransaction(Transaction.ofMinor("ACC001", "DEPOSIT", amount, 0, amount, LocalDateTime.now()));
+        }
+        
+        when(bankingService.authenticate("john", "pass123")).thenReturn(true);
+        when(bankingService.getAccountByUsername("john")).thenReturn(Optional.of(account));
+        
+        controller.login("john", "pass123");
+        var page = controller.getTransactionHistory(20, 20);
+        
+        assertEquals(10, page.size());
+        assertEquals(21, page.get(0).getAmountMinor());
+        assertEquals(30, controller.getTotalTransactionCount());
+    }
+    
+    @Test
+    public void testGetTransactionHistoryQuery_LoggedIn() {
+        User user = new User("john", "pass123");
+        Account account = new Account("ACC001", user.getUsername(), 0.0);
+        LocalDateTime start = LocalDateTime.of(2024, 1, 1, 0, 0);
+        for (int day = 0; day < 90; day++) {
+            account.addTransaction(Transaction.ofMinor("ACC001", "DEPOSIT", 100, 0, 100, start.plusDays(day)));
+        }
+        
+        when(bankingService.authenticate("john", "pass123")).thenReturn(true);
+        when(bankingService.getAccountByUsername("john")).thenReturn(Optional.of(account));
+        
+        controller.login("john", "pass123");
+        HistoryPage february = controller.getTransactionHistory(
+            HistoryQuery.between(start.plusMonths(1), start.plusMonths(2)));
+        
+        assertEquals(29, february.getTransactions().size());
+        assertFalse(february.hasMore());
+    }
+    
+    @Test
+    public void testGetTransactionHistoryPage_NotLoggedIn() {
+        assertNull(controller.getTransactionHistory(0, 20));
+        assertNull(controller.getTransactionHistory(HistoryQuery.all()));
+    }
+    
     // ========== Tests de statistiques ==========
     
     @Test
@@ -316,6 +365,30 @@ public class BankingControllerTest {
         assertEquals(0.0, controller.getTotalTransfers(), 0.01);
     }
     
+    @Test
+    public void testGetStatisticsPerType_LoggedIn() {
+        User user = new User("john", "pass123");
+        Account account = new Account("ACC001", user.getUsername(), 0.0);
+        account.addTransaction(Transaction.ofMinor("ACC001", "DEPOSIT", 50_000, 0, 50_000, LocalDateTime.now()));
+        account.addTransaction(Transaction.ofMinor("ACC001", "DEPOSIT", 20_000, 50_000, 70_000, LocalDateTime.now()));
+        account.addTransaction(Transaction.ofMinor("ACC001", "WITHDRAW", -10_000, 70_000, 60_000, LocalDateTime.now()));
+        
+        when(bankingService.authenticate("john", "pass123")).thenReturn(true);
+        when(bankingService.getAccountByUsername("john")).thenReturn(Optional.of(account));
+        
+        controller.login("john", "pass123");
+        
+        assertEquals(700.0, controller.getTotalDeposits(), 0.01);
+        assertEquals(-100.0, controller.getTotalWithdrawals(), 0.01);
+        assertEquals(2, controller.getStatistics().get("DEPOSIT").getCount());
+        assertEquals(20_000, controller.getStatistics().get("DEPOSIT").getMinMinor());
+    }
+    
+    @Test
+    public void testGetStatisticsPerType_NotLoggedIn() {
+        assertTrue(controller.getStatistics().isEmpty());
+    }
+    
     // ========== Tests de vérification d'utilisateur ==========
     
     @Test
@@ -336,4 +409,83 @@ public class BankingControllerTest {
         boolean exists = controller.userExists("ghost");
         assertFalse(exists);
     }
+    
+    // ========== Tests des sessions ==========
+    
+    @Test
+    public void testOpenSession_Success() {
+        when(bankingService.authenticate("john", "pass123")).thenReturn(true);
+        
+        String token = controller.openSession("john", "pass123");
+        
+        assertNotNull(token);
+        assertTrue(controller.isSessionValid(token));
+        assertEquals("john", controller.getUsername(token));
+        assertFalse(controller.isLoggedIn());
+    }
+    
+    @Test
+    public void testOpenSession_Failure() {
+        when(bankingService.authenticate("john", "wrongpass")).thenReturn(false);
+        
+        assertNull(controller.openSession("john", "wrongpass"));
+        assertEquals(0, controller.getSessionRegistry().size());
+    }
+    
+    @Test
+    public void testSessionsAreIndependent() {
+        Account johnAccount = new Account("ACC001", "john", 1000.0);
+        Account janeAccount = new Account("ACC002", "jane", 500.0);
+        when(bankingService.authenticate(anyString(), anyString())).thenReturn(true);
+        when(bankingService.getAccountByUsername("john")).thenReturn(Optional.of(johnAccount));
+        when(bankingService.getAccountByUsername("jane")).thenReturn(Optional.of(janeAccount));
+        
+        String john = controller.openSession("john", "pass123");
+        String jane = controller.openSession("jane", "pass456");
+        
+        assertTrue(controller.deposit(john, 100.0));
+        assertTrue(controller.withdraw(jane, 50.0));
+        assertTrue(controller.transfer(john, "jane", 25.0));
+        assertEquals(500.0, controller.getBalance(jane), 0.01);
+        verify(bankingService).deposit("ACC001", 100.0);
+        verify(bankingService).withdraw("ACC002", 50.0);
+        verify(bankingService).transfer("ACC001", "ACC002", 25.0);
+    }
+    
+    @Test
+    public void testSessionAccountResolvedOnce() {
+        Account account = new Account("ACC001", "john", 1000.0);
+        when(bankingService.authenticate("john", "pass123")).thenReturn(true);
+        when(bankingService.getAccountByUsername("john")).thenReturn(Optional.of(account));
+        String token = controller.openSession("john", "pass123");
+        
+        controller.deposit(token, 10.0);
+        controller.deposit(token, 10.0);
+        controller.getBalance(token);
+        
+        verify(bankingService, times(1)).getAccountByUsername("john");
+    }
+    
+    @Test
+    public void testClosedSessionRejected() {
+        when(bankingService.authenticate("john", "pass123")).thenReturn(true);
+        String token = controller.openSession("john", "pass123");
+        
+        assertTrue(controller.closeSession(token));
+        
+        assertFalse(controller.isSessionValid(token));
+        assertFalse(controller.deposit(token, 100.0));
+        assertNull(controller.getBalance(token));
+        assertNull(controller.getTransactionHistory(token, 0, 20));
+        assertTrue(controller.getStatistics(token).isEmpty());
+        verify(bankingService, never()).deposit(anyString(), anyDouble());
+    }
+    
+    @Test
+    public void testUnknownTokenRejected() {
+        assertFalse(controller.withdraw("inconnu", 10.0));
+        assertFalse(controller.transfer("inconnu", "jane", 10.0));
+        assertEquals(0, controller.getTotalTransactionCount("inconnu"));
+        assertNull(controller.getUsername("inconnu"));
+    }
 }
@@ -0,0 +1,142 @@
+package com.university.finance.controller;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Tests unitaires pour SessionRegistry.
+ */
+public class SessionRegistryTest {
+    
+    private static final long IDLE_TIMEOUT = 10_000;
+    private static final long TICK = 100;
+    
+    private AtomicLong now;
+    private SessionRegistry registry;
+    
+    @Before
+    public void setUp() {
+        now = new AtomicLong(1_000_000);
+        registry = new SessionRegistry(IDLE_TIMEOUT, TICK, 16, now::get);
+    }
+    
+    @After
+    public void tearDown() {
+        registry.close();
+    }
+    
+    @Test
+    public void testOpenAndLookup() {
+        Session session = registry.open("john");
+        
+        assertSame(session, registry.get(session.getToken()));
+        assertEquals("john", session.getUsername());
+        assertEquals(1, registry.size());
+    }
+    
+    @Test
+    public void testTokensAreOpaqueAndDistinct() {
+        Set<String> tokens = new HashSet<>();
+        for (int i = 0; i < 1000; i++) {
+            tokens.add(registry.open("john").getToken());
+        }
+        
+        assertEquals(1000, tokens.size());
+        assertEquals(22, tokens.iterator().next().length());
+        assertFalse(tokens.iterator().next().contains("john"));
+    }
+    
+    @Test
+    public void testUnknownOrNullToken() {
+        assertNull(registry.get("inconnu"));
+        assertNull(registry.get(null));
+        assertFalse(registry.close(null));
+    }
+    
+    @Test
+    public void testClose() {
+        Session session = registry.open("john");
+        
+        assertTrue(registry.close(session.getToken()));
+        
+        assertNull(registry.get(session.getToken()));
+        assertTrue(session.isClosed());
+        assertFalse(registry.close(session.getToken()));
+    }
+    
+    @Test
+    public void testLookupRejectsIdleSessionBetweenTicks() {
+        Session session = registry.open("john");
+        
+        now.addAndGet(IDLE_TIMEOUT);
+        
+        assertNull(registry.get(session.getToken()));
+        assertEquals(0, registry.size());
+        assertEquals(1, registry.getExpiredCount());
+    }
+    
+    @Test
+    public void testWheelExpiresIdleSessions() {
+        Session idle = registry.open("john");
+        Session active = registry.open("jane");
+        
+        // Plusieurs tours de roue (16 cases de 100 ms) avant l'échéance
+        for (long elapsed = TICK; elapsed <= IDLE_TIMEOUT + TICK; elapsed += TICK) {
+            now.addAndGet(TICK);
+            if (elapsed % 2_000 == 0) {
+                assertNotNull(registry.get(active.getToken()));
+            }
+            registry.advance();
+        }
+        
+        assertTrue(idle.isClosed());
+        assertFalse(active.isClosed());
+        assertEquals(1, registry.size());
+        assertEquals(1, registry.getExpiredCount());
+    }
+    
+    @Test
+    public void testActivityPostponesExpiry() {
+        Session session = registry.open("john");
+        
+        now.addAndGet(IDLE_TIMEOUT - TICK);
+        assertNotNull(registry.get(session.getToken()));
+        now.addAndGet(IDLE_TIMEOUT - TICK);
+        registry.advance();
+        
+        assertNotNull(registry.get(session.getToken()));
+        now.addAndGet(IDLE_TIMEOUT + TICK);
+        registry.advance();
+        
+        assertTrue(session.isClosed());
+    }
+    
+    @Test
+    public void testManySessionsExpireTogether() {
+        for (int i = 0; i < 10_000; i++) {
+            registry.open("user" + i);
+        }
+        
+        now.addAndGet(IDLE_TIMEOUT + TICK);
+        registry.advance();
+        
+        assertEquals(0, registry.size());
+        assertEquals(10_000, registry.getExpiredCount());
+    }
+    
+    @Test(expected = IllegalArgumentException.class)
+    public void testIdleTimeoutShorterThanTicksRejected() {
+        new SessionRegistry(TICK, TICK, 16, now::get);
+    }
+    
+    @Test(expected = IllegalStateException.class)
+    public void testStartOnce() {
+        registry.start();
+        registry.start();
+    }
+}
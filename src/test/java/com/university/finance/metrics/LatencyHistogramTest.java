@@ -0,0 +1,115 @@
+package com.university.finance.metrics;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Tests unitaires pour LatencyHistogram.
+ */
+public class LatencyHistogramTest {
+    
+    private LatencyHistogram histogram;
+    
+    @Before
+    public void setUp() {
+        histogram = new LatencyHistogram();
+    }
+    
+    @Test
+    public void testEmpty() {
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getMax());
+        assertEquals(0, histogram.getValueAtPercentile(99));
+        assertEquals(0.0, histogram.getMean(), 0.0);
+    }
+    
+    @Test
+    public void testSmallValuesAreExact() {
+        for (long value = 1; value <= 10; value++) {
+            histogram.record(value);
+        }
+        
+        assertEquals(10, histogram.getCount());
+        assertEquals(5, histogram.getValueAtPercentile(50));
+        assertEquals(10, histogram.getValueAtPercentile(100));
+        assertEquals(5.5, histogram.getMean(), 0.001);
+    }
+    
+    @Test
+    public void testIndexAndHighestValueAreConsistent() {
+        long[] values = {0, 31, 32, 33, 63, 64, 1000, 123_456_789L, Long.MAX_VALUE};
+        for (long value : values) {
+            int index = LatencyHistogram.index(value);
+            assertTrue(value <= LatencyHistogram.highestValue(index));
+            if (index > 0) {
+                assertTrue(value > LatencyHistogram.highestValue(index - 1));
+            }
+        }
+    }
+    
+    @Test
+    public void testRelativeErrorIsBounded() {
+        for (long value = 1; value <= 1_000_000; value += 997) {
+            long upper = LatencyHistogram.highestValue(LatencyHistogram.index(value));
+            assertTrue((upper - value) <= value / LatencyHistogram.SUB_BUCKETS);
+        }
+    }
+    
+    @Test
+    public void testPercentilesOnSkewedDistribution() {
+        for (int i = 0; i < 990; i++) {
+            histogram.record(1_000);
+        }
+        for (int i = 0; i < 10; i++) {
+            histogram.record(1_000_000);
+        }
+        
+        assertTrue(histogram.getValueAtPercentile(50) < 1_100);
+        assertTrue(histogram.getValueAtPercentile(99) < 1_100);
+        assertEquals(1_000_000, histogram.getValueAtPercentile(99.9));
+        assertEquals(1_000_000, histogram.getMax());
+    }
+    
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidPercentile() {
+        histogram.getValueAtPercentile(101);
+    }
+    
+    @Test
+    public void testNegativeValuesCountAsZero() {
+        histogram.record(-5);
+        
+        assertEquals(1, histogram.getCount());
+        assertEquals(0, histogram.getMax());
+    }
+    
+    @Test
+    public void testReset() {
+        histogram.record(42);
+        histogram.reset();
+        
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getMax());
+    }
+    
+    @Test
+    public void testConcurrentRecordingLosesNothing() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        for (int t = 0; t < 4; t++) {
+            executor.execute(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    histogram.record(i);
+                }
+            });
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+        
+        assertEquals(40_000, histogram.getCount());
+        assertEquals(9_999, histogram.getMax());
+    }
+}
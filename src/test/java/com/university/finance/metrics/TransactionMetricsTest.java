@@ -0,0 +1,89 @@
+package com.university.finance.metrics;
+
+import java.util.concurrent.TimeUnit;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Tests unitaires pour TransactionMetrics.
+ */
+public class TransactionMetricsTest {
+    
+    private TransactionMetrics metrics;
+    
+    @Before
+    public void setUp() {
+        metrics = new TransactionMetrics();
+    }
+    
+    @After
+    public void tearDown() {
+        metrics.close();
+    }
+    
+    @Test
+    public void testOperationsAndRejectionsAreCountedSeparately() {
+        metrics.recordOperation(Operation.DEPOSIT, 1_000);
+        metrics.recordOperation(Operation.DEPOSIT, 2_000);
+        metrics.recordOperation(Operation.TRANSFER, 5_000);
+        metrics.recordRejection(RejectionReason.INSUFFICIENT_FUNDS);
+        
+        assertEquals(2, metrics.getOperationCount(Operation.DEPOSIT));
+        assertEquals(1, metrics.getOperationCount(Operation.TRANSFER));
+        assertEquals(0, metrics.getOperationCount(Operation.WITHDRAW));
+        assertEquals(1, metrics.getRejectionCount(RejectionReason.INSUFFICIENT_FUNDS));
+        assertEquals(0, metrics.getRejectionCount(RejectionReason.ACCOUNT_NOT_FOUND));
+        assertEquals(5_000, metrics.getLatency(Operation.TRANSFER).getMax());
+    }
+    
+    @Test
+    public void testObserverLatencyIsSharedByName() {
+        LatencyHistogram first = metrics.observerLatency("AuditLogger");
+        
+        assertSame(first, metrics.observerLatency("AuditLogger"));
+        first.record(100);
+        metrics.observerLatency("NotificationService").record(200);
+        
+        assertEquals(2, metrics.getObserverLatencies().size());
+        assertEquals("AuditLogger", metrics.getObserverLatencies().keySet().iterator().next());
+    }
+    
+    @Test
+    public void testDumpListsOnlyNonEmptySeries() {
+        metrics.recordOperation(Operation.WITHDRAW, 3_000);
+        metrics.recordRejection(RejectionReason.INVALID_AMOUNT);
+        metrics.observerLatency("AuditLogger").record(50);
+        
+        String dump = metrics.dump();
+        
+        assertTrue(dump.contains("WITHDRAW: 1"));
+        assertFalse(dump.contains("DEPOSIT"));
+        assertTrue(dump.contains("refus INVALID_AMOUNT: 1"));
+        assertTrue(dump.contains("observateur AuditLogger: 1"));
+    }
+    
+    @Test
+    public void testBalanceContention() {
+        metrics.recordBalanceContention(1);
+        metrics.recordBalanceContention(3);
+        
+        assertEquals(2, metrics.getContendedUpdateCount());
+        assertEquals(4, metrics.getBalanceRetryCount());
+        assertTrue(metrics.dump().contains("conflits de solde: 2"));
+    }
+    
+    @Test(expected = IllegalStateException.class)
+    public void testPeriodicDumpStartsOnce() {
+        metrics.startPeriodicDump(1, TimeUnit.HOURS);
+        metrics.startPeriodicDump(1, TimeUnit.HOURS);
+    }
+    
+    @Test
+    public void testCloseAllowsRestart() {
+        metrics.startPeriodicDump(1, TimeUnit.HOURS);
+        metrics.close();
+        metrics.startPeriodicDump(1, TimeUnit.HOURS);
+    }
+}
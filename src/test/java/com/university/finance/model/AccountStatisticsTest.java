@@ -0,0 +1,68 @@
+package com.university.finance.model;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Tests unitaires pour AccountStatistics.
+ */
+public class AccountStatisticsTest {
+    
+    private AccountStatistics statistics;
+    
+    @Before
+    public void setUp() {
+        statistics = new AccountStatistics();
+    }
+    
+    @Test
+    public void testEmptyType() {
+        TransactionStatistics deposits = statistics.get("DEPOSIT");
+        
+        assertEquals(0, deposits.getCount());
+        assertEquals(0.0, deposits.getTotal(), 0.001);
+        assertNull(deposits.getLastActivity());
+    }
+    
+    @Test
+    public void testRunningAggregatesPerType() {
+        LocalDateTime first = LocalDateTime.of(2024, 1, 1, 10, 0);
+        LocalDateTime last = LocalDateTime.of(2024, 1, 2, 10, 0);
+        statistics.record(Transaction.ofMinor("ACC-001", "DEPOSIT", 500, 0, 500, first));
+        statistics.record(Transaction.ofMinor("ACC-001", "DEPOSIT", 1500, 500, 2000, last));
+        statistics.record(Transaction.ofMinor("ACC-001", "WITHDRAW", -300, 2000, 1700, first));
+        
+        TransactionStatistics deposits = statistics.get("DEPOSIT");
+        assertEquals(2, deposits.getCount());
+        assertEquals(2000, deposits.getTotalMinor());
+        assertEquals(500, deposits.getMinMinor());
+        assertEquals(1500, deposits.getMaxMinor());
+        assertEquals(last, deposits.getLastActivity());
+        assertEquals(-300, statistics.get("WITHDRAW").getTotalMinor());
+    }
+    
+    @Test
+    public void testGetAllSortedByType() {
+        statistics.record(Transaction.ofMinor("ACC-001", "WITHDRAW", -300, 2000, 1700, LocalDateTime.now()));
+        statistics.record(Transaction.ofMinor("ACC-001", "DEPOSIT", 500, 0, 500, LocalDateTime.now()));
+        
+        Map<String, TransactionStatistics> all = statistics.getAll();
+        
+        assertEquals(2, all.size());
+        assertEquals("DEPOSIT", all.keySet().iterator().next());
+    }
+    
+    @Test
+    public void testAccountRecordsStatistics() {
+        Account account = new Account("ACC-001", "testuser", 0.0);
+        for (long amount = 1; amount <= 100; amount++) {
+            account.addTransaction(Transaction.ofMinor("ACC-001", "DEPOSIT", amount, 0, amount, LocalDateTime.now()));
+        }
+        
+        assertEquals(100, account.getStatistics("DEPOSIT").getCount());
+        assertEquals(5050, account.getStatistics("DEPOSIT").getTotalMinor());
+    }
+}
@@ -1,5 +1,7 @@
 package com.university.finance.model;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import org.junit.Test;
 import static org.junit.Assert.*;
 
@@ -36,6 +38,20 @@ public class AccountTest {
         assertTrue(account.getTransactions().isEmpty());
     }
     
+    @Test
+    public void testTransactionHistoryPaging() {
+        Account account = new Account("ACC-006", "testuser", 0.0);
+        for (long amount = 1; amount <= 5; amount++) {
+            account.addTransaction(Transaction.ofMinor("ACC-006", "DEPOSIT", amount, 0, amount, LocalDateTime.now()));
+        }
+        
+        List<Transaction> page = account.getTransactions(3, 10);
+        
+        assertEquals(5, account.getTransactionCount());
+        assertEquals(2, page.size());
+        assertEquals(4, page.get(0).getAmountMinor());
+    }
+    
     @Test
     public void testToString() {
         Account account = new Account("ACC-005", "testuser", 1000.0);
@@ -45,4 +61,48 @@ public class AccountTest {
         assertTrue(result.contains("testuser"));
         assertTrue(result.contains("1000"));
     }
+    
+    @Test
+    public void testCompareAndSetBalance() {
+        Account account = Account.ofMinor("ACC-007", "testuser", 1000);
+        
+        assertTrue(account.compareAndSetBalanceMinor(1000, 1500));
+        assertFalse(account.compareAndSetBalanceMinor(1000, 2000));
+        assertEquals(1500, account.getBalanceMinor());
+    }
+    
+    @Test
+    public void testStripedCreditsSettledBeforeDebit() {
+        Account account = Account.ofMinor("ACC-008", "merchant", 1000);
+        account.enableStripedCredits();
+        
+        assertTrue(account.addStripedCredit(250));
+        assertTrue(account.addStripedCredit(250));
+        
+        assertEquals(1500, account.getBalanceMinor());
+        assertEquals(1000, account.getSettledBalanceMinor());
+        account.settleCredits();
+        assertEquals(1500, account.getSettledBalanceMinor());
+        assertEquals(1500, account.getBalanceMinor());
+    }
+    
+    @Test
+    public void testStripedCreditRequiresOptIn() {
+        Account account = Account.ofMinor("ACC-009", "testuser", 1000);
+        
+        assertFalse(account.hasStripedCredits());
+        assertFalse(account.addStripedCredit(100));
+        assertEquals(1000, account.getBalanceMinor());
+    }
+    
+    @Test
+    public void testSetBalanceDropsPendingCredits() {
+        Account account = Account.ofMinor("ACC-010", "merchant", 1000);
+        account.enableStripedCredits();
+        account.addStripedCredit(500);
+        
+        account.setBalanceMinor(200);
+        
+        assertEquals(200, account.getBalanceMinor());
+    }
 }
@@ -0,0 +1,81 @@
+package com.university.finance.model;
+
+import java.time.LocalDateTime;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Tests unitaires pour ColumnarTransactionStore.
+ */
+public class ColumnarTransactionStoreTest {
+    
+    private ColumnarTransactionStore store;
+    
+    @Before
+    public void setUp() {
+        store = new ColumnarTransactionStore();
+    }
+    
+    @Test
+    public void testRoundTripKeepsAllFields() {
+        LocalDateTime timestamp = LocalDateTime.of(2024, 2, 29, 23, 59, 59, 999_999_999);
+        Transaction original = Transaction.ofMinor("ACC-0001", "TRANSFER_OUT", -25_000, 100_000, 75_000,
+            timestamp, "Transfert vers ACC-0002");
+        
+        store.add(original);
+        Transaction copy = store.get(0);
+        
+        assertNotSame(original, copy);
+        assertEquals("ACC-0001", copy.getAccountNumber());
+        assertEquals("TRANSFER_OUT", copy.getType());
+        assertEquals(-25_000, copy.getAmountMinor());
+        assertEquals(100_000, copy.getBalanceBeforeMinor());
+        assertEquals(75_000, copy.getBalanceAfterMinor());
+        assertEquals(timestamp, copy.getTimestamp());
+        assertEquals("Transfert vers ACC-0002", copy.getDescription());
+    }
+    
+    @Test
+    public void testStringsAreNotSharedBetweenStores() {
+        String description = new String("Transfert vers ACC-0002");
+        store.add(Transaction.ofMinor("ACC-0001", "TRANSFER_OUT", -100, 100, 0, LocalDateTime.now(), description));
+        
+        ColumnarTransactionStore other = new ColumnarTransactionStore();
+        String otherDescription = new String(description);
+        other.add(Transaction.ofMinor("ACC-0003", "TRANSFER_OUT", -100, 100, 0, LocalDateTime.now(), otherDescription));
+        
+        assertSame(description, store.get(0).getDescription());
+        assertSame(otherDescription, other.get(0).getDescription());
+    }
+    
+    @Test
+    public void testTimestampBeforeEpoch() {
+        LocalDateTime timestamp = LocalDateTime.of(1969, 12, 31, 23, 59, 59, 500);
+        
+        assertEquals(timestamp,
+            ColumnarTransactionStore.fromEpochNanos(ColumnarTransactionStore.toEpochNanos(timestamp)));
+    }
+    
+    @Test
+    public void testNullTypeAndAccountNumber() {
+        store.add(Transaction.ofMinor(null, null, 100, 0, 100, LocalDateTime.now()));
+        
+        assertNull(store.get(0).getType());
+        assertNull(store.get(0).getAccountNumber());
+    }
+    
+    @Test
+    public void testGrowAndRemoveFirst() {
+        for (long amount = 1; amount <= 100; amount++) {
+            store.add(Transaction.ofMinor("ACC-0001", "DEPOSIT", amount, 0, amount, LocalDateTime.now()));
+        }
+        
+        assertEquals(30, store.first(30).size());
+        store.removeFirst(30);
+        
+        assertEquals(70, store.size());
+        assertEquals(31, store.get(0).getAmountMinor());
+        assertEquals(100, store.get(69).getAmountMinor());
+    }
+}
@@ -0,0 +1,35 @@
+package com.university.finance.model;
+
+import java.time.LocalDateTime;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Tests unitaires pour HistoryQuery.
+ */
+public class HistoryQueryTest {
+    
+    @Test
+    public void testWithersReturnNewQuery() {
+        HistoryQuery base = HistoryQuery.all();
+        HistoryQuery filtered = base.withTypes("DEPOSIT").withCursor(10).withLimit(5);
+        
+        assertTrue(base.getTypes().isEmpty());
+        assertEquals(HistoryQuery.DEFAULT_LIMIT, base.getLimit());
+        assertEquals(10, filtered.getCursor());
+        assertEquals(5, filtered.getLimit());
+        assertTrue(filtered.matchesType("DEPOSIT"));
+        assertFalse(filtered.matchesType("WITHDRAW"));
+    }
+    
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvertedRange() {
+        LocalDateTime now = LocalDateTime.now();
+        HistoryQuery.between(now, now.minusDays(1));
+    }
+    
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidLimit() {
+        HistoryQuery.all().withLimit(0);
+    }
+}
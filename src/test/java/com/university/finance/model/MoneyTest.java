@@ -0,0 +1,51 @@
+package com.university.finance.model;
+
+import java.math.BigDecimal;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Tests unitaires pour Money.
+ */
+public class MoneyTest {
+    
+    @Test
+    public void testOfRoundsToMinorUnits() {
+        assertEquals(1234, Money.of(12.34));
+        assertEquals(29, Money.of(0.29));
+        assertEquals(-50, Money.of(-0.5));
+        assertEquals(1234, Money.of(new BigDecimal("12.34")));
+    }
+    
+    @Test(expected = IllegalArgumentException.class)
+    public void testOfRejectsNaN() {
+        Money.of(Double.NaN);
+    }
+    
+    @Test(expected = ArithmeticException.class)
+    public void testOfBigDecimalRejectsExtraDecimals() {
+        Money.of(new BigDecimal("1.001"));
+    }
+    
+    @Test
+    public void testRepeatedAdditionIsExact() {
+        long total = 0;
+        for (int i = 0; i < 1_000_000; i++) {
+            total = Money.add(total, Money.of(0.1));
+        }
+        assertEquals(new BigDecimal("100000.00"), Money.toBigDecimal(total));
+    }
+    
+    @Test(expected = ArithmeticException.class)
+    public void testAddOverflow() {
+        Money.add(Long.MAX_VALUE, 1);
+    }
+    
+    @Test
+    public void testConversionsAndFormat() {
+        assertEquals(12.34, Money.toDouble(1234), 0.0);
+        assertEquals(-300.0, Money.toDouble(Money.subtract(0, 30000)), 0.0);
+        assertEquals("1500.00€", Money.format(150000));
+        assertEquals(2, Money.SCALE);
+    }
+}
@@ -0,0 +1,55 @@
+package com.university.finance.model;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Tests unitaires pour SymbolTable.
+ */
+public class SymbolTableTest {
+    
+    @Test
+    public void testInternReturnsStableIds() {
+        SymbolTable table = new SymbolTable(100);
+        int first = table.intern("DEPOSIT");
+        int second = table.intern("WITHDRAW");
+        
+        assertNotEquals(first, second);
+        assertEquals(first, table.intern(new String("DEPOSIT")));
+        assertEquals("WITHDRAW", table.lookup(second));
+    }
+    
+    @Test
+    public void testFindDoesNotIntern() {
+        SymbolTable table = new SymbolTable(100);
+        
+        assertEquals(SymbolTable.NULL_ID, table.find("ABSENT"));
+        assertEquals(SymbolTable.NULL_ID, table.find("ABSENT"));
+        assertEquals(0, table.intern("PRESENT"));
+    }
+    
+    @Test
+    public void testNullValue() {
+        SymbolTable table = new SymbolTable(100);
+        
+        assertEquals(SymbolTable.NULL_ID, table.intern(null));
+        assertNull(table.lookup(SymbolTable.NULL_ID));
+    }
+    
+    @Test
+    public void testGrowsPastInitialCapacity() {
+        SymbolTable table = new SymbolTable(1000);
+        for (int i = 0; i < 100; i++) {
+            assertEquals(i, table.intern("S" + i));
+        }
+        assertEquals("S99", table.lookup(99));
+    }
+    
+    @Test(expected = IllegalStateException.class)
+    public void testFullTable() {
+        SymbolTable table = new SymbolTable(2);
+        table.intern("A");
+        table.intern("B");
+        table.intern("C");
+    }
+}
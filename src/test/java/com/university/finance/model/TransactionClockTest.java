@@ -0,0 +1,38 @@
+package com.university.finance.model;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Tests unitaires pour TransactionClock.
+ */
+public class TransactionClockTest {
+    
+    @Test
+    public void testCachedClockIsCloseToSystemClock() {
+        LocalDateTime before = LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS);
+        LocalDateTime cached = TransactionClock.cached().now();
+        LocalDateTime after = LocalDateTime.now();
+        
+        assertFalse(cached.isBefore(before));
+        assertFalse(cached.isAfter(after));
+        assertEquals(0, cached.getNano() % 1_000_000);
+    }
+    
+    @Test
+    public void testCachedClockNeverGoesBackwards() {
+        TransactionClock clock = TransactionClock.cached();
+        LocalDateTime previous = clock.now();
+        for (int i = 0; i < 100_000; i++) {
+            LocalDateTime current = clock.now();
+            assertFalse(current.isBefore(previous));
+            if (current.equals(previous)) {
+                // Même milliseconde : même instance réutilisée
+                assertSame(previous, current);
+            }
+            previous = current;
+        }
+    }
+}
@@ -0,0 +1,240 @@
+package com.university.finance.model;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Tests unitaires pour TransactionHistory.
+ */
+public class TransactionHistoryTest {
+    
+    private static final LocalDateTime DAY_ZERO = LocalDateTime.of(2024, 1, 1, 12, 0);
+    
+    private TransactionHistory history;
+    private InMemoryArchive archive;
+    
+    @Before
+    public void setUp() {
+        history = new TransactionHistory();
+        archive = new InMemoryArchive();
+    }
+    
+    @Test
+    public void testUnboundedWithoutArchive() {
+        addDeposits(1, 100);
+        
+        assertEquals(100, history.size());
+        assertEquals(100, history.getRecentCount());
+    }
+    
+    @Test
+    public void testWindowBoundsMemory() {
+        history.configure(archive, 8);
+        addDeposits(1, 100);
+        
+        assertEquals(100, history.size());
+        assertTrue(history.getRecentCount() <= 8);
+        assertFalse(archive.chunks.isEmpty());
+    }
+    
+    @Test
+    public void testIndexesStableAcrossTiers() {
+        history.configure(archive, 8);
+        addDeposits(1, 50);
+        
+        for (int i = 0; i < 50; i++) {
+            assertEquals(i + 1, history.get(i).getAmountMinor());
+        }
+        int expected = 1;
+        for (Transaction transaction : history.asList()) {
+            assertEquals(expected++, transaction.getAmountMinor());
+        }
+    }
+    
+    @Test
+    public void testPageSpanningArchiveAndMemory() {
+        history.configure(archive, 8);
+        addDeposits(1, 30);
+        
+        List<Transaction> page = history.page(18, 10);
+        
+        assertEquals(10, page.size());
+        assertEquals(19, page.get(0).getAmountMinor());
+        assertEquals(28, page.get(9).getAmountMinor());
+        assertEquals(2, history.page(28, 10).size());
+        assertTrue(history.page(40, 10).isEmpty());
+    }
+    
+    @Test
+    public void testConfigureEvictsExistingEntries() {
+        addDeposits(1, 100);
+        
+        history.configure(archive, 10);
+        
+        assertTrue(history.getRecentCount() <= 10);
+        assertEquals(100, history.get(99).getAmountMinor());
+        assertEquals(1, history.get(0).getAmountMinor());
+    }
+    
+    @Test
+    public void testArchiveFailureKeepsEntriesInMemory() {
+        archive.failing = true;
+        history.configure(archive, 4);
+        addDeposits(1, 10);
+        
+        assertEquals(10, history.getRecentCount());
+        
+        archive.failing = false;
+        addDeposits(11, 1);
+        assertTrue(history.getRecentCount() <= 4);
+        assertEquals(1, history.get(0).getAmountMinor());
+    }
+    
+    @Test(expected = IllegalStateException.class)
+    public void testCannotDetachArchiveAfterArchiving() {
+        history.configure(archive, 4);
+        addDeposits(1, 10);
+        
+        history.configure(null, 4);
+    }
+    
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testGetOutOfBounds() {
+        addDeposits(1, 3);
+        history.get(3);
+    }
+    
+    @Test
+    public void testRangeQueryAcrossArchiveAndMemory() {
+        history.configure(archive, 8);
+        addDaily(60);
+        
+        HistoryPage page = history.query(HistoryQuery.between(DAY_ZERO.plusDays(10), DAY_ZERO.plusDays(40)));
+        
+        assertEquals(30, page.getTransactions().size());
+        assertEquals(11, page.getTransactions().get(0).getAmountMinor());
+        assertEquals(40, page.getTransactions().get(29).getAmountMinor());
+        assertFalse(page.hasMore());
+    }
+    
+    @Test
+    public void testRangeQueryWithFarBounds() {
+        history.configure(archive, 8);
+        addDaily(25);
+        
+        HistoryQuery query = HistoryQuery.between(DAY_ZERO.plusDays(10), LocalDateTime.MAX).withLimit(8);
+        HistoryPage first = history.query(query);
+        HistoryPage second = history.query(query.withCursor(first.getNextCursor()));
+        
+        assertEquals(11, first.getTransactions().get(0).getAmountMinor());
+        assertEquals(7, second.getTransactions().size());
+        assertFalse(second.hasMore());
+        HistoryPage all = history.query(HistoryQuery.between(LocalDateTime.MIN, LocalDateTime.MAX));
+        assertEquals(25, all.getTransactions().size());
+    }
+    
+    @Test
+    public void testRangeQueryReadsOnlyTheRange() {
+        history.configure(archive, 8);
+        addDaily(400);
+        archive.reads = 0;
+        
+        history.query(HistoryQuery.between(DAY_ZERO.plusDays(200), DAY_ZERO.plusDays(210)));
+        
+        // Recherche dichotomique sur l'index des blocs : seuls les blocs de l'intervalle sont relus
+        assertTrue(archive.reads <= 6);
+    }
+    
+    @Test
+    public void testCursorPagination() {
+        addDaily(25);
+        HistoryQuery query = HistoryQuery.between(DAY_ZERO, DAY_ZERO.plusDays(20)).withLimit(8);
+        
+        HistoryPage first = history.query(query);
+        HistoryPage second = history.query(query.withCursor(first.getNextCursor()));
+        HistoryPage third = history.query(query.withCursor(second.getNextCursor()));
+        
+        assertEquals(8, first.getTransactions().size());
+        assertEquals(9, second.getTransactions().get(0).getAmountMinor());
+        assertEquals(4, third.getTransactions().size());
+        assertEquals(20, third.getTransactions().get(3).getAmountMinor());
+        assertFalse(third.hasMore());
+    }
+    
+    @Test
+    public void testTypeFilter() {
+        for (long amount = 1; amount <= 10; amount++) {
+            String type = amount % 2 == 0 ? "WITHDRAW" : "DEPOSIT";
+            history.add(Transaction.ofMinor("ACC-001", type, amount, 0, amount, DAY_ZERO.plusDays(amount)));
+        }
+        
+        HistoryPage page = history.query(HistoryQuery.all().withTypes("WITHDRAW"));
+        
+        assertEquals(5, page.getTransactions().size());
+        assertEquals("WITHDRAW", page.getTransactions().get(0).getType());
+    }
+    
+    @Test
+    public void testUnorderedTimestampsFallBackToScan() {
+        addDaily(10);
+        history.add(Transaction.ofMinor("ACC-001", "DEPOSIT", 99, 0, 99, DAY_ZERO.plusDays(2).plusHours(1)));
+        history.add(Transaction.ofMinor("ACC-001", "DEPOSIT", 100, 0, 100, DAY_ZERO.plusDays(11)));
+        
+        HistoryPage page = history.query(HistoryQuery.between(DAY_ZERO.plusDays(2), DAY_ZERO.plusDays(3)));
+        
+        assertEquals(2, page.getTransactions().size());
+        assertEquals(99, page.getTransactions().get(1).getAmountMinor());
+    }
+    
+    @Test
+    public void testEndCursorIgnoresLaterTransactions() {
+        history.configure(archive, 8);
+        addDaily(20);
+        int capturedCount = history.size();
+        addDaily(5);
+        
+        HistoryPage page = history.query(HistoryQuery.all().withEndCursor(capturedCount).withLimit(100));
+        
+        assertEquals(20, page.getTransactions().size());
+        assertFalse(page.hasMore());
+    }
+    
+    private void addDaily(int count) {
+        for (int day = 0; day < count; day++) {
+            history.add(Transaction.ofMinor("ACC-001", "DEPOSIT", day + 1, 0, day + 1, DAY_ZERO.plusDays(day)));
+        }
+    }
+    
+    private void addDeposits(long firstAmount, int count) {
+        for (long amount = firstAmount; amount < firstAmount + count; amount++) {
+            history.add(Transaction.ofMinor("ACC-001", "DEPOSIT", amount, 0, amount, LocalDateTime.now()));
+        }
+    }
+    
+    private static class InMemoryArchive implements TransactionArchive {
+        private final List<List<Transaction>> chunks = new ArrayList<>();
+        private boolean failing;
+        private int reads;
+        
+        @Override
+        public long write(List<Transaction> transactions) {
+            if (failing) {
+                throw new UncheckedIOException(new IOException("Disque plein"));
+            }
+            chunks.add(List.copyOf(transactions));
+            return chunks.size() - 1;
+        }
+        
+        @Override
+        public List<Transaction> read(long reference) {
+            reads++;
+            return chunks.get((int) reference);
+        }
+    }
+}
@@ -50,6 +50,34 @@ public class UserTest {
         user.updatePassword("123");
     }
     
+    @Test
+    public void testPasswordStoredAsSaltedHash() {
+        User user = new User("testuser", "password123");
+        User other = new User("otheruser", "password123");
+        
+        assertTrue(user.getPasswordHash().startsWith("sha256$"));
+        assertFalse(user.getPasswordHash().contains("password123"));
+        assertNotEquals(user.getPasswordHash(), other.getPasswordHash());
+    }
+    
+    @Test
+    public void testRestoreFromPasswordHash() {
+        User user = new User("testuser", "password123");
+        User restored = User.restore("testuser", user.getPasswordHash());
+        
+        assertEquals(user.getPasswordHash(), restored.getPasswordHash());
+        assertTrue(restored.verifyPassword("password123"));
+        assertFalse(restored.verifyPassword("wrongpassword"));
+    }
+    
+    @Test
+    public void testRestoreHashesLegacyPlaintextPassword() {
+        User restored = User.restore("testuser", "password123");
+        
+        assertFalse(restored.getPasswordHash().contains("password123"));
+        assertTrue(restored.verifyPassword("password123"));
+    }
+    
     @Test
     public void testUpdateLastLogin() {
         User user = new User("testuser", "password123");
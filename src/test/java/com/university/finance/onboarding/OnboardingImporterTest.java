@@ -0,0 +1,112 @@
+package com.university.finance.onboarding;
+
+import com.university.finance.pattern.factory.AccountFactory;
+import com.university.finance.service.BankingService;
+import com.university.finance.service.TransactionService;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import static org.junit.Assert.*;
+
+/**
+ * Tests unitaires pour OnboardingImporter.
+ */
+public class OnboardingImporterTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private BankingService bankingService;
+
+    @Before
+    public void setUp() {
+        AccountFactory.resetCounter();
+        bankingService = new BankingService(new TransactionService());
+    }
+
+    @Test
+    public void testImportCreatesUsersAndReportsRejectedRows() throws IOException {
+        bankingService.createUser("taken", "password", 0.0);
+        String csv = "username,password,initialDeposit\n"
+            + "alice,secret1,100.50\n"
+            + "\n"
+            + "bob,pass,word,20\n"
+            + "x,secret2,10\n"
+            + "carol,secret3,-5\n"
+            + "dave,secret4,abc\n"
+            + "no-commas\n"
+            + "taken,secret5,1\n"
+            + "alice,secret6,1\n"
+            + "erin,secret7,0\n";
+
+        OnboardingReport report = new OnboardingImporter(bankingService, 2, 3).importCsv(new StringReader(csv));
+
+        assertEquals(9, report.getRowCount());
+        assertEquals(3, report.getCreatedCount());
+        assertEquals(100.5, bankingService.getAccountByUsername("alice").get().getBalance(), 0.001);
+        assertTrue(bankingService.authenticate("bob", "pass,word"));
+        assertTrue(bankingService.getAccountByUsername("erin").isPresent());
+
+        List<OnboardingReport.RowError> errors = report.getErrors();
+        assertEquals(6, errors.size());
+        assertEquals(5, errors.get(0).getLine());
+        assertEquals("x", errors.get(0).getUsername());
+        assertEquals(6, errors.get(1).getLine());
+        assertEquals("Le dépôt initial ne peut pas être négatif", errors.get(1).getReason());
+        assertEquals("Dépôt initial invalide: abc", errors.get(2).getReason());
+        assertNull(errors.get(3).getUsername());
+        assertEquals("L'utilisateur existe déjà", errors.get(4).getReason());
+        assertEquals(10, errors.get(5).getLine());
+        assertEquals("alice", errors.get(5).getUsername());
+    }
+
+    @Test
+    public void testImportLargeFileInOrder() throws IOException {
+        Path file = folder.newFile("users.csv").toPath();
+        StringBuilder csv = new StringBuilder();
+        int rows = 25_000;
+        for (int i = 0; i < rows; i++) {
+            csv.append("user").append(i).append(",password").append(i).append(',').append(i % 100).append('\n');
+        }
+        Files.write(file, csv.toString().getBytes(StandardCharsets.UTF_8));
+
+        OnboardingReport report = new OnboardingImporter(bankingService, 4, 1000).importCsv(file);
+
+        assertEquals(rows, report.getCreatedCount());
+        assertEquals(0, report.getErrorCount());
+        assertEquals(rows, bankingService.getAccounts().size());
+        // Numéros attribués dans l'ordre du fichier
+        assertEquals("ACC-1000", bankingService.getAccountByUsername("user0").get().getAccountNumber());
+        assertEquals("ACC-" + (1000 + rows - 1),
+            bankingService.getAccountByUsername("user" + (rows - 1)).get().getAccountNumber());
+        assertEquals(99.0, bankingService.getAccountByUsername("user99").get().getBalance(), 0.001);
+    }
+
+    @Test
+    public void testWriteErrorsAsCsv() throws IOException {
+        OnboardingReport report = new OnboardingImporter(bankingService)
+            .importCsv(new StringReader("ab,secret,1\nbad\"name,secret,1\n"));
+        StringWriter out = new StringWriter();
+
+        report.writeErrors(out);
+
+        String[] lines = out.toString().split("\n");
+        assertEquals("line,username,reason", lines[0]);
+        assertEquals("1,ab,\"Le nom d'utilisateur doit contenir au moins 3 caractères\"", lines[1]);
+        assertTrue(lines[2].startsWith("2,bad\"name,\"Le nom d'utilisateur ne peut contenir"));
+        assertTrue(report.toString().contains("2 refusées"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidBatchSize() {
+        new OnboardingImporter(bankingService, 1, 0);
+    }
+}
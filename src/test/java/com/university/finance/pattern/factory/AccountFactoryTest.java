@@ -51,4 +51,25 @@ public class AccountFactoryTest {
         Account account2 = AccountFactory.createAccount("user2", 500.0);
         assertEquals(firstNumber, account2.getAccountNumber());
     }
+    
+    @Test
+    public void testFormatAccountNumberMatchesFormat() {
+        for (long number : new long[] {0, 7, 42, 999, 1000, 12345, Long.MAX_VALUE}) {
+            assertEquals(String.format("ACC-%04d", number), AccountFactory.formatAccountNumber(number));
+        }
+    }
+    
+    @Test
+    public void testReserveAccountNumbers() {
+        long first = AccountFactory.reserveAccountNumbers(100);
+        
+        assertEquals(1000, first);
+        assertEquals(1100, AccountFactory.peekNextNumber());
+        assertEquals("ACC-1100", AccountFactory.createAccount("user1", 0.0).getAccountNumber());
+    }
+    
+    @Test(expected = IllegalArgumentException.class)
+    public void testReserveNegativeCount() {
+        AccountFactory.reserveAccountNumbers(-1);
+    }
 }
@@ -40,4 +40,19 @@ public class UserFactoryTest {
         assertNotNull(user);
         assertEquals("test", user.getUsername());
     }
+    
+    @Test
+    public void testUsernameCharactersMatchWordPattern() {
+        String[] candidates = {"user_01", "USER", "abc", "tést", "user name", "user-1", "user.1", "ab\u00df", "___"};
+        for (String username : candidates) {
+            boolean accepted;
+            try {
+                UserFactory.createUser(username, "password123");
+                accepted = true;
+            } catch (IllegalArgumentException e) {
+                accepted = false;
+            }
+            assertEquals(username, username.matches("^[\\w]+$"), accepted);
+        }
+    }
 }
@@ -0,0 +1,262 @@
+package com.university.finance.pattern.observer;
+
+import com.university.finance.metrics.TransactionMetrics;
+import com.university.finance.model.ReusableTransaction;
+import com.university.finance.model.Transaction;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.After;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Tests unitaires pour AsyncObserverDispatcher.
+ */
+public class AsyncObserverDispatcherTest {
+    
+    private AsyncObserverDispatcher dispatcher;
+    
+    @After
+    public void tearDown() {
+        if (dispatcher != null) {
+            dispatcher.close();
+        }
+    }
+    
+    @Test
+    public void testEventsDeliveredInOrderPerAccount() throws Exception {
+        dispatcher = new AsyncObserverDispatcher(64, AsyncObserverDispatcher.WaitPolicy.BLOCK);
+        List<Transaction> received = Collections.synchronizedList(new ArrayList<>());
+        dispatcher.addObserver(received::add);
+        
+        int producers = 4;
+        int eventsPerProducer = 2000;
+        List<Thread> threads = new ArrayList<>();
+        for (int p = 0; p < producers; p++) {
+            String accountNumber = "ACC-" + p;
+            Thread thread = new Thread(() -> {
+                for (int i = 1; i <= eventsPerProducer; i++) {
+                    dispatcher.dispatch(deposit(accountNumber, i));
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertTrue(dispatcher.awaitQuiescence(10, TimeUnit.SECONDS));
+        
+        assertEquals(producers * eventsPerProducer, received.size());
+        Map<String, Long> lastAmount = new HashMap<>();
+        for (Transaction transaction : received) {
+            long previous = lastAmount.getOrDefault(transaction.getAccountNumber(), 0L);
+            assertEquals(previous + 1, transaction.getAmountMinor());
+            lastAmount.put(transaction.getAccountNumber(), transaction.getAmountMinor());
+        }
+    }
+    
+    @Test
+    public void testDropPolicyDiscardsWhenFull() throws Exception {
+        dispatcher = new AsyncObserverDispatcher(2, AsyncObserverDispatcher.WaitPolicy.DROP);
+        CountDownLatch release = new CountDownLatch(1);
+        dispatcher.addObserver(transaction -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        
+        for (int i = 1; i <= 10; i++) {
+            dispatcher.dispatch(deposit("ACC-1", i));
+        }
+        assertTrue(dispatcher.getDroppedCount() >= 7);
+        
+        release.countDown();
+        assertTrue(dispatcher.awaitQuiescence(10, TimeUnit.SECONDS));
+    }
+    
+    @Test
+    public void testCloseDrainsPendingEvents() {
+        dispatcher = new AsyncObserverDispatcher(1024, AsyncObserverDispatcher.WaitPolicy.YIELD);
+        AuditLogger auditLogger = new AuditLogger();
+        dispatcher.addObserver(auditLogger);
+        dispatcher.addObserver(auditLogger);
+        
+        for (int i = 1; i <= 100; i++) {
+            dispatcher.dispatch(deposit("ACC-1", i));
+        }
+        dispatcher.close();
+        
+        assertEquals(100, auditLogger.getAuditLog().size());
+    }
+    
+    @Test
+    public void testEventsAfterCloseCountedAsDropped() {
+        dispatcher = new AsyncObserverDispatcher(16, AsyncObserverDispatcher.WaitPolicy.BLOCK);
+        AuditLogger auditLogger = new AuditLogger();
+        dispatcher.addObserver(auditLogger);
+        dispatcher.addObserver(new NotificationService());
+        dispatcher.close();
+        
+        dispatcher.dispatch(deposit("ACC-1", 1));
+        dispatcher.dispatchAll(List.of(deposit("ACC-1", 2), deposit("ACC-1", 3)));
+        
+        assertEquals(6, dispatcher.getDroppedCount());
+        assertTrue(auditLogger.getAuditLog().isEmpty());
+        assertTrue(dispatcher.awaitQuiescence(1, TimeUnit.SECONDS));
+    }
+    
+    @Test
+    public void testCloseDuringPublicationLosesNoEvent() throws Exception {
+        for (int round = 0; round < 20; round++) {
+            dispatcher = new AsyncObserverDispatcher(64, AsyncObserverDispatcher.WaitPolicy.YIELD);
+            AtomicLong received = new AtomicLong();
+            dispatcher.addObserver(transaction -> received.incrementAndGet());
+            
+            int producers = 4;
+            int eventsPerProducer = 500;
+            List<Thread> threads = new ArrayList<>();
+            for (int p = 0; p < producers; p++) {
+                Thread thread = new Thread(() -> {
+                    for (int i = 1; i <= eventsPerProducer; i++) {
+                        dispatcher.dispatch(deposit("ACC-1", i));
+                    }
+                });
+                threads.add(thread);
+                thread.start();
+            }
+            dispatcher.close();
+            for (Thread thread : threads) {
+                thread.join();
+            }
+            
+            assertTrue(dispatcher.awaitQuiescence(1, TimeUnit.SECONDS));
+            assertEquals(producers * eventsPerProducer, received.get() + dispatcher.getDroppedCount());
+        }
+    }
+    
+    @Test
+    public void testReusedEventsRecycledAfterObserverReturns() throws Exception {
+        dispatcher = new AsyncObserverDispatcher(4, AsyncObserverDispatcher.WaitPolicy.BLOCK, null, true);
+        List<Long> amounts = Collections.synchronizedList(new ArrayList<>());
+        Set<Transaction> instances = Collections.newSetFromMap(new IdentityHashMap<>());
+        AtomicLong overwritten = new AtomicLong();
+        dispatcher.addObserver(transaction -> {
+            instances.add(transaction);
+            long amount = transaction.getAmountMinor();
+            Thread.yield();
+            // Case non réutilisée tant que l'appel n'est pas terminé
+            if (transaction.getAmountMinor() != amount) {
+                overwritten.incrementAndGet();
+            }
+            amounts.add(amount);
+        });
+        
+        ReusableTransaction event = new ReusableTransaction();
+        int events = 500;
+        for (int i = 1; i <= events; i++) {
+            dispatcher.dispatch(event.set("ACC-0001", "DEPOSIT", i, 0, i, LocalDateTime.now(), ""));
+        }
+        assertTrue(dispatcher.awaitQuiescence(5, TimeUnit.SECONDS));
+        
+        assertEquals(events, amounts.size());
+        for (int i = 0; i < events; i++) {
+            assertEquals(i + 1L, (long) amounts.get(i));
+        }
+        assertEquals(0, overwritten.get());
+        assertTrue(instances.size() <= 4);
+        assertFalse(instances.contains(event));
+    }
+    
+    @Test
+    public void testReusableEventCopiedWhenNotReusingSlots() throws Exception {
+        dispatcher = new AsyncObserverDispatcher(64, AsyncObserverDispatcher.WaitPolicy.BLOCK);
+        List<Transaction> received = Collections.synchronizedList(new ArrayList<>());
+        dispatcher.addObserver(received::add);
+        
+        ReusableTransaction event = new ReusableTransaction();
+        for (int i = 1; i <= 10; i++) {
+            dispatcher.dispatch(event.set("ACC-0001", "DEPOSIT", i, 0, i, LocalDateTime.now(), ""));
+        }
+        assertTrue(dispatcher.awaitQuiescence(5, TimeUnit.SECONDS));
+        
+        for (int i = 0; i < 10; i++) {
+            assertEquals(i + 1L, received.get(i).getAmountMinor());
+        }
+    }
+    
+    @Test
+    public void testObserverLatencyRecorded() {
+        TransactionMetrics metrics = new TransactionMetrics();
+        dispatcher = new AsyncObserverDispatcher(1024, AsyncObserverDispatcher.WaitPolicy.YIELD, metrics);
+        dispatcher.addObserver(new AuditLogger());
+        
+        for (int i = 1; i <= 10; i++) {
+            dispatcher.dispatch(deposit("ACC-1", i));
+        }
+        dispatcher.close();
+        
+        long calls = metrics.observerLatency("AuditLogger").getCount();
+        assertTrue(calls >= 1 && calls <= 10);
+    }
+    
+    @Test
+    public void testRemoveObserverStopsDelivery() {
+        dispatcher = new AsyncObserverDispatcher(16, AsyncObserverDispatcher.WaitPolicy.BLOCK);
+        NotificationService notificationService = new NotificationService();
+        dispatcher.addObserver(notificationService);
+        dispatcher.dispatch(deposit("ACC-1", 1));
+        dispatcher.removeObserver(notificationService);
+        dispatcher.dispatch(deposit("ACC-1", 2));
+        
+        assertEquals(1, notificationService.getNotifications().size());
+    }
+    
+    @Test
+    public void testPendingEventsDeliveredAsBatch() throws Exception {
+        dispatcher = new AsyncObserverDispatcher(64, AsyncObserverDispatcher.WaitPolicy.BLOCK);
+        CountDownLatch firstDelivered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        List<Integer> batchSizes = Collections.synchronizedList(new ArrayList<>());
+        dispatcher.addObserver(new TransactionObserver() {
+            @Override
+            public void onTransaction(Transaction transaction) {
+                batchSizes.add(1);
+                firstDelivered.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            
+            @Override
+            public void onTransactions(List<Transaction> transactions) {
+                batchSizes.add(transactions.size());
+            }
+        });
+        
+        dispatcher.dispatch(deposit("ACC-1", 1));
+        assertTrue(firstDelivered.await(10, TimeUnit.SECONDS));
+        dispatcher.dispatchAll(List.of(deposit("ACC-1", 2), deposit("ACC-1", 3), deposit("ACC-1", 4)));
+        release.countDown();
+        assertTrue(dispatcher.awaitQuiescence(10, TimeUnit.SECONDS));
+        
+        assertEquals(List.of(1, 3), batchSizes);
+    }
+    
+    private static Transaction deposit(String accountNumber, long amount) {
+        return Transaction.ofMinor(accountNumber, "DEPOSIT", amount, 0, amount, LocalDateTime.now());
+    }
+}
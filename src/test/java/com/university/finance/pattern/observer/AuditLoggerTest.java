@@ -1,10 +1,13 @@
 package com.university.finance.pattern.observer;
 
 import com.university.finance.model.Account;
+import com.university.finance.model.ReusableTransaction;
 import com.university.finance.model.Transaction;
 import org.junit.Before;
 import org.junit.Test;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 import static org.junit.Assert.*;
 
 /**
@@ -32,6 +35,17 @@ public class AuditLoggerTest {
         assertEquals(1, auditLogger.getAuditLog().size());
     }
     
+    @Test
+    public void testOnTransactions() {
+        auditLogger.onTransactions(List.of(
+            new Transaction(account.getAccountNumber(), "DEPOSIT", 500.0, 1000.0, 1500.0, LocalDateTime.now()),
+            new Transaction(account.getAccountNumber(), "WITHDRAW", -200.0, 1500.0, 1300.0, LocalDateTime.now())
+        ));
+        
+        assertEquals(2, auditLogger.getAuditLog().size());
+        assertTrue(auditLogger.getAuditLog().get(1).contains("WITHDRAW"));
+    }
+    
     @Test
     public void testGetAuditLog() {
         Transaction transaction1 = new Transaction(
@@ -60,6 +74,16 @@ public class AuditLoggerTest {
         assertEquals(5, auditLogger.getRecentAuditLog(10).size());
     }
     
+    @Test
+    public void testReusableTransactionCopied() {
+        ReusableTransaction transaction = new ReusableTransaction();
+        auditLogger.onTransaction(transaction.set(
+            account.getAccountNumber(), "DEPOSIT", 100, 0, 100, LocalDateTime.now(), ""));
+        transaction.set(account.getAccountNumber(), "WITHDRAW", -50, 100, 50, LocalDateTime.now(), "");
+        
+        assertTrue(auditLogger.getAuditLog().get(0).contains("DEPOSIT"));
+    }
+    
     @Test
     public void testClearLog() {
         Transaction transaction = new Transaction(
@@ -72,4 +96,53 @@ public class AuditLoggerTest {
         auditLogger.clearLog();
         assertEquals(0, auditLogger.getAuditLog().size());
     }
+    
+    @Test
+    public void testRecordsAreFormattedOnRead() {
+        Transaction transaction = new Transaction(
+            account.getAccountNumber(), "DEPOSIT", 500.0, 1000.0, 1500.0, LocalDateTime.of(2024, 3, 1, 9, 30)
+        );
+        
+        auditLogger.onTransaction(transaction);
+        
+        assertSame(transaction, auditLogger.getAuditRecords().get(0));
+        String entry = auditLogger.getAuditLog().get(0);
+        assertTrue(entry.startsWith("[2024-03-01 09:30:00] Compte: ACC-001 | Type: DEPOSIT"));
+        assertEquals(entry, auditLogger.getRecentAuditLog(1).get(0));
+    }
+    
+    @Test(expected = UnsupportedOperationException.class)
+    public void testAuditLogIsUnmodifiable() {
+        auditLogger.getAuditLog().add("entrée");
+    }
+    
+    @Test
+    public void testMemoryBoundedAndSinkReceivesEverything() {
+        List<Transaction> written = new ArrayList<>();
+        AuditLogger bounded = new AuditLogger(4, written::add);
+        for (int i = 1; i <= 10; i++) {
+            bounded.onTransaction(new Transaction(
+                account.getAccountNumber(), "DEPOSIT", i, 0.0, i, LocalDateTime.now()));
+        }
+        bounded.onTransactions(List.of(
+            new Transaction(account.getAccountNumber(), "WITHDRAW", -1.0, 10.0, 9.0, LocalDateTime.now())));
+        
+        assertEquals(11, written.size());
+        assertEquals(4, bounded.getAuditLog().size());
+        assertEquals(4, bounded.getAuditRecords().size());
+        assertTrue(bounded.getRecentAuditLog(1).get(0).contains("WITHDRAW"));
+        assertEquals(8.0, bounded.getAuditRecords().get(0).getAmount(), 0.001);
+    }
+    
+    @Test
+    public void testSinkFailureDoesNotPropagate() {
+        AuditLogger failing = new AuditLogger(4, transaction -> {
+            throw new IllegalStateException("Disque plein");
+        });
+        
+        failing.onTransaction(new Transaction(
+            account.getAccountNumber(), "DEPOSIT", 500.0, 1000.0, 1500.0, LocalDateTime.now()));
+        
+        assertEquals(1, failing.getAuditLog().size());
+    }
 }
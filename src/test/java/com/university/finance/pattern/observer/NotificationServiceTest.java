@@ -4,6 +4,8 @@ import com.university.finance.model.Transaction;
 import org.junit.Before;
 import org.junit.Test;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 import static org.junit.Assert.*;
 
 /**
@@ -77,4 +79,19 @@ public class NotificationServiceTest {
         notificationService.clearNotifications();
         assertEquals(0, notificationService.getNotifications().size());
     }
+    
+    @Test
+    public void testMemoryBoundedAndSinkReceivesEverything() {
+        List<String> written = new ArrayList<>();
+        NotificationService bounded = new NotificationService(2, written::add);
+        bounded.onTransaction(new Transaction("ACC-001", "DEPOSIT", 100.0, 0.0, 100.0, LocalDateTime.now()));
+        bounded.onTransactions(List.of(
+            new Transaction("ACC-001", "WITHDRAW", -50.0, 100.0, 50.0, LocalDateTime.now()),
+            new Transaction("ACC-001", "TRANSFER_OUT", -20.0, 50.0, 30.0, LocalDateTime.now())
+        ));
+        
+        assertEquals(3, written.size());
+        assertEquals(written.subList(1, 3), bounded.getNotifications());
+        assertTrue(bounded.getRecentNotifications(1).get(0).contains("Transfert sortant"));
+    }
 }
@@ -0,0 +1,86 @@
+package com.university.finance.pattern.observer;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Tests unitaires pour RecentWindow.
+ */
+public class RecentWindowTest {
+    
+    @Test
+    public void testCapacityRoundedToPowerOfTwo() {
+        assertEquals(8, new RecentWindow<Integer>(5).capacity());
+        assertEquals(8, new RecentWindow<Integer>(8).capacity());
+    }
+    
+    @Test
+    public void testLatestBeforeWrap() {
+        RecentWindow<Integer> window = new RecentWindow<>(8);
+        for (int i = 0; i < 5; i++) {
+            window.add(i);
+        }
+        
+        assertEquals(5, window.size());
+        assertEquals(List.of(2, 3, 4), window.latest(3));
+        assertEquals(List.of(0, 1, 2, 3, 4), window.latest(100));
+    }
+    
+    @Test
+    public void testOldestOverwritten() {
+        RecentWindow<Integer> window = new RecentWindow<>(4);
+        for (int i = 0; i < 10; i++) {
+            window.add(i);
+        }
+        
+        assertEquals(4, window.size());
+        assertEquals(List.of(6, 7, 8, 9), window.latest(10));
+    }
+    
+    @Test
+    public void testClear() {
+        RecentWindow<Integer> window = new RecentWindow<>(4);
+        window.add(1);
+        window.add(2);
+        window.clear();
+        
+        assertEquals(0, window.size());
+        assertTrue(window.latest(4).isEmpty());
+        
+        window.add(3);
+        assertEquals(List.of(3), window.latest(4));
+    }
+    
+    @Test
+    public void testConcurrentWritersAndReader() throws InterruptedException {
+        RecentWindow<Long> window = new RecentWindow<>(64);
+        int writerCount = 4;
+        int perWriter = 50_000;
+        List<Thread> writers = new ArrayList<>();
+        for (int w = 0; w < writerCount; w++) {
+            long base = (long) w * perWriter;
+            Thread writer = new Thread(() -> {
+                for (long i = 0; i < perWriter; i++) {
+                    window.add(base + i);
+                }
+            });
+            writers.add(writer);
+            writer.start();
+        }
+        
+        boolean writing = true;
+        while (writing) {
+            List<Long> latest = window.latest(64);
+            assertTrue(latest.size() <= 64);
+            assertFalse(latest.contains(null));
+            writing = writers.stream().anyMatch(Thread::isAlive);
+        }
+        for (Thread writer : writers) {
+            writer.join();
+        }
+        
+        assertEquals(64, window.latest(64).size());
+    }
+}
@@ -0,0 +1,58 @@
+package com.university.finance.pattern.observer;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Tests unitaires pour RingBuffer.
+ */
+public class RingBufferTest {
+    
+    @Test
+    public void testCapacityRoundedToPowerOfTwo() {
+        assertEquals(8, new RingBuffer<String>(5).capacity());
+    }
+    
+    @Test
+    public void testFifoOrderAndFullBuffer() {
+        RingBuffer<Integer> buffer = new RingBuffer<>(4);
+        for (int i = 0; i < 4; i++) {
+            assertTrue(buffer.offer(i));
+        }
+        assertFalse(buffer.offer(99));
+        assertEquals(4, buffer.size());
+        
+        assertEquals(Integer.valueOf(0), buffer.poll());
+        assertTrue(buffer.offer(4));
+        for (int i = 1; i <= 4; i++) {
+            assertEquals(Integer.valueOf(i), buffer.poll());
+        }
+        assertNull(buffer.poll());
+    }
+    
+    @Test
+    public void testPreallocatedSlotsReleasedAfterTake() {
+        RingBuffer<long[]> buffer = new RingBuffer<>(2, () -> new long[1]);
+        assertTrue(buffer.offer((slot, value) -> slot[0] = value, 1L));
+        assertTrue(buffer.offer((slot, value) -> slot[0] = value, 2L));
+        
+        long[] first = buffer.take();
+        assertEquals(1L, first[0]);
+        assertEquals(2L, buffer.take()[0]);
+        assertNull(buffer.take());
+        // Cases prises mais non libérées : l'élément remis reste intact
+        assertFalse(buffer.offer((slot, value) -> slot[0] = value, 3L));
+        assertEquals(1L, first[0]);
+        
+        buffer.release();
+        assertEquals(0, buffer.size());
+        assertTrue(buffer.offer((slot, value) -> slot[0] = value, 3L));
+        assertSame(first, buffer.take());
+        assertEquals(3L, first[0]);
+    }
+    
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidCapacity() {
+        new RingBuffer<String>(0);
+    }
+}
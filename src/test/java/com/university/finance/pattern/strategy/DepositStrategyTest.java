@@ -1,7 +1,10 @@
 package com.university.finance.pattern.strategy;
 
 import com.university.finance.model.Account;
+import com.university.finance.model.Money;
 import com.university.finance.model.Transaction;
+import java.util.ArrayList;
+import java.util.List;
 import org.junit.Before;
 import org.junit.Test;
 import static org.junit.Assert.*;
@@ -22,7 +25,7 @@ public class DepositStrategyTest {
     
     @Test
     public void testDepositValid() {
-        Transaction transaction = strategy.execute(account, 500.0, null);
+        Transaction transaction = strategy.execute(account, Money.of(500.0), null);
         
         assertEquals(1500.0, account.getBalance(), 0.01);
         assertEquals("DEPOSIT", transaction.getType());
@@ -33,18 +36,63 @@ public class DepositStrategyTest {
     
     @Test
     public void testValidatePositiveAmount() {
-        assertTrue(strategy.validate(account, 100.0));
-        assertTrue(strategy.validate(account, 0.01));
+        assertTrue(strategy.validate(account, Money.of(100.0)));
+        assertTrue(strategy.validate(account, Money.of(0.01)));
     }
     
     @Test
     public void testValidateNegativeAmount() {
-        assertFalse(strategy.validate(account, -100.0));
-        assertFalse(strategy.validate(account, 0.0));
+        assertFalse(strategy.validate(account, Money.of(-100.0)));
+        assertFalse(strategy.validate(account, Money.of(0.0)));
     }
     
     @Test(expected = IllegalArgumentException.class)
     public void testDepositNegativeAmount() {
-        strategy.execute(account, -100.0, null);
+        strategy.execute(account, Money.of(-100.0), null);
+    }
+    
+    @Test
+    public void testConcurrentDepositsWithoutLockLoseNothing() throws Exception {
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            Thread thread = new Thread(() -> {
+                for (int i = 0; i < 1000; i++) {
+                    strategy.execute(account, 1, null);
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        
+        assertEquals(Money.of(1000.0) + 8000, account.getBalanceMinor());
+        assertEquals(8000, account.getTransactionCount());
+    }
+    
+    @Test
+    public void testConcurrentStripedDepositsThenWithdrawal() throws Exception {
+        account.enableStripedCredits();
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            Thread thread = new Thread(() -> {
+                for (int i = 0; i < 1000; i++) {
+                    strategy.execute(account, 1, null);
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        
+        assertEquals(Money.of(1000.0) + 8000, account.getBalanceMinor());
+        
+        // Le retrait règle les crédits en attente avant de contrôler le solde
+        new WithdrawStrategy().execute(account, Money.of(1000.0) + 8000, null);
+        assertEquals(0, account.getBalanceMinor());
+        assertEquals(0, account.getSettledBalanceMinor());
     }
 }
@@ -0,0 +1,114 @@
+package com.university.finance.pattern.strategy;
+
+import com.university.finance.model.Account;
+import com.university.finance.model.Money;
+import com.university.finance.model.Transaction;
+import java.util.List;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Tests unitaires pour MultiLegTransferStrategy.
+ */
+public class MultiLegTransferStrategyTest {
+    
+    private MultiLegTransferStrategy strategy;
+    private Account payer;
+    private Account first;
+    private Account second;
+    
+    @Before
+    public void setUp() {
+        strategy = new MultiLegTransferStrategy();
+        payer = new Account("ACC-001", "payer", 1000.0);
+        first = new Account("ACC-002", "user1", 0.0);
+        second = new Account("ACC-003", "user2", 100.0);
+    }
+    
+    @Test
+    public void testFanOutPayment() {
+        List<Transaction> transactions = strategy.execute(List.of(payer, first, second),
+            new long[] {Money.of(-500.0), Money.of(300.0), Money.of(200.0)});
+        
+        assertEquals(500.0, payer.getBalance(), 0.01);
+        assertEquals(300.0, first.getBalance(), 0.01);
+        assertEquals(300.0, second.getBalance(), 0.01);
+        assertEquals(3, transactions.size());
+        assertEquals("TRANSFER_OUT", transactions.get(0).getType());
+        assertEquals("TRANSFER_IN", transactions.get(1).getType());
+        assertEquals(1, second.getTransactions().size());
+    }
+    
+    @Test
+    public void testUnbalancedLegsRejected() {
+        assertFalse(strategy.validate(List.of(payer, first), new long[] {Money.of(-100.0), Money.of(99.0)}));
+    }
+    
+    @Test
+    public void testZeroAmountOrSingleLegRejected() {
+        assertFalse(strategy.validate(List.of(payer, first), new long[] {0, 0}));
+        assertFalse(strategy.validate(List.of(payer), new long[] {Money.of(-1.0)}));
+    }
+    
+    @Test
+    public void testCumulativeDebitsOnSameAccountChecked() {
+        // Chaque débit seul est couvert, mais pas les deux cumulés
+        assertFalse(strategy.validate(List.of(payer, payer, first),
+            new long[] {Money.of(-600.0), Money.of(-600.0), Money.of(1200.0)}));
+    }
+    
+    @Test
+    public void testIntermediateNegativeBalanceRejected() {
+        // Le compte vide serait débité avant d'être crédité
+        assertFalse(strategy.validate(List.of(first, payer, first, second),
+            new long[] {Money.of(-50.0), Money.of(50.0), Money.of(50.0), Money.of(-50.0)}));
+    }
+    
+    @Test
+    public void testInvalidTransferLeavesAccountsUntouched() {
+        try {
+            strategy.execute(List.of(payer, first, second),
+                new long[] {Money.of(-500.0), Money.of(300.0), Money.of(-1000.0)});
+            fail("Transfert multiple invalide accepté");
+        } catch (IllegalArgumentException expected) {
+            // attendu
+        }
+        
+        assertEquals(1000.0, payer.getBalance(), 0.01);
+        assertEquals(0.0, first.getBalance(), 0.01);
+        assertEquals(100.0, second.getBalance(), 0.01);
+        assertTrue(payer.getTransactions().isEmpty());
+    }
+    
+    @Test
+    public void testDebitsRolledBackWhenBalanceDrainedConcurrently() {
+        // Un retrait concurrent vide le compte entre la validation et le débit
+        Account drained = new Account("ACC-004", "user3", 100.0) {
+            private boolean withdrawn;
+            
+            @Override
+            public boolean compareAndSetBalanceMinor(long expected, long balance) {
+                if (!withdrawn) {
+                    withdrawn = true;
+                    setBalanceMinor(Money.of(50.0));
+                    return false;
+                }
+                return super.compareAndSetBalanceMinor(expected, balance);
+            }
+        };
+        
+        try {
+            strategy.execute(List.of(payer, drained, first),
+                new long[] {Money.of(-500.0), Money.of(-100.0), Money.of(600.0)});
+            fail("Débit non couvert accepté");
+        } catch (IllegalArgumentException expected) {
+            // attendu
+        }
+        
+        assertEquals(1000.0, payer.getBalance(), 0.01);
+        assertEquals(50.0, drained.getBalance(), 0.01);
+        assertEquals(0.0, first.getBalance(), 0.01);
+        assertTrue(payer.getTransactions().isEmpty());
+    }
+}
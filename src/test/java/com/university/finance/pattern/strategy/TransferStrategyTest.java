@@ -1,7 +1,10 @@
 package com.university.finance.pattern.strategy;
 
 import com.university.finance.model.Account;
+import com.university.finance.model.Money;
 import com.university.finance.model.Transaction;
+import com.university.finance.model.TransactionClock;
+import java.util.List;
 import org.junit.Before;
 import org.junit.Test;
 import static org.junit.Assert.*;
@@ -24,7 +27,7 @@ public class TransferStrategyTest {
     
     @Test
     public void testTransferValid() {
-        Transaction transaction = strategy.execute(fromAccount, 300.0, toAccount);
+        Transaction transaction = strategy.execute(fromAccount, Money.of(300.0), toAccount);
         
         assertEquals(700.0, fromAccount.getBalance(), 0.01);
         assertEquals(800.0, toAccount.getBalance(), 0.01);
@@ -34,7 +37,7 @@ public class TransferStrategyTest {
     
     @Test
     public void testTransferCreatesTransactionForBothAccounts() {
-        strategy.execute(fromAccount, 300.0, toAccount);
+        strategy.execute(fromAccount, Money.of(300.0), toAccount);
         
         assertEquals(1, fromAccount.getTransactions().size());
         assertEquals(1, toAccount.getTransactions().size());
@@ -48,17 +51,67 @@ public class TransferStrategyTest {
     
     @Test(expected = IllegalArgumentException.class)
     public void testTransferWithoutTargetAccount() {
-        strategy.execute(fromAccount, 300.0, null);
+        strategy.execute(fromAccount, Money.of(300.0), null);
     }
     
     @Test(expected = IllegalArgumentException.class)
     public void testTransferInsufficientBalance() {
-        strategy.execute(fromAccount, 1500.0, toAccount);
+        strategy.execute(fromAccount, Money.of(1500.0), toAccount);
     }
     
     @Test
     public void testValidateTransfer() {
-        assertTrue(strategy.validate(fromAccount, 500.0));
-        assertFalse(strategy.validate(fromAccount, 1500.0));
+        assertTrue(strategy.validate(fromAccount, Money.of(500.0)));
+        assertFalse(strategy.validate(fromAccount, Money.of(1500.0)));
+    }
+    
+    @Test
+    public void testExecuteLegsReturnsBothLegsWithSharedDescriptions() {
+        List<Transaction> first = strategy.executeLegs(fromAccount, Money.of(100.0), toAccount);
+        List<Transaction> second = strategy.executeLegs(fromAccount, Money.of(100.0), toAccount);
+        
+        assertEquals(2, first.size());
+        assertEquals("TRANSFER_OUT", first.get(0).getType());
+        assertEquals("TRANSFER_IN", first.get(1).getType());
+        assertEquals(toAccount.getAccountNumber(), first.get(1).getAccountNumber());
+        assertEquals("Transfert vers " + toAccount.getAccountNumber(), first.get(0).getDescription());
+        assertSame(first.get(0).getDescription(), second.get(0).getDescription());
+        assertSame(first.get(1).getDescription(), second.get(1).getDescription());
+    }
+    
+    @Test
+    public void testDescriptionsStayCorrectBeyondCacheSize() {
+        for (int i = 0; i < 5000; i++) {
+            Account target = new Account("ACC-T" + i, "user", 0.0);
+            List<Transaction> legs = strategy.executeLegs(fromAccount, 1, target);
+            
+            assertEquals("Transfert vers ACC-T" + i, legs.get(0).getDescription());
+            assertEquals("Transfert depuis ACC-001", legs.get(1).getDescription());
+        }
+    }
+    
+    @Test
+    public void testReusedEventsKeepHistoryIntact() {
+        TransferStrategy reusing = new TransferStrategy(TransactionClock.SYSTEM, null, true);
+        List<Transaction> first = reusing.executeLegs(fromAccount, Money.of(100.0), toAccount);
+        Transaction source = first.get(0);
+        Transaction target = first.get(1);
+        List<Transaction> second = reusing.executeLegs(fromAccount, Money.of(50.0), toAccount);
+        
+        assertSame(source, second.get(0));
+        assertSame(target, second.get(1));
+        assertEquals(-50.0, source.getAmount(), 0.01);
+        assertEquals(-100.0, fromAccount.getTransactions().get(0).getAmount(), 0.01);
+        assertEquals(50.0, toAccount.getTransactions().get(1).getAmount(), 0.01);
+        assertNotSame(source, source.toImmutable());
+        assertEquals(source.getBalanceAfterMinor(), source.toImmutable().getBalanceAfterMinor());
+    }
+    
+    @Test
+    public void testSelfTransferKeepsBalance() {
+        strategy.execute(fromAccount, Money.of(300.0), fromAccount);
+        
+        assertEquals(1000.0, fromAccount.getBalance(), 0.01);
+        assertEquals(2, fromAccount.getTransactionCount());
     }
 }
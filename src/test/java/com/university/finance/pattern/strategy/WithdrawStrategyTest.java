@@ -1,7 +1,13 @@
 package com.university.finance.pattern.strategy;
 
+import com.university.finance.metrics.TransactionMetrics;
 import com.university.finance.model.Account;
+import com.university.finance.model.Money;
 import com.university.finance.model.Transaction;
+import com.university.finance.model.TransactionClock;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.junit.Before;
 import org.junit.Test;
 import static org.junit.Assert.*;
@@ -22,7 +28,7 @@ public class WithdrawStrategyTest {
     
     @Test
     public void testWithdrawValid() {
-        Transaction transaction = strategy.execute(account, 300.0, null);
+        Transaction transaction = strategy.execute(account, Money.of(300.0), null);
         
         assertEquals(700.0, account.getBalance(), 0.01);
         assertEquals("WITHDRAW", transaction.getType());
@@ -33,22 +39,52 @@ public class WithdrawStrategyTest {
     
     @Test
     public void testValidateSufficientBalance() {
-        assertTrue(strategy.validate(account, 500.0));
-        assertTrue(strategy.validate(account, 1000.0));
+        assertTrue(strategy.validate(account, Money.of(500.0)));
+        assertTrue(strategy.validate(account, Money.of(1000.0)));
     }
     
     @Test
     public void testValidateInsufficientBalance() {
-        assertFalse(strategy.validate(account, 1500.0));
+        assertFalse(strategy.validate(account, Money.of(1500.0)));
     }
     
     @Test(expected = IllegalArgumentException.class)
     public void testWithdrawInsufficientBalance() {
-        strategy.execute(account, 1500.0, null);
+        strategy.execute(account, Money.of(1500.0), null);
     }
     
     @Test(expected = IllegalArgumentException.class)
     public void testWithdrawNegativeAmount() {
-        strategy.execute(account, -100.0, null);
+        strategy.execute(account, Money.of(-100.0), null);
+    }
+    
+    @Test
+    public void testConcurrentWithdrawalsWithoutLockNeverOverdraw() throws Exception {
+        TransactionMetrics metrics = new TransactionMetrics();
+        WithdrawStrategy lockFree = new WithdrawStrategy(TransactionClock.SYSTEM, metrics);
+        AtomicInteger accepted = new AtomicInteger();
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            Thread thread = new Thread(() -> {
+                for (int i = 0; i < 200; i++) {
+                    try {
+                        lockFree.execute(account, Money.of(1.0), null);
+                        accepted.incrementAndGet();
+                    } catch (IllegalArgumentException refused) {
+                        // solde épuisé
+                    }
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        
+        assertEquals(1000, accepted.get());
+        assertEquals(0, account.getBalanceMinor());
+        assertEquals(1000, account.getTransactionCount());
+        assertTrue(metrics.getBalanceRetryCount() >= metrics.getContendedUpdateCount());
     }
 }
@@ -0,0 +1,78 @@
+package com.university.finance.persistence;
+
+import com.university.finance.model.Transaction;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import static org.junit.Assert.*;
+
+/**
+ * Tests unitaires pour FileTransactionArchive.
+ */
+public class FileTransactionArchiveTest {
+    
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+    
+    private Path directory;
+    
+    @Before
+    public void setUp() {
+        directory = folder.getRoot().toPath();
+    }
+    
+    @Test
+    public void testWriteAndReadChunks() throws IOException {
+        LocalDateTime timestamp = LocalDateTime.of(2024, 5, 1, 10, 30, 15, 123_456_789);
+        try (FileTransactionArchive archive = FileTransactionArchive.open(directory)) {
+            long first = archive.write(List.of(
+                Transaction.ofMinor("ACC-0001", "DEPOSIT", 500, 0, 500, timestamp),
+                Transaction.ofMinor("ACC-0001", "TRANSFER_OUT", -200, 500, 300, timestamp, "Transfert vers ACC-0002")
+            ));
+            long second = archive.write(List.of(
+                Transaction.ofMinor("ACC-0001", "WITHDRAW", -100, 300, 200, timestamp)
+            ));
+            
+            List<Transaction> chunk = archive.read(first);
+            assertEquals(2, chunk.size());
+            assertEquals("TRANSFER_OUT", chunk.get(1).getType());
+            assertEquals(-200, chunk.get(1).getAmountMinor());
+            assertEquals(300, chunk.get(1).getBalanceAfterMinor());
+            assertEquals("Transfert vers ACC-0002", chunk.get(1).getDescription());
+            assertEquals(timestamp, chunk.get(0).getTimestamp());
+            assertEquals(-100, archive.read(second).get(0).getAmountMinor());
+        }
+    }
+    
+    @Test
+    public void testOpenTruncatesPreviousContent() throws IOException {
+        try (FileTransactionArchive archive = FileTransactionArchive.open(directory)) {
+            archive.write(List.of(Transaction.ofMinor("ACC-0001", "DEPOSIT", 500, 0, 500, LocalDateTime.now())));
+            assertTrue(archive.getSize() > 0);
+        }
+        try (FileTransactionArchive archive = FileTransactionArchive.open(directory)) {
+            assertEquals(0, archive.getSize());
+            assertEquals(0, archive.getFile().toFile().length());
+        }
+    }
+    
+    @Test(expected = UncheckedIOException.class)
+    public void testCorruptedChunkDetected() throws IOException {
+        try (FileTransactionArchive archive = FileTransactionArchive.open(directory)) {
+            long reference = archive.write(List.of(
+                Transaction.ofMinor("ACC-0001", "DEPOSIT", 500, 0, 500, LocalDateTime.now())));
+            try (RandomAccessFile file = new RandomAccessFile(archive.getFile().toFile(), "rw")) {
+                file.seek(file.length() - 1);
+                file.write(0x7F);
+            }
+            archive.read(reference);
+        }
+    }
+}
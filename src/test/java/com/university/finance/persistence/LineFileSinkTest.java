@@ -0,0 +1,44 @@
+package com.university.finance.persistence;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import static org.junit.Assert.*;
+
+/**
+ * Tests unitaires pour LineFileSink.
+ */
+public class LineFileSinkTest {
+    
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+    
+    @Test
+    public void testWritesOneLinePerEntry() throws IOException {
+        Path file = folder.getRoot().toPath().resolve("logs").resolve("audit.log");
+        try (LineFileSink<Integer> sink = LineFileSink.open(file, value -> "valeur " + value)) {
+            sink.write(1);
+            sink.writeAll(List.of(2, 3));
+            
+            // Chaque écriture est visible sans fermer le sink
+            assertEquals(List.of("valeur 1", "valeur 2", "valeur 3"), Files.readAllLines(file));
+        }
+    }
+    
+    @Test
+    public void testAppendsAcrossReopen() throws IOException {
+        Path file = folder.getRoot().toPath().resolve("notifications.log");
+        try (LineFileSink<String> sink = LineFileSink.open(file, String::valueOf)) {
+            sink.write("première");
+        }
+        try (LineFileSink<String> sink = LineFileSink.open(file, String::valueOf)) {
+            sink.write("seconde");
+        }
+        
+        assertEquals(List.of("première", "seconde"), Files.readAllLines(file));
+    }
+}
@@ -0,0 +1,154 @@
+package com.university.finance.persistence;
+
+import com.university.finance.model.Transaction;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import static org.junit.Assert.*;
+
+/**
+ * Tests unitaires pour MappedAuditLog.
+ */
+public class MappedAuditLogTest {
+    
+    private static final LocalDateTime DAY_ZERO = LocalDateTime.of(2024, 1, 1, 12, 0);
+    
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+    
+    private Path directory;
+    
+    @Before
+    public void setUp() {
+        directory = folder.getRoot().toPath().resolve("audit");
+    }
+    
+    @Test
+    public void testRecordRoundTrip() throws IOException {
+        Transaction transaction = Transaction.ofMinor("ACC-1000", "TRANSFER_OUT", -2550, 10000, 7450,
+            LocalDateTime.of(2024, 3, 1, 9, 30, 15, 123456789));
+        try (MappedAuditLog log = MappedAuditLog.open(directory)) {
+            log.write(transaction);
+            
+            Transaction read = log.query("ACC-1000", null, null).get(0);
+            assertEquals("ACC-1000", read.getAccountNumber());
+            assertEquals("TRANSFER_OUT", read.getType());
+            assertEquals(-2550, read.getAmountMinor());
+            assertEquals(10000, read.getBalanceBeforeMinor());
+            assertEquals(7450, read.getBalanceAfterMinor());
+            assertEquals(transaction.getTimestamp(), read.getTimestamp());
+        }
+    }
+    
+    @Test
+    public void testSegmentsRotate() throws IOException {
+        try (MappedAuditLog log = MappedAuditLog.open(directory, 4)) {
+            writeDaily(log, 10);
+            
+            assertEquals(10, log.size());
+            assertEquals(3, log.getSegmentCount());
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            assertEquals(3, files.count());
+        }
+    }
+    
+    @Test
+    public void testQueryByAccountAndTime() throws IOException {
+        try (MappedAuditLog log = MappedAuditLog.open(directory, 4)) {
+            writeDaily(log, 30);
+            
+            // Comptes alternés : ACC-0 les jours pairs, ACC-1 les jours impairs
+            List<Transaction> matches = log.query("ACC-1", DAY_ZERO.plusDays(10), DAY_ZERO.plusDays(20));
+            
+            assertEquals(5, matches.size());
+            assertEquals(12, matches.get(0).getAmountMinor());
+            assertEquals(20, matches.get(4).getAmountMinor());
+            assertTrue(log.query("ACC-9", null, null).isEmpty());
+        }
+    }
+    
+    @Test
+    public void testScanByTime() throws IOException {
+        try (MappedAuditLog log = MappedAuditLog.open(directory, 4)) {
+            writeDaily(log, 30);
+            
+            List<Transaction> matches = log.scan(DAY_ZERO.plusDays(5), DAY_ZERO.plusDays(8));
+            
+            assertEquals(3, matches.size());
+            assertEquals(6, matches.get(0).getAmountMinor());
+            assertEquals(30, log.scan(null, null).size());
+        }
+    }
+    
+    @Test
+    public void testFarTimeBoundsAreOpen() throws IOException {
+        try (MappedAuditLog log = MappedAuditLog.open(directory, 4)) {
+            writeDaily(log, 30);
+            
+            assertEquals(20, log.scan(DAY_ZERO.plusDays(10), LocalDateTime.MAX).size());
+            assertEquals(10, log.query("ACC-1", DAY_ZERO.plusDays(10), LocalDateTime.MAX).size());
+            assertEquals(15, log.query("ACC-0", LocalDateTime.MIN, LocalDateTime.MAX).size());
+        }
+    }
+    
+    @Test
+    public void testReopenRebuildsIndexAndAppends() throws IOException {
+        try (MappedAuditLog log = MappedAuditLog.open(directory, 4)) {
+            writeDaily(log, 6);
+        }
+        try (MappedAuditLog log = MappedAuditLog.open(directory, 4)) {
+            assertEquals(6, log.size());
+            log.write(Transaction.ofMinor("ACC-0", "DEPOSIT", 7, 0, 7, DAY_ZERO.plusDays(6)));
+            
+            assertEquals(7, log.size());
+            assertEquals(4, log.query("ACC-0", null, null).size());
+        }
+    }
+    
+    @Test
+    public void testIncompleteRecordIgnoredOnReopen() throws IOException {
+        try (MappedAuditLog log = MappedAuditLog.open(directory, 8)) {
+            writeDaily(log, 3);
+        }
+        // Enregistrement à moitié écrit : données présentes, octet de validation absent
+        Path segment = directory.resolve(String.format("audit-%020d.seg", 0));
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[] {1, 2, 3, 4}), 3L * MappedAuditLog.RECORD_SIZE);
+        }
+        
+        try (MappedAuditLog log = MappedAuditLog.open(directory, 8)) {
+            assertEquals(3, log.size());
+        }
+    }
+    
+    @Test(expected = IllegalArgumentException.class)
+    public void testUnknownTypeRejected() throws IOException {
+        try (MappedAuditLog log = MappedAuditLog.open(directory)) {
+            log.write(Transaction.ofMinor("ACC-1000", "INTEREST", 1, 0, 1, DAY_ZERO));
+        }
+    }
+    
+    @Test(expected = IllegalStateException.class)
+    public void testWriteAfterClose() throws IOException {
+        MappedAuditLog log = MappedAuditLog.open(directory);
+        log.close();
+        log.write(Transaction.ofMinor("ACC-1000", "DEPOSIT", 1, 0, 1, DAY_ZERO));
+    }
+    
+    private void writeDaily(MappedAuditLog log, int days) {
+        for (int day = 0; day < days; day++) {
+            log.write(Transaction.ofMinor("ACC-" + (day % 2), "DEPOSIT", day + 1, 0, day + 1, DAY_ZERO.plusDays(day)));
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.university.finance.persistence;
+
+import com.university.finance.model.Account;
+import com.university.finance.pattern.factory.AccountFactory;
+import com.university.finance.service.BankingService;
+import com.university.finance.service.BatchOperation;
+import com.university.finance.service.TransactionService;
+import com.university.finance.service.TransferLeg;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import static org.junit.Assert.*;
+
+/**
+ * Tests unitaires pour RecoveryManager.
+ */
+public class RecoveryManagerTest {
+    
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+    
+    private Path directory;
+    
+    @Before
+    public void setUp() {
+        AccountFactory.resetCounter();
+        directory = folder.getRoot().toPath();
+    }
+    
+    @Test
+    public void testRecoverRebuildsUsersAccountsAndBalances() throws IOException {
+        String account1;
+        String account2;
+        try (TransactionJournal journal = TransactionJournal.open(directory)) {
+            BankingService bankingService = new BankingService(new TransactionService(journal));
+            account1 = bankingService.createUser("user1", "password1", 1000.0).getAccountNumber();
+            account2 = bankingService.createUser("user2", "password2", 500.0).getAccountNumber();
+            bankingService.deposit(account1, 250.0);
+            bankingService.withdraw(account2, 100.0);
+            bankingService.transfer(account1, account2, 300.0);
+        }
+        
+        AccountFactory.resetCounter();
+        try (TransactionJournal journal = TransactionJournal.open(directory)) {
+            BankingService recovered = new BankingService(new TransactionService(journal));
+            RecoveryReport report = new RecoveryManager(journal, recovered).recover();
+            
+            assertEquals(7, report.getReplayedRecords());
+            assertEquals(0, report.getSnapshotLsn());
+            assertTrue(recovered.authenticate("user1", "password1"));
+            assertEquals(950.0, recovered.getBalance(account1), 0.001);
+            assertEquals(700.0, recovered.getBalance(account2), 0.001);
+            assertEquals(2, recovered.getAccount(account1).get().getTransactions().size());
+            assertEquals("TRANSFER_IN",
+                recovered.getAccount(account2).get().getTransactions().get(1).getType());
+            
+            // Le compteur de numéros de compte reprend après les comptes restaurés
+            Account next = recovered.createUser("user3", "password3", 0.0);
+            assertNotEquals(account1, next.getAccountNumber());
+            assertNotEquals(account2, next.getAccountNumber());
+        }
+    }
+    
+    @Test
+    public void testPasswordsNeverPersistedInClear() throws IOException {
+        try (TransactionJournal journal = TransactionJournal.open(directory)) {
+            BankingService bankingService = new BankingService(new TransactionService(journal));
+            bankingService.createUser("user1", "clear-secret-1", 100.0);
+            new SnapshotManager(bankingService, journal).takeSnapshot();
+            bankingService.createUser("user2", "clear-secret-2", 100.0);
+        }
+        
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path file : files.filter(Files::isRegularFile).collect(Collectors.toList())) {
+                String content = new String(Files.readAllBytes(file), StandardCharsets.ISO_8859_1);
+                assertFalse(file.toString(), content.contains("clear-secret"));
+            }
+        }
+        
+        AccountFactory.resetCounter();
+        try (TransactionJournal journal = TransactionJournal.open(directory)) {
+            BankingService recovered = new BankingService(new TransactionService(journal));
+            new RecoveryManager(journal, recovered).recover();
+            
+            assertTrue(recovered.authenticate("user1", "clear-secret-1"));
+            assertTrue(recovered.authenticate("user2", "clear-secret-2"));
+            assertFalse(recovered.authenticate("user2", "clear-secret-1"));
+        }
+    }
+    
+    @Test
+    public void testRecoverBatchAndMultiLegTransfer() throws IOException {
+        String account1;
+        String account2;
+        try (TransactionJournal journal = TransactionJournal.open(directory)) {
+            BankingService bankingService = new BankingService(new TransactionService(journal));
+            account1 = bankingService.createUser("user1", "password1", 1000.0).getAccountNumber();
+            account2 = bankingService.createUser("user2", "password2", 0.0).getAccountNumber();
+            bankingService.executeBatch(List.of(
+                BatchOperation.deposit(account1, 100.0),
+                BatchOperation.withdraw(account2, 50.0),
+                BatchOperation.transfer(account1, account2, 600.0)
+            ));
+            bankingService.transferMultiLeg(List.of(
+                TransferLeg.debit(account2, 100.0),
+                TransferLeg.credit(account1, 60.0),
+                TransferLeg.credit(account1, 40.0)
+            ));
+        }
+        
+        AccountFactory.resetCounter();
+        try (TransactionJournal journal = TransactionJournal.open(directory)) {
+            BankingService recovered = new BankingService(new TransactionService(journal));
+            RecoveryReport report = new RecoveryManager(journal, recovered).recover();
+            
+            // Opérations refusées non journalisées
+            assertEquals(7, report.getReplayedRecords());
+            assertEquals(600.0, recovered.getBalance(account1), 0.001);
+            assertEquals(500.0, recovered.getBalance(account2), 0.001);
+        }
+    }
+    
+    @Test
+    public void testRecoverEmptyJournal() throws IOException {
+        try (TransactionJournal journal = TransactionJournal.open(directory)) {
+            BankingService bankingService = new BankingService(new TransactionService(journal));
+            assertFalse(new RecoveryManager(journal, bankingService).recover().hasRestoredState());
+        }
+    }
+}
@@ -0,0 +1,211 @@
+package com.university.finance.persistence;
+
+import com.university.finance.model.Account;
+import com.university.finance.pattern.factory.AccountFactory;
+import com.university.finance.service.BankingService;
+import com.university.finance.service.BatchOperation;
+import com.university.finance.service.TransactionService;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import static org.junit.Assert.*;
+
+/**
+ * Tests unitaires pour SnapshotManager.
+ */
+public class SnapshotManagerTest {
+    
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+    
+    private Path directory;
+    
+    @Before
+    public void setUp() {
+        AccountFactory.resetCounter();
+        directory = folder.getRoot().toPath();
+    }
+    
+    @Test
+    public void testRecoverFromSnapshotAndJournalTail() throws IOException {
+        String account1;
+        String account2;
+        try (TransactionJournal journal = TransactionJournal.open(directory)) {
+            BankingService bankingService = new BankingService(new TransactionService(journal));
+            account1 = bankingService.createUser("user1", "password1", 1000.0).getAccountNumber();
+            account2 = bankingService.createUser("user2", "password2", 500.0).getAccountNumber();
+            bankingService.deposit(account1, 100.0);
+            
+            Path snapshot = new SnapshotManager(bankingService, journal).takeSnapshot();
+            assertEquals(snapshot, SnapshotManager.findLatest(directory));
+            assertEquals(1, TransactionJournal.listSegments(directory).size());
+            
+            bankingService.transfer(account1, account2, 200.0);
+        }
+        
+        AccountFactory.resetCounter();
+        try (TransactionJournal journal = TransactionJournal.open(directory)) {
+            BankingService recovered = new BankingService(new TransactionService(journal));
+            RecoveryReport report = new RecoveryManager(journal, recovered).recover();
+            
+            assertEquals(2, report.getRestoredAccounts());
+            assertEquals(1, report.getReplayedRecords());
+            assertTrue(report.getSnapshotLsn() > 0);
+            assertTrue(recovered.authenticate("user2", "password2"));
+            assertEquals(900.0, recovered.getBalance(account1), 0.001);
+            assertEquals(700.0, recovered.getBalance(account2), 0.001);
+            assertEquals(1002, AccountFactory.peekNextNumber());
+        }
+    }
+    
+    @Test
+    public void testSnapshotUnderConcurrentWritesIsConsistent() throws Exception {
+        List<Account> accounts = new ArrayList<>();
+        BankingService live;
+        try (TransactionJournal journal = TransactionJournal.open(directory)) {
+            live = new BankingService(new TransactionService(journal));
+            for (int i = 0; i < 8; i++) {
+                accounts.add(live.createUser("user" + i, "password", 1000.0));
+            }
+            SnapshotManager snapshotManager = new SnapshotManager(live, journal);
+            
+            AtomicBoolean running = new AtomicBoolean(true);
+            ExecutorService executor = Executors.newFixedThreadPool(4);
+            List<Future<?>> writers = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                int offset = t;
+                writers.add(executor.submit(() -> {
+                    int i = offset;
+                    while (running.get()) {
+                        Account from = accounts.get(i % accounts.size());
+                        Account to = accounts.get((i + 3) % accounts.size());
+                        live.transfer(from.getAccountNumber(), to.getAccountNumber(), 0.01);
+                        live.deposit(to.getAccountNumber(), 0.01);
+                        i++;
+                    }
+                }));
+            }
+            for (int i = 0; i < 3; i++) {
+                snapshotManager.takeSnapshot();
+            }
+            running.set(false);
+            for (Future<?> writer : writers) {
+                writer.get();
+            }
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+        }
+        
+        try (TransactionJournal journal = TransactionJournal.open(directory)) {
+            BankingService recovered = new BankingService(new TransactionService(journal));
+            new RecoveryManager(journal, recovered).recover();
+            for (Account account : accounts) {
+                assertEquals(account.getBalanceMinor(),
+                    recovered.getAccount(account.getAccountNumber()).get().getBalanceMinor());
+            }
+        }
+    }
+    
+    @Test
+    public void testSnapshotDuringBatchesSurvivesCrash() throws Exception {
+        List<String> accounts = new ArrayList<>();
+        Path crashed = folder.newFolder("crashed").toPath();
+        try (TransactionJournal journal = TransactionJournal.open(directory)) {
+            BankingService live = new BankingService(new TransactionService(journal));
+            for (int i = 0; i < 4; i++) {
+                accounts.add(live.createUser("user" + i, "password", 1000.0).getAccountNumber());
+            }
+            List<BatchOperation> batch = new ArrayList<>();
+            for (String account : accounts) {
+                batch.add(BatchOperation.deposit(account, 1.0));
+                batch.add(BatchOperation.withdraw(account, 1.0));
+            }
+            
+            AtomicBoolean running = new AtomicBoolean(true);
+            ExecutorService executor = Executors.newSingleThreadExecutor();
+            Future<?> writer = executor.submit(() -> {
+                while (running.get()) {
+                    live.executeBatch(batch);
+                }
+            });
+            Path snapshot = new SnapshotManager(live, journal).takeSnapshot();
+            // Crash : seule la partie persistée du journal survit
+            long durableLsn = journal.getDurableLsn();
+            for (long watermark : Snapshot.read(snapshot).getWatermarks().values()) {
+                assertTrue(watermark <= durableLsn);
+            }
+            try (Stream<Path> files = Files.list(directory)) {
+                for (Path file : files.collect(Collectors.toList())) {
+                    Files.copy(file, crashed.resolve(file.getFileName()));
+                }
+            }
+            List<Path> segments = TransactionJournal.listSegments(crashed);
+            truncateAfter(segments.get(segments.size() - 1), durableLsn);
+            running.set(false);
+            writer.get();
+            executor.shutdown();
+        }
+        
+        // Les LSN perdus sont réattribués aux opérations qui suivent la reprise
+        long[] expected = new long[accounts.size()];
+        try (TransactionJournal journal = TransactionJournal.open(crashed)) {
+            BankingService recovered = new BankingService(new TransactionService(journal));
+            new RecoveryManager(journal, recovered).recover();
+            for (int i = 0; i < accounts.size(); i++) {
+                recovered.deposit(accounts.get(i), 5.0);
+                expected[i] = recovered.getAccount(accounts.get(i)).get().getBalanceMinor();
+            }
+        }
+        try (TransactionJournal journal = TransactionJournal.open(crashed)) {
+            BankingService recovered = new BankingService(new TransactionService(journal));
+            new RecoveryManager(journal, recovered).recover();
+            for (int i = 0; i < accounts.size(); i++) {
+                assertEquals(expected[i], recovered.getAccount(accounts.get(i)).get().getBalanceMinor());
+            }
+        }
+    }
+    
+    @Test
+    public void testPeriodicSnapshots() throws Exception {
+        try (TransactionJournal journal = TransactionJournal.open(directory);
+             SnapshotManager snapshotManager = new SnapshotManager(
+                 new BankingService(new TransactionService(journal)), journal)) {
+            snapshotManager.start(10, TimeUnit.MILLISECONDS);
+            long deadline = System.currentTimeMillis() + 5000;
+            while (SnapshotManager.findLatest(directory) == null && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+            assertNotNull(SnapshotManager.findLatest(directory));
+        }
+    }
+    
+    /**
+     * Tronque un segment après le LSN donné, comme le ferait un crash avant fsync.
+     */
+    private static void truncateAfter(Path segment, long lsn) throws IOException {
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            ByteBuffer header = ByteBuffer.allocate(16);
+            long position = 0;
+            while (channel.read(header.clear(), position) == header.capacity() && header.getLong(8) <= lsn) {
+                position += header.capacity() + header.getInt(0);
+            }
+            channel.truncate(position);
+        }
+    }
+}
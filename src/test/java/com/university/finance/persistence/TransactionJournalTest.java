@@ -0,0 +1,144 @@
+package com.university.finance.persistence;
+
+import com.university.finance.model.Transaction;
+import com.university.finance.model.User;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import static org.junit.Assert.*;
+
+/**
+ * Tests unitaires pour TransactionJournal.
+ */
+public class TransactionJournalTest {
+    
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+    
+    private Path directory;
+    private TransactionJournal journal;
+    
+    @Before
+    public void setUp() throws IOException {
+        directory = folder.getRoot().toPath().resolve("journal");
+        journal = TransactionJournal.open(directory);
+    }
+    
+    @After
+    public void tearDown() throws IOException {
+        journal.close();
+    }
+    
+    @Test
+    public void testAppendAndReplayRoundTrip() throws IOException {
+        LocalDateTime now = LocalDateTime.of(2024, 5, 1, 10, 30, 15, 123456789);
+        String passwordHash = new User("alice", "secret1").getPasswordHash();
+        journal.append(JournalRecord.userCreated("alice", passwordHash));
+        journal.append(JournalRecord.accountOpened("ACC-1000", "alice", 100000));
+        long lsn = journal.appendAndSync(JournalRecord.transaction(List.of(
+            Transaction.ofMinor("ACC-1000", "DEPOSIT", 5000, 100000, 105000, now))));
+        
+        assertEquals(3, lsn);
+        assertEquals(3, journal.getDurableLsn());
+        
+        List<JournalRecord> records = new ArrayList<>();
+        assertEquals(3, journal.replay(records::add));
+        
+        assertEquals(JournalRecord.Type.USER_CREATED, records.get(0).getType());
+        assertEquals(passwordHash, records.get(0).getPasswordHash());
+        assertEquals(100000, records.get(1).getInitialBalance());
+        Transaction leg = records.get(2).getLegs().get(0);
+        assertEquals(3, records.get(2).getLsn());
+        assertEquals(5000, leg.getAmountMinor());
+        assertEquals(105000, leg.getBalanceAfterMinor());
+        assertEquals(now, leg.getTimestamp());
+    }
+    
+    @Test
+    public void testReopenContinuesSequence() throws IOException {
+        journal.appendAndSync(JournalRecord.userCreated("alice", "secret1"));
+        journal.close();
+        
+        journal = TransactionJournal.open(directory);
+        assertEquals(2, journal.appendAndSync(JournalRecord.userCreated("bob", "secret2")));
+    }
+    
+    @Test
+    public void testTornTailIsTruncatedOnOpen() throws IOException {
+        journal.appendAndSync(JournalRecord.userCreated("alice", "secret1"));
+        journal.close();
+        
+        Path segment = TransactionJournal.listSegments(directory).get(0);
+        long validSize = Files.size(segment);
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.APPEND)) {
+            channel.write(java.nio.ByteBuffer.wrap(new byte[] {0, 0, 0, 42, 1, 2}));
+        }
+        
+        journal = TransactionJournal.open(directory);
+        assertEquals(validSize, Files.size(segment));
+        assertEquals(1, journal.replay(record -> { }));
+        assertEquals(2, journal.appendAndSync(JournalRecord.userCreated("bob", "secret2")));
+    }
+    
+    @Test
+    public void testGroupCommitBatchesConcurrentAppends() throws Exception {
+        int threads = 8;
+        int recordsPerThread = 200;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        for (int t = 0; t < threads; t++) {
+            executor.submit(() -> {
+                for (int i = 0; i < recordsPerThread; i++) {
+                    journal.appendAndSync(JournalRecord.userCreated("user", "password"));
+                }
+            });
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(60, TimeUnit.SECONDS));
+        
+        assertEquals(threads * recordsPerThread, journal.getDurableLsn());
+        assertTrue("Le group commit doit regrouper plusieurs enregistrements par fsync",
+            journal.getSyncCount() < threads * recordsPerThread);
+    }
+    
+    @Test
+    public void testRollStartsNewSegmentAndTruncation() throws IOException {
+        journal.append(JournalRecord.userCreated("alice", "secret1"));
+        journal.appendAndSync(JournalRecord.userCreated("bob", "secret2"));
+        
+        long boundary = journal.roll();
+        assertEquals(3, boundary);
+        assertEquals(boundary, journal.roll());
+        journal.appendAndSync(JournalRecord.userCreated("carol", "secret3"));
+        assertEquals(2, TransactionJournal.listSegments(directory).size());
+        
+        List<JournalRecord> tail = new ArrayList<>();
+        assertEquals(1, journal.replay(boundary, tail::add));
+        assertEquals("carol", tail.get(0).getUsername());
+        
+        assertEquals(1, journal.deleteSegmentsBefore(boundary));
+        assertEquals(1, journal.replay(record -> { }));
+        journal.close();
+        
+        journal = TransactionJournal.open(directory);
+        assertEquals(4, journal.appendAndSync(JournalRecord.userCreated("dave", "secret4")));
+    }
+    
+    @Test(expected = IllegalStateException.class)
+    public void testAppendAfterCloseFails() throws IOException {
+        journal.close();
+        journal.append(JournalRecord.userCreated("alice", "secret1"));
+    }
+}
@@ -0,0 +1,53 @@
+package com.university.finance.reporting;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Tests unitaires pour ReportAggregate.
+ */
+public class ReportAggregateTest {
+    
+    @Test
+    public void testBuckets() {
+        assertEquals(0, ReportAggregate.bucket(-5));
+        assertEquals(0, ReportAggregate.bucket(0));
+        assertEquals(1, ReportAggregate.bucket(1));
+        assertEquals(2, ReportAggregate.bucket(2));
+        assertEquals(2, ReportAggregate.bucket(3));
+        assertEquals(11, ReportAggregate.bucket(1024));
+        assertEquals(1024, ReportAggregate.bucketLowerBound(11));
+    }
+    
+    @Test
+    public void testMergeEqualsSequential() {
+        ReportAggregate sequential = new ReportAggregate(2);
+        ReportAggregate left = new ReportAggregate(2);
+        ReportAggregate right = new ReportAggregate(2);
+        for (long balance = 0; balance < 100; balance++) {
+            sequential.addBalance(balance * 37);
+            (balance < 40 ? left : right).addBalance(balance * 37);
+        }
+        sequential.addTransaction(1, -500);
+        right.addTransaction(1, -500);
+        
+        ReportAggregate merged = left.merge(right);
+        
+        assertEquals(sequential.getCount(), merged.getCount());
+        assertEquals(sequential.getTotal(), merged.getTotal());
+        assertEquals(0, merged.getMin());
+        assertEquals(99 * 37, merged.getMax());
+        assertArrayEquals(sequential.copyHistogram(), merged.copyHistogram());
+        assertArrayEquals(new long[] {0, 500}, merged.copyDailyVolume());
+        assertArrayEquals(new long[] {0, 1}, merged.copyDailyCount());
+    }
+    
+    @Test
+    public void testEmpty() {
+        ReportAggregate aggregate = new ReportAggregate(1).merge(new ReportAggregate(1));
+        
+        assertEquals(0, aggregate.getCount());
+        assertEquals(0, aggregate.getMin());
+        assertEquals(0, aggregate.getMax());
+    }
+}
@@ -0,0 +1,127 @@
+package com.university.finance.reporting;
+
+import com.university.finance.pattern.factory.AccountFactory;
+import com.university.finance.service.BankingService;
+import com.university.finance.service.TransactionService;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Tests unitaires pour ReportingEngine.
+ */
+public class ReportingEngineTest {
+    
+    private BankingService bankingService;
+    private ReportingEngine engine;
+    
+    @Before
+    public void setUp() {
+        AccountFactory.resetCounter();
+        bankingService = new BankingService(new TransactionService());
+        // Seuil minimal : chaque rapport est réellement partitionné
+        engine = new ReportingEngine(bankingService, 4, 2);
+    }
+    
+    @After
+    public void tearDown() {
+        engine.close();
+    }
+    
+    @Test
+    public void testBalanceAggregates() {
+        for (int i = 1; i <= 10; i++) {
+            bankingService.createUser("user" + i, "password" + i, i * 100.0);
+        }
+        
+        BankReport report = engine.generateReport();
+        
+        assertEquals(10, report.getAccountCount());
+        assertEquals(5500.0, report.getTotalBalance(), 0.001);
+        assertEquals(10000, report.getMinBalanceMinor());
+        assertEquals(100000, report.getMaxBalanceMinor());
+        assertEquals(55000, report.getAverageBalanceMinor());
+        assertEquals(50000, report.getPercentileMinor(50));
+        assertEquals(100000, report.getPercentileMinor(99));
+        assertEquals(10000, report.getPercentileMinor(0));
+        long histogramTotal = report.getHistogram().values().stream().mapToLong(Long::longValue).sum();
+        assertEquals(10, histogramTotal);
+    }
+    
+    @Test
+    public void testDailyVolume() {
+        String account1 = bankingService.createUser("user1", "password1", 1000.0).getAccountNumber();
+        String account2 = bankingService.createUser("user2", "password2", 0.0).getAccountNumber();
+        bankingService.deposit(account1, 50.0);
+        bankingService.withdraw(account1, 20.0);
+        bankingService.transfer(account1, account2, 100.0);
+        LocalDate today = LocalDate.now();
+        
+        BankReport report = engine.generateReport(today.minusDays(1), today);
+        
+        assertEquals(2, report.getDailyVolume().size());
+        assertEquals(Long.valueOf(0), report.getDailyVolume().get(today.minusDays(1)));
+        assertEquals(Long.valueOf(5000 + 2000 + 2 * 10000), report.getDailyVolume().get(today));
+        assertEquals(Long.valueOf(4), report.getDailyTransactionCount().get(today));
+    }
+    
+    @Test
+    public void testEmptyBank() {
+        BankReport report = engine.generateReport();
+        
+        assertEquals(0, report.getAccountCount());
+        assertEquals(0, report.getPercentileMinor(50));
+        assertTrue(report.getHistogram().isEmpty());
+    }
+    
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidPeriod() {
+        engine.generateReport(LocalDate.now(), LocalDate.now().minusDays(1));
+    }
+    
+    @Test
+    public void testReportNeverSeesHalfAppliedTransfers() throws InterruptedException {
+        List<String> accountNumbers = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            accountNumbers.add(bankingService.createUser("user" + i, "password" + i, 1000.0).getAccountNumber());
+        }
+        AtomicBoolean running = new AtomicBoolean(true);
+        List<Thread> writers = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            Thread writer = new Thread(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                while (running.get()) {
+                    String from = accountNumbers.get(random.nextInt(accountNumbers.size()));
+                    String to = accountNumbers.get(random.nextInt(accountNumbers.size()));
+                    if (from.equals(to)) {
+                        continue;
+                    }
+                    try {
+                        bankingService.transfer(from, to, random.nextInt(1, 50));
+                    } catch (IllegalArgumentException e) {
+                        // Solde insuffisant
+                    }
+                }
+            });
+            writers.add(writer);
+            writer.start();
+        }
+        
+        try {
+            for (int i = 0; i < 50; i++) {
+                assertEquals(50 * 100000L, engine.generateReport().getTotalBalanceMinor());
+            }
+        } finally {
+            running.set(false);
+            for (Thread writer : writers) {
+                writer.join();
+            }
+        }
+    }
+}
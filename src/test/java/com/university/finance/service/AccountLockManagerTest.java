@@ -0,0 +1,113 @@
+package com.university.finance.service;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Tests unitaires pour AccountLockManager.
+ */
+public class AccountLockManagerTest {
+    
+    private AccountLockManager lockManager;
+    
+    @Before
+    public void setUp() {
+        lockManager = new AccountLockManager(16);
+    }
+    
+    @Test
+    public void testStripeCountRoundedToPowerOfTwo() {
+        assertEquals(16, new AccountLockManager(10).getStripeCount());
+        assertEquals(1, new AccountLockManager(1).getStripeCount());
+        assertEquals(64, new AccountLockManager(64).getStripeCount());
+    }
+    
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidStripeCount() {
+        new AccountLockManager(0);
+    }
+    
+    @Test
+    public void testLockAndUnlock() {
+        lockManager.lock("ACC-1000");
+        assertTrue(lockManager.isHeldByCurrentThread("ACC-1000"));
+        
+        lockManager.unlock("ACC-1000");
+        assertFalse(lockManager.isHeldByCurrentThread("ACC-1000"));
+    }
+    
+    @Test
+    public void testLockPairOnSharedStripe() {
+        AccountLockManager single = new AccountLockManager(1);
+        
+        single.lockPair("ACC-1000", "ACC-1001");
+        assertTrue(single.isHeldByCurrentThread("ACC-1000"));
+        assertTrue(single.isHeldByCurrentThread("ACC-1001"));
+        
+        single.unlockPair("ACC-1000", "ACC-1001");
+        assertFalse(single.isHeldByCurrentThread("ACC-1000"));
+    }
+    
+    @Test
+    public void testLockPairIsSymmetric() {
+        lockManager.lockPair("ACC-1001", "ACC-1000");
+        assertTrue(lockManager.isHeldByCurrentThread("ACC-1000"));
+        assertTrue(lockManager.isHeldByCurrentThread("ACC-1001"));
+        
+        lockManager.unlockPair("ACC-1001", "ACC-1000");
+        assertFalse(lockManager.isHeldByCurrentThread("ACC-1000"));
+        assertFalse(lockManager.isHeldByCurrentThread("ACC-1001"));
+    }
+    
+    @Test
+    public void testLockAllTakesSharedStripeOnce() {
+        AccountLockManager single = new AccountLockManager(1);
+        List<String> accountNumbers = List.of("ACC-1000", "ACC-1001", "ACC-1000");
+        
+        single.lockAll(accountNumbers);
+        assertTrue(single.isHeldByCurrentThread("ACC-1001"));
+        
+        single.unlockAll(accountNumbers);
+        assertFalse(single.isHeldByCurrentThread("ACC-1000"));
+    }
+    
+    @Test
+    public void testLockAllAndUnlockAll() {
+        List<String> accountNumbers = List.of("ACC-1003", "ACC-1000", "ACC-1002", "ACC-1001");
+        
+        lockManager.lockAll(accountNumbers);
+        for (String accountNumber : accountNumbers) {
+            assertTrue(lockManager.isHeldByCurrentThread(accountNumber));
+        }
+        
+        lockManager.unlockAll(accountNumbers);
+        for (String accountNumber : accountNumbers) {
+            assertFalse(lockManager.isHeldByCurrentThread(accountNumber));
+        }
+    }
+    
+    @Test
+    public void testSuspendLockFreeWaitsForSectionsInProgress() throws InterruptedException {
+        assertTrue(lockManager.enterLockFree("ACC-1000"));
+        AtomicBoolean suspended = new AtomicBoolean();
+        Thread other = new Thread(() -> {
+            lockManager.suspendLockFree();
+            suspended.set(true);
+        });
+        other.start();
+        other.join(100);
+        assertFalse(suspended.get());
+        
+        lockManager.exitLockFree("ACC-1000");
+        other.join();
+        assertTrue(suspended.get());
+        assertFalse(lockManager.enterLockFree("ACC-1001"));
+        
+        lockManager.resumeLockFree();
+        assertTrue(lockManager.enterLockFree("ACC-1001"));
+        lockManager.exitLockFree("ACC-1001");
+    }
+}
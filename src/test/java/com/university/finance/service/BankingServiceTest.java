@@ -1,9 +1,38 @@
 package com.university.finance.service;
 
+import com.university.finance.metrics.Operation;
+import com.university.finance.metrics.RejectionReason;
+import com.university.finance.metrics.TransactionMetrics;
 import com.university.finance.model.Account;
+import com.university.finance.model.Money;
+import com.university.finance.model.Transaction;
+import com.university.finance.model.TransactionClock;
+import com.university.finance.model.User;
 import com.university.finance.pattern.factory.AccountFactory;
+import com.university.finance.pattern.factory.UserFactory;
+import com.university.finance.pattern.observer.AuditLogger;
+import com.university.finance.pattern.observer.TransactionObserver;
+import com.university.finance.pattern.strategy.TransactionStrategy;
+import com.university.finance.pattern.strategy.TransferStrategy;
+import com.university.finance.persistence.FileTransactionArchive;
+import com.university.finance.persistence.RecoveryManager;
+import com.university.finance.persistence.TransactionJournal;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
 import org.junit.Before;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 import static org.junit.Assert.*;
 
 /**
@@ -11,6 +40,9 @@ import static org.junit.Assert.*;
  */
 public class BankingServiceTest {
     
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+    
     private BankingService bankingService;
     private TransactionService transactionService;
     
@@ -92,4 +124,779 @@ public class BankingServiceTest {
         assertNotNull(foundAccount);
         assertEquals(account.getAccountNumber(), foundAccount.getAccountNumber());
     }
+    
+    @Test
+    public void testGetAccountByUsernameUnknownUser() {
+        assertFalse(bankingService.getAccountByUsername("nobody").isPresent());
+        assertTrue(bankingService.getAccountsByUsername("nobody").isEmpty());
+    }
+    
+    @Test
+    public void testOpenAccountKeepsOwnerIndexConsistent() {
+        Account primary = bankingService.createUser("testuser", "password123", 1000.0);
+        Account savings = bankingService.openAccount("testuser", 250.0);
+        
+        assertEquals(2, bankingService.getAccountsByUsername("testuser").size());
+        assertEquals(primary.getAccountNumber(),
+            bankingService.getAccountByUsername("testuser").get().getAccountNumber());
+        assertEquals(savings.getAccountNumber(),
+            bankingService.getAccountsByUsername("testuser").get(1).getAccountNumber());
+        assertTrue(bankingService.getAccount(savings.getAccountNumber()).isPresent());
+    }
+    
+    @Test(expected = IllegalArgumentException.class)
+    public void testOpenAccountForUnknownUser() {
+        bankingService.openAccount("nobody", 100.0);
+    }
+    
+    @Test
+    public void testConcurrentDepositsAreNotLost() throws Exception {
+        Account account = bankingService.createUser("testuser", "password123", 0.0);
+        int threads = 8;
+        int depositsPerThread = 1000;
+        
+        runConcurrently(threads, () -> {
+            for (int i = 0; i < depositsPerThread; i++) {
+                bankingService.deposit(account.getAccountNumber(), 1.0);
+            }
+        });
+        
+        assertEquals(threads * depositsPerThread, account.getBalance(), 0.01);
+        assertEquals(threads * depositsPerThread, account.getTransactions().size());
+    }
+    
+    @Test
+    public void testConcurrentCrossTransfersDoNotDeadlock() throws Exception {
+        Account account1 = bankingService.createUser("user1", "password1", 10000.0);
+        Account account2 = bankingService.createUser("user2", "password2", 10000.0);
+        
+        runConcurrently(8, () -> {
+            for (int i = 0; i < 500; i++) {
+                bankingService.transfer(account1.getAccountNumber(), account2.getAccountNumber(), 1.0);
+                bankingService.transfer(account2.getAccountNumber(), account1.getAccountNumber(), 1.0);
+            }
+        });
+        
+        assertEquals(20000.0, account1.getBalance() + account2.getBalance(), 0.01);
+        assertEquals(10000.0, account1.getBalance(), 0.01);
+    }
+    
+    @Test
+    public void testReusedEventsValidDuringCallbackAndCopiedForBatches() {
+        TransactionService service = new TransactionService();
+        BankingService reusing = new BankingService(service, new AccountLockManager(),
+            TransactionClock.SYSTEM, ConcurrencyMode.LOCKING, true);
+        List<Transaction> instances = new ArrayList<>();
+        List<Long> amounts = new ArrayList<>();
+        service.addObserver(new TransactionObserver() {
+            @Override
+            public void onTransaction(Transaction transaction) {
+                instances.add(transaction);
+                amounts.add(transaction.getAmountMinor());
+            }
+            
+            @Override
+            public void onTransactions(List<Transaction> transactions) {
+                for (Transaction transaction : transactions) {
+                    amounts.add(transaction.getAmountMinor());
+                }
+            }
+        });
+        String account = reusing.createUser("user1", "password1", 0.0).getAccountNumber();
+        
+        reusing.deposit(account, 10.0);
+        reusing.deposit(account, 20.0);
+        BatchResult result = reusing.executeBatch(List.of(
+            BatchOperation.deposit(account, 30.0),
+            BatchOperation.deposit(account, 40.0)
+        ));
+        
+        assertSame(instances.get(0), instances.get(1));
+        assertEquals(List.of(1000L, 2000L, 3000L, 4000L), amounts);
+        assertEquals(3000L, result.getTransaction(0).getAmountMinor());
+        assertEquals(4000L, result.getTransaction(1).getAmountMinor());
+        assertEquals(1000L, reusing.getAccount(account).get().getTransactions().get(0).getAmountMinor());
+    }
+    
+    @Test
+    public void testExecuteBatchAppliesOperationsInOrderWithResultCodes() {
+        String account1 = bankingService.createUser("user1", "password1", 100.0).getAccountNumber();
+        String account2 = bankingService.createUser("user2", "password2", 0.0).getAccountNumber();
+        
+        BatchResult result = bankingService.executeBatch(List.of(
+            BatchOperation.deposit(account1, 50.0),
+            BatchOperation.withdraw(account1, 200.0),
+            BatchOperation.transfer(account1, account2, 150.0),
+            BatchOperation.deposit("ACC-9999", 10.0),
+            BatchOperation.transfer(account2, "ACC-9999", 10.0),
+            BatchOperation.deposit(account2, -5.0),
+            BatchOperation.withdraw(account2, 40.0)
+        ));
+        
+        assertEquals(7, result.size());
+        assertEquals(BatchResult.Code.OK, result.getCode(0));
+        assertEquals(BatchResult.Code.INSUFFICIENT_FUNDS, result.getCode(1));
+        assertEquals(BatchResult.Code.OK, result.getCode(2));
+        assertEquals(BatchResult.Code.ACCOUNT_NOT_FOUND, result.getCode(3));
+        assertEquals(BatchResult.Code.TARGET_ACCOUNT_NOT_FOUND, result.getCode(4));
+        assertEquals(BatchResult.Code.INVALID_AMOUNT, result.getCode(5));
+        assertEquals(BatchResult.Code.OK, result.getCode(6));
+        assertEquals(3, result.getSuccessCount());
+        assertEquals(4, result.getFailureCount());
+        assertEquals("TRANSFER_OUT", result.getTransaction(2).getType());
+        assertNull(result.getTransaction(1));
+        
+        assertEquals(0.0, bankingService.getBalance(account1), 0.001);
+        assertEquals(110.0, bankingService.getBalance(account2), 0.001);
+    }
+    
+    @Test
+    public void testExecuteBatchNotifiesObserversOnce() {
+        String account1 = bankingService.createUser("user1", "password1", 100.0).getAccountNumber();
+        String account2 = bankingService.createUser("user2", "password2", 0.0).getAccountNumber();
+        List<List<Transaction>> calls = new ArrayList<>();
+        transactionService.addObserver(new TransactionObserver() {
+            @Override
+            public void onTransaction(Transaction transaction) {
+                calls.add(List.of(transaction));
+            }
+            
+            @Override
+            public void onTransactions(List<Transaction> transactions) {
+                calls.add(List.copyOf(transactions));
+            }
+        });
+        
+        bankingService.executeBatch(List.of(
+            BatchOperation.deposit(account1, 10.0),
+            BatchOperation.withdraw(account2, 10.0),
+            BatchOperation.transfer(account1, account2, 20.0)
+        ));
+        
+        assertEquals(1, calls.size());
+        assertEquals(3, calls.get(0).size());
+        assertEquals("DEPOSIT", calls.get(0).get(0).getType());
+        assertEquals("TRANSFER_OUT", calls.get(0).get(1).getType());
+        assertEquals("TRANSFER_IN", calls.get(0).get(2).getType());
+    }
+    
+    @Test
+    public void testExecuteBatchNotifiesAfterPersistingAndReleasingLocks() throws Exception {
+        try (TransactionJournal journal = TransactionJournal.open(folder.getRoot().toPath())) {
+            TransactionService journaled = new TransactionService(journal);
+            BankingService service = new BankingService(journaled);
+            String account1 = service.createUser("user1", "password1", 100.0).getAccountNumber();
+            List<Transaction> notified = new ArrayList<>();
+            List<String> violations = new ArrayList<>();
+            journaled.addObserver(new TransactionObserver() {
+                @Override
+                public void onTransaction(Transaction transaction) {
+                    notified.add(transaction);
+                }
+                
+                @Override
+                public void onTransactions(List<Transaction> transactions) {
+                    if (journal.getDurableLsn() < journal.getLastAppendedLsn()) {
+                        violations.add("notifié avant persistance");
+                    }
+                    if (service.getLockManager().isHeldByCurrentThread(account1)) {
+                        violations.add("notifié sous le verrou");
+                    }
+                    // Une opération concurrente sur le compte n'attend pas la notification du lot
+                    ExecutorService other = Executors.newSingleThreadExecutor();
+                    try {
+                        other.submit(() -> service.deposit(account1, 5.0)).get(10, TimeUnit.SECONDS);
+                    } catch (Exception e) {
+                        violations.add(e.toString());
+                    } finally {
+                        other.shutdown();
+                    }
+                    notified.addAll(transactions);
+                }
+            });
+            
+            service.executeBatch(List.of(
+                BatchOperation.deposit(account1, 10.0),
+                BatchOperation.withdraw(account1, 20.0)));
+            
+            assertEquals(List.of(), violations);
+            // Le dépôt concurrent est notifié avant le lot qui le précède ; les soldes rétablissent l'ordre
+            assertEquals(3, notified.size());
+            assertEquals("DEPOSIT", notified.get(0).getType());
+            assertEquals(notified.get(2).getBalanceAfterMinor(), notified.get(0).getBalanceBeforeMinor());
+            assertEquals(95.0, service.getBalance(account1), 0.001);
+        }
+    }
+    
+    @Test
+    public void testExecuteEmptyBatch() {
+        BatchResult result = bankingService.executeBatch(List.of());
+        
+        assertEquals(0, result.size());
+        assertEquals(0, result.getFailureCount());
+    }
+    
+    @Test
+    public void testTransferMultiLeg() {
+        String payer = bankingService.createUser("payer", "password", 1000.0).getAccountNumber();
+        String user1 = bankingService.createUser("user1", "password1", 0.0).getAccountNumber();
+        String user2 = bankingService.createUser("user2", "password2", 0.0).getAccountNumber();
+        
+        List<Transaction> transactions = bankingService.transferMultiLeg(List.of(
+            TransferLeg.debit(payer, 700.0),
+            TransferLeg.credit(user1, 400.0),
+            TransferLeg.credit(user2, 300.0)
+        ));
+        
+        assertEquals(3, transactions.size());
+        assertEquals(300.0, bankingService.getBalance(payer), 0.001);
+        assertEquals(400.0, bankingService.getBalance(user1), 0.001);
+        assertEquals(300.0, bankingService.getBalance(user2), 0.001);
+    }
+    
+    @Test
+    public void testTransferMultiLegIsAllOrNothing() {
+        String payer = bankingService.createUser("payer", "password", 100.0).getAccountNumber();
+        String user1 = bankingService.createUser("user1", "password1", 0.0).getAccountNumber();
+        
+        try {
+            bankingService.transferMultiLeg(List.of(
+                TransferLeg.debit(payer, 80.0),
+                TransferLeg.debit(payer, 80.0),
+                TransferLeg.credit(user1, 160.0)
+            ));
+            fail("Transfert multiple sans provision accepté");
+        } catch (IllegalArgumentException expected) {
+            // attendu
+        }
+        
+        assertEquals(100.0, bankingService.getBalance(payer), 0.001);
+        assertEquals(0.0, bankingService.getBalance(user1), 0.001);
+        assertTrue(bankingService.getAccount(payer).get().getTransactions().isEmpty());
+    }
+    
+    @Test(expected = IllegalArgumentException.class)
+    public void testTransferMultiLegUnknownAccount() {
+        String payer = bankingService.createUser("payer", "password", 100.0).getAccountNumber();
+        bankingService.transferMultiLeg(List.of(
+            TransferLeg.debit(payer, 10.0),
+            TransferLeg.credit("ACC-9999", 10.0)
+        ));
+    }
+    
+    @Test
+    public void testConcurrentMultiLegTransfersKeepTotal() throws Exception {
+        String[] accounts = new String[6];
+        for (int i = 0; i < accounts.length; i++) {
+            accounts[i] = bankingService.createUser("user" + i, "password" + i, 1000.0).getAccountNumber();
+        }
+        
+        runConcurrently(8, () -> {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            for (int i = 0; i < 500; i++) {
+                int payer = random.nextInt(accounts.length);
+                int first = (payer + 1 + random.nextInt(accounts.length - 1)) % accounts.length;
+                int second = (payer + 1 + random.nextInt(accounts.length - 1)) % accounts.length;
+                try {
+                    bankingService.transferMultiLeg(List.of(
+                        TransferLeg.credit(accounts[first], 1.0),
+                        TransferLeg.debit(accounts[payer], 2.0),
+                        TransferLeg.credit(accounts[second], 1.0)
+                    ));
+                } catch (IllegalArgumentException e) {
+                    // solde insuffisant : le transfert est refusé en entier
+                }
+            }
+        });
+        
+        double total = 0;
+        for (String account : accounts) {
+            total += bankingService.getBalance(account);
+        }
+        assertEquals(6000.0, total, 0.001);
+    }
+    
+    @Test
+    public void testConfigureHistoryBoundsExistingAndNewAccounts() throws Exception {
+        String existing = bankingService.createUser("user1", "password1", 0.0).getAccountNumber();
+        for (int i = 0; i < 50; i++) {
+            bankingService.deposit(existing, 1.0);
+        }
+        
+        try (FileTransactionArchive archive = FileTransactionArchive.open(folder.getRoot().toPath())) {
+            bankingService.configureHistory(archive, 10);
+            String created = bankingService.createUser("user2", "password2", 0.0).getAccountNumber();
+            for (int i = 0; i < 50; i++) {
+                bankingService.deposit(created, 2.0);
+            }
+            
+            assertTrue(archive.getSize() > 0);
+            Account account = bankingService.getAccount(created).get();
+            assertEquals(50, account.getTransactionCount());
+            assertEquals(2.0, account.getTransactions(0, 1).get(0).getAmount(), 0.001);
+            assertEquals(50, bankingService.getAccount(existing).get().getTransactions().size());
+        }
+    }
+    
+    private void runConcurrently(int threads, Runnable task) throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        for (int t = 0; t < threads; t++) {
+            executor.submit(() -> {
+                start.await();
+                task.run();
+                return null;
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        assertTrue("Les opérations concurrentes n'ont pas terminé", executor.awaitTermination(30, TimeUnit.SECONDS));
+    }
+    
+    @Test
+    public void testCachedClock() {
+        BankingService cached = new BankingService(new TransactionService(), new AccountLockManager(),
+            TransactionClock.cached());
+        String account1 = cached.createUser("user1", "password1", 100.0).getAccountNumber();
+        String account2 = cached.createUser("user2", "password2", 0.0).getAccountNumber();
+        
+        cached.deposit(account1, 50.0);
+        cached.transfer(account1, account2, 30.0);
+        
+        List<Transaction> transactions = cached.getAccount(account1).get().getTransactions();
+        assertEquals(120.0, cached.getBalance(account1), 0.001);
+        assertFalse(transactions.get(1).getTimestamp().isBefore(transactions.get(0).getTimestamp()));
+    }
+    
+    @Test
+    public void testMetricsCountOperationsAndRejections() {
+        String account1 = bankingService.createUser("user1", "password1", 100.0).getAccountNumber();
+        String account2 = bankingService.createUser("user2", "password2", 0.0).getAccountNumber();
+        
+        bankingService.deposit(account1, 50.0);
+        bankingService.withdraw(account1, 20.0);
+        bankingService.transfer(account1, account2, 30.0);
+        rejected(() -> bankingService.withdraw(account2, 1000.0));
+        rejected(() -> bankingService.deposit(account1, -5.0));
+        rejected(() -> bankingService.deposit("ACC-9999", 10.0));
+        
+        TransactionMetrics metrics = bankingService.getMetrics();
+        assertSame(transactionService.getMetrics(), metrics);
+        assertEquals(1, metrics.getOperationCount(Operation.DEPOSIT));
+        assertEquals(1, metrics.getOperationCount(Operation.WITHDRAW));
+        assertEquals(1, metrics.getOperationCount(Operation.TRANSFER));
+        assertEquals(1, metrics.getRejectionCount(RejectionReason.INSUFFICIENT_FUNDS));
+        assertEquals(1, metrics.getRejectionCount(RejectionReason.INVALID_AMOUNT));
+        assertEquals(1, metrics.getRejectionCount(RejectionReason.ACCOUNT_NOT_FOUND));
+        assertTrue(metrics.getLatency(Operation.TRANSFER).getMax() > 0);
+    }
+    
+    @Test
+    public void testMetricsCountBatchRejections() {
+        String account1 = bankingService.createUser("user1", "password1", 100.0).getAccountNumber();
+        
+        bankingService.executeBatch(List.of(
+            BatchOperation.deposit(account1, 50.0),
+            BatchOperation.withdraw(account1, 500.0),
+            BatchOperation.deposit("ACC-9999", 10.0)));
+        
+        TransactionMetrics metrics = bankingService.getMetrics();
+        assertEquals(1, metrics.getOperationCount(Operation.BATCH));
+        assertEquals(1, metrics.getRejectionCount(RejectionReason.INSUFFICIENT_FUNDS));
+        assertEquals(1, metrics.getRejectionCount(RejectionReason.ACCOUNT_NOT_FOUND));
+    }
+    
+    @Test
+    public void testMetricsTimeSynchronousObservers() {
+        String account1 = bankingService.createUser("user1", "password1", 100.0).getAccountNumber();
+        AuditLogger auditLogger = new AuditLogger();
+        transactionService.addObserver(auditLogger);
+        
+        bankingService.deposit(account1, 10.0);
+        bankingService.deposit(account1, 10.0);
+        
+        assertEquals(2, bankingService.getMetrics().observerLatency("AuditLogger").getCount());
+    }
+    
+    @Test
+    public void testOptimisticModeConcurrentDepositsAndWithdrawals() throws Exception {
+        BankingService optimistic = new BankingService(transactionService, new AccountLockManager(),
+            TransactionClock.SYSTEM, ConcurrencyMode.OPTIMISTIC);
+        String merchant = optimistic.createUser("merchant", "password", 2000.0).getAccountNumber();
+        String customer = optimistic.createUser("customer", "password", 1000.0).getAccountNumber();
+        
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        for (int t = 0; t < 8; t++) {
+            int thread = t;
+            executor.execute(() -> {
+                for (int i = 0; i < 500; i++) {
+                    if (thread % 2 == 0) {
+                        optimistic.deposit(merchant, 1.0);
+                    } else {
+                        optimistic.withdraw(merchant, 1.0);
+                    }
+                    if (i % 50 == 0) {
+                        optimistic.transfer(customer, merchant, 1.0);
+                    }
+                }
+            });
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+        
+        // 2000 dépôts, 2000 retraits, 80 transferts : aucun retrait ne peut échouer
+        assertEquals(2080.0, optimistic.getBalance(merchant), 0.001);
+        assertEquals(920.0, optimistic.getBalance(customer), 0.001);
+        assertEquals(4080, optimistic.getAccount(merchant).get().getTransactionCount());
+    }
+    
+    @Test
+    public void testOptimisticModeWithdrawalCannotOverdraw() {
+        BankingService optimistic = new BankingService(transactionService, new AccountLockManager(),
+            TransactionClock.SYSTEM, ConcurrencyMode.OPTIMISTIC);
+        String account = optimistic.createUser("user1", "password1", 10.0).getAccountNumber();
+        
+        rejected(() -> optimistic.withdraw(account, 10.01));
+        
+        assertEquals(10.0, optimistic.getBalance(account), 0.001);
+        assertEquals(1, optimistic.getMetrics().getRejectionCount(RejectionReason.INSUFFICIENT_FUNDS));
+    }
+    
+    @Test
+    public void testOptimisticBatchRejectsWithdrawalDrainedConcurrently() throws Exception {
+        BankingService optimistic = new BankingService(transactionService, new AccountLockManager(),
+            TransactionClock.SYSTEM, ConcurrencyMode.OPTIMISTIC);
+        String account = optimistic.createUser("user1", "password1", 0.0).getAccountNumber();
+        List<BatchOperation> withdrawals = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            withdrawals.add(BatchOperation.withdraw(account, 1.0));
+        }
+        
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            for (int round = 0; round < 200; round++) {
+                optimistic.deposit(account, 200.0);
+                // Retraits directs, sans verrou, concurrents du lot
+                Future<Integer> drained = executor.submit(() -> {
+                    int count = 0;
+                    while (optimistic.getBalance(account) > 0) {
+                        try {
+                            optimistic.withdraw(account, 1.0);
+                            count++;
+                        } catch (IllegalArgumentException e) {
+                            // Solde vidé par le lot
+                        }
+                    }
+                    return count;
+                });
+                
+                BatchResult result = optimistic.executeBatch(withdrawals);
+                
+                assertEquals(200, result.getSuccessCount() + drained.get(10, TimeUnit.SECONDS));
+                assertEquals(0.0, optimistic.getBalance(account), 0.001);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+    
+    @Test
+    public void testStripedCreditsOnHotAccount() throws Exception {
+        BankingService optimistic = new BankingService(transactionService, new AccountLockManager(),
+            TransactionClock.SYSTEM, ConcurrencyMode.OPTIMISTIC);
+        String merchant = optimistic.createUser("merchant", "password", 0.0).getAccountNumber();
+        String supplier = optimistic.createUser("supplier", "password", 0.0).getAccountNumber();
+        optimistic.enableStripedCredits(merchant);
+        
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        for (int t = 0; t < 4; t++) {
+            executor.execute(() -> {
+                for (int i = 0; i < 1000; i++) {
+                    optimistic.deposit(merchant, 1.0);
+                }
+            });
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+        optimistic.transfer(merchant, supplier, 4000.0);
+        
+        assertEquals(0.0, optimistic.getBalance(merchant), 0.001);
+        assertEquals(4000.0, optimistic.getBalance(supplier), 0.001);
+        assertEquals(4001, optimistic.getAccount(merchant).get().getTransactionCount());
+    }
+    
+    @Test
+    public void testStripedCreditsVisibleInBalanceBeforeSettlement() {
+        BankingService optimistic = new BankingService(transactionService, new AccountLockManager(),
+            TransactionClock.SYSTEM, ConcurrencyMode.OPTIMISTIC);
+        String merchant = optimistic.createUser("merchant", "password", 100.0).getAccountNumber();
+        optimistic.enableStripedCredits(merchant);
+        
+        optimistic.deposit(merchant, 25.0);
+        
+        assertEquals(125.0, optimistic.getBalance(merchant), 0.001);
+        assertEquals(Money.of(100.0), optimistic.getAccount(merchant).get().getSettledBalanceMinor());
+    }
+    
+    @Test
+    public void testConsistentCutLocksOneAccountAtATime() throws Exception {
+        AccountLockManager lockManager = bankingService.getLockManager();
+        String held = bankingService.createUser("held", "password", 100.0).getAccountNumber();
+        List<String> others = new ArrayList<>();
+        for (int i = 0; others.size() < 2; i++) {
+            String accountNumber = bankingService.createUser("user" + i, "password", 100.0).getAccountNumber();
+            if (lockManager.stripeIndex(accountNumber) != lockManager.stripeIndex(held)) {
+                others.add(accountNumber);
+            }
+        }
+        int accountCount = bankingService.getAccounts().size();
+        
+        AtomicReference<ConsistentCut> captured = new AtomicReference<>();
+        Thread capture = new Thread(() -> captured.set(bankingService.captureConsistentCut()));
+        lockManager.lock(held);
+        try {
+            capture.start();
+            while (capture.getState() != Thread.State.WAITING) {
+                Thread.sleep(1);
+            }
+            // La capture attend le seul compte verrouillé : les autres comptes restent disponibles
+            bankingService.transfer(others.get(0), others.get(1), 40.0);
+            bankingService.deposit(others.get(0), 5.0);
+            assertTrue(capture.isAlive());
+        } finally {
+            lockManager.unlock(held);
+        }
+        capture.join(5000);
+        
+        ConsistentCut cut = captured.get();
+        assertEquals(accountCount, cut.size());
+        long total = 0;
+        for (int i = 0; i < cut.size(); i++) {
+            total += cut.getBalanceMinor(i);
+        }
+        // Le dépôt, postérieur au début de la capture, n'y figure pas
+        assertEquals(accountCount * 10_000L, total);
+    }
+    
+    @Test
+    public void testConsistentCutDuringOptimisticDeposits() throws Exception {
+        BankingService optimistic = new BankingService(transactionService, new AccountLockManager(),
+            TransactionClock.SYSTEM, ConcurrencyMode.OPTIMISTIC);
+        List<String> accountNumbers = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            accountNumbers.add(optimistic.createUser("user" + i, "password", 0.0).getAccountNumber());
+        }
+        int initialCount = optimistic.getAccount(accountNumbers.get(0)).get().getTransactionCount();
+        
+        AtomicBoolean running = new AtomicBoolean(true);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        for (String accountNumber : accountNumbers) {
+            executor.execute(() -> {
+                // Dépôts bornés : l'historique de chaque compte tient en mémoire
+                for (int i = 0; i < 1_000_000 && running.get(); i++) {
+                    optimistic.deposit(accountNumber, 0.01);
+                }
+            });
+        }
+        try {
+            for (int round = 0; round < 200; round++) {
+                ConsistentCut cut = optimistic.captureConsistentCut();
+                for (int i = 0; i < cut.size(); i++) {
+                    // Un centime par dépôt : solde et nombre de transactions doivent concorder
+                    assertEquals(cut.getTransactionCount(i) - initialCount, cut.getBalanceMinor(i));
+                }
+            }
+        } finally {
+            running.set(false);
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+        }
+    }
+    
+    @Test(expected = IllegalArgumentException.class)
+    public void testOptimisticModeRejectsJournal() throws Exception {
+        try (TransactionJournal journal = TransactionJournal.open(folder.getRoot().toPath())) {
+            new BankingService(new TransactionService(journal), new AccountLockManager(),
+                TransactionClock.SYSTEM, ConcurrencyMode.OPTIMISTIC);
+        }
+    }
+    
+    @Test
+    public void testCreateUsersInBulk() {
+        bankingService.createUser("existing", "password", 10.0);
+        List<User> users = new ArrayList<>();
+        users.add(UserFactory.createUser("bulk1", "password1"));
+        users.add(UserFactory.createUser("existing", "password2"));
+        users.add(UserFactory.createUser("bulk3", "password3"));
+        
+        List<Account> created = bankingService.createUsers(users, new double[] {100.0, 200.0, 300.0});
+        
+        assertEquals(3, created.size());
+        assertEquals("ACC-1001", created.get(0).getAccountNumber());
+        assertNull(created.get(1));
+        assertEquals("ACC-1003", created.get(2).getAccountNumber());
+        assertTrue(bankingService.authenticate("bulk3", "password3"));
+        assertEquals(300.0, bankingService.getBalance("ACC-1003"), 0.001);
+        assertSame(created.get(0), bankingService.getAccountByUsername("bulk1").get());
+        assertEquals(10.0, bankingService.getAccountByUsername("existing").get().getBalance(), 0.001);
+        assertEquals("ACC-1004", bankingService.createUser("after", "password", 0.0).getAccountNumber());
+    }
+    
+    @Test
+    public void testCreateUsersRejectsInvalidBalanceBeforeCreatingAnyone() {
+        List<User> users = new ArrayList<>();
+        users.add(UserFactory.createUser("bulk1", "password1"));
+        users.add(UserFactory.createUser("bulk2", "password2"));
+        
+        rejected(() -> bankingService.createUsers(users, new double[] {100.0, -1.0}));
+        rejected(() -> bankingService.createUsers(users, new double[] {100.0}));
+        assertFalse(bankingService.getAccountByUsername("bulk1").isPresent());
+    }
+    
+    @Test
+    public void testClosedJournalLeavesAccountsUnchanged() throws Exception {
+        TransactionJournal journal = TransactionJournal.open(folder.getRoot().toPath());
+        BankingService journaled = new BankingService(new TransactionService(journal));
+        Account account1 = journaled.createUser("user1", "password1", 100.0);
+        Account account2 = journaled.createUser("user2", "password2", 0.0);
+        journal.close();
+        
+        journalFailure(() -> journaled.deposit(account1.getAccountNumber(), 10.0));
+        journalFailure(() -> journaled.withdraw(account1.getAccountNumber(), 10.0));
+        journalFailure(() -> journaled.transfer(account1.getAccountNumber(), account2.getAccountNumber(), 10.0));
+        journalFailure(() -> journaled.transferMultiLeg(List.of(
+            TransferLeg.debit(account1.getAccountNumber(), 10.0),
+            TransferLeg.credit(account2.getAccountNumber(), 10.0))));
+        journalFailure(() -> journaled.executeBatch(List.of(BatchOperation.deposit(account1.getAccountNumber(), 10.0))));
+        
+        assertEquals(100.0, account1.getBalance(), 0.001);
+        assertEquals(0.0, account2.getBalance(), 0.001);
+        assertEquals(0, account1.getTransactionCount());
+        assertEquals(0, account2.getTransactionCount());
+        assertTrue(account1.getStatistics().isEmpty());
+    }
+    
+    @Test
+    public void testFailedJournalAppendRollsBackTransaction() throws Exception {
+        TransactionJournal journal = TransactionJournal.open(folder.getRoot().toPath());
+        TransactionService journaled = new TransactionService(journal);
+        BankingService service = new BankingService(journaled);
+        Account from = service.createUser("user1", "password1", 100.0);
+        Account to = service.createUser("user2", "password2", 0.0);
+        service.transfer(from.getAccountNumber(), to.getAccountNumber(), 30.0);
+        TransferStrategy transfer = new TransferStrategy();
+        // Le journal échoue entre l'application et l'écriture de l'enregistrement
+        TransactionStrategy closing = new TransactionStrategy() {
+            @Override
+            public Transaction execute(Account account, long amount, Account targetAccount) {
+                return executeLegs(account, amount, targetAccount).get(0);
+            }
+            
+            @Override
+            public List<Transaction> executeLegs(Account account, long amount, Account targetAccount) {
+                List<Transaction> legs = transfer.executeLegs(account, amount, targetAccount);
+                try {
+                    journal.close();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                return legs;
+            }
+            
+            @Override
+            public boolean validate(Account account, long amount) {
+                return transfer.validate(account, amount);
+            }
+        };
+        
+        journalFailure(() -> journaled.executeTransaction(closing, from, Money.of(50.0), to));
+        
+        assertEquals(70.0, from.getBalance(), 0.001);
+        assertEquals(30.0, to.getBalance(), 0.001);
+        assertEquals(1, from.getTransactionCount());
+        assertEquals(1, to.getTransactionCount());
+        assertEquals(Money.of(-30.0), from.getStatistics("TRANSFER_OUT").getTotalMinor());
+        assertEquals(70.0, from.getTransactions().get(0).getBalanceAfter(), 0.001);
+    }
+    
+    @Test
+    public void testCreateUsersFailureKeepsEarlierUsersDurable() throws Exception {
+        List<User> users = new ArrayList<>();
+        for (int i = 1; i <= 3; i++) {
+            users.add(UserFactory.createUser("bulk" + i, "password" + i));
+        }
+        try (TransactionJournal journal = TransactionJournal.open(folder.getRoot().toPath())) {
+            TransactionService failing = new TransactionService(journal) {
+                private int openings;
+                
+                @Override
+                long appendAccountOpening(User user, Account account) {
+                    if (++openings == 3) {
+                        throw new UncheckedIOException("Échec d'écriture simulé", new IOException());
+                    }
+                    return super.appendAccountOpening(user, account);
+                }
+            };
+            BankingService journaled = new BankingService(failing);
+            
+            try {
+                journaled.createUsers(users, new double[] {10.0, 20.0, 30.0});
+                fail("Échec du journal ignoré");
+            } catch (UncheckedIOException expected) {
+                // échec propagé après la persistance des inscriptions précédentes
+            }
+            
+            // Utilisateur et compte de bulk1 et bulk2
+            assertEquals(4, journal.getDurableLsn());
+            assertTrue(journaled.authenticate("bulk2", "password2"));
+            assertFalse(journaled.getAccountByUsername("bulk3").isPresent());
+        }
+    }
+    
+    @Test
+    public void testCreateUsersGroupsJournalSyncsAndRecovers() throws Exception {
+        List<User> users = new ArrayList<>();
+        double[] balances = new double[500];
+        for (int i = 0; i < balances.length; i++) {
+            users.add(UserFactory.createUser("bulk" + i, "password" + i));
+            balances[i] = i;
+        }
+        try (TransactionJournal journal = TransactionJournal.open(folder.getRoot().toPath())) {
+            BankingService journaled = new BankingService(new TransactionService(journal));
+            journaled.createUsers(users, balances);
+            
+            assertEquals(1000, journal.getDurableLsn());
+            // Une attente de persistance par utilisateur en ferait 500
+            assertTrue("fsyncs: " + journal.getSyncCount(), journal.getSyncCount() < 100);
+        }
+        
+        AccountFactory.resetCounter();
+        try (TransactionJournal journal = TransactionJournal.open(folder.getRoot().toPath())) {
+            BankingService recovered = new BankingService(new TransactionService(journal));
+            new RecoveryManager(journal, recovered).recover();
+            
+            assertEquals(500, recovered.getAccounts().size());
+            assertTrue(recovered.authenticate("bulk499", "password499"));
+            assertEquals(499.0, recovered.getAccountByUsername("bulk499").get().getBalance(), 0.001);
+            assertEquals(1500, AccountFactory.peekNextNumber());
+        }
+    }
+    
+    private static void journalFailure(Runnable operation) {
+        try {
+            operation.run();
+            fail("Opération acceptée sans journal");
+        } catch (IllegalStateException | UncheckedIOException expected) {
+            // journal fermé ou en échec
+        }
+    }
+    
+    private static void rejected(Runnable operation) {
+        try {
+            operation.run();
+            fail("Opération acceptée");
+        } catch (IllegalArgumentException expected) {
+            // refus attendu
+        }
+    }
 }